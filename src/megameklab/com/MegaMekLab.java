@@ -21,11 +21,14 @@ import java.awt.FontFormatException;
 import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
 import java.awt.Rectangle;
-import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -44,15 +47,27 @@ import megamek.common.logging.LogLevel;
 import megamek.common.logging.MMLogger;
 import megamek.common.preference.PreferenceManager;
 import megameklab.com.ui.StartupGUI;
+import megameklab.com.util.AsyncLogWriter;
 import megameklab.com.util.CConfig;
+import megameklab.com.util.EquipmentCatalog;
+import megameklab.com.util.UnitReport;
 import megameklab.com.util.UnitUtil;
 
 public class MegaMekLab {
     public static final String VERSION = "0.47.7-SNAPSHOT";
 
+    private static final long LOG_FILE_SIZE = 10L * 1024 * 1024;
+    private static final int LOG_BACKUPS = 5;
+
+    private static final String REPORT_USAGE =
+            "Usage: -report <file.csv|file.json> [-nocache] [-breakdowns] [-threads n] [directory ...]"; //$NON-NLS-1$
+
     private static MMLogger logger = null;
 
     public static void main(String[] args) {
+        if ((args.length > 0) && args[0].equals("-report")) { //$NON-NLS-1$
+            System.exit(runReport(args));
+        }
     	System.setProperty("apple.laf.useScreenMenuBar", "true");
         System.setProperty("com.apple.mrj.application.apple.menu.about.name","MegaMekLab");
         redirectOutput();
@@ -75,19 +90,90 @@ public class MegaMekLab {
             }
             final String logFilename = "logs" + File.separator + "megameklablog.txt";
             MegaMek.resetLogFile(logFilename);
-            PrintStream ps = new PrintStream(
-                    new BufferedOutputStream(
-                            new FileOutputStream(logFilename,
-                                                 true),
-                            64));
+            final AsyncLogWriter writer = AsyncLogWriter.start(new File(logFilename), LOG_FILE_SIZE,
+                    LOG_BACKUPS, AsyncLogWriter.OverflowPolicy.DROP, System.err);
+            final PrintStream ps = new PrintStream(writer.getOutputStream());
             System.setOut(ps);
             System.setErr(ps);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                ps.flush();
+                writer.close();
+            }, "Log Flush"));
         } catch (Exception e) {
             System.err.println("Unable to redirect output to megameklablog.txt"); //$NON-NLS-1$
             e.printStackTrace();
         }
     }
 
+    /**
+     * Writes a {@link UnitReport} without starting the user interface. The arguments are
+     * <pre>-report &lt;file.csv|file.json&gt; [-nocache] [-breakdowns] [-threads n] [directory ...]</pre>
+     *
+     * @param args The command line arguments, starting with -report
+     * @return     The exit code: zero if the report was written, even if some units were invalid
+     */
+    private static int runReport(String[] args) {
+        if (args.length < 2) {
+            System.err.println(REPORT_USAGE);
+            return 1;
+        }
+        final File output = new File(args[1]);
+        boolean useCache = true;
+        boolean breakdowns = false;
+        int threads = 0;
+        List<File> dirs = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("-nocache")) { //$NON-NLS-1$
+                useCache = false;
+            } else if (args[i].equals("-breakdowns")) { //$NON-NLS-1$
+                breakdowns = true;
+            } else if (args[i].equals("-threads")) { //$NON-NLS-1$
+                if (i + 1 >= args.length) {
+                    System.err.println("-threads requires a number"); //$NON-NLS-1$
+                    System.err.println(REPORT_USAGE);
+                    return 1;
+                }
+                try {
+                    threads = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.err.println("-threads requires a number, not " + args[i]); //$NON-NLS-1$
+                    System.err.println(REPORT_USAGE);
+                    return 1;
+                }
+            } else {
+                dirs.add(new File(args[i]));
+            }
+        }
+
+        EquipmentType.initializeTypes();
+        new CConfig();
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(output),
+                StandardCharsets.UTF_8))) {
+            List<UnitReport.UnitSource> sources = new ArrayList<>();
+            if (useCache) {
+                UnitReport.addCacheUnits(sources);
+            }
+            for (File dir : dirs) {
+                UnitReport.addUnitFiles(dir, sources);
+            }
+            final UnitReport report = new UnitReport(sources, UnitReport.Format.forFile(output), breakdowns, threads);
+            final long[] lastUpdate = { 0 };
+            UnitReport.Summary summary = report.run(out, (completed, total, rate) -> {
+                final long now = System.currentTimeMillis();
+                if ((completed == total) || (now - lastUpdate[0] >= 1000)) {
+                    lastUpdate[0] = now;
+                    System.out.printf("%d/%d units, %.1f units/sec%n", completed, total, rate); //$NON-NLS-1$
+                }
+            });
+            System.out.println(summary);
+            return summary.isCancelled() ? 1 : 0;
+        } catch (IOException | InterruptedException ex) {
+            System.err.println("Unable to write the report to " + output); //$NON-NLS-1$
+            ex.printStackTrace();
+            return 1;
+        }
+    }
+
     /**
      * Recursively search a directory and attempt to create a truetype font from
      * every file with the ttf suffix
@@ -156,6 +242,7 @@ public class MegaMekLab {
         showInfo();
         Locale.setDefault(Locale.US);
         EquipmentType.initializeTypes();
+        EquipmentCatalog.getInstance();
         MechSummaryCache.getInstance();
         try {
             QuirksHandler.initQuirksList();
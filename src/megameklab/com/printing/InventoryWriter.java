@@ -19,6 +19,7 @@
 package megameklab.com.printing;
 
 import megamek.common.*;
+import megameklab.com.MegaMekLab;
 import megameklab.com.util.UnitUtil;
 import org.apache.batik.util.SVGConstants;
 import org.w3c.dom.Element;
@@ -55,6 +56,12 @@ public class InventoryWriter {
      * by {@link java.awt.FontMetrics}
      */
     public static final float MIN_LINE_SPACING = 0.8f;
+    /**
+     * When set, the condensed weapon bay text is also built by comparing each pair of bays and any difference
+     * is logged. Printing or exporting the canon capital ships with -Dmegameklab.verifyBayText=true checks
+     * the grouping in {@link #computeWeaponBayTexts(List)} against the original search.
+     */
+    private static final boolean VERIFY_BAY_TEXT = Boolean.getBoolean("megameklab.verifyBayText");
 
     enum Column {
         QUANTITY ("Qty", 0.037),
@@ -296,16 +303,54 @@ public class InventoryWriter {
      */
     private List<WeaponBayText> computeWeaponBayTexts(List<Mounted> weapons) {
         List<WeaponBayText> weaponBayTexts = new ArrayList<>();
+        // Bays that have not been combined yet, grouped by contents and location. Each group is in the
+        // order the bays were added, so a bay is combined with the same one a search of the whole list would find.
+        Map<Object, Deque<WeaponBayText>> uncombined = new HashMap<>();
         // Collection info on weapons to print
         for (Mounted bay : weapons) {
-            WeaponBayText wbt = new WeaponBayText(bay.getLocation(), bay.isRearMounted());
-            for (Integer wId : bay.getBayWeapons()) {
-                Mounted weap = sheet.getEntity().getEquipment(wId);
-                wbt.addBayWeapon(weap);
-            }
+            WeaponBayText wbt = createBayText(bay);
             // Combine or add
+            Object partnerKey = wbt.getPartnerKey();
+            Deque<WeaponBayText> partners = (null == partnerKey) ? null : uncombined.get(partnerKey);
+            if ((null != partners) && !partners.isEmpty()) {
+                partners.removeFirst().combine(wbt);
+            } else {
+                Object key = wbt.getCombineKey();
+                if (null != key) {
+                    uncombined.computeIfAbsent(key, k -> new ArrayDeque<>()).addLast(wbt);
+                }
+                weaponBayTexts.add(wbt);
+            }
+        }
+        Collections.sort(weaponBayTexts);
+        if (VERIFY_BAY_TEXT) {
+            verifyWeaponBayTexts(weapons, weaponBayTexts);
+        }
+        return weaponBayTexts;
+    }
+
+    private WeaponBayText createBayText(Mounted bay) {
+        WeaponBayText wbt = new WeaponBayText(bay.getLocation(), bay.isRearMounted());
+        for (Integer wId : bay.getBayWeapons()) {
+            Mounted weap = sheet.getEntity().getEquipment(wId);
+            wbt.addBayWeapon(weap);
+        }
+        return wbt;
+    }
+
+    /**
+     * Builds the condensed bay text by checking each bay against every bay already in the list and logs
+     * a warning if the result is different from the grouped result.
+     *
+     * @param weapons The list of weapon bays
+     * @param grouped The result of {@link #computeWeaponBayTexts(List)}
+     */
+    private void verifyWeaponBayTexts(List<Mounted> weapons, List<WeaponBayText> grouped) {
+        List<WeaponBayText> expected = new ArrayList<>();
+        for (Mounted bay : weapons) {
+            WeaponBayText wbt = createBayText(bay);
             boolean combined = false;
-            for (WeaponBayText combine : weaponBayTexts) {
+            for (WeaponBayText combine : expected) {
                 if (combine.canCombine(wbt)) {
                     combine.combine(wbt);
                     combined = true;
@@ -313,11 +358,27 @@ public class InventoryWriter {
                 }
             }
             if (!combined) {
-                weaponBayTexts.add(wbt);
+                expected.add(wbt);
             }
         }
-        Collections.sort(weaponBayTexts);
-        return weaponBayTexts;
+        Collections.sort(expected);
+        boolean same = expected.size() == grouped.size();
+        for (int i = 0; same && (i < expected.size()); i++) {
+            same = expected.get(i).loc.equals(grouped.get(i).loc)
+                    && (expected.get(i).rear == grouped.get(i).rear)
+                    && expected.get(i).weapons.equals(grouped.get(i).weapons);
+        }
+        if (!same) {
+            MegaMekLab.getLogger().warning(InventoryWriter.class, "verifyWeaponBayTexts(List, List)",
+                    "Grouped bay text for " + sheet.getEntity().getShortNameRaw()
+                            + " differs from the search: " + describe(grouped) + " vs " + describe(expected));
+        }
+    }
+
+    private static String describe(List<WeaponBayText> texts) {
+        return texts.stream().map(t -> t.loc + (t.rear ? "(R)" : "") + t.weapons.keySet().stream()
+                .map(WeaponType::getName).sorted().collect(Collectors.joining(",", "[", "]")))
+                .collect(Collectors.joining(" "));
     }
 
     public double startingY() {
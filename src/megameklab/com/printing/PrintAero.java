@@ -119,13 +119,13 @@ public class PrintAero extends PrintEntity {
     public void processImage(int pageNum, PageFormat pageFormat) {
         super.processImage(pageNum, pageFormat);
         if (aero.tracksHeat()) {
-            Element hsRect = getSVGDocument().getElementById(HEAT_SINK_PIPS);
+            Element hsRect = getElementById(HEAT_SINK_PIPS);
             if (hsRect instanceof SVGRectElement) {
                 drawHeatSinkPips((SVGRectElement) hsRect, aero.getHeatSinks());
             }
         }
         if (aero.isBomber()) {
-            Element storesRect = getSVGDocument().getElementById(BOMB_BOXES);
+            Element storesRect = getElementById(BOMB_BOXES);
             if (storesRect instanceof SVGRectElement) {
                 drawBombBoxes((SVGRectElement) storesRect, aero.getMaxBombPoints());
             }
@@ -142,7 +142,7 @@ public class PrintAero extends PrintEntity {
     @Override
     protected void drawArmorStructurePips() {
         super.drawArmorStructurePips();
-        Element element = getSVGDocument().getElementById(SI_PIPS);
+        Element element = getElementById(SI_PIPS);
         if (null != element) {
             ArmorPipLayout.addPips(this, element, aero.get0SI(),
                     PipType.CIRCLE, 0.5, FILL_WHITE);
@@ -205,11 +205,11 @@ public class PrintAero extends PrintEntity {
     protected void drawFluffImage() {
         File f = ImageHelper.getFluffFile(aero, ImageHelper.imageAero);
         if (null != f) {
-            Element rect = getSVGDocument().getElementById(FLUFF_IMAGE);
+            Element rect = getElementById(FLUFF_IMAGE);
             if (rect instanceof SVGRectElement) {
                 embedImage(f, (Element) rect.getParentNode(), getRectBBox((SVGRectElement) rect), true);
             }
-            hideElement(getSVGDocument().getElementById(NOTES));
+            hideElement(getElementById(NOTES));
         }
     }
 
@@ -258,7 +258,7 @@ public class PrintAero extends PrintEntity {
             }
             ypos += boxHeight;
         }
-        Element key = getSVGDocument().getElementById(EXTERNAL_STORES_KEY);
+        Element key = getElementById(EXTERNAL_STORES_KEY);
         if (null != key) {
             key.setAttributeNS(null, SVGConstants.SVG_TRANSFORM_ATTRIBUTE,
                     SVGConstants.SVG_TRANSLATE_VALUE + "(0," + ypos + ")");
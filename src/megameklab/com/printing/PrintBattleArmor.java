@@ -113,7 +113,7 @@ public class PrintBattleArmor extends PrintEntity {
         setTextField(ARMOR_TYPE, armorName.replace("BA ", ""));
         for (int i = 0; i < 6; i++) {
             if (i < battleArmor.getTroopers()) {
-                Element element = getSVGDocument().getElementById(PIPS + i);
+                Element element = getElementById(PIPS + i);
                 if (element instanceof SVGRectElement) {
                     Rectangle2D bbox = getRectBBox((SVGRectElement) element);
                     Element canvas = (Element) element.getParentNode();
@@ -169,7 +169,7 @@ public class PrintCapitalShip extends PrintDropship {
     protected void drawArmorStructurePips() {
         for (int loc = ship.firstArmorIndex(); loc < Jumpship.LOC_HULL; loc++) {
             final String id = ARMOR_PIPS + ship.getLocationAbbr(loc);
-            Element element = getSVGDocument().getElementById(id);
+            Element element = getElementById(id);
             if (element instanceof SVGRectElement) {
                 printArmorRegion((SVGRectElement) element, ship.getOArmor(loc));
             } else {
@@ -191,7 +191,7 @@ public class PrintCapitalShip extends PrintDropship {
      *            The maximum number of pips to draw in a single block
      */
     private void printInternalRegion(String rectId, int structure, int pipsPerBlock) {
-        Element element = getSVGDocument().getElementById(rectId);
+        Element element = getElementById(rectId);
         if (element instanceof SVGRectElement) {
             printInternalRegion((SVGRectElement) element, structure, pipsPerBlock);
         }
@@ -377,11 +377,11 @@ public class PrintCapitalShip extends PrintDropship {
         } else {
             dir = ImageHelper.imageJumpship;
         }
-        Element rect = getSVGDocument().getElementById(FLUFF_IMAGE);
+        Element rect = getElementById(FLUFF_IMAGE);
         if (rect instanceof SVGRectElement) {
             embedImage(ImageHelper.getFluffFile(ship, dir),
                     (Element) rect.getParentNode(), getRectBBox((SVGRectElement) rect), true);
         }
-        hideElement(getSVGDocument().getElementById(NOTES));
+        hideElement(getElementById(NOTES));
     }
 }
@@ -126,7 +126,7 @@ public class PrintDropship extends PrintAero {
     @Override
     public void processImage(int pageNum, PageFormat pageFormat) {
         if (pageNum > 0) {
-            Element element = getSVGDocument().getElementById(COPYRIGHT);
+            Element element = getElementById(COPYRIGHT);
             if (null != element) {
                 element.setTextContent(String.format(element.getTextContent(),
                         Calendar.getInstance().get(Calendar.YEAR)));
@@ -134,7 +134,7 @@ public class PrintDropship extends PrintAero {
             setTextField(TITLE, getRecordSheetTitle().toUpperCase() + " (REVERSE)");
             setTextField(TYPE, getEntity().getShortNameRaw());
             setTextField(FLUFF_NAME, ""); // TODO: fluff name needs MM support
-            element = getSVGDocument().getElementById(INVENTORY);
+            element = getElementById(INVENTORY);
             if (element instanceof SVGRectElement) {
                 writeEquipment((SVGRectElement) element, true);
             }
@@ -158,7 +158,7 @@ public class PrintDropship extends PrintAero {
         } else if (ship instanceof Dropship) {
             setTextField(N_OTHER, ((Dropship) ship).getNOtherPassenger());
         }
-        Element element = getSVGDocument().getElementById(LIFE_BOATS);
+        Element element = getElementById(LIFE_BOATS);
         if (null != element) {
             element.setTextContent(String.format(element.getTextContent(),
                     ship.getLifeBoats(), ship.getEscapePods()));
@@ -358,11 +358,11 @@ public class PrintDropship extends PrintAero {
     @Override
     protected void drawFluffImage() {
         String dir = ImageHelper.imageDropship;
-        Element rect = getSVGDocument().getElementById("fluffImage");
+        Element rect = getElementById("fluffImage");
         if (rect instanceof SVGRectElement) {
             embedImage(ImageHelper.getFluffFile(ship, dir),
                     (Element) rect.getParentNode(), getRectBBox((SVGRectElement) rect), true);
         }
-        hideElement(getSVGDocument().getElementById(NOTES));
+        hideElement(getElementById(NOTES));
     }
 }
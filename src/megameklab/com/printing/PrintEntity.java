@@ -152,7 +152,7 @@ public abstract class PrintEntity extends PrintRecordSheet {
     protected void processImage(int pageNum, PageFormat pageFormat) {
         Element element;
         
-        element = getSVGDocument().getElementById(COPYRIGHT);
+        element = getElementById(COPYRIGHT);
         if (null != element) {
             element.setTextContent(String.format(element.getTextContent(),
                     Calendar.getInstance().get(Calendar.YEAR)));
@@ -161,7 +161,7 @@ public abstract class PrintEntity extends PrintRecordSheet {
         writeTextFields();
         drawArmor();
         drawStructure();
-        Element eqRect = getSVGDocument().getElementById(INVENTORY);
+        Element eqRect = getElementById(INVENTORY);
         if (eqRect instanceof SVGRectElement) {
             writeEquipment((SVGRectElement) eqRect);
         }
@@ -206,7 +206,7 @@ public abstract class PrintEntity extends PrintRecordSheet {
             // name or the length of the blank.
             double nameOffset = 0;
             if (getEntity().getCrew().getSlotCount() > 1) {
-                Element element = getSVGDocument().getElementById(CREW_NAME + i);
+                Element element = getElementById(CREW_NAME + i);
                 if (null != element) {
                     float oldWidth = ((SVGTextContentElement) element).getComputedTextLength();
                     element.setTextContent(getEntity().getCrew().getCrewType().getRoleName(i) + ":");
@@ -214,12 +214,12 @@ public abstract class PrintEntity extends PrintRecordSheet {
                 }
             }
             if (showPilotInfo()) {
-                Element element = getSVGDocument().getElementById(BLANKS_CREW + i);
+                Element element = getElementById(BLANKS_CREW + i);
                 if (null != element) {
                     hideElement(element);
                 }
                 if (nameOffset != 0) {
-                    element = getSVGDocument().getElementById(PILOT_NAME + i);
+                    element = getElementById(PILOT_NAME + i);
                     if (null != element) {
                         double offset = nameOffset;
                         String prev = element.getAttribute(SVGConstants.SVG_X_ATTRIBUTE);
@@ -249,7 +249,7 @@ public abstract class PrintEntity extends PrintRecordSheet {
                     }
                 }
                 if (spaList.length() > 0) {
-                    Element rect = getSVGDocument().getElementById(SPAS + (getEntity().getCrew().getSlotCount() - 1));
+                    Element rect = getElementById(SPAS + (getEntity().getCrew().getSlotCount() - 1));
                     if (rect instanceof SVGRectElement) {
                         Rectangle2D bbox = getRectBBox((SVGRectElement) rect);
                         Element canvas = (Element) rect.getParentNode();
@@ -271,7 +271,7 @@ public abstract class PrintEntity extends PrintRecordSheet {
                 setTextField(GUNNERY_SKILL + i, null);
                 setTextField(PILOTING_SKILL + i, null);
                 if (nameOffset != 0) {
-                    Element element = getSVGDocument().getElementById(BLANK_CREW_NAME + i);
+                    Element element = getElementById(BLANK_CREW_NAME + i);
                     if (null != element) {
                         SVGRect rect = ((SVGGraphicsElement) element).getBBox();
                         element.setAttributeNS(null, SVGConstants.SVG_D_ATTRIBUTE,
@@ -324,7 +324,7 @@ public abstract class PrintEntity extends PrintRecordSheet {
                     String atName = EquipmentType.getArmorTypeName(getEntity().getArmorType(loc));
                     String eleName = PATCHWORK + getEntity().getLocationAbbr(loc);
                     int index = atName.indexOf('-');
-                    if ((index < 0) || (getSVGDocument().getElementById(eleName + "2") == null)) {
+                    if ((index < 0) || (getElementById(eleName + "2") == null)) {
                         setTextField(PATCHWORK + getEntity().getLocationAbbr(loc), atName);
                     } else {
                         setTextField(PATCHWORK + getEntity().getLocationAbbr(loc),
@@ -365,15 +365,15 @@ public abstract class PrintEntity extends PrintRecordSheet {
         Element element;
         for (int loc = firstArmorLocation(); loc < getEntity().locations(); loc++) {
             if ((getEntity() instanceof Mech) && getEntity().isSuperHeavy() && (loc == Mech.LOC_HEAD)) {
-                element = getSVGDocument().getElementById(ARMOR_PIPS + getEntity().getLocationAbbr(loc) + "_SH");
+                element = getElementById(ARMOR_PIPS + getEntity().getLocationAbbr(loc) + "_SH");
             } else {
-                element = getSVGDocument().getElementById(ARMOR_PIPS + getEntity().getLocationAbbr(loc));
+                element = getElementById(ARMOR_PIPS + getEntity().getLocationAbbr(loc));
             }
             if (null != element) {
                 ArmorPipLayout.addPips(this, element, getEntity().getOArmor(loc),
                         PipType.forAT(getEntity().getArmorType(loc)), 0.5, FILL_WHITE);
             }
-            element = getSVGDocument().getElementById(STRUCTURE_PIPS + getEntity().getLocationAbbr(loc));
+            element = getElementById(STRUCTURE_PIPS + getEntity().getLocationAbbr(loc));
             if (null != element) {
                 ArmorPipLayout.addPips(this, element, getEntity().getOInternal(loc),
                         PipType.CIRCLE, 0.5, structurePipFill());
@@ -430,7 +430,7 @@ public abstract class PrintEntity extends PrintRecordSheet {
         } else {
             iconFile = new File("data/images/recordsheets/era_darkage.png");
         }
-        Element rect = getSVGDocument().getElementById(ERA_ICON);
+        Element rect = getElementById(ERA_ICON);
         if (rect instanceof SVGRectElement) {
             embedImage(iconFile,
                     (Element) rect.getParentNode(), getRectBBox((SVGRectElement) rect), true);
@@ -164,7 +164,7 @@ public class PrintInfantry extends PrintEntity {
 
         final String notes = generateNotesText(rangeWeapon);
 
-        Element rect = getSVGDocument().getElementById(NOTES);
+        Element rect = getElementById(NOTES);
         if (rect instanceof SVGRectElement) {
             final double x = ((SVGRectElement) rect).getX().getBaseVal().getValue();
             final double y = ((SVGRectElement) rect).getY().getBaseVal().getValue();
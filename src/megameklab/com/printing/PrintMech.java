@@ -155,7 +155,7 @@ public class PrintMech extends PrintEntity {
         super.processImage(pageNum, pageFormat);
 
         for (int loc = 0; loc < mech.locations(); loc++) {
-            Element critRect = getSVGDocument().getElementById(CRITS + mech.getLocationAbbr(loc));
+            Element critRect = getElementById(CRITS + mech.getLocationAbbr(loc));
             if (critRect instanceof SVGRectElement) {
                 writeLocationCriticals(loc, (SVGRectElement) critRect);
             }
@@ -163,13 +163,13 @@ public class PrintMech extends PrintEntity {
         
         hideElement(HEAVY_DUTY_GYRO_PIP, mech.getGyroType() != Mech.GYRO_HEAVY_DUTY);
         
-        Element hsRect = getSVGDocument().getElementById(HEAT_SINK_PIPS);
+        Element hsRect = getElementById(HEAT_SINK_PIPS);
         if (hsRect instanceof SVGRectElement) {
             drawHeatSinkPips((SVGRectElement) hsRect, mech.heatSinks());
         }
 
         if (mech.hasETypeFlag(Entity.ETYPE_LAND_AIR_MECH)) {
-            Element si = getSVGDocument().getElementById(SI_PIPS);
+            Element si = getElementById(SI_PIPS);
             if (si instanceof SVGRectElement) {
                 drawSIPips((SVGRectElement) si);
             } else {
@@ -185,20 +185,20 @@ public class PrintMech extends PrintEntity {
             if (((MiscType) m.getType()).isShield()) {
                 String loc = mech.getLocationAbbr(m.getLocation());
                 Element element;
-                element = getSVGDocument().getElementById(ARMOR_DIAGRAM + loc);
+                element = getElementById(ARMOR_DIAGRAM + loc);
                 if (null != element) {
                     hideElement(element, true);
                 }
-                element = getSVGDocument().getElementById(SHIELD + loc);
+                element = getElementById(SHIELD + loc);
                 if (null != element) {
                     hideElement(element, false);
                 }
-                element = getSVGDocument().getElementById(SHIELD_DC + loc);
+                element = getElementById(SHIELD_DC + loc);
                 if (null != element) {
                     ArmorPipLayout.addPips(this, element, m.getBaseDamageCapacity(),
                             PipType.CIRCLE);
                 }
-                element = getSVGDocument().getElementById(SHIELD_DA + loc);
+                element = getElementById(SHIELD_DA + loc);
                 if (null != element) {
                     ArmorPipLayout.addPips(this, element, m.getBaseDamageAbsorptionRate(),
                             PipType.DIAMOND);
@@ -212,7 +212,7 @@ public class PrintMech extends PrintEntity {
         hideUnusedCrewElements();
         super.writeTextFields();
         if (mech.hasUMU()) {
-            Element svgEle = getSVGDocument().getElementById(LBL_JUMP);
+            Element svgEle = getElementById(LBL_JUMP);
             if (null != svgEle) {
                 svgEle.setTextContent("Underwater:");
             }
@@ -282,7 +282,7 @@ public class PrintMech extends PrintEntity {
             locAbbr += "_R";
         }
         if (rear) {
-            Element element = getSVGDocument().getElementById(TEXT_ARMOR + mech.getLocationAbbr(loc) + "R");
+            Element element = getElementById(TEXT_ARMOR + mech.getLocationAbbr(loc) + "R");
             if (null != element) {
                 element.setTextContent(String.format("( %d )", mech.getOArmor(loc, true)));
             }
@@ -307,7 +307,7 @@ public class PrintMech extends PrintEntity {
     }
 
     private boolean copyPipPattern(NodeList nl, String parentName) {
-        Element parent = getSVGDocument().getElementById(parentName);
+        Element parent = getElementById(parentName);
         if (null == parent) {
             return false;
         }
@@ -354,7 +354,7 @@ public class PrintMech extends PrintEntity {
             boolean frontComplete = false;
             boolean rearComplete = false;
             if (mech.isSuperHeavy() && (loc == Mech.LOC_HEAD)) {
-                element = getSVGDocument().getElementById(ARMOR_PIPS + mech.getLocationAbbr(loc) + "_SH");
+                element = getElementById(ARMOR_PIPS + mech.getLocationAbbr(loc) + "_SH");
             } else {
                 // For consistency, only use the canon pip layout on non-superheavies.
                 // Otherwise superheavies may get a mix of pattern types.
@@ -365,7 +365,7 @@ public class PrintMech extends PrintEntity {
                         continue;
                     }
                 }
-                element = getSVGDocument().getElementById(ARMOR_PIPS + mech.getLocationAbbr(loc));
+                element = getElementById(ARMOR_PIPS + mech.getLocationAbbr(loc));
             }
             if ((null != element) && !frontComplete) {
                 ArmorPipLayout.addPips(this, element, mech.getOArmor(loc),
@@ -373,17 +373,17 @@ public class PrintMech extends PrintEntity {
 
             }
             if ((loc > Mech.LOC_HEAD) && !structComplete) {
-                element = getSVGDocument().getElementById(IS_PIPS + mech.getLocationAbbr(loc));
+                element = getElementById(IS_PIPS + mech.getLocationAbbr(loc));
                 if (null != element) {
                     ArmorPipLayout.addPips(this, element, mech.getOInternal(loc));
                 }
             }
             if (mech.hasRearArmor(loc) && !rearComplete) {
-                element = getSVGDocument().getElementById(TEXT_ARMOR + mech.getLocationAbbr(loc) + "R");
+                element = getElementById(TEXT_ARMOR + mech.getLocationAbbr(loc) + "R");
                 if (null != element) {
                     element.setTextContent(String.format(FORMAT, mech.getOArmor(loc, true)));
                 }
-                element = getSVGDocument().getElementById(ARMOR_PIPS + mech.getLocationAbbr(loc) + "R");
+                element = getElementById(ARMOR_PIPS + mech.getLocationAbbr(loc) + "R");
                 if (null != element) {
                     ArmorPipLayout.addPips(this, element, mech.getOArmor(loc, true),
                             PipType.forAT(mech.getArmorType(loc)));
@@ -393,11 +393,11 @@ public class PrintMech extends PrintEntity {
             
         }
         if (mech.isSuperHeavy()) {
-            element = getSVGDocument().getElementById(IS_PIPS_HD);
+            element = getElementById(IS_PIPS_HD);
             if (null != element) {
                 hideElement(element, true);
             }
-            element = getSVGDocument().getElementById(IS_PIPS_HD_SH);
+            element = getElementById(IS_PIPS_HD_SH);
             if (null != element) {
                 hideElement(element, false);
             }
@@ -522,11 +522,11 @@ public class PrintMech extends PrintEntity {
     protected void drawFluffImage() {
         Element rect;
         if (mech.getCrew().getSlotCount() == 3) {
-            rect = getSVGDocument().getElementById(FLUFF_TRIPLE_PILOT);
+            rect = getElementById(FLUFF_TRIPLE_PILOT);
         } else if (mech.getCrew().getSlotCount() == 2) {
-            rect = getSVGDocument().getElementById(FLUFF_DUAL_PILOT);
+            rect = getElementById(FLUFF_DUAL_PILOT);
         } else {
-            rect = getSVGDocument().getElementById(FLUFF_SINGLE_PILOT);
+            rect = getElementById(FLUFF_SINGLE_PILOT);
         }
         if (rect instanceof SVGRectElement) {
             embedImage(ImageHelper.getFluffFile(mech, ImageHelper.imageMech),
@@ -96,7 +96,7 @@ public class PrintProtomech extends PrintEntity {
      * If so, looks for a break point and puts the remainder on a second line.
      */
     private void splitName() {
-        Element element = getSVGDocument().getElementById(TYPE);
+        Element element = getElementById(TYPE);
         if (null != element) {
             String fieldWidth = parseStyle(element, MML_FIELD_WIDTH);
             if (null != fieldWidth) {
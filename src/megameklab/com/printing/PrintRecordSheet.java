@@ -33,6 +33,8 @@ import org.apache.batik.svggen.SVGGraphics2D;
 import org.apache.batik.transcoder.TranscoderException;
 import org.apache.batik.transcoder.TranscoderInput;
 import org.apache.batik.transcoder.TranscoderOutput;
+import org.apache.batik.transcoder.image.ImageTranscoder;
+import org.apache.batik.transcoder.image.PNGTranscoder;
 import org.apache.batik.util.SVGConstants;
 import org.apache.batik.util.XMLResourceDescriptor;
 import org.apache.fop.svg.PDFTranscoder;
@@ -47,6 +49,12 @@ import org.w3c.dom.xpath.XPathResult;
 import org.xml.sax.SAXException;
 
 import javax.imageio.ImageIO;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.RenderedImage;
@@ -91,6 +99,11 @@ public abstract class PrintRecordSheet implements Printable, IdConstants {
     private final int firstPage;
     protected final RecordSheetOptions options;
     private Document svgDocument;
+    /**
+     * When this sheet is drawn as a block inside another sheet's document, the elements of the block
+     * by id. Null when the sheet has a document of its own.
+     */
+    private Map<String, Element> blockElements = null;
     private SVGGraphics2D svgGenerator;
     
     private Font normalFont = null;
@@ -118,6 +131,20 @@ public abstract class PrintRecordSheet implements Printable, IdConstants {
     protected final Document getSVGDocument() {
         return svgDocument;
     }
+
+    /**
+     * Finds an element of the record sheet by its id. When the sheet is drawn as a block inside another
+     * sheet, only the block is searched.
+     *
+     * @param id The id of the element
+     * @return   The element, or null if there is none with that id
+     */
+    protected final @Nullable Element getElementById(String id) {
+        if (null != blockElements) {
+            return blockElements.get(id);
+        }
+        return svgDocument.getElementById(id);
+    }
     
     /**
      * @return The name of the typeface to use when printing record sheets.
@@ -165,11 +192,12 @@ public abstract class PrintRecordSheet implements Printable, IdConstants {
     /**
      * Finds all text elements in the SVG document and replaces the font-family attribute.
      * 
-     * @param doc The document to perform replacement in.
+     * @param root The element to perform replacement in.
      */
-    private void subFonts(SVGDocument doc) {
-        final XPathResult res = (XPathResult) ((XPathEvaluator) doc).evaluate(".//*[local-name()=\"text\"]",
-                doc.getRootElement(), null, XPathResult.ORDERED_NODE_ITERATOR_TYPE, null);
+    private void subFonts(Element root) {
+        final XPathResult res = (XPathResult) ((XPathEvaluator) root.getOwnerDocument())
+                .evaluate(".//*[local-name()=\"text\"]",
+                root, null, XPathResult.ORDERED_NODE_ITERATOR_TYPE, null);
         for (Node node = res.iterateNext(); node != null; node = res.iterateNext()) {
             if (node instanceof Element) {
                 final Element elem = (Element) node;
@@ -186,7 +214,7 @@ public abstract class PrintRecordSheet implements Printable, IdConstants {
     }
 
     private void subColorElements() {
-        Element element = svgDocument.getElementById(RS_TEMPLATE);
+        Element element = getElementById(RS_TEMPLATE);
         if (element != null) {
             String style = element.getAttributeNS(null, SVGConstants.SVG_STYLE_ATTRIBUTE);
             if (style != null) {
@@ -268,26 +296,63 @@ public abstract class PrintRecordSheet implements Printable, IdConstants {
 
     void createDocument(int pageIndex, PageFormat pageFormat) {
         svgDocument = loadTemplate(pageIndex, pageFormat);
+        blockElements = null;
         if (null != svgDocument) {
-            subFonts((SVGDocument) svgDocument);
-            subColorElements();
-            SVGGeneratorContext context = SVGGeneratorContext.createDefault(svgDocument);
-            svgGenerator = new SVGGraphics2D(context, false);
-            double ratio = Math.min(pageFormat.getImageableWidth() / (options.getPaperSize().pxWidth - 36),
-                    pageFormat.getPaper().getImageableHeight() / (options.getPaperSize().pxHeight - 36));
-            Element svgRoot = svgDocument.getDocumentElement();
-            svgRoot.setAttributeNS(null, SVGConstants.SVG_WIDTH_ATTRIBUTE, String.valueOf(pageFormat.getWidth()));
-            svgRoot.setAttributeNS(null, SVGConstants.SVG_HEIGHT_ATTRIBUTE, String.valueOf(pageFormat.getHeight()));
-            Element g = svgDocument.getElementById(RS_TEMPLATE);
-            if (g != null) {
-                g.setAttributeNS(null, SVGConstants.SVG_TRANSFORM_ATTRIBUTE,
-                        String.format("%s(%f 0 0 %f %f %f)", SVGConstants.SVG_MATRIX_VALUE,
-                                ratio, ratio, pageFormat.getImageableX(), pageFormat.getImageableY()));
+            fillTemplate(svgDocument.getDocumentElement(), pageIndex, pageFormat);
+        }
+    }
+
+    /**
+     * Draws this record sheet as a block inside another sheet's document. The template is copied from
+     * the {@link SVGTemplateCache} straight into the group and filled in there, which saves parsing the
+     * template file and creating a separate document that would then have to be copied in turn.
+     *
+     * @param group      The element in the other sheet's document to add the block to
+     * @param pageIndex  The index of this page in the print job
+     * @param pageFormat The page format selected by the user
+     */
+    void drawBlock(Element group, int pageIndex, PageFormat pageFormat) {
+        final Element root = SVGTemplateCache.importTemplate(group.getOwnerDocument(), getSVGDirectoryName(),
+                getSVGFileName(pageIndex - firstPage));
+        if (null != root) {
+            svgDocument = group.getOwnerDocument();
+            blockElements = new HashMap<>();
+            addBlockElements(root);
+            group.appendChild(root);
+            fillTemplate(root, pageIndex, pageFormat);
+        }
+    }
+
+    private void addBlockElements(Element element) {
+        final String id = element.getAttributeNS(null, SVGConstants.SVG_ID_ATTRIBUTE);
+        if (!id.isEmpty()) {
+            blockElements.putIfAbsent(id, element);
+        }
+        for (Node child = element.getFirstChild(); null != child; child = child.getNextSibling()) {
+            if (child instanceof Element) {
+                addBlockElements((Element) child);
             }
-            processImage(pageIndex - firstPage, pageFormat);
         }
     }
 
+    private void fillTemplate(Element svgRoot, int pageIndex, PageFormat pageFormat) {
+        subFonts(svgRoot);
+        subColorElements();
+        SVGGeneratorContext context = SVGGeneratorContext.createDefault(svgDocument);
+        svgGenerator = new SVGGraphics2D(context, false);
+        double ratio = Math.min(pageFormat.getImageableWidth() / (options.getPaperSize().pxWidth - 36),
+                pageFormat.getPaper().getImageableHeight() / (options.getPaperSize().pxHeight - 36));
+        svgRoot.setAttributeNS(null, SVGConstants.SVG_WIDTH_ATTRIBUTE, String.valueOf(pageFormat.getWidth()));
+        svgRoot.setAttributeNS(null, SVGConstants.SVG_HEIGHT_ATTRIBUTE, String.valueOf(pageFormat.getHeight()));
+        Element g = getElementById(RS_TEMPLATE);
+        if (g != null) {
+            g.setAttributeNS(null, SVGConstants.SVG_TRANSFORM_ATTRIBUTE,
+                    String.format("%s(%f 0 0 %f %f %f)", SVGConstants.SVG_MATRIX_VALUE,
+                            ratio, ratio, pageFormat.getImageableX(), pageFormat.getImageableY()));
+        }
+        processImage(pageIndex - firstPage, pageFormat);
+    }
+
     @Override
     public int print(Graphics graphics, PageFormat pageFormat, int pageIndex) {
         final String METHOD_NAME = "print(Graphics,PageFormat,int)";
@@ -325,6 +390,40 @@ public abstract class PrintRecordSheet implements Printable, IdConstants {
 
         return new ByteArrayInputStream(output.toByteArray());
     }
+
+    /**
+     * Writes a page of the record sheet as an SVG document, without converting it to another format.
+     *
+     * @param pageNumber The page of this sheet to write
+     * @param pageFormat The page format
+     * @param out        The stream to write the document to
+     * @throws TransformerException If the document cannot be written
+     */
+    public void exportSVG(int pageNumber, PageFormat pageFormat, OutputStream out) throws TransformerException {
+        createDocument(pageNumber + firstPage, pageFormat);
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        transformer.transform(new DOMSource(getSVGDocument()), new StreamResult(out));
+    }
+
+    /**
+     * Writes a page of the record sheet as a PNG image.
+     *
+     * @param pageNumber The page of this sheet to write
+     * @param pageFormat The page format, which determines the size of the image along with the resolution
+     * @param dpi        The resolution of the image in pixels per inch
+     * @param out        The stream to write the image to
+     * @throws TranscoderException If the image cannot be rendered
+     */
+    public void exportPNG(int pageNumber, PageFormat pageFormat, float dpi, OutputStream out) throws TranscoderException {
+        createDocument(pageNumber + firstPage, pageFormat);
+        PNGTranscoder transcoder = new PNGTranscoder();
+        // The page format is measured in points, 72 to the inch
+        transcoder.addTranscodingHint(ImageTranscoder.KEY_WIDTH, (float) (pageFormat.getWidth() * dpi / 72.0));
+        transcoder.addTranscodingHint(ImageTranscoder.KEY_HEIGHT, (float) (pageFormat.getHeight() * dpi / 72.0));
+        transcoder.addTranscodingHint(ImageTranscoder.KEY_BACKGROUND_COLOR, Color.WHITE);
+        transcoder.transcode(new TranscoderInput(getSVGDocument()), new TranscoderOutput(out));
+    }
     
     protected GraphicsNode build() {
         GVTBuilder builder = new GVTBuilder();
@@ -394,7 +493,7 @@ public abstract class PrintRecordSheet implements Printable, IdConstants {
      * @param unhide Sets the element visible if the text is non-null
      */
     protected void setTextField(String id, String text, boolean unhide) {
-        Element element = svgDocument.getElementById(id);
+        Element element = getElementById(id);
         if (null != element) {
             if (null == text) {
                 hideElement(element, true);
@@ -698,14 +797,14 @@ public abstract class PrintRecordSheet implements Printable, IdConstants {
     }
 
     protected void hideElement(String id) {
-        Element element = svgDocument.getElementById(id);
+        Element element = getElementById(id);
         if (null != element) {
             hideElement(element, true);
         }
     }
     
     protected void hideElement(String id, boolean hide) {
-        Element element = svgDocument.getElementById(id);
+        Element element = getElementById(id);
         if (null != element) {
             hideElement(element, hide);
         }
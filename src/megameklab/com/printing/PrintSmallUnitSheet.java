@@ -57,23 +57,27 @@ public class PrintSmallUnitSheet extends PrintRecordSheet {
     protected void processImage(int startPage, PageFormat pageFormat) {
         final String METHOD_NAME = "processImage(int, PageFormat)";
 
-        final Element element = getSVGDocument().getElementById(COPYRIGHT);
+        final Element element = getElementById(COPYRIGHT);
         if (element != null) {
             element.setTextContent(String.format(element.getTextContent(),
                     Calendar.getInstance().get(Calendar.YEAR)));
         }
+        final List<Element> blocks = new ArrayList<>();
         int count = 0;
         for (Entity entity : entities) {
-            Element g = getSVGDocument().getElementById("unit_" + count);
+            Element g = getElementById("unit_" + count);
             if (g != null) {
-                PrintEntity sheet = getBlockFor(entity, count);
-                sheet.createDocument(startPage, pageFormat);
-                g.appendChild(getSVGDocument().importNode(sheet.getSVGDocument()
-                        .getDocumentElement(), true));
-                getSVGDocument().getDocumentElement().appendChild(g);
+                getBlockFor(entity, count).drawBlock(g, startPage, pageFormat);
+                // Set the finished block aside so that measuring text in the next one does not
+                // have to lay this one out again.
+                g.getParentNode().removeChild(g);
+                blocks.add(g);
             }
             count++;
         }
+        for (Element g : blocks) {
+            getSVGDocument().getDocumentElement().appendChild(g);
+        }
     }
 
     private PrintEntity getBlockFor(Entity entity, int index) {
@@ -195,11 +195,11 @@ public class PrintTank extends PrintEntity {
             f = ImageHelper.getFluffFile(tank, ImageHelper.imageVehicle);
         }
         if (null != f) {
-            Element rect = getSVGDocument().getElementById(FLUFF_IMAGE);
+            Element rect = getElementById(FLUFF_IMAGE);
             if (rect instanceof SVGRectElement) {
                 embedImage(f, (Element) rect.getParentNode(), getRectBBox((SVGRectElement) rect), true);
             }
-            hideElement(getSVGDocument().getElementById(NOTES));
+            hideElement(getElementById(NOTES));
         }
     }
 }
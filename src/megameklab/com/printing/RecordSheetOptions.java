@@ -110,4 +110,19 @@ public class RecordSheetOptions {
         this.tacOpsHeat = tacOpsHeat;
     }
 
+    /**
+     * @return A string that identifies this combination of options, so that a record sheet rendered
+     *         with one set of options can be told apart from the same sheet rendered with another
+     */
+    public String getSignature() {
+        return "paper=" + paperSize.name()
+                + ";color=" + color
+                + ";quirks=" + quirks
+                + ";pilotData=" + pilotData
+                + ";eraIcon=" + eraIcon
+                + ";role=" + role
+                + ";heatProfile=" + heatProfile
+                + ";tacOpsHeat=" + tacOpsHeat;
+    }
+
 }
@@ -0,0 +1,74 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+
+package megameklab.com.printing;
+
+import megamek.common.annotations.Nullable;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the parsed record sheet templates that are drawn as blocks inside other record sheets, such as
+ * the battle armor, infantry and protomech blocks on a small unit sheet, so that each template file is
+ * only parsed once. The cached documents are never changed; each use gets its own copy of the template
+ * in the document being drawn. A template is parsed again if its file has been modified.
+ */
+final class SVGTemplateCache {
+
+    private static final Map<File, CachedTemplate> templates = new ConcurrentHashMap<>();
+
+    private SVGTemplateCache() {
+    }
+
+    /**
+     * Copies a template into a document.
+     *
+     * @param target   The document the template will be drawn in
+     * @param dirName  The directory of the template file
+     * @param filename The name of the template file
+     * @return         The root element of the template, owned by the target document but not yet added
+     *                 to it, or null if the template could not be loaded
+     */
+    static @Nullable Element importTemplate(Document target, String dirName, String filename) {
+        final File file = new File(dirName, filename);
+        final long modified = file.lastModified();
+        CachedTemplate template = templates.get(file);
+        if ((null == template) || (template.modified != modified)) {
+            final Document doc = PrintRecordSheet.loadSVG(dirName, filename);
+            if (null == doc) {
+                return null;
+            }
+            template = new CachedTemplate(doc, modified);
+            templates.put(file, template);
+        }
+        // Reading a Batik DOM is not guaranteed to be safe from more than one thread
+        synchronized (template.document) {
+            return (Element) target.importNode(template.document.getDocumentElement(), true);
+        }
+    }
+
+    private static class CachedTemplate {
+        final Document document;
+        final long modified;
+
+        CachedTemplate(Document document, long modified) {
+            this.document = document;
+            this.modified = modified;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import megamek.common.*;
 import megamek.common.weapons.AmmoWeapon;
@@ -132,23 +133,108 @@ public class WeaponBayText implements Comparable<WeaponBayText> {
     }
 
     private boolean checkOpposingSide(int loc1, int loc2, boolean rear1, boolean rear2) {
-        switch (loc1) {
+        return (getOpposingSide(loc1) == loc2) && (!sideMatters(loc1) || (rear1 == rear2));
+    }
+
+    /**
+     * @param loc The location index
+     * @return    The location on the other side of the ship, or -1 if the location is not on a side
+     */
+    private static int getOpposingSide(int loc) {
+        switch (loc) {
             // Jumpship.LOC_FLS and Jumpship.LOC_FRS are the same indices as
             // Dropship.LOC_LWING and Dropship.LOC_RWING
             case Jumpship.LOC_FLS:
-                return loc2 == Jumpship.LOC_FRS && rear1 == rear2;
+                return Jumpship.LOC_FRS;
             case Jumpship.LOC_FRS:
-                return loc2 == Jumpship.LOC_FLS && rear1 == rear2;
+                return Jumpship.LOC_FLS;
             case Jumpship.LOC_ALS:
-                return loc2 == Jumpship.LOC_ARS;
+                return Jumpship.LOC_ARS;
             case Jumpship.LOC_ARS:
-                return loc2 == Jumpship.LOC_ALS;
+                return Jumpship.LOC_ALS;
             case Warship.LOC_LBS:
-                return loc2 == Warship.LOC_RBS;
+                return Warship.LOC_RBS;
             case Warship.LOC_RBS:
-                return loc2 == Warship.LOC_LBS;
+                return Warship.LOC_LBS;
             default:
+                return -1;
+        }
+    }
+
+    /**
+     * @return Whether bays in the location can only be combined with bays on the other side that
+     *         face the same direction (dropship wing/aft sides)
+     */
+    private static boolean sideMatters(int loc) {
+        return (loc == Jumpship.LOC_FLS) || (loc == Jumpship.LOC_FRS);
+    }
+
+    /**
+     * Creates a key for grouping bays that can be combined. A bay can be combined with a bay whose
+     * {@link #getCombineKey()} equals its {@link #getPartnerKey()}; this matches {@link #canCombine(WeaponBayText)}
+     * for bays that have not already been combined, so bays can be matched with a hash lookup instead of
+     * comparing each pair. The key should not be created until all weapons have been added.
+     *
+     * @return The key that describes the contents and location of this bay, or null if the bay is not
+     *         in a location that can be combined
+     */
+    public Object getCombineKey() {
+        if ((loc.size() != 1) || (getOpposingSide(loc.get(0)) < 0)) {
+            return null;
+        }
+        return new CombineKey(this, loc.get(0), sideMatters(loc.get(0)) ? rear : null);
+    }
+
+    /**
+     * @return The {@link #getCombineKey()} of a bay that this bay can be combined into, or null
+     *         if the bay is not in a location that can be combined
+     */
+    public Object getPartnerKey() {
+        if ((loc.size() != 1) || (getOpposingSide(loc.get(0)) < 0)) {
+            return null;
+        }
+        int other = getOpposingSide(loc.get(0));
+        return new CombineKey(this, other, sideMatters(other) ? rear : null);
+    }
+
+    /**
+     * The weapon counts, ammo shots, and augmentations of a bay along with the location
+     * and, if it matters for the location, the direction the bay faces.
+     */
+    private static class CombineKey {
+        private final Map<WeaponType, Integer> weapons;
+        private final Map<WeaponType, Integer> ammoShots = new HashMap<>();
+        private final Map<WeaponType, Map<EquipmentType, Integer>> augmentations;
+        private final int loc;
+        private final Boolean rear;
+        private final int hash;
+
+        CombineKey(WeaponBayText wbt, int loc, Boolean rear) {
+            weapons = wbt.weapons;
+            wbt.weaponAmmo.forEach((wtype, ammo) -> ammoShots.put(wtype, ammo.getBaseShotsLeft()));
+            augmentations = wbt.augmentations;
+            this.loc = loc;
+            this.rear = rear;
+            hash = Objects.hash(weapons, ammoShots, augmentations, loc, rear);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CombineKey)) {
                 return false;
+            }
+            CombineKey other = (CombineKey) o;
+            return (hash == other.hash) && (loc == other.loc) && Objects.equals(rear, other.rear)
+                    && weapons.equals(other.weapons) && ammoShots.equals(other.ammoShots)
+                    && augmentations.equals(other.augmentations);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
         }
     }
 
@@ -33,8 +33,7 @@ import megamek.common.AmmoType;
 import megamek.common.Entity;
 import megamek.common.Mounted;
 import megamek.common.WeaponType;
-import megamek.common.verifier.EntityVerifier;
-import megamek.common.verifier.TestAero;
+import megamek.common.verifier.TestEntity;
 import megameklab.com.ui.MegaMekLabMainUI;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
@@ -50,8 +49,6 @@ public class StatusBar extends ITab {
     private final JLabel heatSink = new JLabel();
     private final JLabel cost = new JLabel();
     private final JLabel invalid = new JLabel();
-    private final EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-            "data/mechfiles/UnitVerifierOptions.xml"));
     private final DecimalFormat formatter;
     private final JFrame parentFrame;
 
@@ -63,7 +60,7 @@ public class StatusBar extends ITab {
 
         formatter = new DecimalFormat();
         JButton btnValidate = new JButton("Validate Unit");
-        btnValidate.addActionListener(evt -> UnitUtil.showValidation(getAero(), getParentFrame()));
+        btnValidate.addActionListener(evt -> UnitUtil.showValidation(eSource.getTestEntity(), getParentFrame()));
         JButton btnFluffImage = new JButton("Set Fluff Image");
         btnFluffImage.addActionListener(evt -> getFluffImage());
         invalid.setText("Invalid");
@@ -100,12 +97,11 @@ public class StatusBar extends ITab {
         double tonnage = getAero().getWeight();
         double currentTonnage;
         int bv = getAero().calculateBattleValue();
-        long currentCost = Math.round(getAero().getCost(false));
+        long currentCost = Math.round(eSource.getLedger().getCost());
 
-        TestAero testAero = new TestAero(getAero(), entityVerifier.aeroOption, null);
+        TestEntity testAero = eSource.getTestEntity();
 
-        currentTonnage = testAero.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getAero());
+        currentTonnage = eSource.getLedger().getWeight();
 
         double totalHeat = calculateTotalHeat();
 
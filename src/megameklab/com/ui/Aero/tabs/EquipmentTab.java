@@ -28,7 +28,6 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -73,6 +72,8 @@ import megamek.common.weapons.artillery.ArtilleryWeapon;
 import megamek.common.weapons.bayweapons.BayWeapon;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EditJournal;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentTableModel;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
@@ -225,14 +226,7 @@ public class EquipmentTab extends ITab implements ActionListener {
         masterEquipmentTable.getInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT).put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "add");
         masterEquipmentTable.getActionMap().put("add", new EnterAction());
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-            allTypes.add(eq);
-        }
-
-        masterEquipmentList.setData(allTypes);
+        masterEquipmentList.setData(EquipmentCatalog.getInstance().getAllTypes());
 
         loadEquipmentTable();
 
@@ -505,6 +499,7 @@ public class EquipmentTab extends ITab implements ActionListener {
             if (getAero().usesWeaponBays() && (equip instanceof AmmoType)) {
                 Mounted aMount = UnitUtil.findUnallocatedAmmo(getAero(), equip);
                 if (null != aMount) {
+                    EditJournal.recordChanging(getAero(), aMount);
                     aMount.setShotsLeft(aMount.getUsableShotsLeft() + ((AmmoType)equip).getShots() * count);
                     return;
                 } else {
@@ -550,9 +545,7 @@ public class EquipmentTab extends ITab implements ActionListener {
             addEquipment(equip);
         } else if (e.getActionCommand().equals(REMOVE_COMMAND)) {
             int selectedRows[] = equipmentTable.getSelectedRows();
-            for (Integer row : selectedRows){
-                equipmentList.removeMounted(row);
-            }
+            equipmentList.removeMounted(selectedRows);
             equipmentList.removeCrits(selectedRows);
             if (getAero().usesWeaponBays()) {
                 removeEmptyBays();
@@ -576,18 +569,14 @@ public class EquipmentTab extends ITab implements ActionListener {
 
     public void removeAllEquipment() {
         removeHeatSinks();
-        for (int count = 0; count < equipmentList.getRowCount(); count++) {
-            equipmentList.removeMounted(count);
-        }
+        equipmentList.removeAllMounted();
         equipmentList.removeAllCrits();
     }
     
     private void removeEmptyBays() {
         List<Mounted> emptyBays = getAero().getWeaponBayList().stream()
                 .filter(bay -> bay.getBayWeapons().isEmpty()).collect(Collectors.toList());
-        for (Mounted bay : emptyBays) {
-            UnitUtil.removeMounted(getAero(), bay);
-        }
+        UnitUtil.removeMounteds(getAero(), emptyBays);
     }
 
     private void fireTableRefresh() {
@@ -668,6 +657,7 @@ public class EquipmentTab extends ITab implements ActionListener {
                 return false;
             }
         };
+        masterEquipmentList.refreshContext();
         equipmentSorter.setRowFilter(equipmentTypeFilter);
     }
 
@@ -319,57 +319,62 @@ public class StructureTab extends ITab implements AeroBuildListener, ArmorAlloca
     
     @Override
     public void updateTechLevel() {
-        removeAllListeners();
-        getAero().setTechLevel(panInfo.getTechLevel().getCompoundTechLevel(panInfo.useClanTechBase()));
-        if (panArmor.isPatchwork() && !getTechManager().isLegal(Entity.getPatchworkArmorAdvancement())) {
-            panArmor.setPatchwork(false);
-            armorTypeChanged(panArmor.getArmorType(), panArmor.getArmorTechConstant());
-        }
-        if (getAero().hasPatchworkArmor()) {
-            for (int loc = 0; loc < getAero().locations(); loc++) {
-                if (!getTechManager().isLegal(panPatchwork.getArmor(loc))) {
-                    getAero().setArmorType(EquipmentType.T_ARMOR_STANDARD, TechConstants.T_INTRO_BOXSET);
-                    UnitUtil.resetArmor(getAero(), loc);
+        refresh.beginBatch();
+        try {
+            removeAllListeners();
+            getAero().setTechLevel(panInfo.getTechLevel().getCompoundTechLevel(panInfo.useClanTechBase()));
+            if (panArmor.isPatchwork() && !getTechManager().isLegal(Entity.getPatchworkArmorAdvancement())) {
+                panArmor.setPatchwork(false);
+                armorTypeChanged(panArmor.getArmorType(), panArmor.getArmorTechConstant());
+            }
+            if (getAero().hasPatchworkArmor()) {
+                for (int loc = 0; loc < getAero().locations(); loc++) {
+                    if (!getTechManager().isLegal(panPatchwork.getArmor(loc))) {
+                        getAero().setArmorType(EquipmentType.T_ARMOR_STANDARD, TechConstants.T_INTRO_BOXSET);
+                        UnitUtil.resetArmor(getAero(), loc);
+                    }
                 }
+            } else if (!getTechManager().isLegal(panArmor.getArmor())) {
+                UnitUtil.removeISorArmorMounts(getAero(), false);
             }
-        } else if (!getTechManager().isLegal(panArmor.getArmor())) {
-            UnitUtil.removeISorArmorMounts(getAero(), false);
-        }
-        // If we have a large engine, a drop in tech level may make it unavailable and we will need
-        // to reduce speed to a legal value.
-        if (getAero().getEngine().hasFlag(Engine.LARGE_ENGINE) && panChassis.getAvailableEngines().isEmpty()) {
-            int walk;
-            if (getAero().isPrimitive()) {
-                walk = 400 / (int)(getAero().getWeight() * 1.2);
-            } else {
-                walk = 400 / (int)getAero().getWeight();
+            // If we have a large engine, a drop in tech level may make it unavailable and we will need
+            // to reduce speed to a legal value.
+            if (getAero().getEngine().hasFlag(Engine.LARGE_ENGINE) && panChassis.getAvailableEngines().isEmpty()) {
+                int walk;
+                if (getAero().isPrimitive()) {
+                    walk = 400 / (int)(getAero().getWeight() * 1.2);
+                } else {
+                    walk = 400 / (int)getAero().getWeight();
+                }
+                if (!panChassis.isConventional()) {
+                    walk += 2;
+                }
+                recalculateEngineRating(walk, getAero().getWeight());
+                getAero().setOriginalWalkMP(walk);
+                panMovement.setFromEntity(getAero());
+                JOptionPane.showMessageDialog(
+                        this, String.format("Large engine not available at this tech level. Reducing MP to %d.", walk),
+                        "Bad Engine", JOptionPane.ERROR_MESSAGE);
             }
-            if (!panChassis.isConventional()) {
-                walk += 2;
+            if (UnitUtil.checkEquipmentByTechLevel(getAero(), panInfo)) {
+                refresh.refreshEquipment();
+            } else {
+                refresh.refreshEquipmentTable();
             }
-            recalculateEngineRating(walk, getAero().getWeight());
-            getAero().setOriginalWalkMP(walk);
-            panMovement.setFromEntity(getAero());
-            JOptionPane.showMessageDialog(
-                    this, String.format("Large engine not available at this tech level. Reducing MP to %d.", walk),
-                    "Bad Engine", JOptionPane.ERROR_MESSAGE);
-        }
-        if (UnitUtil.checkEquipmentByTechLevel(getAero(), panInfo)) {
-            refresh.refreshEquipment();
-        } else {
-            refresh.refreshEquipmentTable();
+            panChassis.refresh();
+            panHeat.refresh();
+            heatSinksChanged(panHeat.getHeatSinkIndex(), panHeat.getCount());
+            panArmor.refresh();
+            panMovement.refresh();
+            panArmorAllocation.setFromEntity(getAero());
+            panPatchwork.setFromEntity(getAero());
+            addAllListeners();
+            panSummary.refresh();
+            refresh.refreshStatus();
+            refresh.refreshPreview();
+        } finally {
+            refresh.endBatch();
         }
-        panChassis.refresh();
-        panHeat.refresh();
-        heatSinksChanged(panHeat.getHeatSinkIndex(), panHeat.getCount());
-        panArmor.refresh();
-        panMovement.refresh();
-        panArmorAllocation.setFromEntity(getAero());
-        panPatchwork.setFromEntity(getAero());
-        addAllListeners();
-        panSummary.refresh();
-        refresh.refreshStatus();
-        refresh.refreshPreview();
     }
 
     @Override
@@ -442,7 +447,7 @@ public class StructureTab extends ITab implements AeroBuildListener, ArmorAlloca
     
     @Override
     public void useRemainingTonnageArmor() {
-        double currentTonnage = UnitUtil.getEntityVerifier(getAero()).calculateWeight();
+        double currentTonnage = eSource.getTestEntity().calculateWeight();
         currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getAero());
         double totalTonnage = getAero().getWeight();
         double remainingTonnage = TestEntity.floor(totalTonnage - currentTonnage, TestEntity.Ceil.HALFTON);
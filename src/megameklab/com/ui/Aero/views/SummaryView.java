@@ -20,7 +20,6 @@ import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.io.File;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
@@ -29,7 +28,6 @@ import javax.swing.JLabel;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
 
-import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestAero;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.IView;
@@ -51,9 +49,6 @@ public class SummaryView extends IView{
     private JTextField txtWeapTon = new JTextField("?");
     private JTextField txtOtherTon = new JTextField("?");
 
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(
-            new File("data/mechfiles/UnitVerifierOptions.xml"));
-
     public SummaryView(EntitySource eSource) {
         super(eSource);
 
@@ -164,8 +159,7 @@ public class SummaryView extends IView{
     }
 
     public void refresh() {
-        TestAero testAero = 
-                new TestAero(getAero(), entityVerifier.aeroOption, null);
+        TestAero testAero = (TestAero) eSource.getTestEntity();
        
         txtStructTon.setText(Double.toString(testAero.getWeightStructure()));
         txtEngineTon.setText(Double.toString(testAero.getWeightEngine()));
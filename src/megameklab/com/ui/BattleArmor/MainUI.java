@@ -72,10 +72,10 @@ public class MainUI extends MegaMekLabMainUI {
 
         statusbar = new StatusBar(this);
         buildTab = new BuildTab(this);
-        structureTab.addRefreshedListener(this);
-        equipTab.addRefreshedListener(this);
-        buildTab.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshListener());
+        equipTab.addRefreshedListener(getRefreshListener());
+        buildTab.addRefreshedListener(getRefreshListener());
+        fluffTab.setRefreshedListener(getRefreshListener());
 
         ConfigPane.addTab("Structure/Armor", structureTab);
         ConfigPane.addTab("Equipment", equipTab);
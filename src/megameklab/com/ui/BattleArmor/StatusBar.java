@@ -31,7 +31,6 @@ import javax.swing.JPanel;
 import javax.swing.UIManager;
 
 import megamek.common.BattleArmor;
-import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestBattleArmor;
 import megameklab.com.ui.MegaMekLabMainUI;
 import megameklab.com.util.ITab;
@@ -52,8 +51,6 @@ public class StatusBar extends ITab {
     private final JLabel tons = new JLabel();
     private final JLabel cost = new JLabel();
     private final JLabel invalid = new JLabel();
-    private final EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-            "data/mechfiles/UnitVerifierOptions.xml"));
     private final DecimalFormat formatter;
     private final JFrame parentFrame;
 
@@ -63,7 +60,7 @@ public class StatusBar extends ITab {
         parentFrame = parent;
         formatter = new DecimalFormat();
         JButton btnValidate = new JButton("Validate Unit");
-        btnValidate.addActionListener(evt -> UnitUtil.showValidation(getBattleArmor(), getParentFrame()));
+        btnValidate.addActionListener(evt -> UnitUtil.showValidation(eSource.getTestEntity(), getParentFrame()));
         JButton btnFluffImage = new JButton("Set Fluff Image");
         btnFluffImage.addActionListener(evt -> getFluffImage());
         invalid.setText("Invalid");
@@ -130,8 +127,7 @@ public class StatusBar extends ITab {
         final int bv = getBattleArmor().calculateBattleValue();
         final long currentCost = Math.round(getBattleArmor().getCost(false));
 
-        TestBattleArmor testBA = new TestBattleArmor(getBattleArmor(), entityVerifier.baOption,
-                null);
+        TestBattleArmor testBA = (TestBattleArmor) eSource.getTestEntity();
         currentKilos = testBA.calculateWeight(BattleArmor.LOC_SQUAD);
         currentKilos += UnitUtil.getUnallocatedAmmoTonnage(getBattleArmor());
 
@@ -28,7 +28,6 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.List;
 
 import javax.swing.AbstractAction;
@@ -67,6 +66,7 @@ import megamek.common.WeaponType;
 import megamek.common.weapons.artillery.ArtilleryWeapon;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentTableModel;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
@@ -215,14 +215,7 @@ public class EquipmentTab extends ITab implements ActionListener {
         masterEquipmentTable.getInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT).put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "add");
         masterEquipmentTable.getActionMap().put("add", new EnterAction());
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-            allTypes.add(eq);
-        }
-
-        masterEquipmentList.setData(allTypes);
+        masterEquipmentList.setData(EquipmentCatalog.getInstance().getAllTypes());
 
         loadEquipmentTable();
 
@@ -506,9 +499,7 @@ public class EquipmentTab extends ITab implements ActionListener {
             addEquipment(equip);
         } else if (e.getActionCommand().equals(REMOVE_COMMAND)) {
             int selectedRows[] = equipmentTable.getSelectedRows();
-            for (Integer row : selectedRows){
-                equipmentList.removeMounted(row);
-            }
+            equipmentList.removeMounted(selectedRows);
             equipmentList.removeCrits(selectedRows);
         } else if (e.getActionCommand().equals(REMOVEALL_COMMAND)) {
             removeAllEquipment();
@@ -526,9 +517,7 @@ public class EquipmentTab extends ITab implements ActionListener {
 
     public void removeAllEquipment() {
         removeHeatSinks();
-        for (int count = 0; count < equipmentList.getRowCount(); count++) {
-            equipmentList.removeMounted(count);
-        }
+        equipmentList.removeAllMounted();
         equipmentList.removeAllCrits();
     }
 
@@ -621,6 +610,7 @@ public class EquipmentTab extends ITab implements ActionListener {
                 return false;
             }
         };
+        masterEquipmentList.refreshContext();
         equipmentSorter.setRowFilter(equipmentTypeFilter);
     }
 
@@ -456,27 +456,32 @@ public class StructureTab extends ITab implements ActionListener, BABuildListene
     
     @Override
     public void updateTechLevel() {
-        removeAllListeners();
-        getBattleArmor().setTechLevel(panBasicInfo.getTechLevel().getCompoundTechLevel(panBasicInfo.useClanTechBase()));
-        if (UnitUtil.checkEquipmentByTechLevel(getBattleArmor(), panBasicInfo)) {
-            refresh.refreshEquipment();
-        } else {
-            refresh.refreshEquipmentTable();
-        }
-        panChassis.refresh();
-        panMovement.refresh();
-        panEnhancements.setFromEntity(getBattleArmor());
-        panArmor.refresh();
-        EquipmentType armor = panArmor.getArmor();
-        // If the current armor is no longer available, switch to the current selection
-        if (EquipmentType.getArmorType(armor) != getBattleArmor().getArmorType(BattleArmor.LOC_SQUAD)
-                || (armor.getTechLevel(getBattleArmor().getYear())
-                    != getBattleArmor().getArmorTechLevel(BattleArmor.LOC_SQUAD))) {
-            armorTypeChanged(armor);
+        refresh.beginBatch();
+        try {
+            removeAllListeners();
+            getBattleArmor().setTechLevel(panBasicInfo.getTechLevel().getCompoundTechLevel(panBasicInfo.useClanTechBase()));
+            if (UnitUtil.checkEquipmentByTechLevel(getBattleArmor(), panBasicInfo)) {
+                refresh.refreshEquipment();
+            } else {
+                refresh.refreshEquipmentTable();
+            }
+            panChassis.refresh();
+            panMovement.refresh();
+            panEnhancements.setFromEntity(getBattleArmor());
+            panArmor.refresh();
+            EquipmentType armor = panArmor.getArmor();
+            // If the current armor is no longer available, switch to the current selection
+            if (EquipmentType.getArmorType(armor) != getBattleArmor().getArmorType(BattleArmor.LOC_SQUAD)
+                    || (armor.getTechLevel(getBattleArmor().getYear())
+                        != getBattleArmor().getArmorTechLevel(BattleArmor.LOC_SQUAD))) {
+                armorTypeChanged(armor);
+            }
+            armorTypeChanged(panArmor.getArmor());
+            addAllListeners();
+            refresh.refreshPreview();
+        } finally {
+            refresh.endBatch();
         }
-        armorTypeChanged(panArmor.getArmor());
-        addAllListeners();
-        refresh.refreshPreview();
     }
 
     @Override
@@ -695,7 +700,7 @@ public class StructureTab extends ITab implements ActionListener, BABuildListene
     
     @Override
     public void useRemainingTonnageArmor() {
-        final TestBattleArmor testBA = (TestBattleArmor) UnitUtil.getEntityVerifier(getBattleArmor());
+        final TestBattleArmor testBA = (TestBattleArmor) eSource.getTestEntity();
         double currentTonnage = testBA.calculateWeight(BattleArmor.LOC_SQUAD);
         currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getBattleArmor());
         double totalTonnage = getBattleArmor().getTrooperWeight();
@@ -21,7 +21,6 @@ import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
-import java.io.File;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
@@ -39,11 +38,11 @@ import megamek.common.MiscType;
 import megamek.common.Mounted;
 import megamek.common.WeaponType;
 import megamek.common.loaders.MtfFile;
-import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestBattleArmor;
 import megamek.common.weapons.infantry.InfantryWeapon;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.ui.BattleArmor.CriticalSuit;
+import megameklab.com.util.EquipmentIndex;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.Mech.DropTargetCriticalList;
@@ -229,7 +228,7 @@ public class CriticalView extends IView {
                                     new StringBuffer(m.getName());
 
                             critName.append(":" + slot + ":"
-                                    + getBattleArmor().getEquipmentNum(m));
+                                    + EquipmentIndex.getEquipmentNum(getBattleArmor(), m));
                             critNames.add(critName.toString());
                         } catch (Exception ex) {
                             ex.printStackTrace();
@@ -309,10 +308,7 @@ public class CriticalView extends IView {
                 turretPanel.setVisible(false);
             }
             
-            EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-                    "data/mechfiles/UnitVerifierOptions.xml"));
-            TestBattleArmor testBA = new TestBattleArmor(getBattleArmor(),
-                    entityVerifier.baOption, null);
+            TestBattleArmor testBA = (TestBattleArmor) eSource.getTestEntity();
             
             String weightTxt = "Weight: "
                     + String.format("%1$.3f", testBA.calculateWeight(trooper))
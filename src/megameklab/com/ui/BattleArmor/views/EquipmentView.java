@@ -21,7 +21,6 @@ import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
@@ -39,6 +38,7 @@ import megamek.common.LocationFullException;
 import megamek.common.Mounted;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentListCellKeySelectionManager;
 import megameklab.com.util.EquipmentListCellRenderer;
 import megameklab.com.util.IView;
@@ -113,9 +113,7 @@ public class EquipmentView extends IView implements ActionListener {
 
         mainPanel.add(rightPanel);
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
+        for (EquipmentType eq : EquipmentCatalog.getInstance().getAllTypes()) {
 
             if (UnitUtil.isBAEquipment(eq, getBattleArmor())) {
                 masterEquipmentList.add(eq);
@@ -226,9 +224,7 @@ public class EquipmentView extends IView implements ActionListener {
     }
 
     public void removeAllEquipment() {
-        for (int count = 0; count < equipmentList.getRowCount(); count++) {
-            equipmentList.removeMounted(count);
-        }
+        equipmentList.removeAllMounted();
         equipmentList.removeAllCrits();
     }
 
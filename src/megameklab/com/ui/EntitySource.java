@@ -1,7 +1,12 @@
 package megameklab.com.ui;
 
+import java.io.IOException;
+
 import megamek.common.Entity;
 import megamek.common.ITechManager;
+import megamek.common.verifier.TestEntity;
+import megameklab.com.util.EntitySnapshot;
+import megameklab.com.util.UnitLedger;
 
 /**
  * In order to track when changes are made to the unit, we will have one
@@ -76,4 +81,24 @@ public interface EntitySource {
      * Provides means to determine legality of any piece of tech.
      */
     ITechManager getTechManager();
+
+    /**
+     * Provides the verifier for the current Entity. The same instance is returned as long as it is
+     * still valid for the Entity, so callers should not hold on to it between refreshes.
+     */
+    TestEntity getTestEntity();
+
+    /**
+     * Provides the running weight and cost totals for the current Entity.
+     */
+    UnitLedger getLedger();
+
+    /**
+     * Provides a snapshot of the current Entity for work done outside the event dispatch thread. The
+     * same snapshot is returned until the Entity is changed, so a refresh that updates several views
+     * only captures the unit once.
+     *
+     * @throws IOException If the Entity cannot be captured
+     */
+    EntitySnapshot getSnapshot() throws IOException;
 }
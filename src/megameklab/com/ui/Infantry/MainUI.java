@@ -62,8 +62,8 @@ public class MainUI extends MegaMekLabMainUI {
         fluffTab = new FluffTab(this);
         previewTab = new PreviewTab(this);
 
-        structureTab.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshListener());
+        fluffTab.setRefreshedListener(getRefreshListener());
 
         ConfigPane.addTab("Build", structureTab);
         ConfigPane.addTab("Fluff", fluffTab);
@@ -115,7 +115,8 @@ public class MainUI extends MegaMekLabMainUI {
 
     @Override
     public void refreshEquipment() {
-
+        // The weapon list takes the place of the equipment tab
+        refreshEquipmentTable();
     }
 
     @Override
@@ -51,7 +51,7 @@ public class StatusBar extends ITab {
 
         formatter = new DecimalFormat();
         JButton btnValidate = new JButton("Validate Unit");
-        btnValidate.addActionListener(evt -> UnitUtil.showValidation(getInfantry(), getParentFrame()));
+        btnValidate.addActionListener(evt -> UnitUtil.showValidation(eSource.getTestEntity(), getParentFrame()));
         JButton btnFluffImage = new JButton("Set Fluff Image");
         btnFluffImage.addActionListener(evt -> getFluffImage());
         invalid.setText("Invalid");
@@ -101,7 +101,7 @@ public class StatusBar extends ITab {
         bvLabel.setToolTipText("BV 2.0");
 
         cost.setText("Cost: " + formatter.format(currentCost) + " C-bills");
-        String str = UnitUtil.validateUnit(getInfantry());
+        String str = UnitUtil.validateUnit(eSource.getTestEntity());
         invalid.setVisible(!str.isEmpty());
         invalid.setToolTipText("<html>" + str.replaceAll("\n", "<br/>") + "</html>");
     }
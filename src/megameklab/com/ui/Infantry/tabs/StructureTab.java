@@ -355,22 +355,27 @@ public class StructureTab extends ITab implements InfantryBuildListener {
 
     @Override
     public void updateTechLevel() {
-        if (!panBasicInfo.isLegal(Infantry.getMotiveTechAdvancement(getInfantry().getMovementMode()))) {
-            motiveTypeChanged(EntityMovementMode.INF_LEG, false);
+        refresh.beginBatch();
+        try {
+            if (!panBasicInfo.isLegal(Infantry.getMotiveTechAdvancement(getInfantry().getMovementMode()))) {
+                motiveTypeChanged(EntityMovementMode.INF_LEG, false);
+            }
+            getInfantry().setTechLevel(panBasicInfo.getTechLevel().getCompoundTechLevel(panBasicInfo.useClanTechBase()));
+            UnitUtil.checkEquipmentByTechLevel(getInfantry(), panBasicInfo);
+            UnitUtil.resetInfantryArmor(getInfantry());
+            panPlatoonType.setFromEntity(getInfantry());
+            panWeapons.setFromEntity(getInfantry());
+            updateSpecializations();
+            enableTabs();
+            weaponView.refresh();
+            fieldGunView.refresh();
+            armorView.refresh();
+            specializationView.refresh();
+            augmentationView.refresh();
+            refresh.refreshPreview();
+        } finally {
+            refresh.endBatch();
         }
-        getInfantry().setTechLevel(panBasicInfo.getTechLevel().getCompoundTechLevel(panBasicInfo.useClanTechBase()));
-        UnitUtil.checkEquipmentByTechLevel(getInfantry(), panBasicInfo);
-        UnitUtil.resetInfantryArmor(getInfantry());
-        panPlatoonType.setFromEntity(getInfantry());
-        panWeapons.setFromEntity(getInfantry());
-        updateSpecializations();
-        enableTabs();
-        weaponView.refresh();
-        fieldGunView.refresh();
-        armorView.refresh();
-        specializationView.refresh();
-        augmentationView.refresh();
-        refresh.refreshPreview();
     }
 
     @Override
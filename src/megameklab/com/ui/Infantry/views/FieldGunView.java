@@ -24,7 +24,6 @@ import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
-import java.util.Enumeration;
 
 import javax.swing.ButtonGroup;
 import javax.swing.DefaultComboBoxModel;
@@ -47,20 +46,13 @@ import javax.swing.event.ListSelectionListener;
 import javax.swing.table.TableColumn;
 import javax.swing.table.TableRowSorter;
 
-import megamek.common.AmmoType;
 import megamek.common.EquipmentType;
 import megamek.common.ITechManager;
 import megamek.common.WeaponType;
 import megamek.common.weapons.artillery.ArtilleryCannonWeapon;
 import megamek.common.weapons.artillery.ArtilleryWeapon;
-import megamek.common.weapons.autocannons.ACWeapon;
-import megamek.common.weapons.autocannons.HVACWeapon;
-import megamek.common.weapons.autocannons.LBXACWeapon;
-import megamek.common.weapons.autocannons.RACWeapon;
-import megamek.common.weapons.autocannons.RifleWeapon;
-import megamek.common.weapons.autocannons.UACWeapon;
-import megamek.common.weapons.gaussrifles.GaussWeapon;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentTableModel;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
@@ -154,39 +146,7 @@ public class FieldGunView extends IView implements ActionListener {
         masterEquipmentScroll.setMinimumSize(new Dimension(200,200));
         masterEquipmentScroll.setPreferredSize(new Dimension(200,200));
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-            if(!(eq instanceof WeaponType)
-                    || ((WeaponType)eq).isCapital()) {
-                continue;
-            }
-            if ((eq instanceof ACWeapon && !(eq instanceof HVACWeapon))
-                    || eq instanceof RACWeapon
-                    || eq instanceof UACWeapon
-                    || eq instanceof RifleWeapon
-                    || eq instanceof ArtilleryCannonWeapon) {
-                allTypes.add(eq);
-            }
-            if ((eq instanceof LBXACWeapon)) {
-                allTypes.add(eq);
-            }
-            if (eq instanceof GaussWeapon
-                    && ((WeaponType)eq).getAmmoType() != AmmoType.T_GAUSS_HEAVY
-                    && ((WeaponType)eq).getAmmoType() != AmmoType.T_IGAUSS_HEAVY
-                    && ((WeaponType)eq).getAmmoType() != AmmoType.T_MAGSHOT                    
-                    && ((WeaponType)eq).getAmmoType() != AmmoType.T_HAG) {
-                allTypes.add(eq);
-            }
-            if (eq instanceof ArtilleryWeapon
-                    && !eq.hasFlag(WeaponType.F_BA_WEAPON)
-                    && ((WeaponType)eq).getAmmoType() != AmmoType.T_CRUISE_MISSILE) {
-                allTypes.add(eq);
-            }
-        }
-
-        masterEquipmentList.setData(allTypes);
+        masterEquipmentList.setData(EquipmentCatalog.getInstance().getFieldGuns());
 
         DefaultComboBoxModel<String> typeModel = new DefaultComboBoxModel<String>();
         for (int i = 0; i < T_NUM; i++) {
@@ -350,6 +310,7 @@ public class FieldGunView extends IView implements ActionListener {
                 return false;
             }
         };
+        masterEquipmentList.refreshContext();
         equipmentSorter.setRowFilter(equipmentTypeFilter);
     }
 
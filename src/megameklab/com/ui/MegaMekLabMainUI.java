@@ -21,6 +21,7 @@ import java.awt.DisplayMode;
 import java.awt.Frame;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.IOException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JFrame;
@@ -36,10 +37,17 @@ import megamek.common.Entity;
 import megamek.common.EquipmentType;
 import megamek.common.MechSummaryCache;
 import megamek.common.preference.PreferenceManager;
+import megamek.common.verifier.TestEntity;
 import megameklab.com.MegaMekLab;
+import megameklab.com.util.BatchingRefreshListener;
 import megameklab.com.util.CConfig;
+import megameklab.com.util.EditJournal;
+import megameklab.com.util.EntitySnapshot;
 import megameklab.com.util.MenuBarCreator;
 import megameklab.com.util.RefreshListener;
+import megameklab.com.util.TechAvailabilityIndex;
+import megameklab.com.util.TestEntityCache;
+import megameklab.com.util.UnitLedger;
 import megameklab.com.util.UnitUtil;
 
 public abstract class MegaMekLabMainUI extends JFrame implements
@@ -51,6 +59,12 @@ public abstract class MegaMekLabMainUI extends JFrame implements
     private static final long serialVersionUID = 3971760390511127766L;
 
     private Entity entity = null;
+    private final TestEntityCache testEntityCache = new TestEntityCache();
+    private UnitLedger ledger = null;
+    private final BatchingRefreshListener refreshBatch = new BatchingRefreshListener(this, this::invalidateSnapshot,
+            this::endJournalStep);
+    private EntitySnapshot snapshot = null;
+    private EditJournal journal = null;
     protected JPanel masterPanel = new JPanel();
     protected JScrollPane scroll = new JScrollPane();
     protected MenuBarCreator menubarcreator;
@@ -180,12 +194,117 @@ public abstract class MegaMekLabMainUI extends JFrame implements
 
     public abstract void refreshPreview();
 
+    /**
+     * @return The listener to give to the tabs and views, which allows them to batch their refreshes
+     */
+    public RefreshListener getRefreshListener() {
+        return refreshBatch;
+    }
+
+    @Override
+    public void beginBatch() {
+        refreshBatch.beginBatch();
+    }
+
+    @Override
+    public void endBatch() {
+        refreshBatch.endBatch();
+    }
+
     public void setEntity(Entity en) {
+        UnitLedger.detach(entity);
+        EditJournal.detach(entity);
+        invalidateSnapshot();
+        if (entity != en) {
+            TechAvailabilityIndex.releaseIds();
+        }
         entity = en;
+        ledger = UnitLedger.attach(en, testEntityCache);
+        journal = EditJournal.attach(en, CConfig.getIntParam(CConfig.UNDO_MEMORY_KB) * 1024L);
     }
 
     public Entity getEntity() {
         return entity;
     }
 
+    @Override
+    public TestEntity getTestEntity() {
+        return testEntityCache.get(entity);
+    }
+
+    @Override
+    public UnitLedger getLedger() {
+        return ledger;
+    }
+
+    @Override
+    public EntitySnapshot getSnapshot() throws IOException {
+        if ((null == snapshot) || (snapshot.getSource() != entity)) {
+            snapshot = EntitySnapshot.capture(entity);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reverses the last change to the unit and refreshes the editor.
+     */
+    public void undo() {
+        if (null == journal) {
+            return;
+        }
+        refreshBatch.beginBatch();
+        try {
+            if (journal.undo()) {
+                refreshBatch.refreshAll();
+            }
+        } finally {
+            refreshBatch.endBatch();
+        }
+    }
+
+    /**
+     * Repeats the last change that was undone and refreshes the editor.
+     */
+    public void redo() {
+        if (null == journal) {
+            return;
+        }
+        refreshBatch.beginBatch();
+        try {
+            if (journal.redo()) {
+                refreshBatch.refreshAll();
+            }
+        } finally {
+            refreshBatch.endBatch();
+        }
+    }
+
+    /**
+     * @return Whether there is a change that can be undone
+     */
+    public boolean canUndo() {
+        return (null != journal) && journal.canUndo();
+    }
+
+    /**
+     * @return Whether there is a change that can be redone
+     */
+    public boolean canRedo() {
+        return (null != journal) && journal.canRedo();
+    }
+
+    private void endJournalStep() {
+        if (null != journal) {
+            journal.endStep();
+        }
+    }
+
+    /**
+     * Discards the snapshot of the unit. This is done whenever a refresh is requested, since the
+     * editor requests a refresh after every change to the unit.
+     */
+    private void invalidateSnapshot() {
+        snapshot = null;
+    }
+
 }
\ No newline at end of file
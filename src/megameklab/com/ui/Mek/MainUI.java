@@ -73,11 +73,11 @@ public class MainUI extends MegaMekLabMainUI {
         equipmentTab = new EquipmentTab(this);
         buildTab = new BuildTab(this, equipmentTab);
         fluffTab = new FluffTab(this);
-        structureTab.addRefreshedListener(this);
-        equipmentTab.addRefreshedListener(this);
-        buildTab.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
-        statusbar.addRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshListener());
+        equipmentTab.addRefreshedListener(getRefreshListener());
+        buildTab.addRefreshedListener(getRefreshListener());
+        fluffTab.setRefreshedListener(getRefreshListener());
+        statusbar.addRefreshedListener(getRefreshListener());
 
         configPane.addTab("Structure/Armor", structureTab);
         //ConfigPane.addTab("Armor", armorTab);
@@ -36,8 +36,7 @@ import megamek.common.Mounted;
 import megamek.common.QuadMech;
 import megamek.common.TripodMech;
 import megamek.common.WeaponType;
-import megamek.common.verifier.EntityVerifier;
-import megamek.common.verifier.TestMech;
+import megamek.common.verifier.TestEntity;
 import megameklab.com.ui.MegaMekLabMainUI;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
@@ -54,8 +53,6 @@ public class StatusBar extends ITab {
     private final JLabel heatSink = new JLabel();
     private final JLabel cost = new JLabel();
     private final JLabel invalid = new JLabel();
-    private final EntityVerifier entityVerifier = EntityVerifier.getInstance(new File("data/mechfiles/UnitVerifierOptions.xml"));
-    private TestMech testEntity;
     private final DecimalFormat formatter;
     private final JFrame parentFrame;
 
@@ -66,9 +63,8 @@ public class StatusBar extends ITab {
         parentFrame = parent;
 
         formatter = new DecimalFormat();
-        testEntity = new TestMech(getMech(), entityVerifier.mechOption, null);
         JButton btnValidate = new JButton("Validate Unit");
-        btnValidate.addActionListener(evt -> UnitUtil.showValidation(getMech(), getParentFrame()));
+        btnValidate.addActionListener(evt -> UnitUtil.showValidation(eSource.getTestEntity(), getParentFrame()));
         JButton btnFluffImage = new JButton("Set Fluff Image");
         btnFluffImage.addActionListener(evt -> getFluffImage());
         invalid.setText("Invalid");
@@ -114,12 +110,11 @@ public class StatusBar extends ITab {
             maxCrits = 78;
         }
         int currentCrits = UnitUtil.countUsedCriticals(getMech());
-        long currentCost = Math.round(getMech().getCost(false));
+        long currentCost = Math.round(eSource.getLedger().getCost());
 
-        testEntity = new TestMech(getMech(), entityVerifier.mechOption, null);
+        TestEntity testEntity = eSource.getTestEntity();
 
-        currentTonnage = testEntity.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getMech());
+        currentTonnage = eSource.getLedger().getWeight();
 
         double totalHeat = calculateTotalHeat();
 
@@ -26,7 +26,6 @@ import javax.swing.JButton;
 import javax.swing.JPanel;
 
 import megamek.common.Entity;
-import megamek.common.Mech;
 import megamek.common.Mounted;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.ui.Mek.views.BuildView;
@@ -34,6 +33,7 @@ import megameklab.com.ui.Mek.views.CriticalView;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
+import megameklab.com.util.Mech.CriticalAllocator;
 
 public class BuildTab extends ITab implements ActionListener {
 
@@ -112,44 +112,8 @@ public class BuildTab extends ITab implements ActionListener {
     }
 
     private void autoFillCrits() {
-
-        for (Mounted mount : buildView.getTableModel().getCrits()) {
-            int externalEngineHS = UnitUtil.getCriticalFreeHeatSinks(getMech(), getMech().hasCompactHeatSinks());
-            for (int location = Mech.LOC_HEAD; location < getMech().locations(); location++) {
-
-                if (!UnitUtil.isValidLocation(getMech(), mount.getType(), location)) {
-                    continue;
-                }
-
-                int continuousNumberOfCrits = UnitUtil.getHighestContinuousNumberOfCrits(getMech(), location);
-                int critsUsed = UnitUtil.getCritsUsed(getMech(), mount.getType());
-                if (continuousNumberOfCrits < critsUsed) {
-                    continue;
-                }
-                if ((mount.getLocation() == Entity.LOC_NONE)) {
-                    if (UnitUtil.isHeatSink(mount) && (externalEngineHS-- > 0)) {
-                        continue;
-                    }
-                }
-
-                try {
-                    if (mount.getType().isSpreadable() || (mount.isSplitable() && (critsUsed > 1))) {
-                        for (int count = 0; count < critsUsed; count++) {
-                            UnitUtil.addMounted(getMech(), mount, location, false);
-                        }
-                    } else {
-                        UnitUtil.addMounted(getMech(), mount, location, false);
-                    }
-                    UnitUtil.changeMountStatus(getMech(), mount, location, Entity.LOC_NONE, false);
-                    break;
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                }
-
-            }
-        }
+        new CriticalAllocator(getMech()).allocate(buildView.getTableModel().getCrits());
         refresh.refreshAll();
-
     }
 
     private void resetCrits() {
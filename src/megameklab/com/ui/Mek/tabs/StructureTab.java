@@ -619,53 +619,58 @@ public class StructureTab extends ITab implements MekBuildListener, ArmorAllocat
 
     @Override
     public void updateTechLevel() {
-        removeAllListeners();
-        getMech().setTechLevel(panBasicInfo.getTechLevel().getCompoundTechLevel(panBasicInfo.useClanTechBase()));
-        if (panArmor.isPatchwork() && !getTechManager().isLegal(Entity.getPatchworkArmorAdvancement())) {
-            panArmor.setPatchwork(false);
-            armorTypeChanged(panArmor.getArmorType(), panArmor.getArmorTechConstant());
-        }
-        if (getMech().hasPatchworkArmor()) {
-            for (int loc = 0; loc < getMech().locations(); loc++) {
-                if (!getTechManager().isLegal(panPatchwork.getArmor(loc))) {
-                    getMech().setArmorType(EquipmentType.T_ARMOR_STANDARD, TechConstants.T_INTRO_BOXSET);
-                    UnitUtil.resetArmor(getMech(), loc);
+        refresh.beginBatch();
+        try {
+            removeAllListeners();
+            getMech().setTechLevel(panBasicInfo.getTechLevel().getCompoundTechLevel(panBasicInfo.useClanTechBase()));
+            if (panArmor.isPatchwork() && !getTechManager().isLegal(Entity.getPatchworkArmorAdvancement())) {
+                panArmor.setPatchwork(false);
+                armorTypeChanged(panArmor.getArmorType(), panArmor.getArmorTechConstant());
+            }
+            if (getMech().hasPatchworkArmor()) {
+                for (int loc = 0; loc < getMech().locations(); loc++) {
+                    if (!getTechManager().isLegal(panPatchwork.getArmor(loc))) {
+                        getMech().setArmorType(EquipmentType.T_ARMOR_STANDARD, TechConstants.T_INTRO_BOXSET);
+                        UnitUtil.resetArmor(getMech(), loc);
+                    }
                 }
+            } else if (!getTechManager().isLegal(panArmor.getArmor())) {
+                UnitUtil.removeISorArmorMounts(getMech(), false);
             }
-        } else if (!getTechManager().isLegal(panArmor.getArmor())) {
-            UnitUtil.removeISorArmorMounts(getMech(), false);
-        }
-        // If we have a large engine, a drop in tech level may make it unavailable and we will need
-        // to reduce speed to a legal value.
-        if (getMech().getEngine().hasFlag(Engine.LARGE_ENGINE)
-                && panChassis.getAvailableEngines().isEmpty()) {
-            int walk;
-            if (getMech().isPrimitive()) {
-                walk = 400 / (int)(getMech().getWeight() * 1.2);
+            // If we have a large engine, a drop in tech level may make it unavailable and we will need
+            // to reduce speed to a legal value.
+            if (getMech().getEngine().hasFlag(Engine.LARGE_ENGINE)
+                    && panChassis.getAvailableEngines().isEmpty()) {
+                int walk;
+                if (getMech().isPrimitive()) {
+                    walk = 400 / (int)(getMech().getWeight() * 1.2);
+                } else {
+                    walk = 400 / (int)getMech().getWeight();
+                }
+                recalculateEngineRating(walk, getMech().getWeight());
+                getMech().setOriginalWalkMP(walk);
+                panMovement.setFromEntity(getMech());
+                JOptionPane.showMessageDialog(
+                        this, String.format("Large engine not available at this tech level. Reducing MP to %d.", walk),
+                        "Bad Engine", JOptionPane.ERROR_MESSAGE);
+            }
+            if (UnitUtil.checkEquipmentByTechLevel(getMech(), panBasicInfo)) {
+                refresh.refreshEquipment();
             } else {
-                walk = 400 / (int)getMech().getWeight();
+                refresh.refreshEquipmentTable();
             }
-            recalculateEngineRating(walk, getMech().getWeight());
-            getMech().setOriginalWalkMP(walk);
-            panMovement.setFromEntity(getMech());
-            JOptionPane.showMessageDialog(
-                    this, String.format("Large engine not available at this tech level. Reducing MP to %d.", walk),
-                    "Bad Engine", JOptionPane.ERROR_MESSAGE);
-        }
-        if (UnitUtil.checkEquipmentByTechLevel(getMech(), panBasicInfo)) {
-            refresh.refreshEquipment();
-        } else {
-            refresh.refreshEquipmentTable();
+            panChassis.refresh();
+            panHeat.refresh();
+            panMovement.refresh();
+            panArmor.refresh();
+            panArmorAllocation.setFromEntity(getMech());
+            panPatchwork.setFromEntity(getMech());
+            refresh.refreshBuild();
+            addAllListeners();
+            refresh.refreshPreview();
+        } finally {
+            refresh.endBatch();
         }
-        panChassis.refresh();
-        panHeat.refresh();
-        panMovement.refresh();
-        panArmor.refresh();
-        panArmorAllocation.setFromEntity(getMech());
-        panPatchwork.setFromEntity(getMech());
-        refresh.refreshBuild();
-        addAllListeners();
-        refresh.refreshPreview();
     }
 
     @Override
@@ -1028,7 +1033,7 @@ public class StructureTab extends ITab implements MekBuildListener, ArmorAllocat
 
     @Override
     public void useRemainingTonnageArmor() {
-        double currentTonnage = UnitUtil.getEntityVerifier(getMech())
+        double currentTonnage = eSource.getTestEntity()
                 .calculateWeight();
         currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getMech());
         double totalTonnage = getMech().getWeight();
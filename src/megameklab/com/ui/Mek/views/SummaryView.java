@@ -20,7 +20,6 @@ import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.io.File;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
@@ -32,13 +31,11 @@ import javax.swing.SwingConstants;
 import megamek.common.Engine;
 import megamek.common.EquipmentType;
 import megamek.common.Mech;
-import megamek.common.MiscType;
-import megamek.common.Mounted;
 import megamek.common.TechConstants;
-import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestMech;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.IView;
+import megameklab.com.util.UnitLedger;
 import megameklab.com.util.UnitUtil;
 
 public class SummaryView extends IView{
@@ -81,8 +78,6 @@ public class SummaryView extends IView{
     private JTextField txtEquipAvail = new JTextField("?");
     private JTextField txtOtherAvail = new JTextField("?");
 
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(new File("data/mechfiles/UnitVerifierOptions.xml"));
-
     public SummaryView(EntitySource eSource) {
         super(eSource);
 
@@ -268,7 +263,7 @@ public class SummaryView extends IView{
 
     public void refresh() {
 
-        TestMech testMech = new TestMech(getMech(), entityVerifier.mechOption, null);
+        TestMech testMech = (TestMech) eSource.getTestEntity();
 
         txtGyroTon.setText(Double.toString(testMech.getWeightGyro()));
         txtEngineTon.setText(Double.toString(testMech.getWeightEngine()));
@@ -322,46 +317,15 @@ public class SummaryView extends IView{
     }
 
     private void runThroughEquipment(TestMech testMech) {
-        double weightJJ = 0.0f;
-        double weightEnhance = 0.0f;
-        double weightEquip = 0.0f;
-        int critJJ = 0;
-        int critEquip = 0;
-        int critEnhance = 0;
-
-        for (Mounted m : getMech().getMisc()) {
-            MiscType mt = (MiscType) m.getType();
-            if(UnitUtil.isArmorOrStructure(mt)) {
-                continue;
-            }
-            else if (mt.hasFlag(MiscType.F_TSM)
-                    || mt.hasFlag(MiscType.F_INDUSTRIAL_TSM)
-                    || mt.hasFlag(MiscType.F_MASC)) {
-                weightEnhance += m.getTonnage();
-                critEnhance += UnitUtil.getCritsUsed(getMech(), mt);
-            }
-            else if (mt.hasFlag(MiscType.F_JUMP_JET)
-                    || mt.hasFlag(MiscType.F_JUMP_BOOSTER)) {
-                weightJJ += m.getTonnage();
-                critJJ += mt.getCriticals(getMech());
-            }
-            else if (mt.hasFlag(MiscType.F_HEAT_SINK)
-                    || mt.hasFlag(MiscType.F_DOUBLE_HEAT_SINK)) {
-                continue;
-            }
-            else {
-                weightEquip += m.getTonnage();
-                critEquip += mt.getCriticals(getMech());
-            }
-        }
-        for (Mounted m : getMech().getWeaponList()) {
-            weightEquip += m.getTonnage();
-            critEquip += m.getType().getCriticals(getMech());
-        }
-        for (Mounted m : getMech().getAmmo()) {
-            weightEquip += m.getTonnage();
-            critEquip += m.getType().getCriticals(getMech());
-        }
+        // The ledger keeps these totals up to date as equipment is added and removed
+        final UnitLedger ledger = eSource.getLedger();
+        double weightJJ = ledger.getTonnage(UnitLedger.Category.JUMP);
+        double weightEnhance = ledger.getTonnage(UnitLedger.Category.ENHANCEMENT);
+        double weightEquip = ledger.getTonnage(UnitLedger.Category.EQUIPMENT);
+        int critJJ = ledger.getCriticals(UnitLedger.Category.JUMP);
+        int critEquip = ledger.getCriticals(UnitLedger.Category.EQUIPMENT);
+        int critEnhance = ledger.getCriticals(UnitLedger.Category.ENHANCEMENT);
+
         txtJumpTon.setText(Double.toString(weightJJ));
         txtEnhanceTon.setText(Double.toString(weightEnhance));
         txtEquipTon.setText(Double.toString(weightEquip));
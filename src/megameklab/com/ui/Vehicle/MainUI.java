@@ -76,11 +76,11 @@ public class MainUI extends MegaMekLabMainUI {
         equipmentTab = new EquipmentTab(this);
         buildTab = new BuildTab(this, equipmentTab.getEquipmentList());
         fluffTab = new FluffTab(this);
-        structureTab.addRefreshedListener(this);
-        equipmentTab.addRefreshedListener(this);
-        buildTab.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
-        statusbar.setRefreshListener(this);
+        structureTab.addRefreshedListener(getRefreshListener());
+        equipmentTab.addRefreshedListener(getRefreshListener());
+        buildTab.addRefreshedListener(getRefreshListener());
+        fluffTab.setRefreshedListener(getRefreshListener());
+        statusbar.setRefreshListener(getRefreshListener());
         
         previewTab = new PreviewTab(this);
 
@@ -31,8 +31,7 @@ import javax.swing.JPanel;
 import javax.swing.UIManager;
 
 import megamek.common.Tank;
-import megamek.common.verifier.EntityVerifier;
-import megamek.common.verifier.TestTank;
+import megamek.common.verifier.TestEntity;
 import megameklab.com.ui.MegaMekLabMainUI;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
@@ -50,9 +49,6 @@ public class StatusBar extends ITab {
     private final JLabel slots = new JLabel();
     private final JLabel cost = new JLabel();
     private final JLabel invalid = new JLabel();
-    private final EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-            "data/mechfiles/UnitVerifierOptions.xml"));
-    private TestTank testEntity;
     private final DecimalFormat formatter;
     private final JFrame parentFrame;
 
@@ -63,10 +59,8 @@ public class StatusBar extends ITab {
         parentFrame = parent;
 
         formatter = new DecimalFormat();
-        testEntity = new TestTank((Tank) parent.getEntity(), entityVerifier.tankOption,
-                null);
         JButton btnValidate = new JButton("Validate Unit");
-        btnValidate.addActionListener(evt -> UnitUtil.showValidation(getTank(), getParentFrame()));
+        btnValidate.addActionListener(evt -> UnitUtil.showValidation(eSource.getTestEntity(), getParentFrame()));
         JButton btnFluffImage = new JButton("Set Fluff Image");
         btnFluffImage.addActionListener(evt -> getFluffImage());
         invalid.setText("Invalid");
@@ -126,8 +120,7 @@ public class StatusBar extends ITab {
         double tonnage = getTank().getWeight();
         double currentTonnage;
 
-        currentTonnage = testEntity.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getTank());
+        currentTonnage = eSource.getLedger().getWeight();
 
         tons.setText("Tonnage: " + currentTonnage + "/" + tonnage);
         return tons;
@@ -149,13 +142,10 @@ public class StatusBar extends ITab {
         double currentTonnage;
         int bv = getTank().calculateBattleValue();
 
-        testEntity = new TestTank(getTank(), entityVerifier.tankOption,
-                null);
+        TestEntity testEntity = eSource.getTestEntity();
 
-        currentTonnage = testEntity.calculateWeight();
-
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getTank());
-        long currentCost = Math.round(getTank().getCost(false));
+        currentTonnage = eSource.getLedger().getWeight();
+        long currentCost = Math.round(eSource.getLedger().getCost());
 
         tons.setText("Tonnage: " + currentTonnage + "/" + tonnage);
         tons.setToolTipText("Current Tonnage/Max Tonnage");
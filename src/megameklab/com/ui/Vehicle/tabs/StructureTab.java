@@ -314,48 +314,53 @@ public class StructureTab extends ITab implements CVBuildListener, ArmorAllocati
     
     @Override
     public void updateTechLevel() {
-        removeAllListeners();
-        getTank().setTechLevel(panBasicInfo.getTechLevel().getCompoundTechLevel(panBasicInfo.useClanTechBase()));
-        if (panArmor.isPatchwork() && !getTechManager().isLegal(Entity.getPatchworkArmorAdvancement())) {
-            panArmor.setPatchwork(false);
-            armorTypeChanged(panArmor.getArmorType(), panArmor.getArmorTechConstant());
-        }
-        if (getTank().hasPatchworkArmor()) {
-            for (int loc = 0; loc < getTank().locations(); loc++) {
-                if (!getTechManager().isLegal(panPatchwork.getArmor(loc))) {
-                    getTank().setArmorType(EquipmentType.T_ARMOR_STANDARD, TechConstants.T_INTRO_BOXSET);
-                    UnitUtil.resetArmor(getTank(), loc);
+        refresh.beginBatch();
+        try {
+            removeAllListeners();
+            getTank().setTechLevel(panBasicInfo.getTechLevel().getCompoundTechLevel(panBasicInfo.useClanTechBase()));
+            if (panArmor.isPatchwork() && !getTechManager().isLegal(Entity.getPatchworkArmorAdvancement())) {
+                panArmor.setPatchwork(false);
+                armorTypeChanged(panArmor.getArmorType(), panArmor.getArmorTechConstant());
+            }
+            if (getTank().hasPatchworkArmor()) {
+                for (int loc = 0; loc < getTank().locations(); loc++) {
+                    if (!getTechManager().isLegal(panPatchwork.getArmor(loc))) {
+                        getTank().setArmorType(EquipmentType.T_ARMOR_STANDARD, TechConstants.T_INTRO_BOXSET);
+                        UnitUtil.resetArmor(getTank(), loc);
+                    }
                 }
+            } else if (!getTechManager().isLegal(panArmor.getArmor())) {
+                UnitUtil.removeISorArmorMounts(getTank(), false);
             }
-        } else if (!getTechManager().isLegal(panArmor.getArmor())) {
-            UnitUtil.removeISorArmorMounts(getTank(), false);
-        }
-        // If we have a large engine, a drop in tech level may make it unavailable and we will need
-        // to reduce speed to a legal value.
-        if (getTank().getEngine().hasFlag(Engine.LARGE_ENGINE)
-                && panChassis.getAvailableEngines().isEmpty()) {
-            int walk;
-            walk = (400 + Tank.getSuspensionFactor(getTank().getMovementMode(), getTank().getWeight()))
-                    / (int)getTank().getWeight();
-            recalculateEngineRating(walk, getTank().getWeight());
-            getTank().setOriginalWalkMP(walk);
-            panMovement.setFromEntity(getTank());
-            JOptionPane.showMessageDialog(
-                    this, String.format("Large engine not available at this tech level. Reducing MP to %d.", walk),
-                    "Bad Engine", JOptionPane.ERROR_MESSAGE);
-        }
-        if (UnitUtil.checkEquipmentByTechLevel(getTank(), panBasicInfo)) {
-            refresh.refreshEquipment();
-        } else {
-            refresh.refreshEquipmentTable();
+            // If we have a large engine, a drop in tech level may make it unavailable and we will need
+            // to reduce speed to a legal value.
+            if (getTank().getEngine().hasFlag(Engine.LARGE_ENGINE)
+                    && panChassis.getAvailableEngines().isEmpty()) {
+                int walk;
+                walk = (400 + Tank.getSuspensionFactor(getTank().getMovementMode(), getTank().getWeight()))
+                        / (int)getTank().getWeight();
+                recalculateEngineRating(walk, getTank().getWeight());
+                getTank().setOriginalWalkMP(walk);
+                panMovement.setFromEntity(getTank());
+                JOptionPane.showMessageDialog(
+                        this, String.format("Large engine not available at this tech level. Reducing MP to %d.", walk),
+                        "Bad Engine", JOptionPane.ERROR_MESSAGE);
+            }
+            if (UnitUtil.checkEquipmentByTechLevel(getTank(), panBasicInfo)) {
+                refresh.refreshEquipment();
+            } else {
+                refresh.refreshEquipmentTable();
+            }
+            panChassis.refresh();
+            panArmor.refresh();
+            panMovement.refresh();
+            panArmorAllocation.setFromEntity(getTank());
+            panPatchwork.setFromEntity(getTank());
+            addAllListeners();
+            refresh.refreshPreview();
+        } finally {
+            refresh.endBatch();
         }
-        panChassis.refresh();
-        panArmor.refresh();
-        panMovement.refresh();
-        panArmorAllocation.setFromEntity(getTank());
-        panPatchwork.setFromEntity(getTank());
-        addAllListeners();
-        refresh.refreshPreview();
     }
 
     @Override
@@ -461,7 +466,7 @@ public class StructureTab extends ITab implements CVBuildListener, ArmorAllocati
     
     @Override
     public void useRemainingTonnageArmor() {
-        double currentTonnage = UnitUtil.getEntityVerifier(getTank())
+        double currentTonnage = eSource.getTestEntity()
                 .calculateWeight();
         currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getTank());
         double totalTonnage = getTank().getWeight();
@@ -20,7 +20,6 @@ import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.io.File;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
@@ -35,7 +34,6 @@ import megamek.common.EquipmentType;
 import megamek.common.MiscType;
 import megamek.common.Mounted;
 import megamek.common.TechConstants;
-import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestTank;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.IView;
@@ -77,11 +75,6 @@ public class SummaryView extends IView{
     private JTextField txtSponsonAvail = new JTextField("?");
     private JTextField txtPowerAmpAvail = new JTextField("?");
     private JTextField txtEquipAvail = new JTextField("?");
-    
-    
-    
-
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(new File("data/mechfiles/UnitVerifierOptions.xml"));
 
     public SummaryView(EntitySource eSource) {
         super(eSource);
@@ -292,7 +285,7 @@ public class SummaryView extends IView{
 
     public void refresh() {
 
-        TestTank testTank = new TestTank(getTank(), entityVerifier.mechOption, null);
+        TestTank testTank = (TestTank) eSource.getTestEntity();
 
         txtStructTon.setText(Double.toString(testTank.getWeightStructure()));
         txtEngineTon.setText(Double.toString(testTank.getWeightEngine()));        
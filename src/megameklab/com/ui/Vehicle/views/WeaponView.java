@@ -28,7 +28,6 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.Vector;
 
@@ -54,6 +53,7 @@ import megamek.common.WeaponType;
 import megamek.common.weapons.artillery.ArtilleryWeapon;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.SpringLayoutHelper;
@@ -288,9 +288,7 @@ public class WeaponView extends IView implements ActionListener, MouseListener,
 
         this.add(mainPanel);
 
-        Enumeration<EquipmentType> weaponTypes = EquipmentType.getAllTypes();
-        while (weaponTypes.hasMoreElements()) {
-            EquipmentType eq = weaponTypes.nextElement();
+        for (EquipmentType eq : EquipmentCatalog.getInstance().getAllTypes()) {
 
             if (!UnitUtil.isUnitWeapon(eq, getTank())) {
                 continue;
@@ -602,9 +600,7 @@ public class WeaponView extends IView implements ActionListener, MouseListener,
     }
 
     public void removeAllWeapons() {
-        for (int count = 0; count < weaponList.getRowCount(); count++) {
-            weaponList.removeMounted(count);
-        }
+        weaponList.removeAllMounted();
         weaponList.removeAllCrits();
         refresh.refreshAll();
     }
@@ -30,8 +30,7 @@ import megamek.common.AmmoType;
 import megamek.common.Entity;
 import megamek.common.Mounted;
 import megamek.common.WeaponType;
-import megamek.common.verifier.EntityVerifier;
-import megamek.common.verifier.TestAdvancedAerospace;
+import megamek.common.verifier.TestEntity;
 import megameklab.com.ui.MegaMekLabMainUI;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
@@ -54,8 +53,6 @@ public class AdvancedAeroStatusBar extends ITab {
     private final JLabel heatSink = new JLabel();
     private final JLabel cost = new JLabel();
     private final JLabel invalid = new JLabel();
-    private final EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-            "data/mechfiles/UnitVerifierOptions.xml"));
     private final DecimalFormat formatter;
     private final JFrame parentFrame;
 
@@ -67,7 +64,7 @@ public class AdvancedAeroStatusBar extends ITab {
 
         formatter = new DecimalFormat();
         JButton btnValidate = new JButton("Validate Unit");
-        btnValidate.addActionListener(e -> UnitUtil.showValidation(getJumpship(), getParentFrame()));
+        btnValidate.addActionListener(e -> UnitUtil.showValidation(eSource.getTestEntity(), getParentFrame()));
         JButton btnFluffImage = new JButton("Set Fluff Image");
         btnFluffImage.addActionListener(e -> getFluffImage());
         invalid.setText("Invalid");
@@ -104,11 +101,11 @@ public class AdvancedAeroStatusBar extends ITab {
         double tonnage = getJumpship().getWeight();
         double currentTonnage;
         int bv = getJumpship().calculateBattleValue();
-        long currentCost = Math.round(getJumpship().getCost(false));
-        
-        TestAdvancedAerospace testAdvAero = new TestAdvancedAerospace(getJumpship(), entityVerifier.aeroOption, null);
-        currentTonnage = testAdvAero.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getJumpship());
+        long currentCost = Math.round(eSource.getLedger().getCost());
+
+        TestEntity testAdvAero = eSource.getTestEntity();
+
+        currentTonnage = eSource.getLedger().getWeight();
 
         double totalHeat = calculateTotalHeat();
 
@@ -279,21 +279,26 @@ public class AdvancedAeroStructureTab extends ITab implements AdvancedAeroBuildL
     
     @Override
     public void updateTechLevel() {
-        getJumpship().setTechLevel(panInfo.getTechLevel().getCompoundTechLevel(panInfo.useClanTechBase()));
-        if (UnitUtil.checkEquipmentByTechLevel(getJumpship(), panInfo)) {
-            refresh.refreshEquipment();
-        } else {
-            refresh.refreshEquipmentTable();
+        refresh.beginBatch();
+        try {
+            getJumpship().setTechLevel(panInfo.getTechLevel().getCompoundTechLevel(panInfo.useClanTechBase()));
+            if (UnitUtil.checkEquipmentByTechLevel(getJumpship(), panInfo)) {
+                refresh.refreshEquipment();
+            } else {
+                refresh.refreshEquipmentTable();
+            }
+            panChassis.setFromEntity(getJumpship());
+            panArmor.refresh();
+            panHeat.setFromAero(getJumpship());
+            heatSinksChanged(panHeat.getHeatSinkIndex(), panHeat.getCount());
+            panArmorAllocation.setFromEntity(getJumpship());
+            panSummary.refresh();
+            refresh.refreshTransport();
+            refresh.refreshStatus();
+            refresh.refreshPreview();
+        } finally {
+            refresh.endBatch();
         }
-        panChassis.setFromEntity(getJumpship());
-        panArmor.refresh();
-        panHeat.setFromAero(getJumpship());
-        heatSinksChanged(panHeat.getHeatSinkIndex(), panHeat.getCount());
-        panArmorAllocation.setFromEntity(getJumpship());
-        panSummary.refresh();
-        refresh.refreshTransport();
-        refresh.refreshStatus();
-        refresh.refreshPreview();
     }
 
     @Override
@@ -355,7 +360,7 @@ public class AdvancedAeroStructureTab extends ITab implements AdvancedAeroBuildL
     
     @Override
     public void useRemainingTonnageArmor() {
-        double currentTonnage = UnitUtil.getEntityVerifier(getJumpship())
+        double currentTonnage = eSource.getTestEntity()
                 .calculateWeight();
         currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getJumpship());
         double totalTonnage = getJumpship().getWeight();
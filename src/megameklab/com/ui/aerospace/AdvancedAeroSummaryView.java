@@ -17,7 +17,6 @@ import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.io.File;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.Vector;
@@ -28,7 +27,6 @@ import javax.swing.JLabel;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
 
-import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestAdvancedAerospace;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.IView;
@@ -60,9 +58,6 @@ public class AdvancedAeroSummaryView extends IView {
     private JTextField txtLifeBoatTon = new JTextField("?");
     private JTextField txtMiscTon = new JTextField("?");
 
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(
-            new File("data/mechfiles/UnitVerifierOptions.xml"));
-
     public AdvancedAeroSummaryView(EntitySource eSource) {
         super(eSource);
 
@@ -182,8 +177,7 @@ public class AdvancedAeroSummaryView extends IView {
     }
 
     public void refresh() {
-        final TestAdvancedAerospace testShip = 
-                new TestAdvancedAerospace(getJumpship(), entityVerifier.aeroOption, null);
+        final TestAdvancedAerospace testShip = (TestAdvancedAerospace) eSource.getTestEntity();
         final NumberFormat df = DecimalFormat.getInstance();
        
         txtEngineTon.setText(df.format(testShip.getWeightEngine()));
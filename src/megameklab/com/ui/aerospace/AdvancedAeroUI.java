@@ -189,12 +189,12 @@ public class AdvancedAeroUI extends MegaMekLabMainUI {
         buildTab = new DropshipBuildTab(this, equipmentTab);
         fluffTab = new FluffTab(this);
         transportTab = new TransportTab(this);
-        structureTab.addRefreshedListener(this);
-        equipmentTab.addRefreshedListener(this);
-        buildTab.addRefreshedListener(this);
-        transportTab.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
-        statusbar.addRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshListener());
+        equipmentTab.addRefreshedListener(getRefreshListener());
+        buildTab.addRefreshedListener(getRefreshListener());
+        transportTab.addRefreshedListener(getRefreshListener());
+        fluffTab.setRefreshedListener(getRefreshListener());
+        statusbar.addRefreshedListener(getRefreshListener());
 
         configPane.addTab("Structure/Armor", structureTab);
         configPane.addTab("Equipment", equipmentTab);
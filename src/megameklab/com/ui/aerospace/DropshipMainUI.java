@@ -172,12 +172,12 @@ public class DropshipMainUI extends MegaMekLabMainUI {
         buildTab = new DropshipBuildTab(this, equipmentTab);
         transportTab = new TransportTab(this);
         fluffTab = new FluffTab(this);
-        structureTab.addRefreshedListener(this);
-        equipmentTab.addRefreshedListener(this);
-        buildTab.addRefreshedListener(this);
-        transportTab.addRefreshedListener(this);
-        statusbar.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshListener());
+        equipmentTab.addRefreshedListener(getRefreshListener());
+        buildTab.addRefreshedListener(getRefreshListener());
+        transportTab.addRefreshedListener(getRefreshListener());
+        statusbar.addRefreshedListener(getRefreshListener());
+        fluffTab.setRefreshedListener(getRefreshListener());
 
         configPane.addTab("Structure/Armor", structureTab);
         configPane.addTab("Equipment", equipmentTab);
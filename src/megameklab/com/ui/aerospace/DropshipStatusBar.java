@@ -30,8 +30,7 @@ import megamek.common.AmmoType;
 import megamek.common.Entity;
 import megamek.common.Mounted;
 import megamek.common.WeaponType;
-import megamek.common.verifier.EntityVerifier;
-import megamek.common.verifier.TestSmallCraft;
+import megamek.common.verifier.TestEntity;
 import megameklab.com.ui.MegaMekLabMainUI;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
@@ -53,8 +52,6 @@ public class DropshipStatusBar extends ITab {
     private final JLabel heatSink = new JLabel();
     private final JLabel cost = new JLabel();
     private final JLabel invalid = new JLabel();
-    private final EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-            "data/mechfiles/UnitVerifierOptions.xml"));
     private final DecimalFormat formatter;
     private final JFrame parentFrame;
 
@@ -66,7 +63,7 @@ public class DropshipStatusBar extends ITab {
 
         formatter = new DecimalFormat();
         JButton btnValidate = new JButton("Validate Unit");
-        btnValidate.addActionListener(e -> UnitUtil.showValidation(getSmallCraft(), getParentFrame()));
+        btnValidate.addActionListener(e -> UnitUtil.showValidation(eSource.getTestEntity(), getParentFrame()));
         JButton btnFluffImage = new JButton("Set Fluff Image");
         btnFluffImage.addActionListener(e -> getFluffImage());
         invalid.setText("Invalid");
@@ -103,12 +100,11 @@ public class DropshipStatusBar extends ITab {
         double tonnage = getSmallCraft().getWeight();
         double currentTonnage;
         int bv = getSmallCraft().calculateBattleValue();
-        long currentCost = Math.round(getSmallCraft().getCost(false));
+        long currentCost = Math.round(eSource.getLedger().getCost());
 
-        TestSmallCraft testSmallCraft = new TestSmallCraft(getSmallCraft(), entityVerifier.aeroOption, null);
+        TestEntity testSmallCraft = eSource.getTestEntity();
 
-        currentTonnage = testSmallCraft.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getSmallCraft());
+        currentTonnage = eSource.getLedger().getWeight();
 
         double totalHeat = calculateTotalHeat();
 
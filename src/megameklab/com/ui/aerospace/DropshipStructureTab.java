@@ -270,20 +270,25 @@ public class DropshipStructureTab extends ITab implements DropshipBuildListener,
     
     @Override
     public void updateTechLevel() {
-        getSmallCraft().setTechLevel(panInfo.getTechLevel().getCompoundTechLevel(panInfo.useClanTechBase()));
-        if (UnitUtil.checkEquipmentByTechLevel(getSmallCraft(), panInfo)) {
-            refresh.refreshEquipment();
-        } else {
-            refresh.refreshEquipmentTable();
+        refresh.beginBatch();
+        try {
+            getSmallCraft().setTechLevel(panInfo.getTechLevel().getCompoundTechLevel(panInfo.useClanTechBase()));
+            if (UnitUtil.checkEquipmentByTechLevel(getSmallCraft(), panInfo)) {
+                refresh.refreshEquipment();
+            } else {
+                refresh.refreshEquipmentTable();
+            }
+            panArmor.refresh();
+            panHeat.setFromAero(getSmallCraft());
+            heatSinksChanged(panHeat.getHeatSinkIndex(), panHeat.getCount());
+            panArmorAllocation.setFromEntity(getSmallCraft());
+            panSummary.refresh();
+            refresh.refreshTransport();
+            refresh.refreshStatus();
+            refresh.refreshPreview();
+        } finally {
+            refresh.endBatch();
         }
-        panArmor.refresh();
-        panHeat.setFromAero(getSmallCraft());
-        heatSinksChanged(panHeat.getHeatSinkIndex(), panHeat.getCount());
-        panArmorAllocation.setFromEntity(getSmallCraft());
-        panSummary.refresh();
-        refresh.refreshTransport();
-        refresh.refreshStatus();
-        refresh.refreshPreview();
     }
 
     @Override
@@ -343,7 +348,7 @@ public class DropshipStructureTab extends ITab implements DropshipBuildListener,
     
     @Override
     public void useRemainingTonnageArmor() {
-        double currentTonnage = UnitUtil.getEntityVerifier(getSmallCraft())
+        double currentTonnage = eSource.getTestEntity()
                 .calculateWeight();
         currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getSmallCraft());
         double totalTonnage = getSmallCraft().getWeight();
@@ -7,7 +7,6 @@ import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.io.File;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
@@ -16,7 +15,6 @@ import javax.swing.JLabel;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
 
-import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestSmallCraft;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.IView;
@@ -45,9 +43,6 @@ public class DropshipSummaryView extends IView {
     private JTextField txtCrewTon = new JTextField("?");
     private JTextField txtOtherTon = new JTextField("?");
 
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(
-            new File("data/mechfiles/UnitVerifierOptions.xml"));
-
     public DropshipSummaryView(EntitySource eSource) {
         super(eSource);
 
@@ -171,8 +166,7 @@ public class DropshipSummaryView extends IView {
     }
 
     public void refresh() {
-        TestSmallCraft testSmallCraft = 
-                new TestSmallCraft(getSmallCraft(), entityVerifier.aeroOption, null);
+        TestSmallCraft testSmallCraft = (TestSmallCraft) eSource.getTestEntity();
        
         txtStructTon.setText(Double.toString(testSmallCraft.getWeightStructure()));
         txtEngineTon.setText(Double.toString(testSmallCraft.getWeightEngine()));
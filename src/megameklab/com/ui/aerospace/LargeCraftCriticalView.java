@@ -321,8 +321,10 @@ public class LargeCraftCriticalView extends IView {
         double[] extra = eSource.getEntity().hasETypeFlag(Entity.ETYPE_SMALL_CRAFT)
                 ? TestSmallCraft.extraSlotCost(getSmallCraft())
                         : TestAdvancedAerospace.extraSlotCost(getJumpship());
+        final BayWeaponCriticalTree.MountIndex mountIndex =
+                new BayWeaponCriticalTree.MountIndex(eSource.getEntity());
         for (int arc = 0; arc < extra.length; arc++) {
-            arcTrees[arc].rebuild();
+            arcTrees[arc].rebuild(mountIndex);
             arcTrees[arc].repaint();
             lblSlotCount[arc].setText(String.valueOf(arcTrees[arc].getSlotCount()));
             lblSlotsPerArc[arc].setText(String.valueOf(TestAero.slotsPerArc(getAero())));
@@ -23,7 +23,9 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
@@ -34,6 +36,7 @@ import javax.swing.JDialog;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JList;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.ScrollPaneConstants;
@@ -43,13 +46,15 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 import megamek.client.ui.swing.UnitLoadingDialog;
 import megamek.client.ui.swing.UnitSelectorDialog;
 import megamek.common.Entity;
-import megamek.common.MechFileParser;
+import megameklab.com.util.UnitFileLoader;
 import megameklab.com.util.UnitPrintManager;
 
 /*
- * Allows a user to Select Multiple units to print
+ * Allows a user to Select Multiple units to print. Unit files are loaded in the background; while they
+ * are loading each one is shown at the end of the list with its progress, and the units are added to the
+ * queue in the order the files were selected once they have all finished.
  */
-public class UnitPrintQueueDialog extends JDialog implements ActionListener, KeyListener {
+public class UnitPrintQueueDialog extends JDialog implements ActionListener, KeyListener, UnitFileLoader.Listener {
 
     /**
      *
@@ -70,6 +75,11 @@ public class UnitPrintQueueDialog extends JDialog implements ActionListener, Key
     private final List<Entity> units = new ArrayList<>();
     final boolean pdf;
 
+    /** The loader for the files being added, or null if none are loading */
+    private UnitFileLoader loader = null;
+    /** The list entry for each file being loaded */
+    private String[] loadingEntries = new String[0];
+
     public UnitPrintQueueDialog(JFrame frame, boolean pdf) {
 
         super(frame, "Unit Print Queue", true);
@@ -146,12 +156,20 @@ public class UnitPrintQueueDialog extends JDialog implements ActionListener, Key
 
     }
 
+    @Override
+    public void dispose() {
+        if (null != loader) {
+            loader.cancel(true);
+        }
+        super.dispose();
+    }
+
     public void actionPerformed(ActionEvent ae) {
         if (ae.getSource() == bCancel) {
             dispose();
         }
 
-        if (ae.getSource() == bPrint) {
+        if ((ae.getSource() == bPrint) && (null == loader)) {
             if (pdf) {
                 File exportFile = UnitPrintManager.getExportFile(clientgui);
                 if (exportFile != null) {
@@ -194,19 +212,14 @@ public class UnitPrintQueueDialog extends JDialog implements ActionListener, Key
                 return;
             }
 
-            for (File entityFile : f.getSelectedFiles()) {
-                try {
-                    Entity tempEntity = new MechFileParser(entityFile).getEntity();
-                    units.add(tempEntity);
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                }
-            }
-            refresh();
+            loadFiles(Arrays.asList(f.getSelectedFiles()));
         } else if (ae.getSource().equals(bRemove)) {
             if (unitList.getSelectedIndices().length > 0) {
                 for (int pos = unitList.getSelectedIndices().length - 1; pos >= 0; pos--) {
-                    units.remove(unitList.getSelectedIndices()[pos]);
+                    // Files that are still loading cannot be removed
+                    if (unitList.getSelectedIndices()[pos] < units.size()) {
+                        units.remove(unitList.getSelectedIndices()[pos]);
+                    }
                 }
                 refresh();
             }
@@ -230,13 +243,62 @@ public class UnitPrintQueueDialog extends JDialog implements ActionListener, Key
 
     }
 
+    private void loadFiles(List<File> files) {
+        if (null != loader) {
+            // Wait for the previous selection to finish so the order is kept
+            JOptionPane.showMessageDialog(this, "The previously selected files are still loading.",
+                    "Unit Print Queue", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        loadingEntries = new String[files.size()];
+        for (int i = 0; i < files.size(); i++) {
+            loadingEntries[i] = "Loading " + files.get(i).getName() + "...";
+        }
+        bPrint.setEnabled(false);
+        loader = new UnitFileLoader(files, this);
+        loader.execute();
+        refresh();
+    }
+
+    @Override
+    public void fileLoaded(UnitFileLoader.Result result) {
+        if ((null == loader) || loader.isCancelled() || (result.getIndex() >= loadingEntries.length)) {
+            return;
+        }
+        if (null == result.getEntity()) {
+            loadingEntries[result.getIndex()] = result.getFile().getName() + " (failed)";
+        } else {
+            loadingEntries[result.getIndex()] = getUnitName(result.getEntity()) + " (loaded)";
+        }
+        refresh();
+    }
+
+    @Override
+    public void loadingComplete(List<Entity> loaded, Map<File, String> errors) {
+        loader = null;
+        loadingEntries = new String[0];
+        units.addAll(loaded);
+        bPrint.setEnabled(true);
+        refresh();
+        if (!errors.isEmpty() && isDisplayable()) {
+            JOptionPane.showMessageDialog(this,
+                    "The following files could not be loaded:\n" + UnitFileLoader.formatErrors(errors),
+                    "Unit Print Queue", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
+    private static String getUnitName(Entity ent) {
+        return String.format("%1$s %2$s", ent.getChassis(), ent.getModel()).trim();
+    }
+
     private void refresh() {
         unitList.removeAll();
         Vector<String> unitNameList = new Vector<>();
 
         for (Entity ent : units) {
-            unitNameList.add(String.format("%1$s %2$s", ent.getChassis(), ent.getModel()).trim());
+            unitNameList.add(getUnitName(ent));
         }
+        unitNameList.addAll(Arrays.asList(loadingEntries));
 
         unitList.setListData(unitNameList);
         unitList.repaint();
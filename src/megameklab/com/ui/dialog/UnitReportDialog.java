@@ -0,0 +1,316 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.ui.dialog;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import javax.swing.BorderFactory;
+import javax.swing.DefaultListModel;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JDialog;
+import javax.swing.JFileChooser;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.WindowConstants;
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+import megamek.common.util.EncodeControl;
+import megameklab.com.MegaMekLab;
+import megameklab.com.util.UnitReport;
+
+/**
+ * Runs a {@link UnitReport} over the unit cache and any directories of unit files the user chooses,
+ * showing the progress while the report is written.
+ */
+public class UnitReportDialog extends JDialog {
+
+    private static final long serialVersionUID = -2278512360937180423L;
+
+    /** The minimum time between progress updates, in nanoseconds */
+    private static final long UPDATE_INTERVAL = 100_000_000L;
+
+    private final ResourceBundle resourceMap = ResourceBundle.getBundle("megameklab.resources.Dialogs", new EncodeControl()); //$NON-NLS-1$
+
+    private final JCheckBox chkCache = new JCheckBox();
+    private final JCheckBox chkBreakdowns = new JCheckBox();
+    private final DefaultListModel<File> directories = new DefaultListModel<>();
+    private final JList<File> lstDirectories = new JList<>(directories);
+    private final JButton btnAddDirectory = new JButton();
+    private final JButton btnRemoveDirectory = new JButton();
+    private final JTextField txtOutput = new JTextField(30);
+    private final JButton btnBrowse = new JButton();
+    private final JProgressBar progressBar = new JProgressBar();
+    private final JLabel lblStatus = new JLabel(" ");
+    private final JButton btnStart = new JButton();
+    private final JButton btnClose = new JButton();
+
+    private ReportTask task = null;
+
+    public UnitReportDialog(JFrame frame) {
+        super(frame, true);
+        setTitle(resourceMap.getString("UnitReportDialog.title")); //$NON-NLS-1$
+        setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                close();
+            }
+        });
+
+        chkCache.setText(resourceMap.getString("UnitReportDialog.chkCache.text")); //$NON-NLS-1$
+        chkCache.setToolTipText(resourceMap.getString("UnitReportDialog.chkCache.tooltip")); //$NON-NLS-1$
+        chkCache.setSelected(true);
+        chkBreakdowns.setText(resourceMap.getString("UnitReportDialog.chkBreakdowns.text")); //$NON-NLS-1$
+        chkBreakdowns.setToolTipText(resourceMap.getString("UnitReportDialog.chkBreakdowns.tooltip")); //$NON-NLS-1$
+        btnAddDirectory.setText(resourceMap.getString("UnitReportDialog.btnAddDirectory.text")); //$NON-NLS-1$
+        btnAddDirectory.addActionListener(ev -> addDirectory());
+        btnRemoveDirectory.setText(resourceMap.getString("UnitReportDialog.btnRemoveDirectory.text")); //$NON-NLS-1$
+        btnRemoveDirectory.addActionListener(ev -> lstDirectories.getSelectedValuesList()
+                .forEach(directories::removeElement));
+        txtOutput.setText(new File("unitreport.csv").getAbsolutePath()); //$NON-NLS-1$
+        btnBrowse.setText(resourceMap.getString("UnitReportDialog.btnBrowse.text")); //$NON-NLS-1$
+        btnBrowse.addActionListener(ev -> chooseOutput());
+        progressBar.setStringPainted(true);
+        btnStart.setText(resourceMap.getString("UnitReportDialog.btnStart.text")); //$NON-NLS-1$
+        btnStart.addActionListener(ev -> start());
+        btnClose.setText(resourceMap.getString("UnitReportDialog.btnClose.text")); //$NON-NLS-1$
+        btnClose.addActionListener(ev -> close());
+
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(2, 2, 2, 2);
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 3;
+        panel.add(chkCache, gbc);
+        gbc.gridy++;
+        panel.add(new JLabel(resourceMap.getString("UnitReportDialog.lblDirectories.text")), gbc); //$NON-NLS-1$
+        gbc.gridy++;
+        gbc.gridwidth = 2;
+        gbc.gridheight = 2;
+        gbc.weightx = 1.0;
+        gbc.weighty = 1.0;
+        gbc.fill = GridBagConstraints.BOTH;
+        JScrollPane scroll = new JScrollPane(lstDirectories);
+        scroll.setPreferredSize(new Dimension(300, 100));
+        panel.add(scroll, gbc);
+        gbc.gridx = 2;
+        gbc.gridwidth = 1;
+        gbc.gridheight = 1;
+        gbc.weightx = 0.0;
+        gbc.weighty = 0.0;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.anchor = GridBagConstraints.NORTH;
+        panel.add(btnAddDirectory, gbc);
+        gbc.gridy++;
+        panel.add(btnRemoveDirectory, gbc);
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.gridwidth = 3;
+        panel.add(chkBreakdowns, gbc);
+        gbc.gridy++;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel(resourceMap.getString("UnitReportDialog.lblOutput.text")), gbc); //$NON-NLS-1$
+        gbc.gridx = 1;
+        gbc.weightx = 1.0;
+        panel.add(txtOutput, gbc);
+        gbc.gridx = 2;
+        gbc.weightx = 0.0;
+        panel.add(btnBrowse, gbc);
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.gridwidth = 3;
+        panel.add(progressBar, gbc);
+        gbc.gridy++;
+        panel.add(lblStatus, gbc);
+
+        JPanel buttons = new JPanel();
+        buttons.add(btnStart);
+        buttons.add(btnClose);
+
+        getContentPane().setLayout(new BorderLayout());
+        getContentPane().add(panel, BorderLayout.CENTER);
+        getContentPane().add(buttons, BorderLayout.SOUTH);
+        pack();
+        setLocationRelativeTo(frame);
+    }
+
+    private void addDirectory() {
+        JFileChooser chooser = new JFileChooser(System.getProperty("user.dir")); //$NON-NLS-1$
+        chooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        chooser.setMultiSelectionEnabled(true);
+        if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            for (File dir : chooser.getSelectedFiles()) {
+                if (!directories.contains(dir)) {
+                    directories.addElement(dir);
+                }
+            }
+        }
+    }
+
+    private void chooseOutput() {
+        JFileChooser chooser = new JFileChooser(new File(txtOutput.getText()).getParentFile());
+        chooser.addChoosableFileFilter(new FileNameExtensionFilter("CSV", "csv")); //$NON-NLS-1$ //$NON-NLS-2$
+        chooser.addChoosableFileFilter(new FileNameExtensionFilter("JSON", "json")); //$NON-NLS-1$ //$NON-NLS-2$
+        chooser.setSelectedFile(new File(txtOutput.getText()));
+        if (chooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+            txtOutput.setText(chooser.getSelectedFile().getAbsolutePath());
+        }
+    }
+
+    private void start() {
+        final File output = new File(txtOutput.getText().trim());
+        if (!chkCache.isSelected() && directories.isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                    resourceMap.getString("UnitReportDialog.noUnits.text"), //$NON-NLS-1$
+                    getTitle(), JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        List<File> dirs = new ArrayList<>();
+        for (int i = 0; i < directories.size(); i++) {
+            dirs.add(directories.get(i));
+        }
+        setInputsEnabled(false);
+        btnClose.setText(resourceMap.getString("UnitReportDialog.btnCancel.text")); //$NON-NLS-1$
+        progressBar.setIndeterminate(true);
+        lblStatus.setText(resourceMap.getString("UnitReportDialog.collecting.text")); //$NON-NLS-1$
+        task = new ReportTask(output, chkCache.isSelected(), dirs, chkBreakdowns.isSelected());
+        task.execute();
+    }
+
+    private void close() {
+        if (null != task) {
+            task.cancelReport();
+        } else {
+            dispose();
+        }
+    }
+
+    private void setInputsEnabled(boolean enabled) {
+        chkCache.setEnabled(enabled);
+        chkBreakdowns.setEnabled(enabled);
+        lstDirectories.setEnabled(enabled);
+        btnAddDirectory.setEnabled(enabled);
+        btnRemoveDirectory.setEnabled(enabled);
+        txtOutput.setEnabled(enabled);
+        btnBrowse.setEnabled(enabled);
+        btnStart.setEnabled(enabled);
+    }
+
+    private void showProgress(int completed, int total, double unitsPerSecond) {
+        progressBar.setIndeterminate(false);
+        progressBar.setMaximum(total);
+        progressBar.setValue(completed);
+        lblStatus.setText(String.format(resourceMap.getString("UnitReportDialog.progress.format"), //$NON-NLS-1$
+                completed, total, unitsPerSecond));
+    }
+
+    private class ReportTask extends SwingWorker<UnitReport.Summary, Void> {
+        private final File output;
+        private final boolean useCache;
+        private final List<File> dirs;
+        private final boolean breakdowns;
+        private volatile UnitReport report = null;
+        private volatile boolean cancelled = false;
+        private long lastUpdate = 0;
+
+        ReportTask(File output, boolean useCache, List<File> dirs, boolean breakdowns) {
+            this.output = output;
+            this.useCache = useCache;
+            this.dirs = dirs;
+            this.breakdowns = breakdowns;
+        }
+
+        void cancelReport() {
+            cancelled = true;
+            if (null != report) {
+                report.cancel();
+            }
+        }
+
+        @Override
+        protected UnitReport.Summary doInBackground() throws Exception {
+            List<UnitReport.UnitSource> sources = new ArrayList<>();
+            if (useCache) {
+                UnitReport.addCacheUnits(sources);
+            }
+            for (File dir : dirs) {
+                UnitReport.addUnitFiles(dir, sources);
+            }
+            report = new UnitReport(sources, UnitReport.Format.forFile(output), breakdowns, 0);
+            if (cancelled) {
+                report.cancel();
+            }
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(output),
+                    StandardCharsets.UTF_8))) {
+                return report.run(out, (completed, total, rate) -> {
+                    final long now = System.nanoTime();
+                    if ((completed == total) || (now - lastUpdate > UPDATE_INTERVAL)) {
+                        lastUpdate = now;
+                        SwingUtilities.invokeLater(() -> showProgress(completed, total, rate));
+                    }
+                });
+            }
+        }
+
+        @Override
+        protected void done() {
+            task = null;
+            setInputsEnabled(true);
+            progressBar.setIndeterminate(false);
+            btnClose.setText(resourceMap.getString("UnitReportDialog.btnClose.text")); //$NON-NLS-1$
+            try {
+                final UnitReport.Summary summary = get();
+                showProgress(summary.getCompleted(), summary.getTotal(), summary.getUnitsPerSecond());
+                lblStatus.setText(summary.toString());
+            } catch (Exception ex) {
+                MegaMekLab.getLogger().error(UnitReportDialog.class, "ReportTask.done()", ex); //$NON-NLS-1$
+                lblStatus.setText(" "); //$NON-NLS-1$
+                JOptionPane.showMessageDialog(UnitReportDialog.this,
+                        String.format(resourceMap.getString("UnitReportDialog.error.format"), //$NON-NLS-1$
+                                ex.getMessage()),
+                        getTitle(), JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+}
@@ -26,7 +26,7 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.UIManager;
 
-import megamek.common.verifier.EntityVerifier;
+import megamek.common.verifier.TestEntity;
 import megamek.common.verifier.TestProtomech;
 import megameklab.com.ui.MegaMekLabMainUI;
 import megameklab.com.util.ITab;
@@ -49,7 +49,6 @@ public class ProtomekStatusBar extends ITab {
     private final JLabel tons = new JLabel();
     private final JLabel cost = new JLabel();
     private final JLabel invalid = new JLabel();
-    private final TestProtomech testEntity;
     private final DecimalFormat formatter;
     private final JFrame parentFrame;
 
@@ -60,10 +59,8 @@ public class ProtomekStatusBar extends ITab {
         parentFrame = parent;
 
         formatter = new DecimalFormat();
-        EntityVerifier entityVerifier = EntityVerifier.getInstance(new File("data/mechfiles/UnitVerifierOptions.xml"));
-        testEntity = new TestProtomech(getProtomech(), entityVerifier.mechOption, null);
         JButton btnValidate = new JButton("Validate Unit");
-        btnValidate.addActionListener(ev -> UnitUtil.showValidation(getProtomech(), getParentFrame()));
+        btnValidate.addActionListener(ev -> UnitUtil.showValidation(eSource.getTestEntity(), getParentFrame()));
         JButton btnFluffImage = new JButton("Set Fluff Image");
         btnFluffImage.addActionListener(ev -> getFluffImage());
         invalid.setText("Invalid");
@@ -107,6 +104,7 @@ public class ProtomekStatusBar extends ITab {
         long currentCrits = getProtomech().getEquipment().stream()
                 .filter(m -> TestProtomech.requiresSlot(m.getType())).count();
         long currentCost = Math.round(getProtomech().getCost(false));
+        TestEntity testEntity = eSource.getTestEntity();
 
         currentTonnage = testEntity.calculateWeight() * 1000;
 
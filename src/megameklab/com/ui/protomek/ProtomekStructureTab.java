@@ -353,26 +353,31 @@ public class ProtomekStructureTab extends ITab implements ProtomekBuildListener,
 
     @Override
     public void updateTechLevel() {
-        removeAllListeners();
-        getProtomech().setTechLevel(panBasicInfo.getTechLevel().getCompoundTechLevel(panBasicInfo.useClanTechBase()));
-        if (!getTechManager().isLegal(panArmor.getArmor())) {
-            UnitUtil.removeISorArmorMounts(getProtomech(), false);
-        }
-        if (UnitUtil.checkEquipmentByTechLevel(getProtomech(), panBasicInfo)) {
-            refresh.refreshEquipment();
-        } else {
-            refresh.refreshEquipmentTable();
-        }
-        if (!panBasicInfo.isLegal(Protomech.TA_INTERFACE_COCKPIT)) {
-            getProtomech().setInterfaceCockpit(false);
+        refresh.beginBatch();
+        try {
+            removeAllListeners();
+            getProtomech().setTechLevel(panBasicInfo.getTechLevel().getCompoundTechLevel(panBasicInfo.useClanTechBase()));
+            if (!getTechManager().isLegal(panArmor.getArmor())) {
+                UnitUtil.removeISorArmorMounts(getProtomech(), false);
+            }
+            if (UnitUtil.checkEquipmentByTechLevel(getProtomech(), panBasicInfo)) {
+                refresh.refreshEquipment();
+            } else {
+                refresh.refreshEquipmentTable();
+            }
+            if (!panBasicInfo.isLegal(Protomech.TA_INTERFACE_COCKPIT)) {
+                getProtomech().setInterfaceCockpit(false);
+            }
+            panChassis.setFromEntity(getProtomech());
+            panMovement.setFromEntity(getProtomech());
+            panArmor.refresh();
+            panArmorAllocation.setFromEntity(getProtomech());
+            refresh.refreshBuild();
+            addAllListeners();
+            refresh.refreshPreview();
+        } finally {
+            refresh.endBatch();
         }
-        panChassis.setFromEntity(getProtomech());
-        panMovement.setFromEntity(getProtomech());
-        panArmor.refresh();
-        panArmorAllocation.setFromEntity(getProtomech());
-        refresh.refreshBuild();
-        addAllListeners();
-        refresh.refreshPreview();
     }
 
     @Override
@@ -435,7 +440,7 @@ public class ProtomekStructureTab extends ITab implements ProtomekBuildListener,
         List<Mounted> toRemove = getProtomech().getMisc().stream()
                 .filter(m -> !UnitUtil.isProtomechEquipment(m.getType(), getProtomech(), true))
                 .collect(Collectors.toList());
-        toRemove.forEach(m -> UnitUtil.removeMounted(getProtomech(), m));
+        UnitUtil.removeMounteds(getProtomech(), toRemove);
         panMovement.setFromEntity(getProtomech());
         recalculateEngineRating(panMovement.getWalk(), panChassis.getTonnage(),
                 motiveType != ProtomekChassisView.MOTIVE_TYPE_BIPED);
@@ -484,7 +489,7 @@ public class ProtomekStructureTab extends ITab implements ProtomekBuildListener,
 
     @Override
     public void useRemainingTonnageArmor() {
-        double currentTonnage = UnitUtil.getEntityVerifier(getProtomech())
+        double currentTonnage = eSource.getTestEntity()
                 .calculateWeight();
         currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getProtomech());
         double totalTonnage = getProtomech().getWeight();
@@ -557,7 +562,7 @@ public class ProtomekStructureTab extends ITab implements ProtomekBuildListener,
                         || m.getType().hasFlag(MiscType.F_UMU))
                 .filter(m -> m.getType() != jumpJet)
                 .collect(Collectors.toList());
-        jjs.forEach(jj -> UnitUtil.removeMounted(getProtomech(), jj));
+        UnitUtil.removeMounteds(getProtomech(), jjs);
         jumpChanged(panMovement.getJump(), jumpJet);
     }
 
@@ -17,7 +17,6 @@ import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.io.File;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.Vector;
@@ -30,7 +29,6 @@ import javax.swing.SwingConstants;
 
 import megamek.common.MiscType;
 import megamek.common.Mounted;
-import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestProtomech;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.IView;
@@ -57,8 +55,6 @@ public class ProtomekSummaryView extends IView {
     private JTextField txtAmmoKg = new JTextField("?");
     private JTextField txtMiscKg = new JTextField("?");
 
-    private EntityVerifier entityVerifier = EntityVerifier.getInstance(new File("data/mechfiles/UnitVerifierOptions.xml"));
-
     public ProtomekSummaryView(EntitySource eSource) {
         super(eSource);
 
@@ -164,7 +160,7 @@ public class ProtomekSummaryView extends IView {
 
     public void refresh() {
         final NumberFormat format = DecimalFormat.getInstance();
-        final TestProtomech testProto = new TestProtomech(getProtomech(), entityVerifier.mechOption, null);
+        final TestProtomech testProto = (TestProtomech) eSource.getTestEntity();
 
         txtEngineKg.setText(format.format(testProto.getWeightEngine() * 1000));
         txtControlKg.setText(format.format(testProto.getWeightControls() * 1000));
@@ -161,7 +161,7 @@ public class SVArmorTab extends ITab implements ArmorAllocationListener {
 
     @Override
     public void useRemainingTonnageArmor() {
-        double currentTonnage = UnitUtil.getEntityVerifier(getEntity())
+        double currentTonnage = eSource.getTestEntity()
                 .calculateWeight();
         currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getEntity());
         double totalTonnage = getEntity().getWeight();
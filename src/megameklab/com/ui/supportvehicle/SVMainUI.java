@@ -65,12 +65,12 @@ public class SVMainUI extends MegaMekLabMainUI {
         buildTab = new SVBuildTab(this, equipmentTab);
         transportTab = new TransportTab(this);
         fluffTab = new FluffTab(this);
-        structureTab.addRefreshedListener(this);
-        armorTab.addRefreshedListener(this);
-        equipmentTab.addRefreshedListener(this);
-        buildTab.addRefreshedListener(this);
-        transportTab.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshListener());
+        armorTab.addRefreshedListener(getRefreshListener());
+        equipmentTab.addRefreshedListener(getRefreshListener());
+        buildTab.addRefreshedListener(getRefreshListener());
+        transportTab.addRefreshedListener(getRefreshListener());
+        fluffTab.setRefreshedListener(getRefreshListener());
 
         previewTab = new PreviewTab(this);
 
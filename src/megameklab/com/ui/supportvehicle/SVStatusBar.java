@@ -18,7 +18,6 @@
  */
 package megameklab.com.ui.supportvehicle;
 
-import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestSupportVehicle;
 import megameklab.com.ui.MegaMekLabMainUI;
 import megameklab.com.util.ITab;
@@ -42,9 +41,6 @@ class SVStatusBar extends ITab {
     private final JLabel slots = new JLabel();
     private final JLabel cost = new JLabel();
     private final JLabel invalid = new JLabel();
-    private final EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-            "data/mechfiles/UnitVerifierOptions.xml"));
-    private TestSupportVehicle testEntity;
     private final DecimalFormat formatter;
     private final MegaMekLabMainUI mainUI;
 
@@ -53,10 +49,8 @@ class SVStatusBar extends ITab {
         mainUI = parent;
 
         formatter = new DecimalFormat();
-        testEntity = new TestSupportVehicle(parent.getEntity(), entityVerifier.tankOption,
-                null);
         JButton btnValidate = new JButton("Validate Unit");
-        btnValidate.addActionListener(evt -> UnitUtil.showValidation(parent.getEntity(), getParentFrame()));
+        btnValidate.addActionListener(evt -> UnitUtil.showValidation(eSource.getTestEntity(), getParentFrame()));
         JButton btnFluffImage = new JButton("Set Fluff Image");
         btnFluffImage.addActionListener(evt -> getFluffImage());
         invalid.setText("Invalid");
@@ -112,14 +106,14 @@ class SVStatusBar extends ITab {
         double tonnage = eSource.getEntity().getWeight();
         double currentTonnage;
 
-        currentTonnage = testEntity.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(eSource.getEntity());
+        currentTonnage = eSource.getLedger().getWeight();
 
         tons.setText("Tonnage: " + currentTonnage + "/" + tonnage);
         return tons;
     }
 
     private JPanel slotsPanel() {
+        final TestSupportVehicle testEntity = (TestSupportVehicle) eSource.getTestEntity();
         final int totalSlots = testEntity.totalSlotCount();
         final int currentSlots = testEntity.occupiedSlotCount();
         slots.setText("Slots: " + currentSlots + "/" + totalSlots);
@@ -135,13 +129,10 @@ class SVStatusBar extends ITab {
         double currentTonnage;
         int bv = eSource.getEntity().calculateBattleValue();
 
-        testEntity = new TestSupportVehicle(eSource.getEntity(), entityVerifier.tankOption,
-                null);
+        final TestSupportVehicle testEntity = (TestSupportVehicle) eSource.getTestEntity();
 
-        currentTonnage = testEntity.calculateWeight();
-
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(eSource.getEntity());
-        long currentCost = Math.round(eSource.getEntity().getCost(false));
+        currentTonnage = eSource.getLedger().getWeight();
+        long currentCost = Math.round(eSource.getLedger().getCost());
 
         tons.setText("Tonnage: " + currentTonnage + "/" + tonnage);
         tons.setToolTipText("Current Tonnage/Max Tonnage");
@@ -185,7 +176,7 @@ class SVStatusBar extends ITab {
             relativeFilePath = "." + File.separatorChar + relativeFilePath.substring(new File(System.getProperty("user.dir")).getAbsolutePath().length() + 1);
             eSource.getEntity().getFluff().setMMLImagePath(relativeFilePath);
         }
-        mainUI.refreshPreview();
+        mainUI.getRefreshListener().refreshPreview();
     }
 
     private JFrame getParentFrame() {
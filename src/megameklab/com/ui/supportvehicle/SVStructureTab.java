@@ -27,6 +27,7 @@ import megameklab.com.ui.view.*;
 import megameklab.com.ui.view.listeners.SVBuildListener;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
+import megameklab.com.util.UnitLedger;
 import megameklab.com.util.UnitUtil;
 
 import javax.swing.*;
@@ -208,22 +209,27 @@ public class SVStructureTab extends ITab implements SVBuildListener {
 
     @Override
     public void updateTechLevel() {
-        getEntity().setTechLevel(panBasicInfo.getTechLevel()
-                .getCompoundTechLevel(panBasicInfo.useClanTechBase()));
-        if (UnitUtil.checkEquipmentByTechLevel(getSV(), panBasicInfo)) {
-            refresh.refreshEquipment();
-        } else {
-            refresh.refreshEquipmentTable();
-        }
-        if (!getTechManager().isLegal(TestSupportVehicle.SVType.getVehicleType(getEntity()))) {
-            typeChanged(TestSupportVehicle.SVType.WHEELED);
+        refresh.beginBatch();
+        try {
+            getEntity().setTechLevel(panBasicInfo.getTechLevel()
+                    .getCompoundTechLevel(panBasicInfo.useClanTechBase()));
+            if (UnitUtil.checkEquipmentByTechLevel(getSV(), panBasicInfo)) {
+                refresh.refreshEquipment();
+            } else {
+                refresh.refreshEquipmentTable();
+            }
+            if (!getTechManager().isLegal(TestSupportVehicle.SVType.getVehicleType(getEntity()))) {
+                typeChanged(TestSupportVehicle.SVType.WHEELED);
+            }
+            panChassis.refresh();
+            panMovement.setFromEntity(getSV());
+            panChassisMod.setFromEntity(getSV());
+            refresh.refreshArmor();
+            refresh.refreshTransport();
+            refresh.refreshPreview();
+        } finally {
+            refresh.endBatch();
         }
-        panChassis.refresh();
-        panMovement.setFromEntity(getSV());
-        panChassisMod.setFromEntity(getSV());
-        refresh.refreshArmor();
-        refresh.refreshTransport();
-        refresh.refreshPreview();
     }
 
     @Override
@@ -525,6 +531,7 @@ public class SVStructureTab extends ITab implements SVBuildListener {
             }
         }
         resetSponsonPintleWeight();
+        UnitLedger.invalidate(getSV());
 
         panChassis.setFromEntity(getEntity());
         panSummary.refresh();
@@ -557,6 +564,7 @@ public class SVStructureTab extends ITab implements SVBuildListener {
             UnitUtil.removeCriticals(getSV(), current);
         }
         resetSponsonPintleWeight();
+        UnitLedger.invalidate(getSV());
 
         panChassis.setFromEntity(getEntity());
         panSummary.refresh();
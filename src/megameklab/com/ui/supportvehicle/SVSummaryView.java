@@ -19,14 +19,12 @@
 package megameklab.com.ui.supportvehicle;
 
 import megamek.common.EntityWeightClass;
-import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestSupportVehicle;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.IView;
 
 import javax.swing.*;
 import java.awt.*;
-import java.io.File;
 import java.text.NumberFormat;
 
 /**
@@ -55,9 +53,6 @@ public class SVSummaryView extends IView {
 
     private final JLabel lblWeightUnits = createLabel("Ton:", new Dimension(45, 25), SwingConstants.CENTER);
 
-
-    private final EntityVerifier entityVerifier = EntityVerifier.getInstance(new File("data/mechfiles/UnitVerifierOptions.xml"));
-
     public SVSummaryView(EntitySource eSource) {
         super(eSource);
 
@@ -216,8 +211,7 @@ public class SVSummaryView extends IView {
     }
 
     public void refresh() {
-        TestSupportVehicle testSV = new TestSupportVehicle(eSource.getEntity(),
-                entityVerifier.tankOption, null);
+        TestSupportVehicle testSV = (TestSupportVehicle) eSource.getTestEntity();
         if (eSource.getEntity().getWeightClass() == EntityWeightClass.WEIGHT_SMALL_SUPPORT) {
             lblWeightUnits.setText("Kg");
         } else {
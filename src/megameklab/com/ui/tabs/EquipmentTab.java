@@ -26,7 +26,6 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -68,6 +67,8 @@ import megamek.common.weapons.tag.TAGWeapon;
 import megameklab.com.MegaMekLab;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EditJournal;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentTableModel;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
@@ -263,14 +264,7 @@ public class EquipmentTab extends ITab implements ActionListener {
         masterEquipmentTable.getInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT).put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "add");
         masterEquipmentTable.getActionMap().put("add", new EnterAction());
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        ArrayList<EquipmentType> allTypes = new ArrayList<>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-            allTypes.add(eq);
-        }
-
-        masterEquipmentList.setData(allTypes);
+        masterEquipmentList.setData(EquipmentCatalog.getInstance().getAllTypes());
 
         loadEquipmentTable();
 
@@ -592,6 +586,7 @@ public class EquipmentTab extends ITab implements ActionListener {
         Mounted aMount = getProtomech().getAmmo().stream()
                 .filter(m -> m.getType() == ammo).findFirst().orElse(null);
         if (null != aMount) {
+            EditJournal.recordChanging(getProtomech(), aMount);
             aMount.setShotsLeft(aMount.getUsableShotsLeft() + shots);
         } else {
             Mounted mount = new Mounted(getProtomech(), ammo);
@@ -604,6 +599,7 @@ public class EquipmentTab extends ITab implements ActionListener {
     private void addLargeCraftAmmo(EquipmentType ammo, int count) throws LocationFullException {
         Mounted aMount = UnitUtil.findUnallocatedAmmo(getAero(), ammo);
         if (null != aMount) {
+            EditJournal.recordChanging(getAero(), aMount);
             aMount.setShotsLeft(aMount.getUsableShotsLeft() + ((AmmoType)ammo).getShots() * count);
         } else {
             Mounted mount = new Mounted(getAero(), ammo);
@@ -642,9 +638,7 @@ public class EquipmentTab extends ITab implements ActionListener {
             addEquipment(equip);
         } else if (e.getActionCommand().equals(REMOVE_COMMAND)) {
             int[] selectedRows = equipmentTable.getSelectedRows();
-            for (Integer row : selectedRows){
-                equipmentList.removeMounted(row);
-            }
+            equipmentList.removeMounted(selectedRows);
             equipmentList.removeCrits(selectedRows);
         } else if (e.getActionCommand().equals(REMOVEALL_COMMAND)) {
             removeAllEquipment();
@@ -662,9 +656,7 @@ public class EquipmentTab extends ITab implements ActionListener {
 
     private void removeAllEquipment() {
         removeHeatSinks();
-        for (int count = 0; count < equipmentList.getRowCount(); count++) {
-            equipmentList.removeMounted(count);
-        }
+        equipmentList.removeAllMounted();
         equipmentList.removeAllCrits();
     }
 
@@ -706,6 +698,7 @@ public class EquipmentTab extends ITab implements ActionListener {
                 }
             }
         };
+        masterEquipmentList.refreshContext();
         equipmentSorter.setRowFilter(equipmentTypeFilter);
     }
 
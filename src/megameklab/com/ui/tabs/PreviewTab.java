@@ -17,17 +17,30 @@
 package megameklab.com.ui.tabs;
 
 import java.awt.BorderLayout;
+import java.awt.event.HierarchyEvent;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JTabbedPane;
+import javax.swing.SwingWorker;
 import javax.swing.UIManager;
 
 import megamek.client.ui.swing.MechViewPanel;
 import megamek.common.Entity;
 import megamek.common.MechView;
 import megamek.common.templates.TROView;
+import megameklab.com.MegaMekLab;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.EntitySnapshot;
 import megameklab.com.util.ITab;
 
+/**
+ * Shows the MechView summary and the TRO view of the unit being edited. Generating either view is
+ * expensive, so the tab only marks itself dirty when the unit changes and regenerates the view that is
+ * actually visible once it is shown. The views are built in a background thread from a snapshot of the
+ * unit so that the editor can continue to modify the original.
+ */
 public class PreviewTab extends ITab {
 
 	/**
@@ -35,13 +48,18 @@ public class PreviewTab extends ITab {
 	 */
 	private static final long serialVersionUID = -7410436201331568734L;
 
-    private MechViewPanel panelMekView;
-    private MechViewPanel panelTROView;
+    private final JTabbedPane panPreview;
+    private final MechViewPanel panelMekView;
+    private final MechViewPanel panelTROView;
+
+    private boolean mekViewDirty = true;
+    private boolean troViewDirty = true;
+    private PreviewWorker worker = null;
 
 	public PreviewTab(EntitySource eSource) {
 	    super(eSource);
 		this.setLayout(new BorderLayout());
-        JTabbedPane panPreview = new JTabbedPane();
+        panPreview = new JTabbedPane();
 
         panelMekView = new MechViewPanel();
         panelMekView.setMinimumSize(new java.awt.Dimension(300, 500));
@@ -50,33 +68,153 @@ public class PreviewTab extends ITab {
         
         panelTROView = new MechViewPanel();
         panPreview.addTab("TRO", panelTROView);
+        panPreview.addChangeListener(e -> updateVisibleView());
 
         add(panPreview, BorderLayout.CENTER);
         setBackground(UIManager.getColor("TabbedPane.background"));
+        addHierarchyListener(e -> {
+            if (((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) && isShowing()) {
+                updateVisibleView();
+            }
+        });
         refresh();
 	}
 	
+    /**
+     * Marks both views as out of date. If the tab is currently showing, the visible view is regenerated
+     * immediately; otherwise it is regenerated the next time the tab is shown.
+     */
 	public void refresh() {
-        boolean populateTextFields = true;
-        final Entity selectedUnit = eSource.getEntity();
-        selectedUnit.recalculateTechAdvancement();
-        MechView mechView = null;
-        TROView troView = null;
+        // Other parts of the editor read the construction tech advancement, so keep it current
+        // even if the preview itself is not being regenerated.
+        eSource.getEntity().recalculateTechAdvancement();
+        mekViewDirty = true;
+        troViewDirty = true;
+        if (worker != null) {
+            worker.cancel(true);
+            worker = null;
+        }
+        if (isShowing()) {
+            updateVisibleView();
+        }
+	}
+	
+    private boolean isTROVisible() {
+        return panPreview.getSelectedComponent() == panelTROView;
+    }
+
+    /**
+     * Starts generating the view in the selected preview tab if it is out of date and there is not
+     * already a worker building it.
+     */
+    private void updateVisibleView() {
+        if (!isShowing()) {
+            return;
+        }
+        final boolean tro = isTROVisible();
+        if (!(tro ? troViewDirty : mekViewDirty)) {
+            return;
+        }
+        if (worker != null) {
+            if (worker.tro == tro) {
+                return;
+            }
+            worker.cancel(true);
+        }
+        final Entity entity = eSource.getEntity();
+        EntitySnapshot snapshot = null;
         try {
-            mechView = new MechView(selectedUnit, false);
-            troView = TROView.createView(selectedUnit, true);
+            snapshot = eSource.getSnapshot();
+        } catch (IOException ex) {
+            MegaMekLab.getLogger().warning(getClass(), "updateVisibleView()",
+                    "Could not create snapshot of " + entity.getShortNameRaw()
+                    + "; generating preview on the event dispatch thread");
+        }
+        if (null == snapshot) {
+            // Fall back to generating from the live unit
+            showView(tro, entity, generateView(entity, tro));
+            worker = null;
+        } else {
+            worker = new PreviewWorker(snapshot, tro);
+            worker.execute();
+        }
+    }
+
+    /**
+     * Builds the view for the unit. Any exception is caught and logged and results in a null return value.
+     */
+    private static Object generateView(Entity entity, boolean tro) {
+        try {
+            if (tro) {
+                return TROView.createView(entity, true);
+            } else {
+                return new MechView(entity, false);
+            }
         } catch (Exception e) {
-            e.printStackTrace();
             // error unit didn't load right. this is bad news.
-            populateTextFields = false;
+            MegaMekLab.getLogger().error(PreviewTab.class, "generateView(Entity, boolean)", e);
+            return null;
         }
-        if (populateTextFields) {
-            panelMekView.setMech(selectedUnit, mechView);
-            panelTROView.setMech(selectedUnit, troView);
+    }
+
+    private void showView(boolean tro, Entity entity, Object view) {
+        if (tro) {
+            troViewDirty = false;
+            if (view instanceof TROView) {
+                panelTROView.setMech(entity, (TROView) view);
+            } else {
+                panelTROView.reset();
+            }
         } else {
-            panelMekView.reset();
-            panelTROView.reset();
+            mekViewDirty = false;
+            if (view instanceof MechView) {
+                panelMekView.setMech(entity, (MechView) view);
+            } else {
+                panelMekView.reset();
+            }
         }
-	}
-	
-}
\ No newline at end of file
+    }
+
+    /**
+     * Reconstructs the unit from the snapshot and generates the view. The result is discarded if a newer
+     * edit has cancelled the worker.
+     */
+    private class PreviewWorker extends SwingWorker<Object, Void> {
+        private final EntitySnapshot snapshot;
+        private final boolean tro;
+        private Entity entity;
+
+        PreviewWorker(EntitySnapshot snapshot, boolean tro) {
+            this.snapshot = snapshot;
+            this.tro = tro;
+        }
+
+        @Override
+        protected Object doInBackground() throws Exception {
+            entity = snapshot.restore();
+            if (isCancelled()) {
+                return null;
+            }
+            return generateView(entity, tro);
+        }
+
+        @Override
+        protected void done() {
+            if (worker != this) {
+                return;
+            }
+            worker = null;
+            Object view = null;
+            try {
+                view = get();
+            } catch (CancellationException | InterruptedException e) {
+                return;
+            } catch (ExecutionException e) {
+                MegaMekLab.getLogger().error(PreviewTab.class, "done()", e.getCause());
+            }
+            showView(tro, entity, view);
+            // The selected tab may have changed while the worker was running
+            updateVisibleView();
+        }
+    }
+}
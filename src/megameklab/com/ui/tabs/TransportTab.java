@@ -53,7 +53,6 @@ import megameklab.com.MegaMekLab;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
-import megameklab.com.util.UnitUtil;
 
 /**
  * Tab for adding and modifying aerospace and support vee transport bays.
@@ -337,7 +336,7 @@ public class TransportTab extends IView implements ActionListener, ChangeListene
     private void checkButtons() {
         btnRemoveBay.setEnabled(tblInstalled.getSelectedRow() >= 0);
         btnAddBay.setEnabled(canAddSelectedBay());
-        btnAddToCargo.setEnabled(UnitUtil.getEntityVerifier(getEntity())
+        btnAddToCargo.setEnabled(eSource.getTestEntity()
                 .calculateWeight() < getEntity().getWeight());
     }
     
@@ -469,7 +468,7 @@ public class TransportTab extends IView implements ActionListener, ChangeListene
                 refresh();
             }
         } else if (ev.getSource() == btnAddToCargo) {
-            double size = getEntity().getWeight() - UnitUtil.getEntityVerifier(getEntity())
+            double size = getEntity().getWeight() - eSource.getTestEntity()
                     .calculateWeight();
             // Testing has shown some floating-point precision errors creeping in here.
             if (useKilogramStandard()) {
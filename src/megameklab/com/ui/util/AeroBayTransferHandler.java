@@ -37,6 +37,7 @@ import megamek.common.weapons.bayweapons.BayWeapon;
 import megameklab.com.MegaMekLab;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EquipmentIndex;
 import megameklab.com.util.UnitUtil;
 
 /**
@@ -238,7 +239,7 @@ public class AeroBayTransferHandler extends TransferHandler {
             StringJoiner sj = new StringJoiner(",");
             for (int row : table.getSelectedRows()) {
                 Mounted mount = (Mounted) ((CriticalTableModel) table.getModel()).getValueAt(row, CriticalTableModel.EQUIPMENT);
-                sj.add(Integer.toString(eSource.getEntity().getEquipmentNum(mount)));
+                sj.add(Integer.toString(EquipmentIndex.getEquipmentNum(eSource.getEntity(), mount)));
             }
             return new StringSelection(sj.toString());
         }
@@ -25,8 +25,10 @@ import java.awt.event.MouseListener;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
@@ -38,6 +40,8 @@ import javax.swing.JMenuItem;
 import javax.swing.JPopupMenu;
 import javax.swing.JTree;
 import javax.swing.ToolTipManager;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeCellRenderer;
 import javax.swing.tree.DefaultTreeModel;
@@ -65,6 +69,7 @@ import megamek.common.weapons.ppc.PPCWeapon;
 import megameklab.com.MegaMekLab;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CConfig;
+import megameklab.com.util.EquipmentIndex;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
 
@@ -94,6 +99,30 @@ public class BayWeaponCriticalTree extends JTree {
     private final EntitySource eSource;
     private final DefaultTreeModel model;
     private RefreshListener refresh;
+    private int slotCount = -1;
+
+    // Any change to the nodes outside of a rebuild can change the number of slots used
+    private final TreeModelListener slotCountListener = new TreeModelListener() {
+        @Override
+        public void treeNodesChanged(TreeModelEvent e) {
+            slotCount = -1;
+        }
+
+        @Override
+        public void treeNodesInserted(TreeModelEvent e) {
+            slotCount = -1;
+        }
+
+        @Override
+        public void treeNodesRemoved(TreeModelEvent e) {
+            slotCount = -1;
+        }
+
+        @Override
+        public void treeStructureChanged(TreeModelEvent e) {
+            slotCount = -1;
+        }
+    };
     
     public BayWeaponCriticalTree(int location, EntitySource eSource, RefreshListener refresh) {
         this(location, eSource, refresh, FORWARD);
@@ -106,10 +135,10 @@ public class BayWeaponCriticalTree extends JTree {
         this.refresh = refresh;
         
         setMinimumSize(new Dimension(110,15));
-        TreeNode root = initRoot();
-        setRootVisible(root.getChildCount() == 0);
-        model = new DefaultTreeModel(root);
+        model = new DefaultTreeModel(new DefaultMutableTreeNode());
+        model.addTreeModelListener(slotCountListener);
         setModel(model);
+        rebuild();
         setCellRenderer(renderer);
         addMouseListener(mouseListener);
         getSelectionModel().setSelectionMode(TreeSelectionModel.SINGLE_TREE_SELECTION);
@@ -133,15 +162,35 @@ public class BayWeaponCriticalTree extends JTree {
     }
     
     public void rebuild() {
-        TreeNode root = initRoot();
-        model.setRoot(root);
+        rebuild(new MountIndex(eSource.getEntity()));
+    }
+
+    /**
+     * Updates the tree to match the equipment in this tree's location and facing. Only the nodes that
+     * have been added, removed, moved, or relabeled are changed, which preserves the expansion and
+     * selection state of the others.
+     *
+     * @param index The vessel's equipment grouped by location. Views that show several arcs can share
+     *              a single index among all the trees.
+     */
+    public void rebuild(MountIndex index) {
+        final MutableTreeNode root = (MutableTreeNode) model.getRoot();
+        updateChildren(root, getNodeSpecs(index));
         setRootVisible(root.getChildCount() == 0);
+        slotCount = countSlots();
     }
-    
+
     /**
      * @return The number of weapon slots required by equipment allocated to this arc.
      */
     public int getSlotCount() {
+        if (slotCount < 0) {
+            slotCount = countSlots();
+        }
+        return slotCount;
+    }
+
+    private int countSlots() {
         int count = 0;
         for (Enumeration<?> e = ((MutableTreeNode)model.getRoot()).children(); e.hasMoreElements(); ) {
             final Object node = e.nextElement();
@@ -155,56 +204,86 @@ public class BayWeaponCriticalTree extends JTree {
         }
         return count;
     }
-    
+
+    private boolean matchesFacing(Mounted mounted) {
+        return (facing == BOTH) || (mounted.isRearMounted() == (facing == AFT));
+    }
+
     /**
-     * Runs through all equipment mounted on the vessel and adds nodes for the ones that match this
-     * tree's location and facing.
-     * 
-     * @return A new root node
+     * Determines which nodes should be in the tree, in the order they are displayed: the bays with
+     * their weapons and ammo, followed by the equipment that is not in a bay.
      */
-    private TreeNode initRoot() {
-        MutableTreeNode root = new DefaultMutableTreeNode();
-        Set<Integer> eqSet = new HashSet<>();
-        for (Mounted bay : eSource.getEntity().getWeaponBayList()) {
-            if ((bay.getLocation() == location)
-                    && ((facing == BOTH)
-                            || (bay.isRearMounted() == (facing == AFT)))) {
-                eqSet.add(eSource.getEntity().getEquipmentNum(bay));
-                EquipmentNode bayNode = new BayNode(bay);
-                root.insert(bayNode, root.getChildCount());
-                bayNode.setParent(root);
+    private List<NodeSpec> getNodeSpecs(MountIndex index) {
+        final Entity entity = eSource.getEntity();
+        List<NodeSpec> specs = new ArrayList<>();
+        Set<Mounted> inBay = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Mounted bay : index.getBays(location)) {
+            if (matchesFacing(bay)) {
+                NodeSpec bayNode = new NodeSpec(bay, true);
+                inBay.add(bay);
                 for (Integer wNum : bay.getBayWeapons()) {
-                    final Mounted weapon = eSource.getEntity().getEquipment(wNum);
-                    EquipmentNode node = new EquipmentNode(weapon);
-                    bayNode.insert(node, bayNode.getChildCount());
-                    node.setParent(bayNode);
-                    eqSet.add(wNum);
+                    final Mounted weapon = entity.getEquipment(wNum);
+                    bayNode.children.add(new NodeSpec(weapon, false));
+                    inBay.add(weapon);
                 }
                 for (Integer aNum : bay.getBayAmmo()) {
-                    final Mounted ammo = eSource.getEntity().getEquipment(aNum);
-                    EquipmentNode node = new EquipmentNode(ammo);
-                    bayNode.insert(node, bayNode.getChildCount());
-                    node.setParent(bayNode);
-                    eqSet.add(aNum);
+                    final Mounted ammo = entity.getEquipment(aNum);
+                    bayNode.children.add(new NodeSpec(ammo, false));
+                    inBay.add(ammo);
                 }
+                specs.add(bayNode);
+            }
+        }
+        for (Mounted eq : index.getEquipment(location)) {
+            if (!inBay.contains(eq) && matchesFacing(eq)) {
+                specs.add(new NodeSpec(eq, false));
             }
         }
-        for (int eqIndex = 0; eqIndex < eSource.getEntity().getEquipment().size(); eqIndex++) {
-            final Mounted eq = eSource.getEntity().getEquipment(eqIndex);
-            if ((eq.getLinked() != null) && (eq.getLinked().getType() instanceof WeaponType)) {
-                continue;
+        return specs;
+    }
+
+    /**
+     * Brings the children of the node in line with the specs, notifying the model of each change.
+     */
+    private void updateChildren(MutableTreeNode parent, List<NodeSpec> specs) {
+        Map<Mounted, NodeSpec> wanted = new IdentityHashMap<>();
+        for (NodeSpec spec : specs) {
+            wanted.put(spec.mounted, spec);
+        }
+        Map<Mounted, EquipmentNode> existing = new IdentityHashMap<>();
+        for (int i = parent.getChildCount() - 1; i >= 0; i--) {
+            final EquipmentNode node = (EquipmentNode) parent.getChildAt(i);
+            final NodeSpec spec = wanted.get(node.getMounted());
+            if ((null == spec) || (spec.bay != (node instanceof BayNode))) {
+                model.removeNodeFromParent(node);
+            } else {
+                existing.put(node.getMounted(), node);
+            }
+        }
+        for (int i = 0; i < specs.size(); i++) {
+            final NodeSpec spec = specs.get(i);
+            EquipmentNode node = existing.get(spec.mounted);
+            final boolean created = (null == node);
+            if (created) {
+                node = spec.bay ? new BayNode(spec.mounted) : new EquipmentNode(spec.mounted);
+                model.insertNodeInto(node, parent, i);
+                node.setParent(parent);
+            } else if ((i >= parent.getChildCount()) || (parent.getChildAt(i) != node)) {
+                model.removeNodeFromParent(node);
+                model.insertNodeInto(node, parent, i);
+                node.setParent(parent);
+            }
+            if (spec.bay) {
+                updateChildren(node, spec.children);
             }
-            if (!eqSet.contains(eqIndex) && (eq.getLocation() == location)
-                    && ((facing == BOTH)
-                            || (eq.isRearMounted() == (facing == AFT)))) {
-                EquipmentNode node = new EquipmentNode(eq);
-                root.insert(node, root.getChildCount());
-                node.setParent(root);
+            final String label = node.toString();
+            if (!created && !label.equals(node.label)) {
+                model.nodeChanged(node);
             }
+            node.label = label;
         }
-        return root;
     }
-    
+
     /**
      * Removes the bay node and all subnodes.
      * Removes all equipment in this bay by assigning it to LOC_NONE and deletes the bay itself.
@@ -272,9 +351,9 @@ public class BayWeaponCriticalTree extends JTree {
                 && (node.getParent().getParent() != null)) {
             Mounted bay = ((BayNode)node.getParent()).getMounted();
             if (mounted.getType() instanceof WeaponType) {
-                bay.getBayWeapons().removeElement(eSource.getEntity().getEquipmentNum(mounted));
+                bay.getBayWeapons().removeElement(EquipmentIndex.getEquipmentNum(eSource.getEntity(), mounted));
             } else if (mounted.getType() instanceof AmmoType) {
-                bay.getBayAmmo().removeElement(eSource.getEntity().getEquipmentNum(mounted));
+                bay.getBayAmmo().removeElement(EquipmentIndex.getEquipmentNum(eSource.getEntity(), mounted));
             }
             if ((node.getMounted().getType() instanceof WeaponType) && bay.getBayWeapons().size() == 0) {
                 removeBay((EquipmentNode)node.getParent(), false, true);
@@ -458,6 +537,8 @@ public class BayWeaponCriticalTree extends JTree {
         private Object object;
         private MutableTreeNode parent;
         private final Vector<MutableTreeNode> children = new Vector<>();
+        // The text shown the last time the tree was rebuilt
+        private String label;
         
         EquipmentNode(Object object) {
             this.object = object;
@@ -542,20 +623,20 @@ public class BayWeaponCriticalTree extends JTree {
         
         public Color getBackgroundColor() {
             if (getMounted().getType() instanceof WeaponType) {
-                return CConfig.getBackgroundColor(CConfig.CONFIG_WEAPONS);
+                return CConfig.getPalette().weaponsBackground;
             } else if (getMounted().getType() instanceof AmmoType) {
-                return CConfig.getBackgroundColor(CConfig.CONFIG_AMMO);
+                return CConfig.getPalette().ammoBackground;
             } else {
-                return CConfig.getBackgroundColor(CConfig.CONFIG_EQUIPMENT);
+                return CConfig.getPalette().equipmentBackground;
             }
         }
         public Color getForegroundColor() {
             if (getMounted().getType() instanceof WeaponType) {
-                return CConfig.getForegroundColor(CConfig.CONFIG_WEAPONS);
+                return CConfig.getPalette().weaponsForeground;
             } else if (getMounted().getType() instanceof AmmoType) {
-                return CConfig.getForegroundColor(CConfig.CONFIG_AMMO);
+                return CConfig.getPalette().ammoForeground;
             } else {
-                return CConfig.getForegroundColor(CConfig.CONFIG_EQUIPMENT);
+                return CConfig.getPalette().equipmentForeground;
             }
         }
         
@@ -610,12 +691,12 @@ public class BayWeaponCriticalTree extends JTree {
 
         @Override
         public Color getBackgroundColor() {
-            return CConfig.getBackgroundColor(CConfig.CONFIG_WEAPONS);
+            return CConfig.getPalette().weaponsBackground;
         }
 
         @Override
         public Color getForegroundColor() {
-            return CConfig.getForegroundColor(CConfig.CONFIG_WEAPONS);
+            return CConfig.getPalette().weaponsForeground;
         }
         
         @Override
@@ -1017,12 +1098,12 @@ public class BayWeaponCriticalTree extends JTree {
                 eqNode.setParent(bayNode);
                 
                 if (eq.getType() instanceof WeaponType) {
-                    bay.addWeaponToBay(eSource.getEntity().getEquipmentNum(eq));
+                    bay.addWeaponToBay(EquipmentIndex.getEquipmentNum(eSource.getEntity(), eq));
                     if (eq.getLinkedBy() != null) {
                         moveToArc(eq.getLinkedBy());
                     }
                 } else if (eq.getType() instanceof AmmoType) {
-                    bay.addAmmoToBay(eSource.getEntity().getEquipmentNum(eq));
+                    bay.addAmmoToBay(EquipmentIndex.getEquipmentNum(eSource.getEntity(), eq));
                 }
             } else {
                 MegaMekLab.getLogger().log(BayWeaponCriticalTree.class, "addToBay(Mounted,Mounted)",    //$NON-NLS-1$
@@ -1354,9 +1435,9 @@ public class BayWeaponCriticalTree extends JTree {
         if (null != bay) {
             if ((eq == bay)
                     || ((eq.getType() instanceof WeaponType)
-                            && (bay.getBayWeapons().contains(eSource.getEntity().getEquipmentNum(eq))))
+                            && (bay.getBayWeapons().contains(EquipmentIndex.getEquipmentNum(eSource.getEntity(), eq))))
                     || ((eq.getType() instanceof AmmoType)
-                            && (bay.getBayAmmo().contains(eSource.getEntity().getEquipmentNum(eq))))) {
+                            && (bay.getBayAmmo().contains(EquipmentIndex.getEquipmentNum(eSource.getEntity(), eq))))) {
                 return false;
             }
         }
@@ -1400,7 +1481,7 @@ public class BayWeaponCriticalTree extends JTree {
         if ((null != path) && (path.getLastPathComponent() instanceof EquipmentNode)) {
             EquipmentNode node = (EquipmentNode)path.getLastPathComponent();
             StringJoiner sj = new StringJoiner(":");
-            sj.add(String.valueOf(eSource.getEntity().getEquipmentNum(node.getMounted())));
+            sj.add(String.valueOf(EquipmentIndex.getEquipmentNum(eSource.getEntity(), node.getMounted())));
             sj.add(String.valueOf(node.getParent().getIndex(node)));
             if (node.getParent() instanceof BayNode) {
                 sj.add(String.valueOf(((MutableTreeNode)model.getRoot()).getIndex(node.getParent())));
@@ -1443,4 +1524,46 @@ public class BayWeaponCriticalTree extends JTree {
         refresh.refreshStatus();
         refresh.refreshSummary();
     }
+
+    /**
+     * The node that should appear in the tree for a mount, along with its children if it is a bay.
+     */
+    private static class NodeSpec {
+        final Mounted mounted;
+        final boolean bay;
+        final List<NodeSpec> children = new ArrayList<>();
+
+        NodeSpec(Mounted mounted, boolean bay) {
+            this.mounted = mounted;
+            this.bay = bay;
+        }
+    }
+
+    /**
+     * The vessel's weapon bays and equipment grouped by location, built with a single pass over the
+     * equipment list. Equipment that is linked to a weapon is left out, since it is shown with the weapon.
+     */
+    public static class MountIndex {
+        private final Map<Integer, List<Mounted>> bays = new HashMap<>();
+        private final Map<Integer, List<Mounted>> equipment = new HashMap<>();
+
+        public MountIndex(Entity entity) {
+            for (Mounted bay : entity.getWeaponBayList()) {
+                bays.computeIfAbsent(bay.getLocation(), k -> new ArrayList<>()).add(bay);
+            }
+            for (Mounted eq : entity.getEquipment()) {
+                if ((eq.getLinked() == null) || !(eq.getLinked().getType() instanceof WeaponType)) {
+                    equipment.computeIfAbsent(eq.getLocation(), k -> new ArrayList<>()).add(eq);
+                }
+            }
+        }
+
+        List<Mounted> getBays(int location) {
+            return bays.getOrDefault(location, Collections.emptyList());
+        }
+
+        List<Mounted> getEquipment(int location) {
+            return equipment.getOrDefault(location, Collections.emptyList());
+        }
+    }
 }
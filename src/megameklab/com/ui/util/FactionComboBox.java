@@ -14,6 +14,9 @@
 package megameklab.com.ui.util;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import javax.swing.SwingUtilities;
 
 import megamek.client.ratgenerator.FactionRecord;
 import megamek.client.ratgenerator.RATGenerator;
@@ -23,44 +26,149 @@ import megamek.common.ITechnology;
  * Combo box that uses the RATGenerator faction data to provide a list of factions appropriate
  * to a unit's intro year and with the era-appropriate name. The underlying data type is the
  * ITechnology faction constant.
- * 
+ *
+ * The RATGenerator loads its data in the background. Until it is done the combo box shows only
+ * a loading message, and any faction selected in the meantime is remembered and selected once the
+ * list is filled in. The sorted list of factions for each year is built once and shared by all
+ * instances.
+ *
  * @author Neoancient
  *
  */
 public class FactionComboBox extends CustomComboBox<Integer> {
 
     /**
-     * 
+     *
      */
     private static final long serialVersionUID = 4722914142736815170L;
-    
-    private final Map<Integer,String> displayNames = new HashMap<>();
-    
+
+    private static CompletableFuture<Void> ratGenReady = null;
+    private static final Map<Integer,FactionList> factionsByYear = new HashMap<>();
+
+    private FactionList factions = null;
+    private boolean loaded = false;
+    private boolean adjusting = false;
+    private int year = ITechnology.DATE_NONE;
+    private Object pendingSelection = null;
+
     public FactionComboBox() {
         super();
-        setRenderer(new Renderer<>(displayNames::get));
-        while (!RATGenerator.getInstance().isInitialized()) {
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException ignored) {
+        setRenderer(new Renderer<>(this::getDisplayName));
+        addItem(ITechnology.F_NONE);
+        getRatGenReady().thenRun(() -> SwingUtilities.invokeLater(this::loadComplete));
+    }
+
+    /**
+     * @return A future that completes when the RATGenerator has finished loading its data
+     */
+    private static synchronized CompletableFuture<Void> getRatGenReady() {
+        if (null == ratGenReady) {
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            final RATGenerator ratGen = RATGenerator.getInstance();
+            ratGen.registerListener(ev -> {
+                if (ratGen.isInitialized()) {
+                    future.complete(null);
+                }
+            });
+            // In case it finished before the listener was registered
+            if (ratGen.isInitialized()) {
+                future.complete(null);
             }
+            ratGenReady = future;
         }
+        return ratGenReady;
     }
-    
+
+    /**
+     * @return The factions active in the year, sorted by their name in that year
+     */
+    private static FactionList getFactions(int year) {
+        synchronized (factionsByYear) {
+            return factionsByYear.computeIfAbsent(year, FactionList::new);
+        }
+    }
+
+    private String getDisplayName(Integer faction) {
+        if ((null == faction) || (faction == ITechnology.F_NONE)) {
+            return loaded ? "Any" : "Loading...";
+        }
+        return (null == factions) ? null : factions.names.get(faction);
+    }
+
     public void refresh(int year) {
-        displayNames.clear();
-        for (int i = 0; i < ITechnology.MM_FACTION_CODES.length; i++) {
-            final FactionRecord fRec = RATGenerator.getInstance().getFaction(ITechnology.MM_FACTION_CODES[i]);
-            // TA will generate a null value because the RAT Generator doesn't distinguish between TH and TA.
-            if ((null != fRec) && (fRec.isActiveInYear(year))) {
-                displayNames.put(i, fRec.getName(year));
-            }
+        this.year = year;
+        if (!loaded) {
+            return;
         }
-        List<Integer> sorted = new ArrayList<>(displayNames.keySet());
-        sorted.sort(Comparator.comparing(displayNames::get));
+        factions = getFactions(year);
         removeAllItems();
-        addItem(-1);
-        displayNames.put(-1, "Any");
-        sorted.forEach(this::addItem);
+        addItem(ITechnology.F_NONE);
+        factions.sorted.forEach(this::addItem);
+    }
+
+    /**
+     * Fills in the list once the faction data is available and restores any selection that was
+     * made while it was loading. Listeners are notified once if that changes the selected faction.
+     */
+    private void loadComplete() {
+        final Object previous = getSelectedItem();
+        adjusting = true;
+        try {
+            loaded = true;
+            refresh(year);
+            if (null != pendingSelection) {
+                setSelectedItem(pendingSelection);
+                pendingSelection = null;
+            }
+            if (getSelectedIndex() < 0) {
+                setSelectedIndex(0);
+            }
+        } finally {
+            adjusting = false;
+        }
+        if (!Objects.equals(previous, getSelectedItem())) {
+            fireActionEvent();
+        }
+    }
+
+    @Override
+    public void setSelectedItem(Object item) {
+        if (!loaded) {
+            pendingSelection = item;
+        }
+        super.setSelectedItem(item);
+    }
+
+    @Override
+    public Object getSelectedItem() {
+        if (!loaded && (null != pendingSelection)) {
+            return pendingSelection;
+        }
+        return super.getSelectedItem();
+    }
+
+    @Override
+    protected void fireActionEvent() {
+        if (!adjusting) {
+            super.fireActionEvent();
+        }
+    }
+
+    private static class FactionList {
+        final Map<Integer,String> names = new HashMap<>();
+        final List<Integer> sorted;
+
+        FactionList(int year) {
+            for (int i = 0; i < ITechnology.MM_FACTION_CODES.length; i++) {
+                final FactionRecord fRec = RATGenerator.getInstance().getFaction(ITechnology.MM_FACTION_CODES[i]);
+                // TA will generate a null value because the RAT Generator doesn't distinguish between TH and TA.
+                if ((null != fRec) && (fRec.isActiveInYear(year))) {
+                    names.put(i, fRec.getName(year));
+                }
+            }
+            List<Integer> list = new ArrayList<>(names.keySet());
+            list.sort(Comparator.comparing(names::get));
+            sorted = Collections.unmodifiableList(list);
+        }
     }
 }
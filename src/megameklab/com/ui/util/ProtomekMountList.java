@@ -44,6 +44,7 @@ import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CConfig;
 import megameklab.com.util.CriticalTransferHandler;
 import megameklab.com.util.RefreshListener;
+import megameklab.com.util.ToolTipCache;
 import megameklab.com.util.UnitUtil;
 
 /**
@@ -213,6 +214,9 @@ public class ProtomekMountList extends JList<Mounted> {
         private static final long serialVersionUID = -1115364118975814321L;
         
         private boolean useColor = false;
+        private final ToolTipCache toolTips = new ToolTipCache();
+        private Entity toolTipEntity = null;
+        private Mounted toolTipMount = null;
 
         public MountCellRenderer(boolean useColor) {
             this.useColor = useColor;
@@ -223,6 +227,7 @@ public class ProtomekMountList extends JList<Mounted> {
             final JLabel label = (JLabel) super.getListCellRendererComponent(list, value, index, isSelected, hasFocus);
             final ProtomekMountList lstMount = (ProtomekMountList) list;
             final Entity entity = lstMount.eSource.getEntity();
+            toolTipMount = null;
             
             label.setPreferredSize(new Dimension(140,15));
             label.setMaximumSize(new Dimension(140,15));
@@ -230,8 +235,8 @@ public class ProtomekMountList extends JList<Mounted> {
 
             if (null == value) {
                 if (useColor) {
-                    label.setBackground(CConfig.getBackgroundColor(CConfig.CONFIG_EMPTY));
-                    label.setForeground(CConfig.getForegroundColor(CConfig.CONFIG_EMPTY));
+                    label.setBackground(CConfig.getPalette().emptyBackground);
+                    label.setForeground(CConfig.getPalette().emptyForeground);
                 }
                 label.setText("-Empty-");
             } else {
@@ -239,14 +244,14 @@ public class ProtomekMountList extends JList<Mounted> {
 
                 if (useColor) {
                     if (mount.getType() instanceof WeaponType) {
-                        label.setBackground(CConfig.getBackgroundColor(CConfig.CONFIG_WEAPONS));
-                        label.setForeground(CConfig.getForegroundColor(CConfig.CONFIG_WEAPONS));
+                        label.setBackground(CConfig.getPalette().weaponsBackground);
+                        label.setForeground(CConfig.getPalette().weaponsForeground);
                     } else if (mount.getType() instanceof AmmoType) {
-                        label.setBackground(CConfig.getBackgroundColor(CConfig.CONFIG_AMMO));
-                        label.setForeground(CConfig.getForegroundColor(CConfig.CONFIG_AMMO));
+                        label.setBackground(CConfig.getPalette().ammoBackground);
+                        label.setForeground(CConfig.getPalette().ammoForeground);
                     } else {
-                        label.setBackground(CConfig.getBackgroundColor(CConfig.CONFIG_EQUIPMENT));
-                        label.setForeground(CConfig.getForegroundColor(CConfig.CONFIG_EQUIPMENT));
+                        label.setBackground(CConfig.getPalette().equipmentBackground);
+                        label.setForeground(CConfig.getPalette().equipmentForeground);
                     }
                 }
                 if (UnitUtil.isFixedLocationSpreadEquipment(mount.getType())) {
@@ -260,9 +265,9 @@ public class ProtomekMountList extends JList<Mounted> {
                 if (mount.getType() instanceof AmmoType) {
                     name += " (" + mount.getBaseShotsLeft() + ")";
                 }
-                String toolTipText = UnitUtil.getToolTipInfo(entity, mount);
                 label.setText(name);
-                label.setToolTipText(toolTipText);
+                toolTipEntity = entity;
+                toolTipMount = mount;
             }
 
             if ((index > 0) && (index < list.getModel().getSize())) {
@@ -271,6 +276,14 @@ public class ProtomekMountList extends JList<Mounted> {
 
             return label;
         }
+
+        @Override
+        public String getToolTipText(MouseEvent event) {
+            if (null == toolTipMount) {
+                return null;
+            }
+            return toolTips.get(toolTipEntity, toolTipMount);
+        }
     }
 
     /**
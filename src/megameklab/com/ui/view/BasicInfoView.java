@@ -27,6 +27,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JTextField;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 import megamek.common.Entity;
 import megamek.common.ITechManager;
@@ -39,6 +41,7 @@ import megameklab.com.ui.util.FactionComboBox;
 import megameklab.com.ui.util.IntRangeTextField;
 import megameklab.com.ui.view.listeners.BuildListener;
 import megameklab.com.util.CConfig;
+import megameklab.com.util.TechAvailabilityIndex;
 
 /**
  * Basic information common to all unit types: name, year, tech level.
@@ -85,6 +88,8 @@ public class BasicInfoView extends BuildView implements ITechManager, ActionList
     
     private int prevYear = 3145;
     private int prevBV = -1;
+
+    private final TechAvailabilityIndex techIndex = new TechAvailabilityIndex(this, ITechManager.super::isLegal);
     
     public BasicInfoView(TechAdvancement baseTA) {
         this.baseTA = baseTA;
@@ -131,6 +136,22 @@ public class BasicInfoView extends BuildView implements ITechManager, ActionList
         setFieldSize(txtYear, controlSize);
         txtYear.setMaximum(9999);
         txtYear.addFocusListener(this);
+        txtYear.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                techIndex.invalidate();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                techIndex.invalidate();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                techIndex.invalidate();
+            }
+        });
 
         gbc.gridx = 0;
         gbc.gridy = 3;
@@ -142,6 +163,7 @@ public class BasicInfoView extends BuildView implements ITechManager, ActionList
         add(cbFaction, gbc);
         setFieldSize(cbFaction, controlSize);
         cbFaction.addActionListener(this);
+        cbFaction.addItemListener(ev -> techIndex.invalidate());
 
         gbc.gridx = 0;
         gbc.gridy = 4;
@@ -162,6 +184,7 @@ public class BasicInfoView extends BuildView implements ITechManager, ActionList
         cbTechBase.setToolTipText(resourceMap.getString("BasicInfoView.cbTechBase.tooltip")); //$NON-NLS-1$
         add(cbTechBase, gbc);
         cbTechBase.addActionListener(this);
+        cbTechBase.addItemListener(ev -> techIndex.invalidate());
 
         gbc.gridx = 0;
         gbc.gridy = 6;
@@ -172,6 +195,7 @@ public class BasicInfoView extends BuildView implements ITechManager, ActionList
         cbTechLevel.setToolTipText(resourceMap.getString("BasicInfoView.cbTechLevel.tooltip")); //$NON-NLS-1$
         add(cbTechLevel, gbc);
         cbTechLevel.addActionListener(this);
+        cbTechLevel.addItemListener(ev -> techIndex.invalidate());
         refreshTechBase();
 
         gbc.gridx = 0;
@@ -482,5 +506,14 @@ public class BasicInfoView extends BuildView implements ITechManager, ActionList
     public boolean showExtinct() {
         return CConfig.getBooleanParam(CConfig.TECH_EXTINCT);
     }
+
+    /**
+     * Looks up the result for the current settings in the {@link TechAvailabilityIndex}, which only
+     * applies the rules to technologies that have not been checked with these settings before.
+     */
+    @Override
+    public boolean isLegal(ITechnology tech) {
+        return techIndex.isLegal(tech);
+    }
     
 }
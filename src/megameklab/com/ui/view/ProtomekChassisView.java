@@ -17,7 +17,6 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.ResourceBundle;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -36,6 +35,7 @@ import megamek.common.util.EncodeControl;
 import megamek.common.verifier.TestProtomech;
 import megameklab.com.ui.util.CustomComboBox;
 import megameklab.com.ui.view.listeners.ProtomekBuildListener;
+import megameklab.com.util.EquipmentCatalog;
 
 /**
  * Construction options and systems for Protomechs.
@@ -79,8 +79,7 @@ public class ProtomekChassisView extends BuildView implements ActionListener, Ch
     public ProtomekChassisView(ITechManager techManager) {
         this.techManager = techManager;
         // Get the equipment based on the correct flags rather than relying on magic String literals.
-        for (Enumeration<EquipmentType> e = EquipmentType.getAllTypes(); e.hasMoreElements(); ) {
-            final EquipmentType eq = e.nextElement();
+        for (EquipmentType eq : EquipmentCatalog.getInstance().getAllTypes()) {
             if ((eq instanceof MiscType) && eq.hasFlag(MiscType.F_PROTOMECH_EQUIPMENT)) {
                 if (eq.hasFlag(MiscType.F_MASC)) {
                     myomerBooster = eq;
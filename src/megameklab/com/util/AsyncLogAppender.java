@@ -0,0 +1,114 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Layout;
+import org.apache.log4j.RollingFileAppender;
+import org.apache.log4j.spi.LoggingEvent;
+
+/**
+ * A log4j appender that sends the formatted events to the {@link AsyncLogWriter}, so that the MegaMek
+ * logger and the redirected standard output share the same file without either waiting to write it.
+ * If no log writer has been started the events are written to the same file by a
+ * {@link RollingFileAppender} configured with this appender's File, MaxFileSize and MaxBackupIndex.
+ */
+public class AsyncLogAppender extends AppenderSkeleton {
+
+    private String file = "logs/megameklablog.txt";
+    private String maxFileSize = "10MB";
+    private int maxBackupIndex = 5;
+    /** Used until a log writer is started */
+    private RollingFileAppender fallback = null;
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(String maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public int getMaxBackupIndex() {
+        return maxBackupIndex;
+    }
+
+    public void setMaxBackupIndex(int maxBackupIndex) {
+        this.maxBackupIndex = maxBackupIndex;
+    }
+
+    @Override
+    protected void append(LoggingEvent event) {
+        if (null == layout) {
+            return;
+        }
+        AsyncLogWriter writer = AsyncLogWriter.getInstance();
+        if (null == writer) {
+            getFallback().doAppend(event);
+            return;
+        }
+        if (null != fallback) {
+            // The log writer has taken over the file
+            fallback.close();
+            fallback = null;
+        }
+        StringBuilder sb = new StringBuilder(layout.format(event));
+        if (layout.ignoresThrowable()) {
+            String[] lines = event.getThrowableStrRep();
+            if (null != lines) {
+                for (String line : lines) {
+                    sb.append(line).append(Layout.LINE_SEP);
+                }
+            }
+        }
+        writer.write(sb.toString());
+    }
+
+    private RollingFileAppender getFallback() {
+        if (null == fallback) {
+            fallback = new RollingFileAppender();
+            fallback.setName(getName());
+            fallback.setLayout(layout);
+            fallback.setErrorHandler(getErrorHandler());
+            fallback.setFile(file);
+            fallback.setAppend(true);
+            fallback.setMaxFileSize(maxFileSize);
+            fallback.setMaxBackupIndex(maxBackupIndex);
+            fallback.activateOptions();
+        }
+        return fallback;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (null != fallback) {
+            fallback.close();
+            fallback = null;
+        }
+    }
+
+    @Override
+    public boolean requiresLayout() {
+        return true;
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes the log file on a thread of its own so that the threads that log do not wait for the disk.
+ * Messages are placed in a fixed-size ring buffer that any number of threads can add to without locking,
+ * and the writer thread takes them out and writes them through a large buffer, flushing it whenever it
+ * has caught up. When the file grows past its maximum size it is renamed with a numbered suffix and a new
+ * one is started, keeping a limited number of old files.
+ *
+ * If the ring buffer is full, messages are either dropped, in which case the number dropped is noted in
+ * the log, or the logging thread waits for room, depending on the {@link OverflowPolicy}. {@link #close()}
+ * writes everything still in the buffer and should be called when the program exits.
+ *
+ * The redirected standard output and error streams write to the log with {@link #getOutputStream()}, and
+ * the log4j configuration sends the MegaMek logger's output here with {@link AsyncLogAppender}.
+ */
+public class AsyncLogWriter {
+
+    public enum OverflowPolicy {
+        /** Discard the message and note how many were discarded */
+        DROP,
+        /** Wait until the writer thread makes room for the message */
+        BLOCK
+    }
+
+    /** The number of messages the ring buffer can hold; must be a power of two */
+    private static final int CAPACITY = 1 << 13;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    /** Output stream writes are collected until the end of a line or this many bytes */
+    private static final int MAX_LINE_SIZE = 1 << 13;
+    private static final long IDLE_WAIT = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long BLOCK_WAIT = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static volatile AsyncLogWriter instance = null;
+
+    private final File file;
+    private final long maxFileSize;
+    private final int maxBackups;
+    private final OverflowPolicy policy;
+    private final PrintStream errorStream;
+
+    private final AtomicReferenceArray<byte[]> slots = new AtomicReferenceArray<>(CAPACITY);
+    /**
+     * The position each slot is ready for. A slot can be filled when its sequence equals the position being
+     * added, and emptied when it is one past the position being removed.
+     */
+    private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    /** The next position to remove; only used by the writer thread */
+    private long head = 0;
+
+    private final Thread writerThread;
+    private volatile boolean waiting = false;
+    private volatile boolean closed = false;
+
+    /** Guards the file once the writer thread has stopped */
+    private final Object fileLock = new Object();
+    private OutputStream out = null;
+    private long fileSize = 0;
+
+    /**
+     * @param file        The log file. Output is added to the end of an existing file.
+     * @param maxFileSize The size in bytes at which the file is rolled over, or zero for no limit
+     * @param maxBackups  The number of rolled over files to keep
+     * @param policy      What to do with messages when the buffer is full
+     * @param errorStream Where to report problems writing the file, normally the original standard error
+     */
+    private AsyncLogWriter(File file, long maxFileSize, int maxBackups, OverflowPolicy policy,
+                           PrintStream errorStream) {
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.maxBackups = maxBackups;
+        this.policy = policy;
+        this.errorStream = errorStream;
+        for (int i = 0; i < CAPACITY; i++) {
+            sequences.set(i, i);
+        }
+        writerThread = new Thread(this::run, "Log Writer");
+        writerThread.setDaemon(true);
+    }
+
+    /**
+     * Creates a log writer, starts its thread, and makes it the one used by {@link AsyncLogAppender}.
+     *
+     * @see #AsyncLogWriter(File, long, int, OverflowPolicy, PrintStream)
+     * @return The log writer
+     */
+    public static AsyncLogWriter start(File file, long maxFileSize, int maxBackups, OverflowPolicy policy,
+                                       PrintStream errorStream) {
+        AsyncLogWriter writer = new AsyncLogWriter(file, maxFileSize, maxBackups, policy, errorStream);
+        writer.writerThread.start();
+        instance = writer;
+        return writer;
+    }
+
+    /**
+     * @return The log writer created by {@link #start(File, long, int, OverflowPolicy, PrintStream)},
+     *         or null if there is none
+     */
+    public static AsyncLogWriter getInstance() {
+        return instance;
+    }
+
+    /**
+     * Adds text to the log.
+     */
+    public void write(String text) {
+        write(text.getBytes(Charset.defaultCharset()));
+    }
+
+    /**
+     * Adds bytes to the log. The array must not be changed afterward.
+     */
+    public void write(byte[] chunk) {
+        if (closed || (Thread.currentThread() == writerThread)) {
+            writeDirect(chunk);
+            return;
+        }
+        while (!offer(chunk)) {
+            if (policy == OverflowPolicy.DROP) {
+                dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(this, BLOCK_WAIT);
+            if (closed) {
+                writeDirect(chunk);
+                return;
+            }
+        }
+        if (closed) {
+            // The writer thread may have made its last pass before this message was added
+            drainClosed();
+        } else if (waiting) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * @return A stream that adds everything written to it to the log, one line at a time
+     */
+    public OutputStream getOutputStream() {
+        return new LogOutputStream();
+    }
+
+    /**
+     * Writes everything in the buffer to the file and stops the writer thread. Anything logged afterward
+     * is written to the file directly.
+     */
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainClosed();
+    }
+
+    private boolean offer(byte[] chunk) {
+        long pos = tail.get();
+        while (true) {
+            final int index = (int) (pos & (CAPACITY - 1));
+            final long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.set(index, chunk);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // The slot still holds a message from the previous time around
+                return false;
+            } else {
+                // Another thread took this position
+                pos = tail.get();
+            }
+        }
+    }
+
+    private byte[] poll() {
+        final int index = (int) (head & (CAPACITY - 1));
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        final byte[] chunk = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, head + CAPACITY);
+        head++;
+        return chunk;
+    }
+
+    private void run() {
+        synchronized (fileLock) {
+            while (true) {
+                if (!drain()) {
+                    flush();
+                    if (closed) {
+                        // Pick up anything added by a thread that had not yet seen the flag
+                        drain();
+                        flush();
+                        break;
+                    }
+                    waiting = true;
+                    // Check again in case something was added before the flag was set
+                    if (sequences.get((int) (head & (CAPACITY - 1))) != head + 1) {
+                        LockSupport.parkNanos(this, IDLE_WAIT);
+                    }
+                    waiting = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all the messages in the buffer.
+     *
+     * @return Whether there were any
+     */
+    private boolean drain() {
+        boolean any = false;
+        byte[] chunk;
+        while (null != (chunk = poll())) {
+            writeChunk(chunk);
+            any = true;
+        }
+        final long count = dropped.getAndSet(0);
+        if (count > 0) {
+            writeChunk(String.format("[%d log messages were dropped because the log buffer was full]%n", count)
+                    .getBytes(Charset.defaultCharset()));
+            any = true;
+        }
+        return any;
+    }
+
+    /**
+     * Writes anything that was added to the buffer after the writer thread's last pass. This waits for the
+     * writer thread to let go of the file, so it must only be used once the log is closed.
+     */
+    private void drainClosed() {
+        synchronized (fileLock) {
+            drain();
+            flush();
+        }
+    }
+
+    private void writeDirect(byte[] chunk) {
+        synchronized (fileLock) {
+            writeChunk(chunk);
+            flush();
+        }
+    }
+
+    private void writeChunk(byte[] chunk) {
+        try {
+            if (null == out) {
+                open();
+            } else if ((maxFileSize > 0) && (fileSize > 0) && (fileSize + chunk.length > maxFileSize)) {
+                rollOver();
+            }
+            out.write(chunk);
+            fileSize += chunk.length;
+        } catch (IOException ex) {
+            reportError(ex);
+        }
+    }
+
+    private void flush() {
+        if (null != out) {
+            try {
+                out.flush();
+            } catch (IOException ex) {
+                reportError(ex);
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        fileSize = file.length();
+        out = new BufferedOutputStream(new FileOutputStream(file, true), WRITE_BUFFER_SIZE);
+    }
+
+    /**
+     * Renames the log file to the first backup after renaming each existing backup to the next one,
+     * then starts a new file.
+     */
+    private void rollOver() throws IOException {
+        out.close();
+        out = null;
+        if (maxBackups > 0) {
+            final File oldest = getBackup(maxBackups);
+            if (oldest.exists() && !oldest.delete()) {
+                errorStream.println("Could not delete " + oldest);
+            }
+            for (int i = maxBackups - 1; i >= 1; i--) {
+                final File backup = getBackup(i);
+                if (backup.exists()) {
+                    backup.renameTo(getBackup(i + 1));
+                }
+            }
+            file.renameTo(getBackup(1));
+        }
+        out = new BufferedOutputStream(new FileOutputStream(file, false), WRITE_BUFFER_SIZE);
+        fileSize = 0;
+    }
+
+    private File getBackup(int index) {
+        return new File(file.getPath() + "." + index);
+    }
+
+    private void reportError(IOException ex) {
+        errorStream.println("Unable to write to " + file);
+        ex.printStackTrace(errorStream);
+    }
+
+    /**
+     * Collects what is written to it into lines and adds each line to the log as a single message.
+     */
+    private class LogOutputStream extends OutputStream {
+        private byte[] buffer = new byte[256];
+        private int count = 0;
+
+        @Override
+        public synchronized void write(int b) {
+            ensureCapacity(1);
+            buffer[count++] = (byte) b;
+            if ((b == '\n') || (count >= MAX_LINE_SIZE)) {
+                flush();
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            if (len == 0) {
+                return;
+            }
+            ensureCapacity(len);
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+            if ((buffer[count - 1] == '\n') || (count >= MAX_LINE_SIZE)) {
+                flush();
+            }
+        }
+
+        @Override
+        public synchronized void flush() {
+            if (count > 0) {
+                AsyncLogWriter.this.write(Arrays.copyOf(buffer, count));
+                count = 0;
+            }
+        }
+
+        private void ensureCapacity(int len) {
+            if (count + len > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + len));
+            }
+        }
+    }
+}
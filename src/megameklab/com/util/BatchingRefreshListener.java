@@ -0,0 +1,241 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Passes refresh requests on to the editor, except between calls to {@link #beginBatch()} and
+ * {@link #endBatch()}. While a batch is open the requests are collected, and when the outermost batch
+ * is closed each requested refresh is performed once. A request to refresh everything replaces the
+ * individual refreshes that it already covers.
+ *
+ * The editors hand this to their tabs in place of themselves, so that a tab can make a series of
+ * changes that would each trigger a refresh, such as changing the tech level, and have the rest of
+ * the editor updated only once at the end.
+ */
+public class BatchingRefreshListener implements RefreshListener {
+
+    private enum Target {
+        HEADER, STATUS, STRUCTURE, ARMOR, WEAPONS, EQUIPMENT, EQUIPMENT_TABLE, TRANSPORT, BUILD,
+        SUMMARY, PREVIEW
+    }
+
+    /**
+     * The refreshes performed by {@link RefreshListener#refreshAll()} in every editor. Every editor's
+     * equipment refresh also refreshes its equipment table; for infantry both are the weapon list in
+     * the structure tab.
+     */
+    private static final Set<Target> COVERED_BY_ALL = EnumSet.of(Target.STATUS, Target.STRUCTURE,
+            Target.EQUIPMENT, Target.EQUIPMENT_TABLE, Target.BUILD, Target.PREVIEW);
+
+    private final RefreshListener target;
+    private final Runnable changeListener;
+    private final Runnable stepListener;
+    private final EnumSet<Target> pending = EnumSet.noneOf(Target.class);
+    private boolean pendingAll = false;
+    private int depth = 0;
+
+    public BatchingRefreshListener(RefreshListener target) {
+        this(target, null, null);
+    }
+
+    /**
+     * @param target         The editor that performs the refreshes
+     * @param changeListener If not null, run as soon as any refresh is requested, even while a batch is
+     *                       open, since a refresh request means the unit has changed
+     * @param stepListener   If not null, run when a change is complete, just before its refreshes are
+     *                       performed: immediately for a request made outside a batch, or when the
+     *                       outermost batch ends
+     */
+    public BatchingRefreshListener(RefreshListener target, Runnable changeListener, Runnable stepListener) {
+        this.target = target;
+        this.changeListener = changeListener;
+        this.stepListener = stepListener;
+    }
+
+    /**
+     * Starts collecting refresh requests. Batches may be nested; the refreshes are performed when the
+     * outermost one ends. Every call must be matched by a call to {@link #endBatch()}, which should be
+     * done in a finally block so that an exception does not leave the editor without refreshes.
+     */
+    @Override
+    public void beginBatch() {
+        depth++;
+    }
+
+    /**
+     * Ends the current batch. If it is the outermost batch, performs the refreshes that were requested.
+     */
+    @Override
+    public void endBatch() {
+        if (depth == 0) {
+            return;
+        }
+        if (--depth == 0) {
+            flush();
+        }
+    }
+
+    /**
+     * @return Whether refresh requests are currently being collected
+     */
+    public boolean isBatching() {
+        return depth > 0;
+    }
+
+    private void flush() {
+        notifyStep();
+        EnumSet<Target> targets = EnumSet.copyOf(pending);
+        boolean all = pendingAll;
+        pending.clear();
+        pendingAll = false;
+        if (all) {
+            targets.removeAll(COVERED_BY_ALL);
+            target.refreshAll();
+        } else if (targets.contains(Target.EQUIPMENT)) {
+            targets.remove(Target.EQUIPMENT_TABLE);
+        }
+        for (Target t : targets) {
+            perform(t);
+        }
+    }
+
+    private void perform(Target t) {
+        switch (t) {
+            case HEADER:
+                target.refreshHeader();
+                break;
+            case STATUS:
+                target.refreshStatus();
+                break;
+            case STRUCTURE:
+                target.refreshStructure();
+                break;
+            case ARMOR:
+                target.refreshArmor();
+                break;
+            case WEAPONS:
+                target.refreshWeapons();
+                break;
+            case EQUIPMENT:
+                target.refreshEquipment();
+                break;
+            case EQUIPMENT_TABLE:
+                target.refreshEquipmentTable();
+                break;
+            case TRANSPORT:
+                target.refreshTransport();
+                break;
+            case BUILD:
+                target.refreshBuild();
+                break;
+            case SUMMARY:
+                target.refreshSummary();
+                break;
+            case PREVIEW:
+                target.refreshPreview();
+                break;
+        }
+    }
+
+    private void request(Target t) {
+        notifyChanged();
+        if (depth > 0) {
+            pending.add(t);
+        } else {
+            notifyStep();
+            perform(t);
+        }
+    }
+
+    private void notifyChanged() {
+        if (null != changeListener) {
+            changeListener.run();
+        }
+    }
+
+    private void notifyStep() {
+        if (null != stepListener) {
+            stepListener.run();
+        }
+    }
+
+    @Override
+    public void refreshAll() {
+        notifyChanged();
+        if (depth > 0) {
+            pendingAll = true;
+        } else {
+            notifyStep();
+            target.refreshAll();
+        }
+    }
+
+    @Override
+    public void refreshHeader() {
+        request(Target.HEADER);
+    }
+
+    @Override
+    public void refreshStatus() {
+        request(Target.STATUS);
+    }
+
+    @Override
+    public void refreshStructure() {
+        request(Target.STRUCTURE);
+    }
+
+    @Override
+    public void refreshArmor() {
+        request(Target.ARMOR);
+    }
+
+    @Override
+    public void refreshWeapons() {
+        request(Target.WEAPONS);
+    }
+
+    @Override
+    public void refreshEquipment() {
+        request(Target.EQUIPMENT);
+    }
+
+    @Override
+    public void refreshTransport() {
+        request(Target.TRANSPORT);
+    }
+
+    @Override
+    public void refreshBuild() {
+        request(Target.BUILD);
+    }
+
+    @Override
+    public void refreshPreview() {
+        request(Target.PREVIEW);
+    }
+
+    @Override
+    public void refreshSummary() {
+        request(Target.SUMMARY);
+    }
+
+    @Override
+    public void refreshEquipmentTable() {
+        request(Target.EQUIPMENT_TABLE);
+    }
+}
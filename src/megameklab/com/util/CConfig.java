@@ -82,7 +82,11 @@ public class CConfig {
     public static final String RS_HEAT_PROFILE = "rs_heat_profile";
     public static final String RS_TAC_OPS_HEAT = "rs_tac_ops_heat";
 
+    public static final String UNDO_MEMORY_KB = "undoMemoryKB";
+
     private static Properties config;// config. player values.
+    private static int version = 0;
+    private static volatile ColorPalette palette = null;
 
     // CONSTRUCTOR
     public CConfig() {
@@ -124,6 +128,7 @@ public class CConfig {
         defaults.setProperty(RS_SHOW_ERA, Boolean.toString(true));
         defaults.setProperty(RS_SHOW_ROLE, Boolean.toString(true));
         defaults.setProperty(RS_SHOW_PILOT_DATA, Boolean.toString(true));
+        defaults.setProperty(UNDO_MEMORY_KB, "4096");
 
         return defaults;
     }
@@ -132,6 +137,7 @@ public class CConfig {
      * Loads the Config file.
      */
     public static void loadConfigFile() {
+        version++;
         try {
             File configfile = new File(CONFIG_FILE);
             FileInputStream fis = new FileInputStream(configfile);
@@ -165,6 +171,7 @@ public class CConfig {
         } catch (Exception ex) {
             ex.printStackTrace();
         }
+        palette = new ColorPalette(version);
     }
 
     // Creates a new config file
@@ -213,6 +220,18 @@ public class CConfig {
      */
     public static void setParam(String param, String value) {
         config.setProperty(param, value);
+        version++;
+        if (param.endsWith(CONFIG_FOREGROUND) || param.endsWith(CONFIG_BACKGROUND)) {
+            palette = new ColorPalette(version);
+        }
+    }
+
+    /**
+     * @return A number that changes whenever a config value is set or the file is loaded, for use by
+     *         anything that caches values derived from the configuration.
+     */
+    public static int getVersion() {
+        return version;
     }
 
     /**
@@ -274,22 +293,32 @@ public class CConfig {
         }
     }
 
+    /**
+     * @return The colors currently configured for the critical slot and equipment displays. Renderers
+     *         should read the colors from this rather than calling {@link #getForegroundColor(String)}
+     *         or {@link #getBackgroundColor(String)} for each cell.
+     */
+    public static ColorPalette getPalette() {
+        ColorPalette current = palette;
+        if (null == current) {
+            current = new ColorPalette(version);
+            palette = current;
+        }
+        return current;
+    }
+
     public static Color getForegroundColor(String fieldName) {
-        Color masterColor = Color.black;
-        try {
-            masterColor = Color.getColor("", Integer.parseInt(CConfig.getParam(fieldName + CConfig.CONFIG_FOREGROUND)));
-        } catch (Exception ignored) {
+        Color masterColor = getPalette().getForeground(fieldName);
+        if (null == masterColor) {
+            masterColor = ColorPalette.parse(fieldName + CConfig.CONFIG_FOREGROUND, Color.black);
         }
         return masterColor;
     }
 
     public static Color getBackgroundColor(String fieldName) {
-        Color masterColor = Color.WHITE;
-
-        try {
-            masterColor = Color.getColor("", Integer.parseInt(CConfig.getParam(fieldName + CConfig.CONFIG_BACKGROUND)));
-        } catch (Exception ignored) {
-
+        Color masterColor = getPalette().getBackground(fieldName);
+        if (null == masterColor) {
+            masterColor = ColorPalette.parse(fieldName + CConfig.CONFIG_BACKGROUND, Color.WHITE);
         }
         return masterColor;
     }
@@ -0,0 +1,102 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.awt.Color;
+
+/**
+ * The colors configured for the critical slot and equipment displays, read from the configuration once
+ * so the renderers do not need to look up and parse them each time a cell is painted. A palette never
+ * changes; {@link CConfig} builds a new one with a higher version when the colors are changed or the
+ * configuration is reloaded.
+ */
+public final class ColorPalette {
+
+    public final int version;
+
+    public final Color weaponsForeground;
+    public final Color weaponsBackground;
+    public final Color ammoForeground;
+    public final Color ammoBackground;
+    public final Color equipmentForeground;
+    public final Color equipmentBackground;
+    public final Color systemsForeground;
+    public final Color systemsBackground;
+    public final Color emptyForeground;
+    public final Color emptyBackground;
+
+    ColorPalette(int version) {
+        this.version = version;
+        weaponsForeground = parse(CConfig.CONFIG_WEAPONS_FOREGROUND, Color.black);
+        weaponsBackground = parse(CConfig.CONFIG_WEAPONS_BACKGROUND, Color.WHITE);
+        ammoForeground = parse(CConfig.CONFIG_AMMO_FOREGROUND, Color.black);
+        ammoBackground = parse(CConfig.CONFIG_AMMO_BACKGROUND, Color.WHITE);
+        equipmentForeground = parse(CConfig.CONFIG_EQUIPMENT_FOREGROUND, Color.black);
+        equipmentBackground = parse(CConfig.CONFIG_EQUIPMENT_BACKGROUND, Color.WHITE);
+        systemsForeground = parse(CConfig.CONFIG_SYSTEMS_FOREGROUND, Color.black);
+        systemsBackground = parse(CConfig.CONFIG_SYSTEMS_BACKGROUND, Color.WHITE);
+        emptyForeground = parse(CConfig.CONFIG_EMPTY_FOREGROUND, Color.black);
+        emptyBackground = parse(CConfig.CONFIG_EMPTY_BACKGROUND, Color.WHITE);
+    }
+
+    /**
+     * @param fieldName One of the display categories, such as {@link CConfig#CONFIG_WEAPONS}
+     * @return          The text color for the category, or null if it is not one of the categories
+     */
+    public Color getForeground(String fieldName) {
+        switch (fieldName) {
+            case CConfig.CONFIG_WEAPONS:
+                return weaponsForeground;
+            case CConfig.CONFIG_AMMO:
+                return ammoForeground;
+            case CConfig.CONFIG_EQUIPMENT:
+                return equipmentForeground;
+            case CConfig.CONFIG_SYSTEMS:
+                return systemsForeground;
+            case CConfig.CONFIG_EMPTY:
+                return emptyForeground;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param fieldName One of the display categories, such as {@link CConfig#CONFIG_WEAPONS}
+     * @return          The background color for the category, or null if it is not one of the categories
+     */
+    public Color getBackground(String fieldName) {
+        switch (fieldName) {
+            case CConfig.CONFIG_WEAPONS:
+                return weaponsBackground;
+            case CConfig.CONFIG_AMMO:
+                return ammoBackground;
+            case CConfig.CONFIG_EQUIPMENT:
+                return equipmentBackground;
+            case CConfig.CONFIG_SYSTEMS:
+                return systemsBackground;
+            case CConfig.CONFIG_EMPTY:
+                return emptyBackground;
+            default:
+                return null;
+        }
+    }
+
+    static Color parse(String param, Color defaultColor) {
+        try {
+            return new Color(Integer.parseInt(CConfig.getParam(param)));
+        } catch (Exception ignored) {
+            return defaultColor;
+        }
+    }
+}
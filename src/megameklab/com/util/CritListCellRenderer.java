@@ -20,11 +20,14 @@ import java.awt.Color;
 import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Font;
+import java.awt.event.MouseEvent;
 
 import javax.swing.BorderFactory;
 import javax.swing.DefaultListCellRenderer;
 import javax.swing.JLabel;
 import javax.swing.JList;
+import javax.swing.ListModel;
+import javax.swing.border.Border;
 
 import megamek.common.AmmoType;
 import megamek.common.BattleArmor;
@@ -36,9 +39,22 @@ import megamek.common.WeaponType;
 
 public class CritListCellRenderer extends DefaultListCellRenderer {
 
+    private static final Dimension CELL_SIZE = new Dimension(110, 15);
+    private static final Border BORDER_TOP_BOTTOM = BorderFactory.createMatteBorder(1, 0, 1, 0, Color.black);
+    private static final Border BORDER_BOTTOM = BorderFactory.createMatteBorder(0, 0, 1, 0, Color.black);
+    private static final Border BORDER_TOP = BorderFactory.createMatteBorder(1, 0, 0, 0, Color.black);
+
     private JList<?> list = null;
     private Entity unit = null;
     private boolean useColor = false;
+    private final ToolTipCache toolTips = new ToolTipCache();
+    private Mounted toolTipMount = null;
+    /**
+     * The rows of the list model the renderer last painted. The crit views build a new list model each time
+     * the unit changes, so each row is worked out from the unit once and looked up after that.
+     */
+    private ListModel<?> rowModel = null;
+    private Row[] rows = new Row[0];
 
     /**
      *
@@ -55,12 +71,70 @@ public class CritListCellRenderer extends DefaultListCellRenderer {
         JLabel label = (JLabel) super.getListCellRendererComponent(list, value, index, isSelected, hasFocus);
         this.list = list;
 
-        setPreferredSize(new Dimension(110,15));
-        setMaximumSize(new Dimension(110,15));
-        setMinimumSize(new Dimension(110,15));
+        setPreferredSize(CELL_SIZE);
+        setMaximumSize(CELL_SIZE);
+        setMinimumSize(CELL_SIZE);
+
+        final Row row = getRow(value, index);
+        toolTipMount = row.toolTipMount;
+        label.setText(row.text);
+        if (useColor) {
+            switch (row.kind) {
+                case SYSTEM:
+                    label.setBackground(CConfig.getPalette().systemsBackground);
+                    label.setForeground(CConfig.getPalette().systemsForeground);
+                    break;
+                case WEAPON:
+                    label.setBackground(CConfig.getPalette().weaponsBackground);
+                    label.setForeground(CConfig.getPalette().weaponsForeground);
+                    break;
+                case AMMO:
+                    label.setBackground(CConfig.getPalette().ammoBackground);
+                    label.setForeground(CConfig.getPalette().ammoForeground);
+                    break;
+                case EQUIPMENT:
+                    label.setBackground(CConfig.getPalette().equipmentBackground);
+                    label.setForeground(CConfig.getPalette().equipmentForeground);
+                    break;
+                case EMPTY:
+                    label.setBackground(CConfig.getPalette().emptyBackground);
+                    label.setForeground(CConfig.getPalette().emptyForeground);
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (row.italic) {
+            label.setFont(label.getFont().deriveFont(Font.ITALIC));
+        }
+        if (null != row.border) {
+            label.setBorder(row.border);
+        }
+        return label;
+    }
+
+    /**
+     * Finds the row for the cell, working it out from the unit if the list has a new model or the row
+     * has not been painted yet.
+     */
+    private Row getRow(Object value, int index) {
+        final ListModel<?> model = list.getModel();
+        if ((model != rowModel) || (rows.length != model.getSize())) {
+            rowModel = model;
+            rows = new Row[model.getSize()];
+        }
+        if ((index < 0) || (index >= rows.length)) {
+            return createRow(value, index);
+        }
+        if ((null == rows[index]) || !rows[index].value.equals(value)) {
+            rows[index] = createRow(value, index);
+        }
+        return rows[index];
+    }
 
+    private Row createRow(Object value, int index) {
         String[] split = ((String)value).split(":");
-        label.setText(split[0]);
+        Row row = new Row(value, split[0]);
 
         CriticalSlot cs;
         if (split.length > 2){
@@ -77,29 +151,20 @@ public class CritListCellRenderer extends DefaultListCellRenderer {
         if (cs != null) {
 
             if (cs.getType() == CriticalSlot.TYPE_SYSTEM) {
-                if (useColor) {
-                    label.setBackground(CConfig.getBackgroundColor(CConfig.CONFIG_SYSTEMS));
-                    label.setForeground(CConfig.getForegroundColor(CConfig.CONFIG_SYSTEMS));
-                }
+                row.kind = RowKind.SYSTEM;
                 if (cs.isArmored()) {
-                    label.setText(label.getText() + " (A)");
+                    row.text += " (A)";
                 }
             } else if (cs.getMount() != null) {
 
                 Mounted mount = cs.getMount();
 
-                if (useColor) {
-
-                    if (mount.getType() instanceof WeaponType) {
-                        label.setBackground(CConfig.getBackgroundColor(CConfig.CONFIG_WEAPONS));
-                        label.setForeground(CConfig.getForegroundColor(CConfig.CONFIG_WEAPONS));
-                    } else if (mount.getType() instanceof AmmoType) {
-                        label.setBackground(CConfig.getBackgroundColor(CConfig.CONFIG_AMMO));
-                        label.setForeground(CConfig.getForegroundColor(CConfig.CONFIG_AMMO));
-                    } else {
-                        label.setBackground(CConfig.getBackgroundColor(CConfig.CONFIG_EQUIPMENT));
-                        label.setForeground(CConfig.getForegroundColor(CConfig.CONFIG_EQUIPMENT));
-                    }
+                if (mount.getType() instanceof WeaponType) {
+                    row.kind = RowKind.WEAPON;
+                } else if (mount.getType() instanceof AmmoType) {
+                    row.kind = RowKind.AMMO;
+                } else {
+                    row.kind = RowKind.EQUIPMENT;
                 }
                 String name = UnitUtil.getCritName(unit, mount.getType());
 
@@ -126,7 +191,7 @@ public class CritListCellRenderer extends DefaultListCellRenderer {
                         name += " (Pod)";
                     } else {
                         name += " (Fixed)";
-                        label.setFont(label.getFont().deriveFont(Font.ITALIC));
+                        row.italic = true;
                     }
                 }
                 if ((mount.getType().hasFlag(MiscType.F_DETACHABLE_WEAPON_PACK)
@@ -140,36 +205,43 @@ public class CritListCellRenderer extends DefaultListCellRenderer {
                         && (mount.getType() instanceof AmmoType)){
                     name += " (" + mount.getBaseShotsLeft() + ")";
                 }
-                String toolTipText = UnitUtil.getToolTipInfo(unit, mount);
+                row.toolTipMount = mount;
                 if (cs.getMount2() != null) {
                     mount = cs.getMount2();
                     name += " | "+ UnitUtil.getCritName(unit, mount.getType());
                 }
-                label.setText(name);
-                label.setToolTipText(toolTipText);
+                row.text = name;
             }
-        } else if (useColor) {
-            label.setBackground(CConfig.getBackgroundColor(CConfig.CONFIG_EMPTY));
-            label.setForeground(CConfig.getForegroundColor(CConfig.CONFIG_EMPTY));
+        } else {
+            row.kind = RowKind.EMPTY;
         }
 
         int loc = getCritLocation();
         if ((cs != null) 
                 && UnitUtil.isLastCrit(unit, cs, index, loc) 
                 && UnitUtil.isPreviousCritEmpty(unit, cs, index, loc)) {
-            label.setBorder(
-                    BorderFactory.createMatteBorder(1, 0, 1, 0, Color.black));
+            row.border = BORDER_TOP_BOTTOM;
         } else if ((cs != null) 
                 && UnitUtil.isLastCrit(unit, cs, index, loc)) {
-            label.setBorder(
-                    BorderFactory.createMatteBorder(0, 0, 1, 0, Color.black));
+            row.border = BORDER_BOTTOM;
         } else if ((cs != null) 
                 && UnitUtil.isPreviousCritEmpty(unit, cs, index, loc)){
-            label.setBorder(
-                    BorderFactory.createMatteBorder(1, 0, 0, 0, Color.black));
+            row.border = BORDER_TOP;
         } 
 
-        return label;
+        return row;
+    }
+
+    /**
+     * The list prepares the renderer for the cell under the mouse before asking for the tooltip, so
+     * it is only built when it is about to be shown.
+     */
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        if (null == toolTipMount) {
+            return null;
+        }
+        return toolTips.get(unit, toolTipMount);
     }
 
     private CriticalSlot getCrit(int slot) {
@@ -191,4 +263,24 @@ public class CritListCellRenderer extends DefaultListCellRenderer {
         }
     }
 
-}
\ No newline at end of file
+    private enum RowKind {
+        SYSTEM, WEAPON, AMMO, EQUIPMENT, EMPTY, OTHER
+    }
+
+    /**
+     * The text and appearance of one row of the list.
+     */
+    private static class Row {
+        final Object value;
+        String text;
+        RowKind kind = RowKind.OTHER;
+        boolean italic = false;
+        Border border = null;
+        Mounted toolTipMount = null;
+
+        Row(Object value, String text) {
+            this.value = value;
+            this.text = text;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,227 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import megamek.common.Entity;
+import megamek.common.annotations.Nullable;
+
+/**
+ * Tracks which critical slots of a unit are occupied so that the free space queries in
+ * {@link UnitUtil} do not have to scan the slots of a location each time they are asked.
+ * Each location keeps a bitset of occupied slots along with the number used and the longest
+ * run of empty slots.
+ *
+ * Critical slots are also changed outside of {@link UnitUtil}, for example when MegaMek rebuilds the
+ * system slots after an engine or cockpit change, so the index cannot be kept for the life of the
+ * unit. Instead it is opened for the duration of an operation that makes many queries, such as
+ * filling the critical slots, and closed when the operation is complete:
+ *
+ * <pre>
+ * try (CriticalSlotIndex index = CriticalSlotIndex.open(mech)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * While it is open, the {@link UnitUtil} methods that change critical slots mark the location
+ * as changed and it is rebuilt the next time it is queried. Code that sets slots directly should
+ * call {@link UnitUtil#markSlotsChanged(Entity, int)}. When no index is open the
+ * {@link UnitUtil} methods check the slots directly.
+ */
+public class CriticalSlotIndex implements AutoCloseable {
+
+    private static final Map<Entity, CriticalSlotIndex> openIndices =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final Entity entity;
+    private final BitSet[] occupied;
+    private final int[] usedSlots;
+    private final int[] longestFreeRun;
+    private final boolean[] dirty;
+    private int depth = 1;
+
+    private CriticalSlotIndex(Entity entity) {
+        this.entity = entity;
+        occupied = new BitSet[entity.locations()];
+        usedSlots = new int[entity.locations()];
+        longestFreeRun = new int[entity.locations()];
+        dirty = new boolean[entity.locations()];
+        for (int loc = 0; loc < entity.locations(); loc++) {
+            occupied[loc] = new BitSet(entity.getNumberOfCriticals(loc));
+            dirty[loc] = true;
+        }
+    }
+
+    /**
+     * Opens the index for the unit, or reuses the one that is already open. Each call must be
+     * matched by a call to {@link #close()}.
+     *
+     * @param entity The unit
+     * @return       The index
+     */
+    public static CriticalSlotIndex open(Entity entity) {
+        synchronized (openIndices) {
+            CriticalSlotIndex index = openIndices.get(entity);
+            if (null == index) {
+                index = new CriticalSlotIndex(entity);
+                openIndices.put(entity, index);
+            } else {
+                index.depth++;
+            }
+            return index;
+        }
+    }
+
+    /**
+     * @return The index currently open for the unit, or null if there is none
+     */
+    public static @Nullable CriticalSlotIndex of(Entity entity) {
+        return openIndices.get(entity);
+    }
+
+    /**
+     * Notes that the slots in a location have changed. Does nothing if there is no index open for the unit.
+     */
+    public static void markDirty(Entity entity, int location) {
+        CriticalSlotIndex index = of(entity);
+        if ((null != index) && (location >= 0) && (location < index.dirty.length)) {
+            index.dirty[location] = true;
+        }
+    }
+
+    /**
+     * Notes that the slots in any location may have changed. Does nothing if there is no index open
+     * for the unit.
+     */
+    public static void markAllDirty(Entity entity) {
+        CriticalSlotIndex index = of(entity);
+        if (null != index) {
+            for (int loc = 0; loc < index.dirty.length; loc++) {
+                index.dirty[loc] = true;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (openIndices) {
+            if (--depth == 0) {
+                openIndices.remove(entity);
+            }
+        }
+    }
+
+    /**
+     * @return Whether the slot contains a critical
+     */
+    public boolean isOccupied(int location, int slot) {
+        if (!isValidLocation(location)) {
+            return false;
+        }
+        update(location);
+        return occupied[location].get(slot);
+    }
+
+    /**
+     * @return The number of slots in the location that contain a critical
+     */
+    public int getUsedCriticals(int location) {
+        if (!isValidLocation(location)) {
+            return 0;
+        }
+        update(location);
+        return usedSlots[location];
+    }
+
+    /**
+     * @return The number of slots in all locations that contain a critical
+     */
+    public int getUsedCriticals() {
+        int total = 0;
+        for (int loc = 0; loc < occupied.length; loc++) {
+            total += getUsedCriticals(loc);
+        }
+        return total;
+    }
+
+    /**
+     * @return The largest number of consecutive empty slots in the location
+     */
+    public int getLongestFreeRun(int location) {
+        if (!isValidLocation(location)) {
+            return 0;
+        }
+        update(location);
+        return longestFreeRun[location];
+    }
+
+    /**
+     * @param location     The location
+     * @param startingSlot The first slot to check
+     * @return             The number of consecutive empty slots beginning with the starting slot
+     */
+    public int getFreeRun(int location, int startingSlot) {
+        if (!isValidLocation(location) || (startingSlot < 0)) {
+            return 0;
+        }
+        update(location);
+        final int slots = entity.getNumberOfCriticals(location);
+        if (startingSlot >= slots) {
+            return 0;
+        }
+        int next = occupied[location].nextSetBit(startingSlot);
+        if ((next < 0) || (next > slots)) {
+            next = slots;
+        }
+        return next - startingSlot;
+    }
+
+    private boolean isValidLocation(int location) {
+        return (location >= 0) && (location < occupied.length);
+    }
+
+    /**
+     * Rebuilds the location from the unit if it has changed since it was last read.
+     */
+    private void update(int location) {
+        if (!dirty[location]) {
+            return;
+        }
+        final BitSet bits = occupied[location];
+        final int slots = entity.getNumberOfCriticals(location);
+        bits.clear();
+        for (int slot = 0; slot < slots; slot++) {
+            if (entity.getCritical(location, slot) != null) {
+                bits.set(slot);
+            }
+        }
+        int longest = 0;
+        int start = bits.nextClearBit(0);
+        while (start < slots) {
+            int end = bits.nextSetBit(start);
+            if ((end < 0) || (end > slots)) {
+                end = slots;
+            }
+            longest = Math.max(longest, end - start);
+            start = bits.nextClearBit(end);
+        }
+        usedSlots[location] = bits.cardinality();
+        longestFreeRun[location] = longest;
+        dirty[location] = false;
+    }
+}
@@ -17,14 +17,17 @@
 package megameklab.com.util;
 
 import java.awt.Component;
+import java.awt.event.MouseEvent;
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Vector;
 
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import javax.swing.event.TableModelEvent;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableCellEditor;
@@ -62,6 +65,15 @@ public class CriticalTableModel extends AbstractTableModel {
     private int tableType;
     private boolean kgStandard;
 
+    private static final Object NOT_CACHED = new Object();
+    /**
+     * The values and the text shown for each cell, filled in as the cells are painted and discarded
+     * whenever the table changes, so that repainting or scrolling does not format them again.
+     */
+    private Object[][] cellValues = new Object[0][];
+    private String[][] cellText = new String[0][];
+    private final ToolTipCache toolTips = new ToolTipCache();
+
     private String[] columnNames = { "Name", "Tons", "Crits"};
 
     private String[] longValues = { "XXXXXXXXX", "XXXXXXXXX", "XXXXXXXXX"};
@@ -94,6 +106,7 @@ public class CriticalTableModel extends AbstractTableModel {
 
     public void updateUnit(Entity unit) {
         this.unit = unit;
+        clearCache();
     }
 
     public void refreshModel() {
@@ -137,6 +150,18 @@ public class CriticalTableModel extends AbstractTableModel {
                 && sortedEquipment[row].getType().isVariableTonnage();
     }
 
+    @Override
+    public void fireTableChanged(TableModelEvent e) {
+        clearCache();
+        super.fireTableChanged(e);
+    }
+
+    private void clearCache() {
+        cellValues = new Object[sortedEquipment.length][];
+        cellText = new String[sortedEquipment.length][];
+        toolTips.clear();
+    }
+
     @Override
     public Object getValueAt(int row, int col) {
         if (row < 0) {
@@ -145,6 +170,20 @@ public class CriticalTableModel extends AbstractTableModel {
         if (row >= sortedEquipment.length) {
             return "";
         }
+        if ((row >= cellValues.length) || (col < 0) || (col > EQUIPMENT)) {
+            return calculateValueAt(row, col);
+        }
+        if (null == cellValues[row]) {
+            cellValues[row] = new Object[EQUIPMENT + 1];
+            Arrays.fill(cellValues[row], NOT_CACHED);
+        }
+        if (cellValues[row][col] == NOT_CACHED) {
+            cellValues[row][col] = calculateValueAt(row, col);
+        }
+        return cellValues[row][col];
+    }
+
+    private Object calculateValueAt(int row, int col) {
         Mounted crit = sortedEquipment[row];
         switch (col) {
         case NAME:
@@ -216,11 +255,67 @@ public class CriticalTableModel extends AbstractTableModel {
     public void setValueAt(Object aValue, int rowIndex, int columnIndex) {
         if ((columnIndex == SIZE) && (rowIndex >= 0) && (rowIndex < getRowCount())) {
             Mounted crit = sortedEquipment[rowIndex];
+            EditJournal.recordChanging(unit, crit);
             crit.setSize(Double.parseDouble(aValue.toString()));
+            UnitLedger.invalidate(unit);
             fireTableDataChanged();
         }
     }
 
+    /**
+     * @return The text shown in the cell
+     */
+    private String getCellText(int row, int column) {
+        if ((row >= cellText.length) || (column < 0) || (column > EQUIPMENT)) {
+            return buildCellText(row, column);
+        }
+        if (null == cellText[row]) {
+            cellText[row] = new String[EQUIPMENT + 1];
+        }
+        if (null == cellText[row][column]) {
+            cellText[row][column] = buildCellText(row, column);
+        }
+        return cellText[row][column];
+    }
+
+    private String buildCellText(int row, int column) {
+        Object value = getValueAt(row, column);
+        String text = (null == value) ? "" : value.toString();
+        Mounted mount = sortedEquipment[row];
+        if ((unit instanceof BattleArmor) && column == NAME){
+            String modifier = "";
+            if (mount.getType() instanceof AmmoType){
+                modifier += " (" + mount.getBaseShotsLeft() + ")";
+            }
+            if (mount.getLocation() != BattleArmor.LOC_SQUAD) {
+                modifier += " (Personal)";
+            } else {
+                modifier += " (Squad)";
+            }
+            if (mount.isDWPMounted()){
+                modifier += " (DWP)"; 
+            }
+            if (mount.isSquadSupportWeapon()){
+                modifier += " (Squad Support Weapon)"; 
+            }
+            if ((mount.getType().hasFlag(MiscType.F_DETACHABLE_WEAPON_PACK)
+                    || mount.getType().hasFlag(MiscType.F_AP_MOUNT))
+                    && mount.getLinked() != null){
+                modifier += " (attached " + mount.getLinked().getName() 
+                        + ")";
+            }
+            if (mount.getType().hasFlag(WeaponType.F_INFANTRY) &&
+                    mount.getLinkedBy() == null){
+                modifier += "*";
+            }
+            text += modifier;
+        } else if ((column == NAME) && unit.hasETypeFlag(Entity.ETYPE_PROTOMECH)
+                && (mount.getType() instanceof AmmoType)) {
+            text += " (" + mount.getBaseShotsLeft() + ")";
+        }
+        return text;
+    }
+
     public CriticalTableModel.Renderer getRenderer() {
         return new Renderer();
     }
@@ -235,71 +330,54 @@ public class CriticalTableModel extends AbstractTableModel {
          */
         private static final long serialVersionUID = 149542030113164984L;
 
+        private Mounted toolTipMount = null;
+
         @Override
         public Component getTableCellRendererComponent(JTable table,
                 Object value, boolean isSelected, boolean hasFocus, int row,
                 int column) {
 
-            JLabel c = (JLabel) super.getTableCellRendererComponent(table,
-                    value, isSelected, hasFocus, row, column);
-            
-            if ((crits.size() < row) || (row < 0)) {
-                return c;
-            }
-            if (table.getModel().getValueAt(row, column) != null) {
-                c.setText(table.getModel().getValueAt(row, column).toString());
+            toolTipMount = null;
+            if ((crits.size() < row) || (row < 0) || (row >= sortedEquipment.length)) {
+                return super.getTableCellRendererComponent(table,
+                        value, isSelected, hasFocus, row, column);
             }
+            JLabel c = (JLabel) super.getTableCellRendererComponent(table,
+                    getCellText(row, column), isSelected, hasFocus, row, column);
 
             Mounted mount = sortedEquipment[row];
-            if ((unit instanceof BattleArmor) && column == NAME){
-                String modifier = "";
-                if (mount.getType() instanceof AmmoType){
-                    modifier += " (" + mount.getBaseShotsLeft() + ")";
-                }
-                if (mount.getLocation() != BattleArmor.LOC_SQUAD) {
-                    modifier += " (Personal)";
-                } else {
-                    modifier += " (Squad)";
-                }
-                if (mount.isDWPMounted()){
-                    modifier += " (DWP)"; 
-                }
-                if (mount.isSquadSupportWeapon()){
-                    modifier += " (Squad Support Weapon)"; 
-                }
-                if ((mount.getType().hasFlag(MiscType.F_DETACHABLE_WEAPON_PACK)
-                        || mount.getType().hasFlag(MiscType.F_AP_MOUNT))
-                        && mount.getLinked() != null){
-                    modifier += " (attached " + mount.getLinked().getName() 
-                            + ")";
-                }
-                if (mount.getType().hasFlag(WeaponType.F_INFANTRY) &&
-                        mount.getLinkedBy() == null){
-                    modifier += "*";
-                }
-                c.setText(c.getText() + modifier);
-            } else if ((column == NAME) && unit.hasETypeFlag(Entity.ETYPE_PROTOMECH)
-                    && (mount.getType() instanceof AmmoType)) {
-                c.setText(c.getText() + " (" + mount.getBaseShotsLeft() + ")");
-            }
-            c.setToolTipText(UnitUtil.getToolTipInfo(unit, mount));
+            toolTipMount = mount;
             c.setHorizontalAlignment(getAlignment(column));
 
             if (isSelected) {
                 return c;
             }
 
-            String equipmentType = CConfig.CONFIG_EQUIPMENT;
-
+            final ColorPalette palette = CConfig.getPalette();
             if (mount.getType() instanceof WeaponType) {
-                equipmentType = CConfig.CONFIG_WEAPONS;
+                c.setBackground(palette.weaponsBackground);
+                c.setForeground(palette.weaponsForeground);
             } else if (mount.getType() instanceof AmmoType) {
-                equipmentType = CConfig.CONFIG_AMMO;
+                c.setBackground(palette.ammoBackground);
+                c.setForeground(palette.ammoForeground);
+            } else {
+                c.setBackground(palette.equipmentBackground);
+                c.setForeground(palette.equipmentForeground);
             }
-            c.setBackground(CConfig.getBackgroundColor(equipmentType));
-            c.setForeground(CConfig.getForegroundColor(equipmentType));
             return c;
         }
+
+        /**
+         * The tooltip is only built when it is about to be shown, for the row that the table has
+         * just prepared the renderer for.
+         */
+        @Override
+        public String getToolTipText(MouseEvent event) {
+            if (null == toolTipMount) {
+                return null;
+            }
+            return toolTips.get(unit, toolTipMount);
+        }
     }
 
     /**
@@ -370,6 +448,26 @@ public class CriticalTableModel extends AbstractTableModel {
                 (Mounted) getValueAt(row, CriticalTableModel.EQUIPMENT));
     }
 
+    /**
+     * Removes the equipment in several rows from the unit at once.
+     *
+     * @param rows The indices of the rows to remove
+     */
+    public void removeMounted(int[] rows) {
+        List<Mounted> mounts = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            mounts.add(crits.get(row));
+        }
+        UnitUtil.removeMounteds(unit, mounts);
+    }
+
+    /**
+     * Removes the equipment in every row from the unit at once.
+     */
+    public void removeAllMounted() {
+        UnitUtil.removeMounteds(unit, new ArrayList<>(crits));
+    }
+
     public List<Mounted> getCrits() {
         return crits;
     }
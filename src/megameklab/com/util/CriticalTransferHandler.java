@@ -171,12 +171,12 @@ public class CriticalTransferHandler extends TransferHandler {
         if (c instanceof JTable) {
             JTable table = (JTable) c;
             Mounted mount = (Mounted) ((CriticalTableModel) table.getModel()).getValueAt(table.getSelectedRow(), CriticalTableModel.EQUIPMENT);
-            return new StringSelection(Integer.toString(getUnit().getEquipmentNum(mount)));
+            return new StringSelection(Integer.toString(EquipmentIndex.getEquipmentNum(getUnit(), mount)));
         } else if (c instanceof ProtomekMountList) {
             Mounted mount = ((ProtomekMountList) c).getMounted();
             if (!UnitUtil.isFixedLocationSpreadEquipment(mount.getType())
                     && !(mount.getType() instanceof AmmoType))
-            return new StringSelection(Integer.toString(getUnit().getEquipmentNum(mount)));
+            return new StringSelection(Integer.toString(EquipmentIndex.getEquipmentNum(getUnit(), mount)));
         }
         return null;
     }
@@ -300,20 +300,26 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
     }
 
     private void changeSponsonTurretMount(boolean turret) {
+        EditJournal.recordChanging(getUnit(), getMounted());
+        EditJournal.recordChanging(getUnit(), getMounted().getLinkedBy());
         getMounted().setSponsonTurretMounted(turret);
         if (getMounted().getLinkedBy() != null) {
             getMounted().getLinkedBy().setSponsonTurretMounted(turret);
         }
+        UnitLedger.invalidate(getUnit());
         if (refresh != null) {
             refresh.refreshAll();
         }
     }
 
     private void changePintleTurretMount(boolean turret) {
+        EditJournal.recordChanging(getUnit(), getMounted());
+        EditJournal.recordChanging(getUnit(), getMounted().getLinkedBy());
         getMounted().setPintleTurretMounted(turret);
         if (getMounted().getLinkedBy() != null) {
             getMounted().getLinkedBy().setPintleTurretMounted(turret);
         }
+        UnitLedger.invalidate(getUnit());
         if (refresh != null) {
             refresh.refreshAll();
         }
@@ -322,8 +328,10 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
     private void changeOmniMounting(boolean pod) {
         Mounted mount = getMounted();
         if (!pod || UnitUtil.canPodMount(getUnit(), mount)) {
+            EditJournal.recordChanging(getUnit(), mount);
             mount.setOmniPodMounted(pod);
         }
+        UnitLedger.invalidate(getUnit());
         if (refresh != null) {
             refresh.refreshAll();
         }
@@ -339,6 +347,7 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
         if (cs != null) {
             if (cs.getType() == CriticalSlot.TYPE_EQUIPMENT) {
                 Mounted mount = getMounted();
+                EditJournal.recordChanging(getUnit(), mount);
                 mount.setArmored(!cs.isArmored());
                 UnitUtil.updateCritsArmoredStatus(getUnit(), mount);
             } else {
@@ -0,0 +1,826 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import megamek.common.Aero;
+import megamek.common.CriticalSlot;
+import megamek.common.Engine;
+import megamek.common.Entity;
+import megamek.common.EntityMovementMode;
+import megamek.common.LocationFullException;
+import megamek.common.Mech;
+import megamek.common.Mounted;
+import megamek.common.annotations.Nullable;
+import megameklab.com.MegaMekLab;
+
+/**
+ * Records the changes made to a unit in the editor so they can be undone and redone. Only what
+ * changed is kept: the state of each mount before and after a change, including its position in the
+ * equipment list, the critical slots, armor, and internal structure of the locations that changed,
+ * and the armor tonnage, movement mode, fuel, and heat sinks of the unit.
+ *
+ * Changes to mounts are recorded by the {@link UnitUtil} methods that add, remove, and move
+ * equipment, which report each mount before they change it. The journal keeps the critical slots as
+ * of the end of the last step and compares them when the step ends, but only in the locations of the
+ * mounts that changed and the locations reported through {@link UnitUtil#markSlotsChanged(Entity, int)}.
+ * Armor, structure, and the values for the whole unit are set from many places, so they are compared
+ * in every step; there are only a few of them for each location. Changes the journal cannot reverse,
+ * such as a new engine, tonnage, or armor type, or equipment removed without going through
+ * {@link UnitUtil}, clear the history. Equipment added directly to the unit is found at the end of the
+ * equipment list when the step ends and recorded then.
+ *
+ * A step ends when the editor performs the refreshes for a change, which for a batch of changes is
+ * when the outermost batch ends, so each action in the editor is undone as a whole. The history is
+ * limited to a memory budget, and the oldest steps are dropped when it is exceeded.
+ */
+public class EditJournal {
+
+    private static final Map<Entity, EditJournal> journals =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /** Rough sizes used to keep the history within its budget */
+    private static final int STEP_BYTES = 64;
+    private static final int MOUNT_BYTES = 96;
+    private static final int SLOT_BYTES = 24;
+    private static final int VALUE_BYTES = 16;
+
+    private final Entity entity;
+    private final long memoryLimit;
+    private final Deque<Step> undoSteps = new ArrayDeque<>();
+    private final Deque<Step> redoSteps = new ArrayDeque<>();
+    private long memoryUsed = 0;
+
+    /** The state of each mount changed in the current step, as it was before the first change */
+    private final Map<Mounted, MountState> changing = new IdentityHashMap<>();
+    /** The mounts in the order they were first changed, so steps are applied in a consistent order */
+    private final List<Mounted> changeOrder = new ArrayList<>();
+    private boolean applying = false;
+
+    /* The state of the unit at the end of the last step */
+    private SlotState[][] slots;
+    private int[] armor;
+    private int[] rearArmor;
+    private int[] internal;
+    private UnitValues unitValues;
+    /** The locations whose critical slots may have changed in the current step */
+    private boolean[] dirtySlots;
+    private long signature;
+    private int equipmentCount;
+
+    private EditJournal(Entity entity, long memoryLimit) {
+        this.entity = entity;
+        this.memoryLimit = memoryLimit;
+        resetBaseline();
+    }
+
+    /**
+     * Creates a journal for the unit and attaches it so that changes made through {@link UnitUtil}
+     * are recorded.
+     *
+     * @param entity      The unit being edited
+     * @param memoryLimit The approximate number of bytes the history may use
+     * @return            The new journal
+     */
+    public static EditJournal attach(Entity entity, long memoryLimit) {
+        EditJournal journal = new EditJournal(entity, memoryLimit);
+        journals.put(entity, journal);
+        return journal;
+    }
+
+    /**
+     * Stops recording changes to the unit.
+     */
+    public static void detach(@Nullable Entity entity) {
+        if (null != entity) {
+            journals.remove(entity);
+        }
+    }
+
+    /**
+     * @return The journal attached to the unit, or null if the unit is not being edited
+     */
+    public static @Nullable EditJournal of(Entity entity) {
+        return journals.get(entity);
+    }
+
+    /**
+     * Records the state of a mount that is about to be changed or removed. Does nothing if the
+     * unit has no journal or the mount has already been recorded in the current step.
+     */
+    public static void recordChanging(Entity entity, @Nullable Mounted mount) {
+        EditJournal journal = of(entity);
+        if ((null != journal) && (null != mount) && !journal.applying) {
+            journal.record(mount, EquipmentIndex.getEquipmentNum(entity, mount));
+        }
+    }
+
+    /**
+     * Records a mount that is about to be added to the unit. Does nothing if the unit has no journal.
+     */
+    public static void recordAdding(Entity entity, Mounted mount) {
+        EditJournal journal = of(entity);
+        if ((null != journal) && !journal.applying) {
+            journal.record(mount, -1);
+        }
+    }
+
+    /**
+     * Notes that the critical slots of a location may have changed. Does nothing if the unit has no
+     * journal.
+     */
+    public static void markSlotsChanged(Entity entity, int location) {
+        EditJournal journal = of(entity);
+        if ((null != journal) && !journal.applying && (location >= 0)
+                && (location < journal.dirtySlots.length)) {
+            journal.dirtySlots[location] = true;
+        }
+    }
+
+    /**
+     * Notes that the critical slots of any location may have changed. Does nothing if the unit has
+     * no journal.
+     */
+    public static void markAllSlotsChanged(Entity entity) {
+        EditJournal journal = of(entity);
+        if ((null != journal) && !journal.applying) {
+            Arrays.fill(journal.dirtySlots, true);
+        }
+    }
+
+    private void record(Mounted mount, int index) {
+        if (!changing.containsKey(mount)) {
+            changing.put(mount, new MountState(mount, index));
+            changeOrder.add(mount);
+        }
+    }
+
+    public boolean canUndo() {
+        return !undoSteps.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoSteps.isEmpty();
+    }
+
+    /**
+     * Ends the current step, adding it to the history if anything changed. The editor calls this when
+     * it performs the refreshes for a change.
+     */
+    public void endStep() {
+        if (applying) {
+            return;
+        }
+        Set<Mounted> present = findPresent();
+        int added = 0;
+        for (Mounted mount : changeOrder) {
+            if (changing.get(mount).present != present.contains(mount)) {
+                added += present.contains(mount) ? 1 : -1;
+            }
+        }
+        final int unrecorded = entity.getEquipment().size() - equipmentCount - added;
+        if (recordAppended(unrecorded)) {
+            present = findPresent();
+            added += unrecorded;
+        }
+        if ((computeSignature() != signature)
+                || (entity.getEquipment().size() != equipmentCount + added)) {
+            // Something changed that cannot be reversed, so the steps before it no longer apply
+            clear();
+            return;
+        }
+        final Step step = new Step();
+        for (Mounted mount : changeOrder) {
+            MountState before = changing.get(mount);
+            MountState after = new MountState(mount,
+                    present.contains(mount) ? EquipmentIndex.getEquipmentNum(entity, mount) : -1);
+            step.mounts.add(new MountChange(mount, before, after));
+            markDirty(before.location);
+            markDirty(before.secondLocation);
+            markDirty(after.location);
+            markDirty(after.secondLocation);
+        }
+        for (int loc = 0; loc < entity.locations(); loc++) {
+            if (dirtySlots[loc] && !matchesSlots(slots[loc], loc)) {
+                SlotState[] current = captureSlots(loc);
+                step.slots.add(new SlotChange(loc, slots[loc], current));
+                slots[loc] = current;
+            }
+            int front = entity.getOArmor(loc);
+            int rear = entity.hasRearArmor(loc) ? entity.getOArmor(loc, true) : 0;
+            int is = entity.getOInternal(loc);
+            if ((front != armor[loc]) || (rear != rearArmor[loc]) || (is != internal[loc])) {
+                step.values.add(new ValueChange(loc, new int[] { armor[loc], rearArmor[loc], internal[loc] },
+                        new int[] { front, rear, is }));
+                armor[loc] = front;
+                rearArmor[loc] = rear;
+                internal[loc] = is;
+            }
+        }
+        final UnitValues values = new UnitValues();
+        if (!values.matches(unitValues)) {
+            step.unitBefore = unitValues;
+            step.unitAfter = values;
+            unitValues = values;
+        }
+        changing.clear();
+        changeOrder.clear();
+        Arrays.fill(dirtySlots, false);
+        equipmentCount = entity.getEquipment().size();
+        if (step.isEmpty()) {
+            return;
+        }
+        memoryUsed -= redoSteps.stream().mapToLong(Step::estimateBytes).sum();
+        redoSteps.clear();
+        undoSteps.push(step);
+        memoryUsed += step.estimateBytes();
+        trim();
+    }
+
+    /**
+     * Records mounts that were added with {@link Entity#addEquipment(Mounted, int, boolean)} rather than
+     * through {@link UnitUtil}, as the equipment tabs do. The unit adds new equipment to the end of its
+     * list, so if the list has grown by more than the recorded changes account for, the extra mounts are
+     * the last ones in the list.
+     *
+     * @param count The number of mounts on the unit that the recorded changes do not account for
+     * @return      Whether any mounts were recorded
+     */
+    private boolean recordAppended(int count) {
+        final List<Mounted> equipment = entity.getEquipment();
+        if ((count <= 0) || (count > equipment.size())) {
+            return false;
+        }
+        final List<Mounted> appended = equipment.subList(equipment.size() - count, equipment.size());
+        for (Mounted mount : appended) {
+            if (changing.containsKey(mount)) {
+                // Not simply appended, so the change cannot be reversed
+                return false;
+            }
+        }
+        for (Mounted mount : appended) {
+            record(mount, -1);
+        }
+        return true;
+    }
+
+    /**
+     * Finds which of the mounts changed in this step are on the unit. Looking up a mount that has
+     * been removed means searching the equipment list, so when many mounts have changed the list is
+     * searched once for all of them.
+     */
+    private Set<Mounted> findPresent() {
+        final Set<Mounted> present = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (changeOrder.size() > 8) {
+            for (Mounted mount : entity.getEquipment()) {
+                if (changing.containsKey(mount)) {
+                    present.add(mount);
+                }
+            }
+        } else {
+            for (Mounted mount : changeOrder) {
+                if (EquipmentIndex.getEquipmentNum(entity, mount) >= 0) {
+                    present.add(mount);
+                }
+            }
+        }
+        return present;
+    }
+
+    private void markDirty(int location) {
+        if ((location >= 0) && (location < dirtySlots.length)) {
+            dirtySlots[location] = true;
+        }
+    }
+
+    /**
+     * Reverses the most recent step. The caller is responsible for refreshing the editor.
+     *
+     * @return Whether there was a step to undo
+     */
+    public boolean undo() {
+        endStep();
+        if (undoSteps.isEmpty()) {
+            return false;
+        }
+        Step step = undoSteps.pop();
+        apply(step, true);
+        redoSteps.push(step);
+        return true;
+    }
+
+    /**
+     * Repeats the most recently undone step. The caller is responsible for refreshing the editor.
+     *
+     * @return Whether there was a step to redo
+     */
+    public boolean redo() {
+        endStep();
+        if (redoSteps.isEmpty()) {
+            return false;
+        }
+        Step step = redoSteps.pop();
+        apply(step, false);
+        undoSteps.push(step);
+        return true;
+    }
+
+    /**
+     * Discards the history.
+     */
+    public void clear() {
+        undoSteps.clear();
+        redoSteps.clear();
+        memoryUsed = 0;
+        resetBaseline();
+    }
+
+    /**
+     * Drops the oldest steps until the history fits in the memory limit. Steps waiting to be redone are
+     * dropped last, starting with the one that would be redone last.
+     */
+    private void trim() {
+        while ((memoryUsed > memoryLimit) && !undoSteps.isEmpty()) {
+            memoryUsed -= undoSteps.removeLast().estimateBytes();
+        }
+        while ((memoryUsed > memoryLimit) && !redoSteps.isEmpty()) {
+            memoryUsed -= redoSteps.removeLast().estimateBytes();
+        }
+    }
+
+    private void apply(Step step, boolean undo) {
+        applying = true;
+        try {
+            // Change which mounts are on the unit first, keeping the bay contents as mounts so they
+            // can be renumbered once the equipment list is settled
+            final Map<Mounted, List<Mounted>> bayWeapons = new IdentityHashMap<>();
+            final Map<Mounted, List<Mounted>> bayAmmo = new IdentityHashMap<>();
+            for (Mounted bay : entity.getWeaponBayList()) {
+                bayWeapons.put(bay, toMounts(bay.getBayWeapons()));
+                bayAmmo.put(bay, toMounts(bay.getBayAmmo()));
+            }
+            final Set<Mounted> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+            final List<MountChange> toAdd = new ArrayList<>();
+            for (MountChange change : step.mounts) {
+                MountState target = undo ? change.before : change.after;
+                MountState current = undo ? change.after : change.before;
+                if (current.present && !target.present) {
+                    toRemove.add(change.mount);
+                } else if (!current.present && target.present) {
+                    toAdd.add(change);
+                }
+            }
+            if (!toRemove.isEmpty()) {
+                UnitUtil.removeFromEquipmentLists(entity, toRemove);
+            }
+            // Putting the mounts back in order of position puts each one where it was
+            toAdd.sort(Comparator.comparingInt(c -> (undo ? c.before : c.after).index));
+            for (MountChange change : toAdd) {
+                try {
+                    entity.addEquipment(change.mount, Entity.LOC_NONE, false);
+                    moveToPosition(change.mount, (undo ? change.before : change.after).index);
+                } catch (LocationFullException ex) {
+                    MegaMekLab.getLogger().error(EditJournal.class, "apply(Step, boolean)", ex); //$NON-NLS-1$
+                }
+            }
+            EquipmentIndex.invalidate(entity);
+            for (MountChange change : step.mounts) {
+                MountState target = undo ? change.before : change.after;
+                if (null != target.bayWeapons) {
+                    bayWeapons.put(change.mount, target.bayWeapons);
+                    bayAmmo.put(change.mount, target.bayAmmo);
+                }
+                target.restoreFields(change.mount);
+            }
+            // Links are restored after all the fields, since setting one end can change the other
+            for (MountChange change : step.mounts) {
+                (undo ? change.before : change.after).restoreLinked(change.mount);
+            }
+            for (MountChange change : step.mounts) {
+                (undo ? change.before : change.after).restoreLinkedBy(change.mount);
+            }
+            for (Mounted bay : entity.getWeaponBayList()) {
+                if (bayWeapons.containsKey(bay)) {
+                    renumber(bay.getBayWeapons(), bayWeapons.get(bay));
+                    renumber(bay.getBayAmmo(), bayAmmo.get(bay));
+                }
+            }
+
+            for (SlotChange change : step.slots) {
+                SlotState[] target = undo ? change.before : change.after;
+                for (int i = 0; i < target.length; i++) {
+                    entity.setCritical(change.loc, i, (null == target[i]) ? null : target[i].restore());
+                }
+                slots[change.loc] = target;
+            }
+            CriticalSlotIndex.markAllDirty(entity);
+
+            for (ValueChange change : step.values) {
+                int[] target = undo ? change.before : change.after;
+                entity.initializeArmor(target[0], change.loc);
+                if (entity.hasRearArmor(change.loc)) {
+                    entity.initializeRearArmor(target[1], change.loc);
+                }
+                entity.initializeInternal(target[2], change.loc);
+                armor[change.loc] = target[0];
+                rearArmor[change.loc] = target[1];
+                internal[change.loc] = target[2];
+            }
+            if (null != step.unitBefore) {
+                unitValues = undo ? step.unitBefore : step.unitAfter;
+                unitValues.restore();
+            }
+            equipmentCount = entity.getEquipment().size();
+            UnitLedger.invalidate(entity);
+        } finally {
+            applying = false;
+        }
+    }
+
+    /**
+     * Moves a mount that has just been added to the end of the equipment list to its former position,
+     * and keeps it in the same order relative to the other mounts in the lists by type.
+     */
+    private void moveToPosition(Mounted mount, int index) {
+        final List<Mounted> equipment = entity.getEquipment();
+        final int last = equipment.size() - 1;
+        if ((index < 0) || (index >= last) || (equipment.get(last) != mount)) {
+            return;
+        }
+        equipment.remove(last);
+        equipment.add(index, mount);
+        EquipmentIndex.invalidate(entity);
+        final List<List<Mounted>> lists = new ArrayList<>();
+        lists.add(entity.getMisc());
+        lists.add(entity.getAmmo());
+        lists.add(entity.getWeaponList());
+        lists.add(entity.getTotalWeaponList());
+        if (entity instanceof Aero) {
+            lists.add(((Aero) entity).getWeaponBayList());
+            lists.add(((Aero) entity).getWeaponGroupList());
+        }
+        for (List<Mounted> list : lists) {
+            if (!list.isEmpty() && (list.get(list.size() - 1) == mount)) {
+                list.remove(list.size() - 1);
+                int pos = 0;
+                while ((pos < list.size()) && (EquipmentIndex.getEquipmentNum(entity, list.get(pos)) < index)) {
+                    pos++;
+                }
+                list.add(pos, mount);
+            }
+        }
+    }
+
+    private List<Mounted> toMounts(List<Integer> equipmentNums) {
+        List<Mounted> list = new ArrayList<>(equipmentNums.size());
+        for (Integer num : equipmentNums) {
+            list.add(entity.getEquipment(num));
+        }
+        return list;
+    }
+
+    private void renumber(List<Integer> equipmentNums, List<Mounted> mounts) {
+        equipmentNums.clear();
+        for (Mounted mount : mounts) {
+            int num = EquipmentIndex.getEquipmentNum(entity, mount);
+            if (num >= 0) {
+                equipmentNums.add(num);
+            }
+        }
+    }
+
+    /**
+     * Takes the state at the end of the last step from the unit as it is now.
+     */
+    private void resetBaseline() {
+        changing.clear();
+        changeOrder.clear();
+        final int locations = entity.locations();
+        slots = new SlotState[locations][];
+        armor = new int[locations];
+        rearArmor = new int[locations];
+        internal = new int[locations];
+        dirtySlots = new boolean[locations];
+        for (int loc = 0; loc < locations; loc++) {
+            slots[loc] = captureSlots(loc);
+            armor[loc] = entity.getOArmor(loc);
+            rearArmor[loc] = entity.hasRearArmor(loc) ? entity.getOArmor(loc, true) : 0;
+            internal[loc] = entity.getOInternal(loc);
+        }
+        unitValues = new UnitValues();
+        signature = computeSignature();
+        equipmentCount = entity.getEquipment().size();
+    }
+
+    private SlotState[] captureSlots(int loc) {
+        SlotState[] states = new SlotState[entity.getNumberOfCriticals(loc)];
+        for (int i = 0; i < states.length; i++) {
+            CriticalSlot slot = entity.getCritical(loc, i);
+            states[i] = (null == slot) ? null : new SlotState(slot);
+        }
+        return states;
+    }
+
+    /**
+     * Compares the saved slots against the location without copying them.
+     */
+    private boolean matchesSlots(SlotState[] states, int loc) {
+        if (states.length != entity.getNumberOfCriticals(loc)) {
+            return false;
+        }
+        for (int i = 0; i < states.length; i++) {
+            CriticalSlot slot = entity.getCritical(loc, i);
+            if ((null == states[i]) ? (null != slot) : !states[i].matches(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Combines the values the journal does not track, so that a change to any of them can be detected.
+     */
+    private long computeSignature() {
+        long h = Double.doubleToLongBits(entity.getWeight());
+        final Engine engine = entity.getEngine();
+        h = 31 * h + System.identityHashCode(engine);
+        if (null != engine) {
+            h = 31 * h + engine.getRating();
+            h = 31 * h + engine.getEngineType();
+        }
+        h = 31 * h + entity.getStructureType();
+        h = 31 * h + (entity.isSuperHeavy() ? 1 : 0);
+        h = 31 * h + (entity.isOmni() ? 1 : 0);
+        h = 31 * h + entity.getOriginalWalkMP();
+        h = 31 * h + entity.getTransportBays().size();
+        h = 31 * h + entity.locations();
+        for (int loc = 0; loc < entity.locations(); loc++) {
+            h = 31 * h + entity.getArmorType(loc);
+            h = 31 * h + entity.getNumberOfCriticals(loc);
+        }
+        if (entity instanceof Mech) {
+            h = 31 * h + ((Mech) entity).getCockpitType();
+            h = 31 * h + ((Mech) entity).getGyroType();
+        } else if (entity instanceof Aero) {
+            h = 31 * h + ((Aero) entity).getHeatType();
+        }
+        return h;
+    }
+
+    /**
+     * The changes made by one action in the editor.
+     */
+    private static class Step {
+        final List<MountChange> mounts = new ArrayList<>();
+        final List<SlotChange> slots = new ArrayList<>();
+        final List<ValueChange> values = new ArrayList<>();
+        /** The values for the whole unit before and after the step, or null if they did not change */
+        UnitValues unitBefore;
+        UnitValues unitAfter;
+
+        boolean isEmpty() {
+            return slots.isEmpty() && values.isEmpty() && (null == unitBefore)
+                    && mounts.stream().allMatch(m -> m.before.matches(m.after));
+        }
+
+        long estimateBytes() {
+            long bytes = STEP_BYTES + (long) mounts.size() * 2 * MOUNT_BYTES
+                    + (long) values.size() * 2 * VALUE_BYTES + ((null == unitBefore) ? 0 : 2 * VALUE_BYTES);
+            for (MountChange change : mounts) {
+                bytes += change.before.bayContentCount() * VALUE_BYTES;
+                bytes += change.after.bayContentCount() * VALUE_BYTES;
+            }
+            for (SlotChange change : slots) {
+                bytes += (long) (change.before.length + change.after.length) * SLOT_BYTES;
+            }
+            return bytes;
+        }
+    }
+
+    private static class MountChange {
+        final Mounted mount;
+        final MountState before;
+        final MountState after;
+
+        MountChange(Mounted mount, MountState before, MountState after) {
+            this.mount = mount;
+            this.before = before;
+            this.after = after;
+        }
+    }
+
+    private static class SlotChange {
+        final int loc;
+        final SlotState[] before;
+        final SlotState[] after;
+
+        SlotChange(int loc, SlotState[] before, SlotState[] after) {
+            this.loc = loc;
+            this.before = before;
+            this.after = after;
+        }
+    }
+
+    /**
+     * The front armor, rear armor, and internal structure of a location.
+     */
+    private static class ValueChange {
+        final int loc;
+        final int[] before;
+        final int[] after;
+
+        ValueChange(int loc, int[] before, int[] after) {
+            this.loc = loc;
+            this.before = before;
+            this.after = after;
+        }
+    }
+
+    /**
+     * The armor tonnage, movement mode, fuel, and heat sinks of the unit.
+     */
+    private class UnitValues {
+        final double armorTonnage;
+        final EntityMovementMode movementMode;
+        final int fuel;
+        final int heatSinks;
+
+        UnitValues() {
+            armorTonnage = entity.getLabArmorTonnage();
+            movementMode = entity.getMovementMode();
+            if (entity instanceof Aero) {
+                fuel = ((Aero) entity).getFuel();
+                heatSinks = ((Aero) entity).getHeatSinks();
+            } else {
+                fuel = 0;
+                heatSinks = 0;
+            }
+        }
+
+        void restore() {
+            entity.setArmorTonnage(armorTonnage);
+            entity.setMovementMode(movementMode);
+            if (entity instanceof Aero) {
+                ((Aero) entity).setFuel(fuel);
+                ((Aero) entity).setHeatSinks(heatSinks);
+            }
+        }
+
+        boolean matches(UnitValues other) {
+            return (armorTonnage == other.armorTonnage) && (movementMode == other.movementMode)
+                    && (fuel == other.fuel) && (heatSinks == other.heatSinks);
+        }
+    }
+
+    /**
+     * The fields of a mount that the {@link UnitUtil} methods change, its position in the equipment
+     * list, and whether it is on the unit.
+     */
+    private class MountState {
+        final boolean present;
+        /** The equipment number, or -1 if the mount is not on the unit */
+        final int index;
+        final int location;
+        final int secondLocation;
+        final boolean rear;
+        final boolean split;
+        final boolean omniPod;
+        final boolean mechTurret;
+        final boolean sponsonTurret;
+        final boolean pintleTurret;
+        final boolean dwpMounted;
+        final boolean apmMounted;
+        final boolean armored;
+        final int baMountLoc;
+        final int shots;
+        final double size;
+        final Mounted linked;
+        final Mounted linkedBy;
+        final List<Mounted> bayWeapons;
+        final List<Mounted> bayAmmo;
+
+        MountState(Mounted mount, int index) {
+            this.index = index;
+            present = index >= 0;
+            location = mount.getLocation();
+            secondLocation = mount.getSecondLocation();
+            rear = mount.isRearMounted();
+            split = mount.isSplit();
+            omniPod = mount.isOmniPodMounted();
+            mechTurret = mount.isMechTurretMounted();
+            sponsonTurret = mount.isSponsonTurretMounted();
+            pintleTurret = mount.isPintleTurretMounted();
+            dwpMounted = mount.isDWPMounted();
+            apmMounted = mount.isAPMMounted();
+            armored = mount.isArmored();
+            baMountLoc = mount.getBaMountLoc();
+            shots = mount.getBaseShotsLeft();
+            size = mount.getSize();
+            linked = mount.getLinked();
+            linkedBy = mount.getLinkedBy();
+            if (present && entity.getWeaponBayList().contains(mount)) {
+                bayWeapons = toMounts(mount.getBayWeapons());
+                bayAmmo = toMounts(mount.getBayAmmo());
+            } else {
+                bayWeapons = null;
+                bayAmmo = null;
+            }
+        }
+
+        void restoreFields(Mounted mount) {
+            mount.setLocation(location, rear);
+            mount.setSecondLocation(secondLocation, rear);
+            mount.setSplit(split);
+            mount.setOmniPodMounted(omniPod);
+            mount.setMechTurretMounted(mechTurret);
+            mount.setSponsonTurretMounted(sponsonTurret);
+            mount.setPintleTurretMounted(pintleTurret);
+            mount.setDWPMounted(dwpMounted);
+            mount.setAPMMounted(apmMounted);
+            mount.setArmored(armored);
+            mount.setBaMountLoc(baMountLoc);
+            mount.setShotsLeft(shots);
+            if (mount.getType().isVariableTonnage()) {
+                mount.setSize(size);
+            }
+        }
+
+        void restoreLinked(Mounted mount) {
+            mount.setLinked(linked);
+        }
+
+        void restoreLinkedBy(Mounted mount) {
+            mount.setLinkedBy(linkedBy);
+        }
+
+        int bayContentCount() {
+            return (null == bayWeapons) ? 0 : bayWeapons.size() + bayAmmo.size();
+        }
+
+        boolean matches(MountState other) {
+            return (present == other.present) && (index == other.index) && (location == other.location)
+                    && (secondLocation == other.secondLocation) && (rear == other.rear)
+                    && (split == other.split) && (omniPod == other.omniPod)
+                    && (mechTurret == other.mechTurret) && (sponsonTurret == other.sponsonTurret)
+                    && (pintleTurret == other.pintleTurret) && (dwpMounted == other.dwpMounted)
+                    && (apmMounted == other.apmMounted) && (armored == other.armored)
+                    && (baMountLoc == other.baMountLoc)
+                    && (shots == other.shots) && (size == other.size) && (linked == other.linked) && (linkedBy == other.linkedBy)
+                    && ((null == bayWeapons) ? (null == other.bayWeapons)
+                            : bayWeapons.equals(other.bayWeapons) && bayAmmo.equals(other.bayAmmo));
+        }
+    }
+
+    /**
+     * A critical slot along with the fields the editor changes. The slot itself is kept so that the
+     * same instance is put back.
+     */
+    private static class SlotState {
+        final CriticalSlot slot;
+        final Mounted mount;
+        final Mounted mount2;
+        final boolean armored;
+
+        SlotState(CriticalSlot slot) {
+            this.slot = slot;
+            mount = slot.getMount();
+            mount2 = slot.getMount2();
+            armored = slot.isArmored();
+        }
+
+        CriticalSlot restore() {
+            if (slot.getType() == CriticalSlot.TYPE_EQUIPMENT) {
+                slot.setMount(mount);
+                slot.setMount2(mount2);
+            }
+            slot.setArmored(armored);
+            return slot;
+        }
+
+        boolean matches(@Nullable CriticalSlot other) {
+            return (slot == other) && (mount == other.getMount())
+                    && (mount2 == other.getMount2()) && (armored == other.isArmored());
+        }
+    }
+}
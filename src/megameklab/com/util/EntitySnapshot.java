@@ -0,0 +1,124 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import megamek.common.Entity;
+import megamek.common.logging.LogLevel;
+import megameklab.com.MegaMekLab;
+
+/**
+ * A copy of a unit's state at one moment that can be turned into independent copies of the unit in
+ * other threads. The editor changes its unit on the event dispatch thread, so anything that reads the
+ * unit in the background, or changes it the way printing does, should work on a copy.
+ *
+ * The snapshot is captured on the thread that owns the unit by serializing it, which only copies
+ * the unit's fields. Each call to {@link #restore()} builds a new unit from the serialized form, so
+ * several workers can share one snapshot and each read or change its own copy without affecting
+ * the others or the original.
+ */
+public class EntitySnapshot {
+
+    /** Capturing takes place on the event dispatch thread; report it if it takes longer than a frame */
+    private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+
+    private final Entity source;
+    private final byte[] data;
+    private final long captureNanos;
+
+    private EntitySnapshot(Entity source, byte[] data, long captureNanos) {
+        this.source = source;
+        this.data = data;
+        this.captureNanos = captureNanos;
+    }
+
+    /**
+     * Captures the current state of the unit. This must be called on the thread that changes the unit.
+     *
+     * @param entity The unit
+     * @return       The snapshot
+     * @throws IOException If the unit cannot be serialized
+     */
+    public static EntitySnapshot capture(Entity entity) throws IOException {
+        final long start = System.nanoTime();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(entity);
+        }
+        final long nanos = System.nanoTime() - start;
+        final String msg = String.format("Captured %s: %d bytes in %.2f ms", entity.getShortNameRaw(), //$NON-NLS-1$
+                bytes.size(), nanos / 1.0e6);
+        if (nanos > FRAME_NANOS) {
+            MegaMekLab.getLogger().warning(EntitySnapshot.class, "capture(Entity)", msg); //$NON-NLS-1$
+        } else {
+            MegaMekLab.getLogger().log(EntitySnapshot.class, "capture(Entity)", LogLevel.DEBUG, msg); //$NON-NLS-1$
+        }
+        return new EntitySnapshot(entity, bytes.toByteArray(), nanos);
+    }
+
+    /**
+     * Makes an independent copy of the unit.
+     *
+     * @param entity The unit
+     * @return       The copy
+     * @throws IOException If the unit cannot be copied
+     */
+    public static Entity copy(Entity entity) throws IOException {
+        return capture(entity).restore();
+    }
+
+    /**
+     * Builds a new copy of the unit as it was when the snapshot was captured. This can be called from
+     * any thread, and each call returns a different copy.
+     *
+     * @return The copy
+     * @throws IOException If the unit cannot be reconstructed
+     */
+    public Entity restore() throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            Entity entity = (Entity) in.readObject();
+            entity.restore();
+            return entity;
+        } catch (ClassNotFoundException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * @return The unit the snapshot was captured from
+     */
+    public Entity getSource() {
+        return source;
+    }
+
+    /**
+     * @return The size of the serialized unit in bytes
+     */
+    public int size() {
+        return data.length;
+    }
+
+    /**
+     * @return The time taken to capture the snapshot, in nanoseconds
+     */
+    public long getCaptureNanos() {
+        return captureNanos;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import megamek.common.AmmoType;
+import megamek.common.EquipmentType;
+import megamek.common.MiscType;
+import megamek.common.WeaponType;
+import megamek.common.weapons.artillery.ArtilleryCannonWeapon;
+import megamek.common.weapons.artillery.ArtilleryWeapon;
+import megamek.common.weapons.autocannons.ACWeapon;
+import megamek.common.weapons.autocannons.HVACWeapon;
+import megamek.common.weapons.autocannons.LBXACWeapon;
+import megamek.common.weapons.autocannons.RACWeapon;
+import megamek.common.weapons.autocannons.RifleWeapon;
+import megamek.common.weapons.autocannons.UACWeapon;
+import megamek.common.weapons.gaussrifles.GaussWeapon;
+import megamek.common.weapons.infantry.InfantryWeapon;
+
+/**
+ * The equipment lists used by the editors' equipment tables, built once after the equipment types are
+ * initialized and shared by every editor instead of each tab copying {@link EquipmentType#getAllTypes()}
+ * into its own list. The lists cannot be modified.
+ *
+ * Only selections that depend on the equipment alone are kept here. Whether a piece of equipment can be
+ * mounted on a particular unit depends on that unit's configuration and is still checked by the tabs'
+ * filters.
+ */
+public class EquipmentCatalog {
+
+    private static EquipmentCatalog instance;
+
+    private final List<EquipmentType> allTypes;
+    private final List<EquipmentType> infantryWeapons;
+    private final List<EquipmentType> fieldGuns;
+    private final List<EquipmentType> infantryArmorKits;
+
+    private EquipmentCatalog() {
+        List<EquipmentType> all = new ArrayList<>();
+        List<EquipmentType> infWeapons = new ArrayList<>();
+        List<EquipmentType> guns = new ArrayList<>();
+        List<EquipmentType> armorKits = new ArrayList<>();
+        for (Enumeration<EquipmentType> e = EquipmentType.getAllTypes(); e.hasMoreElements(); ) {
+            final EquipmentType eq = e.nextElement();
+            all.add(eq);
+            if (eq instanceof InfantryWeapon) {
+                infWeapons.add(eq);
+            }
+            if (isFieldGun(eq)) {
+                guns.add(eq);
+            }
+            if (eq.hasFlag(MiscType.F_ARMOR_KIT)) {
+                armorKits.add(eq);
+            }
+        }
+        allTypes = Collections.unmodifiableList(all);
+        infantryWeapons = Collections.unmodifiableList(infWeapons);
+        fieldGuns = Collections.unmodifiableList(guns);
+        infantryArmorKits = Collections.unmodifiableList(armorKits);
+    }
+
+    /**
+     * @return The catalog, which is built on the first call. This must not be called before
+     *         {@link EquipmentType#initializeTypes()}.
+     */
+    public static synchronized EquipmentCatalog getInstance() {
+        if (null == instance) {
+            instance = new EquipmentCatalog();
+        }
+        return instance;
+    }
+
+    /**
+     * @return All equipment types
+     */
+    public List<EquipmentType> getAllTypes() {
+        return allTypes;
+    }
+
+    /**
+     * @return The weapons that can be carried by conventional infantry
+     */
+    public List<EquipmentType> getInfantryWeapons() {
+        return infantryWeapons;
+    }
+
+    /**
+     * @return The weapons that can be used as conventional infantry field guns
+     */
+    public List<EquipmentType> getFieldGuns() {
+        return fieldGuns;
+    }
+
+    /**
+     * @return The armor kits available to conventional infantry
+     */
+    public List<EquipmentType> getInfantryArmorKits() {
+        return infantryArmorKits;
+    }
+
+    private static boolean isFieldGun(EquipmentType eq) {
+        if (!(eq instanceof WeaponType) || ((WeaponType) eq).isCapital()) {
+            return false;
+        }
+        final int ammoType = ((WeaponType) eq).getAmmoType();
+        if (((eq instanceof ACWeapon) && !(eq instanceof HVACWeapon))
+                || (eq instanceof RACWeapon)
+                || (eq instanceof UACWeapon)
+                || (eq instanceof RifleWeapon)
+                || (eq instanceof ArtilleryCannonWeapon)
+                || (eq instanceof LBXACWeapon)) {
+            return true;
+        }
+        if ((eq instanceof GaussWeapon)
+                && (ammoType != AmmoType.T_GAUSS_HEAVY)
+                && (ammoType != AmmoType.T_IGAUSS_HEAVY)
+                && (ammoType != AmmoType.T_MAGSHOT)
+                && (ammoType != AmmoType.T_HAG)) {
+            return true;
+        }
+        return (eq instanceof ArtilleryWeapon)
+                && !eq.hasFlag(WeaponType.F_BA_WEAPON)
+                && (ammoType != AmmoType.T_CRUISE_MISSILE);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import megamek.common.Entity;
+import megamek.common.Mounted;
+import megamek.common.annotations.Nullable;
+
+/**
+ * Looks up the position of a mount in the unit's equipment list without searching the list.
+ * {@link Entity#getEquipmentNum(Mounted)} scans the list each time it is called, which adds up
+ * for the weapon bay code: bays refer to their weapons and ammo by equipment number, so each
+ * drag over the bay tree and each move into or out of a bay looks up several mounts.
+ *
+ * The index is built from the equipment list the first time a unit is queried and is kept for
+ * the few units most recently queried. Equipment added to the end of the list is picked up the
+ * first time it is looked up. Removing equipment moves everything after it, so
+ * {@link UnitUtil#removeMounteds(Entity, java.util.Collection)} and the other {@link UnitUtil} methods
+ * that take mounts out of the list discard the index for the unit, and code that removes or reorders
+ * equipment directly should call {@link #invalidate(Entity)}. Each result is checked against the list
+ * before it is returned, so a mount whose position has changed without the index being discarded is
+ * found by searching the list and the index is rebuilt.
+ */
+public class EquipmentIndex {
+
+    /** The number of units that indices are kept for */
+    private static final int CACHE_SIZE = 4;
+
+    private static final EquipmentIndex[] cache = new EquipmentIndex[CACHE_SIZE];
+
+    private final Entity entity;
+    private final Map<Mounted, Integer> positions = new IdentityHashMap<>();
+    /** The length of the equipment list when the index was last brought up to date */
+    private int indexedSize;
+
+    private EquipmentIndex(Entity entity) {
+        this.entity = entity;
+        rebuild();
+    }
+
+    /**
+     * Finds the equipment number of the mount.
+     *
+     * @param entity  The unit
+     * @param mounted The mount
+     * @return        The index of the mount in the unit's equipment list, or -1 if it is not in the list
+     */
+    public static int getEquipmentNum(Entity entity, @Nullable Mounted mounted) {
+        if (null == mounted) {
+            return -1;
+        }
+        synchronized (cache) {
+            return get(entity).find(mounted);
+        }
+    }
+
+    /**
+     * Discards the index for the unit after its equipment list has been changed.
+     */
+    public static void invalidate(Entity entity) {
+        synchronized (cache) {
+            for (int i = 0; i < cache.length; i++) {
+                if ((null != cache[i]) && (cache[i].entity == entity)) {
+                    cache[i] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the index for the unit, creating it if necessary, and moves it to the front of the cache.
+     */
+    private static EquipmentIndex get(Entity entity) {
+        int pos = 0;
+        while ((pos < cache.length - 1) && ((null == cache[pos]) || (cache[pos].entity != entity))) {
+            pos++;
+        }
+        EquipmentIndex index = cache[pos];
+        if ((null == index) || (index.entity != entity)) {
+            index = new EquipmentIndex(entity);
+        }
+        System.arraycopy(cache, 0, cache, 1, pos);
+        cache[0] = index;
+        return index;
+    }
+
+    private int find(Mounted mounted) {
+        final List<Mounted> equipment = entity.getEquipment();
+        Integer pos = positions.get(mounted);
+        if ((null != pos) && (pos < equipment.size()) && (equipment.get(pos) == mounted)) {
+            return pos;
+        }
+        // Check whether the mount has been added since the index was last updated
+        for (int i = indexedSize; i < equipment.size(); i++) {
+            positions.putIfAbsent(equipment.get(i), i);
+        }
+        indexedSize = Math.max(indexedSize, equipment.size());
+        pos = positions.get(mounted);
+        if ((null != pos) && (pos < equipment.size()) && (equipment.get(pos) == mounted)) {
+            return pos;
+        }
+        // Either the mount is not on the unit or the list has changed since the index was built
+        int num = entity.getEquipmentNum(mounted);
+        if (num >= 0) {
+            rebuild();
+        }
+        return num;
+    }
+
+    private void rebuild() {
+        positions.clear();
+        final List<Mounted> equipment = entity.getEquipment();
+        for (int i = 0; i < equipment.size(); i++) {
+            positions.putIfAbsent(equipment.get(i), i);
+        }
+        indexedSize = equipment.size();
+    }
+}
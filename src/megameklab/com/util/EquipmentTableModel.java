@@ -21,7 +21,9 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 
 import javax.swing.JTable;
 import javax.swing.SwingConstants;
@@ -45,6 +47,11 @@ import megamek.common.weapons.mortars.MekMortarWeapon;
  * be used as the model for the equipment tab. It will be a sortable, filterable
  * table of equipment, similar to the tables in MHQ
  *
+ * The value of each cell is calculated the first time it is requested and kept, along with the keys
+ * used to sort it, until the data or the unit and tech settings the values depend on change. The
+ * owner should call {@link #refreshContext()} before filtering or sorting the table after the unit
+ * may have changed.
+ *
  * @author Jay lawson
  */
 public class EquipmentTableModel extends AbstractTableModel {
@@ -77,10 +84,22 @@ public class EquipmentTableModel extends AbstractTableModel {
     public final static int COL_REF = 21;
     public final static int N_COL = 22;
 
-    private ArrayList<EquipmentType> data = new ArrayList<>();
+    private final static int SORT_TEXT = 0;
+    private final static int SORT_NUMBER = 1;
+    private final static int SORT_RANGE_DAMAGE = 2;
+    private final static int SORT_DATE = 3;
+    private final static int SORT_REFERENCE = 4;
+
+    private List<EquipmentType> data = new ArrayList<>();
     private Entity entity;
     final private ITechManager techManager;
 
+    /** The cached cell values, by column and then by row. Columns are allocated when first used. */
+    private final CellValue[][] values = new CellValue[N_COL][];
+    private long contextKey;
+    private final DecimalFormat formatter = new DecimalFormat();
+    private final NumberFormat numberFormat = NumberFormat.getInstance();
+
     public EquipmentTableModel(Entity e, ITechManager techManager) {
         entity = e;
         this.techManager = techManager;
@@ -182,10 +201,17 @@ public class EquipmentTableModel extends AbstractTableModel {
     }
 
     public Comparator<?> getSorter(int col) {
+        if (getSortType(col) == SORT_TEXT) {
+            return TEXT_SORTER;
+        }
+        return KEY_SORTER;
+    }
+
+    private static int getSortType(int col) {
         switch(col) {
             case COL_DAMAGE:
             case COL_RANGE:
-                return RANGE_DAMAGE_SORTER;
+                return SORT_RANGE_DAMAGE;
             case COL_HEAT:
             case COL_MRANGE:
             case COL_TON:
@@ -193,17 +219,17 @@ public class EquipmentTableModel extends AbstractTableModel {
             case COL_COST:
             case COL_SHOTS:
             case COL_BV:
-                return NUMBER_SORTER;
+                return SORT_NUMBER;
             case COL_DPROTOTYPE:
             case COL_DPRODUCTION:
             case COL_DCOMMON:
             case COL_DEXTINCT:
             case COL_DREINTRO:
-                return Comparator.comparingInt(EquipmentTableModel::parseDate);
+                return SORT_DATE;
             case COL_REF:
-                return REFERENCE_SORTER;
+                return SORT_REFERENCE;
             default:
-                return Comparator.naturalOrder();
+                return SORT_TEXT;
         }
     }
 
@@ -225,22 +251,76 @@ public class EquipmentTableModel extends AbstractTableModel {
     }
 
     // fill table with values
-    public void setData(ArrayList<EquipmentType> equip) {
+    public void setData(List<EquipmentType> equip) {
         data = equip;
+        clearCache();
         fireTableDataChanged();
     }
 
+    /**
+     * Checks whether any of the values the cells depend on have changed since they were calculated:
+     * the unit's weight, tech base, omni status, and the configuration that equipment weight, slots, and cost
+     * depend on (motive type, weight class, and engine), the year and faction used for the tech level, and the
+     * configuration.
+     * If so, the cached values are discarded. This does not notify listeners; it is meant to be called
+     * before the table is filtered, which sorts and repaints it.
+     */
+    public void refreshContext() {
+        final long key = getContextKey();
+        if (key != contextKey) {
+            contextKey = key;
+            clearCache();
+        }
+    }
+
+    private long getContextKey() {
+        long h = System.identityHashCode(entity);
+        h = 31 * h + Double.doubleToLongBits(entity.getWeight());
+        h = 31 * h + (entity.isClan() ? 1 : 0);
+        h = 31 * h + (entity.isMixedTech() ? 1 : 0);
+        h = 31 * h + (entity.isSupportVehicle() ? 1 : 0);
+        h = 31 * h + (entity.isOmni() ? 1 : 0);
+        h = 31 * h + (entity.isSuperHeavy() ? 1 : 0);
+        h = 31 * h + entity.getWeightClass();
+        h = 31 * h + entity.getMovementMode().ordinal();
+        if (entity.hasEngine()) {
+            h = 31 * h + entity.getEngine().getEngineType();
+            h = 31 * h + entity.getEngine().getRating();
+        }
+        h = 31 * h + CConfig.getVersion();
+        if (null != techManager) {
+            h = 31 * h + techManager.getGameYear();
+            h = 31 * h + (techManager.useClanTechBase() ? 1 : 0);
+            h = 31 * h + techManager.getTechFaction();
+        }
+        return h;
+    }
+
+    private void clearCache() {
+        Arrays.fill(values, null);
+    }
+
     @Override
     public Object getValueAt(int row, int col) {
-        EquipmentType type;
-        WeaponType wtype = null;
-        AmmoType atype = null;
-        MiscType mtype = null;
         if (data.isEmpty()) {
             return "";
-        } else {
-            type = data.get(row);
         }
+        CellValue[] column = values[col];
+        if ((null == column) || (column.length != data.size())) {
+            column = new CellValue[data.size()];
+            values[col] = column;
+        }
+        if (null == column[row]) {
+            column[row] = createCellValue(calculateValueAt(row, col), getSortType(col));
+        }
+        return column[row];
+    }
+
+    private Object calculateValueAt(int row, int col) {
+        EquipmentType type = data.get(row);
+        WeaponType wtype = null;
+        AmmoType atype = null;
+        MiscType mtype = null;
         if (type instanceof WeaponType) {
             wtype = (WeaponType) type;
         }
@@ -250,7 +330,6 @@ public class EquipmentTableModel extends AbstractTableModel {
         if (type instanceof MiscType) {
             mtype = (MiscType) type;
         }
-        DecimalFormat formatter = new DecimalFormat();
 
         if (col == COL_NAME) {
             return UnitUtil.trimInfantryWeaponNames(type.getName());
@@ -550,55 +629,106 @@ public class EquipmentTableModel extends AbstractTableModel {
     }
 
     /**
-     * Comparator for numeric columns. Non-numeric values such as "variable" or "special" are sorted
-     * alphabetically and placed at the end (if in descending order). Strings ending in "kg" are parsed
-     * as numbers and converted to tons.
+     * Creates the cached value for a cell, parsing the keys used to sort it from the value.
+     *
+     * @param value    The value calculated for the cell
+     * @param sortType How the column is sorted
+     * @return         The value to store in the cache
+     */
+    private CellValue createCellValue(Object value, int sortType) {
+        final String text = (null == value) ? "" : value.toString();
+        switch (sortType) {
+            case SORT_NUMBER:
+                return new CellValue(text, new String[] { text },
+                        new double[] { (value instanceof Number) ? ((Number) value).doubleValue() : parseNumber(text) },
+                        null);
+            case SORT_RANGE_DAMAGE: {
+                final String[] parts = text.split("/");
+                final double[] numbers = new double[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    numbers[i] = parseNumber(parts[i]);
+                }
+                return new CellValue(text, parts, numbers, null);
+            }
+            case SORT_DATE:
+                return new CellValue(text, new String[] { text }, new double[] { parseDate(text) }, null);
+            case SORT_REFERENCE: {
+                final String[] r = text.split(",\\s*");
+                return new CellValue(text, new String[] { r[0] }, new double[] { parseNumber(r[0]) },
+                        (r.length > 1) ? r[1] : null);
+            }
+            default:
+                return new CellValue(text, null, null, null);
+        }
+    }
+
+    /**
+     * Parses the value of a numeric column. Strings ending in "kg" are converted to tons.
+     *
+     * @param text The text of the value
+     * @return     The number, or -1 if the text does not represent a number
      */
-    private static final Comparator<Object> NUMBER_SORTER = (o1, o2) -> {
-        double d1 = -1.0;
-        double d2 = -1.0;
+    private double parseNumber(String text) {
         try {
-            if (o1 instanceof Number) {
-                // Simplest processing of Integer and Double
-                d1 = ((Number) o1).doubleValue();
-            } else if (o1.toString().endsWith("kg")) {
+            if (text.endsWith("kg")) {
                 // Convert kg values to tons
-                d1 = Double.parseDouble(o1.toString().replace("kg", "").trim()) / 1000.0;
+                return Double.parseDouble(text.replace("kg", "").trim()) / 1000.0;
             } else {
                 // Handle potentially commafied number
-                d1 = NumberFormat.getInstance().parse(o1.toString()).doubleValue();
+                return numberFormat.parse(text).doubleValue();
             }
         } catch (NumberFormatException | ParseException ignored) {
             // Not a representation of a number; sort alphabetically
+            return -1.0;
         }
-        try {
-            if (o2 instanceof Number) {
-                d2 = ((Number) o2).doubleValue();
-            } else if (o2.toString().endsWith("kg")) {
-                d2 = Double.parseDouble(o2.toString().replace("kg", "").trim()) / 1000.0;
-            } else {
-                d2 = NumberFormat.getInstance().parse(o2.toString()).doubleValue();
-            }
-        } catch (NumberFormatException | ParseException ignored) {
-            // Not a representation of a number; sort alphabetically
+    }
+
+    /**
+     * The cached value of a cell. The text is shown in the table and the other fields are the keys
+     * used to sort it, which are parsed once when the value is calculated so that sorting does not
+     * need to parse or create anything.
+     */
+    private static class CellValue {
+        final String text;
+        /** The values separated by slashes, or the page number of a reference */
+        final String[] parts;
+        /** The numeric value of each part, or -1 if it is not a number */
+        final double[] numbers;
+        /** The work a reference is found in */
+        final String work;
+
+        CellValue(String text, String[] parts, double[] numbers, String work) {
+            this.text = text;
+            this.parts = parts;
+            this.numbers = numbers;
+            this.work = work;
         }
-        if ((d1 < 0) && (d2 < 0)) {
-            return o1.toString().compareToIgnoreCase(o2.toString());
-        } else {
-            return Double.compare(d1, d2);
+
+        @Override
+        public String toString() {
+            return text;
         }
-    };
+    }
+
+    private static final Comparator<CellValue> TEXT_SORTER = (v1, v2) -> v1.text.compareTo(v2.text);
 
     /**
-     * Sorter for a series of one or more values separated by slashes. This handles weapon ranges
-     * and also deals with multiple damage values.
+     * Comparator for the numeric, range and damage, date, and reference columns. References are sorted
+     * by the work first, then the page number. Values with more than one part separated by slashes are
+     * compared part by part. Non-numeric parts such as "variable" or "special" are sorted alphabetically
+     * and placed at the end (if in descending order).
      */
-    private static final Comparator<String> RANGE_DAMAGE_SORTER = (s1, s2) -> {
-        String[] r1 = s1.split("/");
-        String[] r2 = s2.split("/");
+    private static final Comparator<CellValue> KEY_SORTER = (v1, v2) -> {
+        if ((null != v1.work) && (null != v2.work) && !v1.work.equals(v2.work)) {
+            return v1.work.compareTo(v2.work);
+        }
         int retVal = 0;
-        for (int i = 0; i < Math.min(r1.length, r2.length); i++) {
-            retVal = NUMBER_SORTER.compare(r1[i], r2[i]);
+        for (int i = 0; i < Math.min(v1.parts.length, v2.parts.length); i++) {
+            if ((v1.numbers[i] < 0) && (v2.numbers[i] < 0)) {
+                retVal = v1.parts[i].compareToIgnoreCase(v2.parts[i]);
+            } else {
+                retVal = Double.compare(v1.numbers[i], v2.numbers[i]);
+            }
             if (retVal != 0) {
                 break;
             }
@@ -606,19 +736,6 @@ public class EquipmentTableModel extends AbstractTableModel {
         return retVal;
     };
 
-    /**
-     * Sorter for reference column. References give the page number then the work separated by a comma.
-     * Sorts by the work first, then the page number.
-     */
-    private static final Comparator<String> REFERENCE_SORTER = (s1, s2) -> {
-        String[] r1 = s1.split(",\\s*");
-        String[] r2 = s2.split(",\\s*");
-        if ((r1.length > 1) && (r2.length > 1) && !r1[1].equals(r2[1])) {
-            return r1[1].compareTo(r2[1]);
-        }
-        return NUMBER_SORTER.compare(r1[0], r2[0]);
-    };
-
     /**
      * Converts an entry in the tech advancement table to an integer year for sorting.
      *
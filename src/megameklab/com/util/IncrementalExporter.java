@@ -0,0 +1,693 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.awt.print.PageFormat;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import megamek.MegaMek;
+import megamek.common.BattleArmor;
+import megamek.common.Entity;
+import megamek.common.EntityMovementMode;
+import megamek.common.Infantry;
+import megamek.common.Mech;
+import megamek.common.MechFileParser;
+import megamek.common.Protomech;
+import megamek.common.Tank;
+import megamek.common.annotations.Nullable;
+import megameklab.com.MegaMekLab;
+import megameklab.com.printing.PrintRecordSheet;
+import megameklab.com.printing.RecordSheetOptions;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+
+/**
+ * Exports the record sheets for a set of unit files to a single PDF, keeping each rendered sheet in a
+ * cache directory so that the next export only renders the sheets whose units have changed.
+ *
+ * Each sheet is identified by a hash of the content of the files for the units on it, the record sheet
+ * options, the record sheet templates, and the version and build of MegaMekLab and MegaMek. The cache
+ * directory holds one PDF per sheet named for that hash, and a manifest that records the type of record
+ * sheet each unit file needs and the files on each sheet. A file whose content is found in the manifest is
+ * only parsed if its sheet has to be rendered, so an export with few changes reads every file but parses
+ * few of them.
+ *
+ * Vehicles are printed two to a sheet, and battle armor, infantry and protomechs in groups. The files on
+ * each of these sheets are remembered, and the next export puts them on the same sheet again if they are
+ * all still there, so adding or removing a file changes at most the sheet it was on and the sheet that
+ * new files are added to. Files that are new, or whose sheet lost a file, fill the sheets that have room
+ * in order of their paths before new sheets are started. The sheets are written in the order of the
+ * first file on each. Cached sheets that are not used by an export are removed from the cache when it
+ * finishes.
+ */
+public class IncrementalExporter {
+
+    public interface ProgressListener {
+        /**
+         * Called from the thread running the export as work is completed.
+         *
+         * @param stage     A description of what is being done
+         * @param completed The number of steps completed in this stage
+         * @param total     The number of steps in this stage
+         */
+        void progress(String stage, int completed, int total);
+    }
+
+    /**
+     * The kind of record sheet a unit is printed on, and the number of units that share a sheet. This
+     * follows the grouping of {@link UnitPrintManager#createSheets(List, boolean, RecordSheetOptions, List)}.
+     */
+    enum SheetType {
+        SINGLE(1), VEHICLE(2), BATTLE_ARMOR(5), INFANTRY(4), PROTOMECH(5), UNSUPPORTED(0);
+
+        private final int capacity;
+
+        SheetType(int capacity) {
+            this.capacity = capacity;
+        }
+
+        static SheetType of(Entity unit) {
+            if (unit instanceof Mech) {
+                return SINGLE;
+            } else if (unit instanceof Tank) {
+                if ((unit.getMovementMode() == EntityMovementMode.NAVAL)
+                        || (unit.getMovementMode() == EntityMovementMode.SUBMARINE)
+                        || (unit.getMovementMode() == EntityMovementMode.HYDROFOIL)) {
+                    return SINGLE;
+                }
+                return VEHICLE;
+            } else if (unit.hasETypeFlag(Entity.ETYPE_AERO)) {
+                return SINGLE;
+            } else if (unit instanceof BattleArmor) {
+                return BATTLE_ARMOR;
+            } else if (unit instanceof Infantry) {
+                return INFANTRY;
+            } else if (unit instanceof Protomech) {
+                return PROTOMECH;
+            }
+            return UNSUPPORTED;
+        }
+
+        /**
+         * @return The sheet type recorded in the manifest, or null if it is missing or not recognized
+         */
+        static @Nullable SheetType parse(@Nullable String name) {
+            for (SheetType type : values()) {
+                if (type.name().equals(name)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static final String MANIFEST_FILE = "manifest.properties";
+    private static final String TEMPLATE_DIRECTORY = "data/images/recordsheets";
+    private static final String HASH_ALGORITHM = "SHA-256";
+    /** Manifest keys for the sheet type of a unit file, by the hash of the file */
+    private static final String UNIT_PREFIX = "unit.";
+    /** Manifest keys for the sheet type and files of a cached sheet, by the hash of the sheet */
+    private static final String SHEET_PREFIX = "sheet.";
+    private static final String SEPARATOR = "\t";
+
+    private final File cacheDir;
+    private volatile boolean cancelled = false;
+
+    /**
+     * @param cacheDir The directory that holds the rendered sheets and the manifest. It is created if it
+     *                 does not exist.
+     */
+    public IncrementalExporter(File cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * @return The cache directory used for an export file when no other is given
+     */
+    public static File getDefaultCacheDir(File exportFile) {
+        return new File(exportFile.getPath() + ".cache");
+    }
+
+    /**
+     * Stops the export at the next opportunity. The sheets that were rendered before it stopped are
+     * kept in the cache and the export file is not written.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Renders any sheets that are not in the cache and writes all the sheets to the export file.
+     *
+     * @param unitFiles   The unit files, in the order they should appear
+     * @param exportFile  The PDF file to write
+     * @param singlePrint Whether to limit each record sheet to a single unit
+     * @param options     The record sheet options
+     * @param listener    Notified of progress; may be null
+     * @return            A summary of the export
+     * @throws IOException If the cache or the export file cannot be written
+     */
+    public Summary export(List<File> unitFiles, File exportFile, boolean singlePrint,
+                          RecordSheetOptions options, ProgressListener listener) throws IOException {
+        final long start = System.nanoTime();
+        final Summary summary = new Summary(unitFiles.size());
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            throw new IOException("Unable to create " + cacheDir);
+        }
+        final Properties manifest = loadManifest();
+        final Properties newManifest = new Properties();
+
+        // Hash the files, and parse the ones that are not in the manifest to find their sheet type
+        final List<UnitFile> units = new ArrayList<>();
+        for (int i = 0; i < unitFiles.size(); i++) {
+            units.add(new UnitFile(unitFiles.get(i), i));
+        }
+        load(units, true, manifest, summary, listener);
+        if (cancelled) {
+            summary.finish(start, true);
+            return summary;
+        }
+        final List<UnitFile> printable = new ArrayList<>();
+        for (UnitFile unit : units) {
+            if (null == unit.type) {
+                continue;
+            }
+            newManifest.setProperty(UNIT_PREFIX + unit.hash, unit.type.name());
+            if (unit.type == SheetType.UNSUPPORTED) {
+                summary.errors.put(unit.file, "Record sheet not supported");
+            } else {
+                printable.add(unit);
+            }
+        }
+
+        final List<Sheet> sheets = groupSheets(printable, singlePrint, manifest);
+        summary.sheets = sheets.size();
+
+        final String baseKey = options.getSignature()
+                + ";singlePrint=" + singlePrint
+                + ";font=" + CConfig.getParam(CConfig.RS_FONT, "")
+                + ";templates=" + getTemplateFingerprint(new File(TEMPLATE_DIRECTORY))
+                + ";version=" + MegaMekLab.VERSION
+                + ";build=" + getBuildFingerprint(MegaMekLab.class)
+                + ";megamek=" + MegaMek.VERSION
+                + ";megamekBuild=" + getBuildFingerprint(MegaMek.class);
+        final List<UnitFile> toParse = new ArrayList<>();
+        for (Sheet sheet : sheets) {
+            final StringBuilder key = new StringBuilder(baseKey).append(";sheet=").append(sheet.type.name());
+            for (UnitFile unit : sheet.units) {
+                key.append(';').append(unit.hash);
+            }
+            sheet.hash = hash(key.toString().getBytes(StandardCharsets.UTF_8));
+            sheet.file = new File(cacheDir, sheet.hash + ".pdf");
+            if (!manifest.containsKey(SHEET_PREFIX + sheet.hash) || !sheet.file.isFile()) {
+                sheet.render = true;
+                sheet.units.stream().filter(u -> null == u.entity).forEach(toParse::add);
+            }
+        }
+
+        // Parse the files for the sheets that have to be rendered
+        load(toParse, false, manifest, summary, listener);
+
+        final PageFormat pageFormat = new PageFormat();
+        pageFormat.setPaper(options.getPaperSize().createPaper());
+        final List<File> sheetFiles = new ArrayList<>();
+        for (int i = 0; i < sheets.size(); i++) {
+            if (cancelled) {
+                break;
+            }
+            final Sheet sheet = sheets.get(i);
+            if (!sheet.render) {
+                summary.reused++;
+            } else if (sheet.units.stream().anyMatch(u -> null == u.entity)) {
+                // The files that failed have their errors already; report the others on the sheet
+                for (UnitFile unit : sheet.units) {
+                    summary.errors.putIfAbsent(unit.file, "Shares a record sheet with a file that could not be loaded");
+                }
+                continue;
+            } else {
+                if (null != listener) {
+                    listener.progress("Rendering " + sheet.getDescription(), i, sheets.size());
+                }
+                try {
+                    final List<Entity> entities = new ArrayList<>();
+                    sheet.units.forEach(u -> entities.add(u.entity));
+                    renderSheets(UnitPrintManager.createSheets(entities, singlePrint, options, new ArrayList<>()),
+                            pageFormat, sheet.file);
+                    summary.rendered++;
+                } catch (Exception ex) {
+                    MegaMekLab.getLogger().error(IncrementalExporter.class,
+                            "export(List<File>, File, boolean, RecordSheetOptions, ProgressListener)", ex);
+                    for (UnitFile unit : sheet.units) {
+                        summary.errors.put(unit.file, (null == ex.getMessage()) ? ex.toString()
+                                : ex.getMessage());
+                    }
+                    continue;
+                }
+            }
+            newManifest.setProperty(SHEET_PREFIX + sheet.hash, sheet.getMembers());
+            sheetFiles.add(sheet.file);
+        }
+
+        if (cancelled) {
+            // Keep everything that was in the cache along with the new sheets
+            manifest.putAll(newManifest);
+            saveManifest(manifest);
+            summary.finish(start, true);
+            return summary;
+        }
+
+        if (null != listener) {
+            listener.progress("Writing " + exportFile.getName(), sheets.size(), sheets.size());
+        }
+        PDFMergerUtility merger = new PDFMergerUtility();
+        merger.setDestinationFileName(exportFile.getAbsolutePath());
+        for (File sheetFile : sheetFiles) {
+            merger.addSource(sheetFile);
+        }
+        if (!sheetFiles.isEmpty()) {
+            merger.mergeDocuments(MemoryUsageSetting.setupTempFileOnly());
+        }
+        saveManifest(newManifest);
+        removeUnusedSheets(newManifest);
+        summary.finish(start, false);
+        return summary;
+    }
+
+    /**
+     * Reads the files several at a time. When hashing, each file is hashed and only parsed if the
+     * manifest does not record its sheet type; otherwise each file is parsed.
+     */
+    private void load(List<UnitFile> units, boolean hashing, Properties manifest, Summary summary,
+                      ProgressListener listener) {
+        if (units.isEmpty()) {
+            return;
+        }
+        final int threads = Math.max(1, Math.min(units.size(), Runtime.getRuntime().availableProcessors()));
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Incremental Export " + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (UnitFile unit : units) {
+                futures.add(executor.submit(() -> {
+                    if (hashing) {
+                        unit.hash = hash(Files.readAllBytes(unit.file.toPath()));
+                        unit.type = SheetType.parse(manifest.getProperty(UNIT_PREFIX + unit.hash));
+                        if (null != unit.type) {
+                            return null;
+                        }
+                    }
+                    unit.entity = new MechFileParser(unit.file).getEntity();
+                    unit.type = SheetType.of(unit.entity);
+                    summary.parsed.incrementAndGet();
+                    return null;
+                }));
+            }
+            for (int i = 0; (i < futures.size()) && !cancelled; i++) {
+                final UnitFile unit = units.get(i);
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException ex) {
+                    MegaMekLab.getLogger().error(IncrementalExporter.class, "load()", ex.getCause());
+                    unit.type = null;
+                    summary.errors.put(unit.file, (null == ex.getCause().getMessage()) ? ex.getCause().toString()
+                            : ex.getCause().getMessage());
+                }
+                if (null != listener) {
+                    listener.progress((hashing ? "Reading " : "Loading ") + unit.file.getName(),
+                            i + 1, futures.size());
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            cancelled = true;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Assigns the units to sheets, putting units that shared a sheet in the last export on the same
+     * sheet again.
+     *
+     * @return The sheets, in the order of the first unit on each
+     */
+    private List<Sheet> groupSheets(List<UnitFile> units, boolean singlePrint, Properties manifest) {
+        final List<Sheet> sheets = new ArrayList<>();
+        final Map<SheetType, List<Sheet>> shared = new EnumMap<>(SheetType.class);
+        final Map<String, UnitFile> byPath = new HashMap<>();
+        for (UnitFile unit : units) {
+            if (singlePrint || (unit.type.capacity == 1)) {
+                sheets.add(new Sheet(unit.type, unit));
+            } else {
+                byPath.put(unit.path, unit);
+            }
+        }
+
+        // Rebuild the previous sheets from the files that are still there
+        final List<String> previous = new ArrayList<>();
+        for (String key : manifest.stringPropertyNames()) {
+            if (key.startsWith(SHEET_PREFIX)) {
+                previous.add(manifest.getProperty(key));
+            }
+        }
+        Collections.sort(previous);
+        for (String members : previous) {
+            final String[] fields = members.split(SEPARATOR);
+            final SheetType type = SheetType.parse(fields[0]);
+            if (null == type) {
+                continue;
+            }
+            final Sheet sheet = new Sheet(type);
+            for (int i = 1; i < fields.length; i++) {
+                final UnitFile unit = byPath.get(fields[i]);
+                if ((null != unit) && (unit.type == sheet.type) && (sheet.units.size() < sheet.type.capacity)) {
+                    sheet.units.add(unit);
+                    byPath.remove(fields[i]);
+                }
+            }
+            if (!sheet.units.isEmpty()) {
+                shared.computeIfAbsent(sheet.type, t -> new ArrayList<>()).add(sheet);
+            }
+        }
+
+        // Fill the sheets that have room with the remaining units, then start new ones
+        final List<UnitFile> remaining = new ArrayList<>(byPath.values());
+        remaining.sort(Comparator.comparing(u -> u.path));
+        for (UnitFile unit : remaining) {
+            final List<Sheet> list = shared.computeIfAbsent(unit.type, t -> new ArrayList<>());
+            Sheet sheet = list.stream().filter(s -> s.units.size() < s.type.capacity).findFirst().orElse(null);
+            if (null == sheet) {
+                sheet = new Sheet(unit.type);
+                list.add(sheet);
+            }
+            sheet.units.add(unit);
+        }
+        for (List<Sheet> list : shared.values()) {
+            for (Sheet sheet : list) {
+                sheet.units.sort(Comparator.comparingInt(u -> u.index));
+                sheets.add(sheet);
+            }
+        }
+        sheets.sort(Comparator.comparingInt(s -> s.units.get(0).index));
+        return sheets;
+    }
+
+    /**
+     * Writes all the pages of the sheets to a PDF file. The file is written under a temporary name and
+     * renamed when complete so that an interrupted export does not leave a partial sheet in the cache.
+     */
+    private void renderSheets(List<PrintRecordSheet> sheets, PageFormat pageFormat, File sheetFile)
+            throws Exception {
+        if (sheets.isEmpty()) {
+            throw new IllegalStateException("No record sheet created for " + sheetFile.getName());
+        }
+        final File tmp = new File(sheetFile.getPath() + ".tmp");
+        PDFMergerUtility merger = new PDFMergerUtility();
+        merger.setDestinationFileName(tmp.getAbsolutePath());
+        for (PrintRecordSheet sheet : sheets) {
+            for (int i = 0; i < sheet.getPageCount(); i++) {
+                merger.addSource(sheet.exportPDF(i, pageFormat));
+            }
+        }
+        merger.mergeDocuments(MemoryUsageSetting.setupMainMemoryOnly());
+        Files.move(tmp.toPath(), sheetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Properties loadManifest() {
+        final Properties manifest = new Properties();
+        final File file = new File(cacheDir, MANIFEST_FILE);
+        if (file.isFile()) {
+            try (InputStream in = new FileInputStream(file)) {
+                manifest.load(in);
+            } catch (IOException ex) {
+                // Without the manifest every sheet is rendered again, which is slow but correct
+                MegaMekLab.getLogger().error(IncrementalExporter.class, "loadManifest()", ex);
+                manifest.clear();
+            }
+        }
+        return manifest;
+    }
+
+    private void saveManifest(Properties manifest) throws IOException {
+        final File file = new File(cacheDir, MANIFEST_FILE);
+        final File tmp = new File(cacheDir, MANIFEST_FILE + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            manifest.store(out, "Record sheets rendered by MegaMekLab " + MegaMekLab.VERSION);
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void removeUnusedSheets(Properties manifest) {
+        final File[] files = cacheDir.listFiles((dir, name) -> name.endsWith(".pdf"));
+        if (null == files) {
+            return;
+        }
+        final Set<String> used = new HashSet<>(manifest.stringPropertyNames());
+        for (File file : files) {
+            final String name = file.getName();
+            if (!used.contains(SHEET_PREFIX + name.substring(0, name.length() - 4)) && !file.delete()) {
+                MegaMekLab.getLogger().warning(IncrementalExporter.class, "removeUnusedSheets(Properties)",
+                        "Could not delete " + file);
+            }
+        }
+    }
+
+    /**
+     * Identifies the current version of the record sheet templates by the path, size and modification
+     * time of each file in the template directory.
+     */
+    static String getTemplateFingerprint(File dir) {
+        final StringBuilder sb = new StringBuilder();
+        addTemplateFiles(dir, "", sb);
+        return hash(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void addTemplateFiles(File dir, String path, StringBuilder sb) {
+        final File[] files = dir.listFiles();
+        if (null == files) {
+            return;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            if (file.isDirectory()) {
+                addTemplateFiles(file, path + file.getName() + "/", sb);
+            } else {
+                sb.append(path).append(file.getName()).append(':').append(file.length())
+                        .append(':').append(file.lastModified()).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Identifies the build of the code that contains a class by the size and modification time of its
+     * jar, so that a rebuilt snapshot with the same version number does not reuse the cached sheets. When
+     * running from a directory of classes, the class file itself is used.
+     *
+     * @return The fingerprint, or an empty string if the location of the code is not available
+     */
+    static String getBuildFingerprint(Class<?> c) {
+        try {
+            final CodeSource source = c.getProtectionDomain().getCodeSource();
+            if ((null == source) || (null == source.getLocation())) {
+                return "";
+            }
+            File file = new File(source.getLocation().toURI());
+            if (file.isDirectory()) {
+                final URL classFile = c.getResource(c.getSimpleName() + ".class");
+                if (null == classFile) {
+                    return "";
+                }
+                file = new File(classFile.toURI());
+            }
+            return file.length() + ":" + file.lastModified();
+        } catch (URISyntaxException | IllegalArgumentException | SecurityException ex) {
+            MegaMekLab.getLogger().warning(IncrementalExporter.class, "getBuildFingerprint(Class)", ex.getMessage());
+            return "";
+        }
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            final byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(data);
+            final StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * A unit file and what is known about it.
+     */
+    private static class UnitFile {
+        private final File file;
+        private final String path;
+        /** The position of the file in the export */
+        private final int index;
+        private String hash;
+        /** The sheet type, or null if the file could not be loaded */
+        private SheetType type;
+        /** The unit, if the file has been parsed */
+        private Entity entity;
+
+        UnitFile(File file, int index) {
+            this.file = file;
+            this.path = file.getAbsolutePath();
+            this.index = index;
+        }
+    }
+
+    /**
+     * The units on one record sheet.
+     */
+    private static class Sheet {
+        private final SheetType type;
+        private final List<UnitFile> units = new ArrayList<>();
+        private String hash;
+        private File file;
+        private boolean render = false;
+
+        Sheet(SheetType type, UnitFile... units) {
+            this.type = type;
+            this.units.addAll(Arrays.asList(units));
+        }
+
+        String getDescription() {
+            return units.stream().map(u -> u.file.getName()).collect(Collectors.joining(", "));
+        }
+
+        /**
+         * @return The sheet type and the paths of the files, as recorded in the manifest
+         */
+        String getMembers() {
+            final StringBuilder sb = new StringBuilder(type.name());
+            units.forEach(u -> sb.append(SEPARATOR).append(u.path));
+            return sb.toString();
+        }
+    }
+
+    /**
+     * The outcome of an export.
+     */
+    public static class Summary {
+        private final int files;
+        private final Map<File, String> errors = new LinkedHashMap<>();
+        private int sheets = 0;
+        private int rendered = 0;
+        private int reused = 0;
+        private final AtomicInteger parsed = new AtomicInteger();
+        private long nanos = 0;
+        private boolean cancelled = false;
+
+        Summary(int files) {
+            this.files = files;
+        }
+
+        void finish(long start, boolean cancelled) {
+            nanos = System.nanoTime() - start;
+            this.cancelled = cancelled;
+        }
+
+        public int getFiles() {
+            return files;
+        }
+
+        /**
+         * @return The error message for each file that could not be loaded or rendered
+         */
+        public Map<File, String> getErrors() {
+            return errors;
+        }
+
+        public int getSheets() {
+            return sheets;
+        }
+
+        /**
+         * @return The number of sheets that were not in the cache and had to be rendered
+         */
+        public int getRendered() {
+            return rendered;
+        }
+
+        /**
+         * @return The number of sheets taken from the cache
+         */
+        public int getReused() {
+            return reused;
+        }
+
+        /**
+         * @return The number of unit files that were parsed
+         */
+        public int getParsed() {
+            return parsed.get();
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public double getSeconds() {
+            return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d files (%d parsed), %d record sheets: %d rendered, %d from cache, %d errors in %.1f s%s",
+                    files, getParsed(), sheets, rendered, reused, errors.size(), getSeconds(),
+                    cancelled ? " (cancelled)" : "");
+        }
+    }
+}
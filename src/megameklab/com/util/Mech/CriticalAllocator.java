@@ -0,0 +1,210 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util.Mech;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import megamek.common.Entity;
+import megamek.common.LandAirMech;
+import megamek.common.LocationFullException;
+import megamek.common.Mech;
+import megamek.common.MiscType;
+import megamek.common.Mounted;
+import megameklab.com.MegaMekLab;
+import megameklab.com.util.CriticalSlotIndex;
+import megameklab.com.util.UnitUtil;
+
+/**
+ * Places unallocated equipment into the critical slots of a Mek. The equipment that is hardest to place
+ * goes first: the items with the fewest legal locations, and among those the largest. Each item goes in
+ * the legal location with the smallest run of empty slots that will hold it, which leaves the larger runs
+ * for the items that need them. Equipment that can be split and does not fit in a single location is
+ * divided between a location and an adjacent one.
+ *
+ * All queries are made against a {@link CriticalSlotIndex} that is held open while allocating, so the
+ * caller only needs to refresh the views once when it is done.
+ */
+public class CriticalAllocator {
+
+    private final Mech mech;
+
+    public CriticalAllocator(Mech mech) {
+        this.mech = mech;
+    }
+
+    /**
+     * Places as much of the equipment as will fit.
+     *
+     * @param mounts The equipment to place. Anything that is already allocated is ignored.
+     * @return       The equipment that could not be placed
+     */
+    public List<Mounted> allocate(Collection<Mounted> mounts) {
+        List<Item> items = new ArrayList<>();
+        for (Mounted mount : mounts) {
+            if (mount.getLocation() == Entity.LOC_NONE) {
+                items.add(new Item(mount));
+            }
+        }
+        // List.sort is stable, so items that compare equal keep the order they were given in
+        items.sort(Comparator.comparingInt((Item item) -> item.locations.size())
+                .thenComparing(Comparator.comparingInt((Item item) -> item.size).reversed()));
+
+        List<Mounted> unplaced = new ArrayList<>();
+        try (CriticalSlotIndex index = CriticalSlotIndex.open(mech)) {
+            for (Item item : items) {
+                boolean placed = false;
+                try {
+                    placed = placeWhole(item, index) || (item.splittable && placeSplit(item, index));
+                } catch (LocationFullException ex) {
+                    MegaMekLab.getLogger().warning(getClass(), "allocate(Collection)", ex.getMessage());
+                    UnitUtil.removeCriticals(mech, item.mount);
+                    UnitUtil.changeMountStatus(mech, item.mount, Entity.LOC_NONE, Entity.LOC_NONE, false);
+                }
+                if (!placed) {
+                    unplaced.add(item.mount);
+                }
+            }
+        }
+        return unplaced;
+    }
+
+    /**
+     * Places the item in the legal location with the smallest run of empty slots that is large enough.
+     */
+    private boolean placeWhole(Item item, CriticalSlotIndex index) throws LocationFullException {
+        int best = Entity.LOC_NONE;
+        int bestRun = Integer.MAX_VALUE;
+        for (int location : item.locations) {
+            if (!item.isLegal(location)) {
+                continue;
+            }
+            int run = index.getLongestFreeRun(location);
+            if ((run >= item.size) && (run < bestRun)) {
+                best = location;
+                bestRun = run;
+            }
+        }
+        if (best == Entity.LOC_NONE) {
+            return false;
+        }
+        if (item.mount.getType().isSpreadable() || (item.mount.isSplitable() && (item.size > 1))) {
+            // Each call adds a single slot for these
+            for (int count = 0; count < item.size; count++) {
+                UnitUtil.addMounted(mech, item.mount, best, false);
+            }
+        } else {
+            UnitUtil.addMounted(mech, item.mount, best, false);
+        }
+        UnitUtil.changeMountStatus(mech, item.mount, best, Entity.LOC_NONE, false);
+        return true;
+    }
+
+    /**
+     * Divides the item between two adjacent locations, choosing the pair that leaves the fewest empty
+     * slots in the runs that are used.
+     */
+    private boolean placeSplit(Item item, CriticalSlotIndex index) throws LocationFullException {
+        int bestPrimary = Entity.LOC_NONE;
+        int bestSecondary = Entity.LOC_NONE;
+        int bestPrimarySlots = 0;
+        int bestWaste = Integer.MAX_VALUE;
+        for (int primary : item.locations) {
+            if (!item.isLegal(primary)) {
+                continue;
+            }
+            int primaryRun = Math.min(index.getLongestFreeRun(primary), item.size - 1);
+            if (primaryRun < 1) {
+                continue;
+            }
+            for (int secondary : getAdjacentLocations(primary)) {
+                if (!item.locations.contains(secondary) || !item.isLegal(secondary)) {
+                    continue;
+                }
+                int secondaryRun = index.getLongestFreeRun(secondary);
+                int remaining = item.size - primaryRun;
+                if (secondaryRun < remaining) {
+                    continue;
+                }
+                int waste = (index.getLongestFreeRun(primary) - primaryRun) + (secondaryRun - remaining);
+                if (waste < bestWaste) {
+                    bestPrimary = primary;
+                    bestSecondary = secondary;
+                    bestPrimarySlots = primaryRun;
+                    bestWaste = waste;
+                }
+            }
+        }
+        if (bestPrimary == Entity.LOC_NONE) {
+            return false;
+        }
+        item.mount.setSecondLocation(bestSecondary);
+        for (int slot = 0; slot < bestPrimarySlots; slot++) {
+            UnitUtil.addMounted(mech, item.mount, bestPrimary, false);
+        }
+        for (int slot = bestPrimarySlots; slot < item.size; slot++) {
+            UnitUtil.addMounted(mech, item.mount, bestSecondary, false);
+        }
+        UnitUtil.changeMountStatus(mech, item.mount, bestPrimary, bestSecondary, false);
+        return true;
+    }
+
+    /**
+     * @return The locations that equipment with the given primary location may be split into. As in the
+     *         build view, only a side torso can be the primary location, and the equipment can be split
+     *         into the center torso or the arm or leg on the same side.
+     */
+    private int[] getAdjacentLocations(int location) {
+        switch (location) {
+            case Mech.LOC_LT:
+                return new int[] { Mech.LOC_CT, Mech.LOC_LARM, Mech.LOC_LLEG };
+            case Mech.LOC_RT:
+                return new int[] { Mech.LOC_CT, Mech.LOC_RARM, Mech.LOC_RLEG };
+            default:
+                return new int[0];
+        }
+    }
+
+    /**
+     * The values for a piece of equipment used to decide the order of placement. The locations are found
+     * before anything is placed; equipment placed earlier can make some of them illegal, so each is checked
+     * again with {@link #isLegal(int)} when the item is placed.
+     */
+    private class Item {
+        final Mounted mount;
+        final int size;
+        final List<Integer> locations = new ArrayList<>();
+        final boolean splittable;
+
+        Item(Mounted mount) {
+            this.mount = mount;
+            size = UnitUtil.getCritsUsed(mech, mount.getType());
+            for (int location = Mech.LOC_HEAD; location < mech.locations(); location++) {
+                if (UnitUtil.isValidLocation(mech, mount.getType(), location)) {
+                    locations.add(location);
+                }
+            }
+            splittable = (mount.getType().isSpreadable() || mount.isSplitable())
+                    && (size > 1)
+                    && !((mount.getType() instanceof MiscType) && mount.getType().hasFlag(MiscType.F_TARGCOMP))
+                    && !(mech instanceof LandAirMech);
+        }
+
+        boolean isLegal(int location) {
+            return UnitUtil.isValidLocation(mech, mount.getType(), location);
+        }
+    }
+}
@@ -47,7 +47,9 @@ import megamek.common.verifier.TestAero;
 import megamek.common.verifier.TestBattleArmor;
 import megamek.common.weapons.infantry.InfantryWeapon;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.CriticalSlotIndex;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EquipmentIndex;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
 
@@ -114,6 +116,7 @@ public class CriticalTransferHandler extends TransferHandler {
                 for (int i = startSlot; i < (startSlot+UnitUtil.getCritsUsed(getUnit(), mounted.getType())); i++) {
                     getUnit().setCritical(loc, i, null);
                 }
+                UnitUtil.markSlotsChanged(getUnit(), loc);
             }
             Mounted linkedBy = mounted.getLinkedBy();
             if (linkedBy != null && !(getUnit() instanceof BattleArmor)) {
@@ -261,6 +264,7 @@ public class CriticalTransferHandler extends TransferHandler {
             int currLoc = location;
             for (; critsUsed < totalCrits; critsUsed++) {
                 mech.addEquipment(eq, currLoc, false, slotNumber);
+                UnitUtil.markSlotsChanged(mech, currLoc);
                 slotNumber = 
                         (slotNumber + 1) % mech.getNumberOfCriticals(currLoc);
                 primaryLocSpace--;
@@ -311,6 +315,7 @@ public class CriticalTransferHandler extends TransferHandler {
                         return false;
                     }
                     mech.addEquipment(eq, location, false, slotNumber);
+                    UnitUtil.markSlotsChanged(mech, location);
                     if (facing.equals("Front-Left")) {
                         eq.setFacing(5);
                     } else if (facing.equals("Front-Right")) {
@@ -325,6 +330,7 @@ public class CriticalTransferHandler extends TransferHandler {
                     }
             } else {
                 mech.addEquipment(eq, location, false, slotNumber);
+                UnitUtil.markSlotsChanged(mech, location);
             }
             changeMountStatus(eq, location, false);
         } else {
@@ -466,7 +472,9 @@ public class CriticalTransferHandler extends TransferHandler {
                             }
                         }
                     }
-                    return addEquipmentMech((Mech)getUnit(), eq, slotNumber);
+                    try (CriticalSlotIndex critIndex = CriticalSlotIndex.open(getUnit())) {
+                        return addEquipmentMech((Mech)getUnit(), eq, slotNumber);
+                    }
                 } else if (getUnit() instanceof BattleArmor){
                     return addEquipmentBA((BattleArmor)getUnit(), eq, trooper);
                 }
@@ -541,12 +549,12 @@ public class CriticalTransferHandler extends TransferHandler {
         if (c instanceof JTable) {
             JTable table = (JTable) c;
             Mounted mount = (Mounted) ((CriticalTableModel) table.getModel()).getValueAt(table.getSelectedRow(), CriticalTableModel.EQUIPMENT);
-            return new StringSelection(Integer.toString(getUnit().getEquipmentNum(mount)));
+            return new StringSelection(Integer.toString(EquipmentIndex.getEquipmentNum(getUnit(), mount)));
         } else if (c instanceof DropTargetCriticalList) {
             DropTargetCriticalList<?> list = (DropTargetCriticalList<?>)c;
             Mounted mount = list.getMounted();
             if (mount != null) {
-                return new StringSelection(Integer.toString(getUnit().getEquipmentNum(mount)));
+                return new StringSelection(Integer.toString(EquipmentIndex.getEquipmentNum(getUnit(), mount)));
             }
         }
         return null;
@@ -16,6 +16,7 @@
 
 package megameklab.com.util.Mech;
 
+import java.awt.Graphics;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.InputEvent;
@@ -47,7 +48,10 @@ import megamek.common.weapons.gaussrifles.GaussWeapon;
 import megamek.common.weapons.ppc.PPCWeapon;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CritListCellRenderer;
+import megameklab.com.util.CriticalSlotIndex;
+import megameklab.com.util.EditJournal;
 import megameklab.com.util.RefreshListener;
+import megameklab.com.util.UnitLedger;
 import megameklab.com.util.UnitUtil;
 
 public class DropTargetCriticalList<E> extends JList<E> implements MouseListener {
@@ -72,6 +76,15 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
         setTransferHandler(new CriticalTransferHandler(eSource, refresh));
     }
 
+    @Override
+    protected void paintComponent(Graphics g) {
+        // The renderer checks the neighbouring slots of each cell; with the index open each location
+        // is read once for the whole list instead of once per cell.
+        try (CriticalSlotIndex index = CriticalSlotIndex.open(getUnit())) {
+            super.paintComponent(g);
+        }
+    }
+
     private void changeMountStatus(Mounted eq, int location, boolean rear) {
         changeMountStatus(eq, location, -1, rear);
     }
@@ -597,21 +610,27 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
     private void changeOmniMounting(boolean pod) {
         Mounted mount = getMounted();
         if (!pod || UnitUtil.canPodMount(getUnit(), mount)) {
+            EditJournal.recordChanging(getUnit(), mount);
+            EditJournal.recordChanging(getUnit(), getCrit().getMount2());
             mount.setOmniPodMounted(pod);
             if (getCrit().getMount2() != null) {
                 getCrit().getMount2().setOmniPodMounted(pod);
             }
         }
+        UnitLedger.invalidate(getUnit());
         if (refresh != null) {
             refresh.refreshAll();
         }
     }
 
     private void changeTurretMount(boolean turret) {
+        EditJournal.recordChanging(getUnit(), getMounted());
+        EditJournal.recordChanging(getUnit(), getMounted().getLinkedBy());
         getMounted().setMechTurretMounted(turret);
         if (getMounted().getLinkedBy() != null) {
             getMounted().getLinkedBy().setMechTurretMounted(turret);
         }
+        UnitLedger.invalidate(getUnit());
         if (refresh != null) {
             refresh.refreshAll();
         }
@@ -680,6 +699,7 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
         if (cs != null) {
             if (cs.getType() == CriticalSlot.TYPE_EQUIPMENT) {
                 Mounted mount = getMounted();
+                EditJournal.recordChanging(getUnit(), mount);
                 mount.setArmored(!cs.isArmored());
                 UnitUtil.updateCritsArmoredStatus(getUnit(), mount);
             } else {
@@ -18,6 +18,7 @@ package megameklab.com.util;
 
 import java.awt.Component;
 import java.awt.FileDialog;
+import java.awt.KeyboardFocusManager;
 import java.awt.Toolkit;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.ClipboardOwner;
@@ -44,6 +45,9 @@ import javax.swing.JTextArea;
 import javax.swing.KeyStroke;
 import javax.swing.UIManager;
 import javax.swing.UIManager.LookAndFeelInfo;
+import javax.swing.event.MenuEvent;
+import javax.swing.event.MenuListener;
+import javax.swing.text.JTextComponent;
 
 import megamek.client.ui.swing.UnitLoadingDialog;
 import megamek.client.ui.swing.UnitSelectorDialog;
@@ -55,6 +59,7 @@ import megamek.common.util.EncodeControl;
 import megameklab.com.MegaMekLab;
 import megameklab.com.ui.MegaMekLabMainUI;
 import megameklab.com.ui.dialog.LoadingDialog;
+import megameklab.com.ui.dialog.UnitReportDialog;
 
 public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
 
@@ -70,6 +75,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
 
         themeMenu = createThemeMenu();
         JMenu fileMenu = createFileMenu();
+        JMenu editMenu = createEditMenu();
 
         JMenuItem item = new JMenuItem();
         item.setText(resourceMap.getString("menu.help.about"));
@@ -101,7 +107,14 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
         
         validate.add(loadUnitWeightBreakdownMenuOptions());
 
+        validate.addSeparator();
+        item = new JMenuItem();
+        item.setText(resourceMap.getString("menu.validate.bulkReport"));
+        item.addActionListener(e -> new UnitReportDialog(parentFrame).setVisible(true));
+        validate.add(item);
+
         this.add(fileMenu);
+        this.add(editMenu);
         this.add(validate);
         this.add(help);
 
@@ -490,6 +503,66 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
 
         return fileMenu;
     }
+
+    /**
+     * Creates the menu with undo and redo. The items are only disabled while the menu is open, so that
+     * their shortcut keys keep working; undoing when there is nothing to undo does nothing.
+     *
+     * @return The new menu
+     */
+    private JMenu createEditMenu() {
+        JMenu editMenu = new JMenu(resourceMap.getString("menu.edit"));
+        editMenu.setMnemonic(KeyEvent.VK_E);
+
+        final JMenuItem undo = new JMenuItem(resourceMap.getString("menu.edit.undo"));
+        undo.setMnemonic(KeyEvent.VK_U);
+        undo.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Z, Toolkit.getDefaultToolkit().getMenuShortcutKeyMask()));
+        undo.addActionListener(e -> {
+            if (!isTypingShortcut(e)) {
+                parentFrame.undo();
+            }
+        });
+        editMenu.add(undo);
+
+        final JMenuItem redo = new JMenuItem(resourceMap.getString("menu.edit.redo"));
+        redo.setMnemonic(KeyEvent.VK_R);
+        redo.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Y, Toolkit.getDefaultToolkit().getMenuShortcutKeyMask()));
+        redo.addActionListener(e -> {
+            if (!isTypingShortcut(e)) {
+                parentFrame.redo();
+            }
+        });
+        editMenu.add(redo);
+
+        editMenu.addMenuListener(new MenuListener() {
+            @Override
+            public void menuSelected(MenuEvent e) {
+                undo.setEnabled(parentFrame.canUndo());
+                redo.setEnabled(parentFrame.canRedo());
+            }
+
+            @Override
+            public void menuDeselected(MenuEvent e) {
+                undo.setEnabled(true);
+                redo.setEnabled(true);
+            }
+
+            @Override
+            public void menuCanceled(MenuEvent e) {
+                menuDeselected(e);
+            }
+        });
+        return editMenu;
+    }
+
+    /**
+     * Undo and redo act on the whole unit, so their shortcuts are ignored while a text field or
+     * spinner has the focus. Choosing the menu items with the mouse still works.
+     */
+    private static boolean isTypingShortcut(ActionEvent e) {
+        return ((e.getModifiers() & Toolkit.getDefaultToolkit().getMenuShortcutKeyMask()) != 0)
+                && (KeyboardFocusManager.getCurrentKeyboardFocusManager().getFocusOwner() instanceof JTextComponent);
+    }
     
     /**
      * Creates a menu that includes all installed look and feel options
@@ -701,7 +774,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
         try {
             Entity tempEntity = new MechFileParser(unitFile).getEntity();
 
-            if (UnitUtil.validateUnit(parentFrame.getEntity()).trim().length() > 0) {
+            if (UnitUtil.validateUnit(parentFrame.getTestEntity()).trim().length() > 0) {
                 JOptionPane.showMessageDialog(parentFrame,
                         resourceMap.getString("message.invalidUnit.text"));
             }
@@ -747,7 +820,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
     }
     
     private void jMenuUnitWeightBreakdown_actionPerformed() {
-        UnitUtil.showUnitWeightBreakDown(parentFrame.getEntity(), parentFrame);
+        UnitUtil.showUnitWeightBreakDown(parentFrame.getTestEntity(), parentFrame);
     }
 
     private void jMenuUnitSpecs_actionPerformed() {
@@ -756,7 +829,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
 
     // Show Validation data.
     private void jMenuValidateUnit_actionPerformed() {
-        UnitUtil.showValidation(parentFrame.getEntity(), parentFrame);
+        UnitUtil.showValidation(parentFrame.getTestEntity(), parentFrame);
     }
 
     // Show data about MegaMekLab
@@ -839,7 +912,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
 
     private void jMenuConfiguration_actionPerformed(ActionEvent event) {
         new ConfigurationDialog(parentFrame).setVisible(true);
-        parentFrame.refreshAll();
+        parentFrame.getRefreshListener().refreshAll();
     }
 
     private void jMenuLoadVehicle() {
@@ -940,8 +1013,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
                 "util.MenuBarCreator: Received unknown entityType!");
         }
         setVisible(true);
-        reload();
-        refresh();
+        reloadAndRefresh();
         parentFrame.setVisible(true);
         parentFrame.repaint();
     }
@@ -966,7 +1038,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
 
     private void jMenuSaveEntity_actionPerformed(ActionEvent event) {
 
-        if (UnitUtil.validateUnit(parentFrame.getEntity()).length() > 0) {
+        if (UnitUtil.validateUnit(parentFrame.getTestEntity()).length() > 0) {
             JOptionPane.showMessageDialog(parentFrame,
                     resourceMap.getString("message.invalidUnit.text"));
         }
@@ -1020,7 +1092,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
     }
 
     private void jMenuSaveAsEntity_actionPerformed(ActionEvent event) {
-        if (UnitUtil.validateUnit(parentFrame.getEntity()).length() > 0) {
+        if (UnitUtil.validateUnit(parentFrame.getTestEntity()).length() > 0) {
             JOptionPane.showMessageDialog(parentFrame,
                     resourceMap.getString("message.savingInvalidUnit.text"));
         }
@@ -1078,7 +1150,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
     }
 
     private void exportSummary(boolean html) {
-        if (UnitUtil.validateUnit(parentFrame.getEntity()).length() > 0) {
+        if (UnitUtil.validateUnit(parentFrame.getTestEntity()).length() > 0) {
             JOptionPane.showMessageDialog(parentFrame,
                     resourceMap.getString("message.exportingInvalidUnit.text"));
         }
@@ -1175,8 +1247,7 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
             CConfig.updateSaveFiles(viewer.getChosenMechSummary().getSourceFile().getAbsolutePath());
         }
         parentFrame.setEntity(newUnit);
-        reload();
-        refresh();
+        reloadAndRefresh();
         parentFrame.setVisible(true);
     }
 
@@ -1267,18 +1338,27 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
                     resourceMap.getString("message.invalidUnit.format"),
                     ex.getMessage()));
         }
-        reload();
-        refresh();
+        reloadAndRefresh();
         parentFrame.setVisible(true);
     }
 
-    private void refresh() {
-        parentFrame.refreshAll();
-    }
-
     private void reload() {
         parentFrame.reloadTabs();
     }
+
+    /**
+     * Rebuilds the tabs for the current unit and refreshes the editor once, including any refreshes
+     * the new tabs request while they are being set up.
+     */
+    private void reloadAndRefresh() {
+        parentFrame.beginBatch();
+        try {
+            reload();
+            parentFrame.getRefreshListener().refreshAll();
+        } finally {
+            parentFrame.endBatch();
+        }
+    }
     
     /**
      * This function will create a new mainUI frame (via the loading dialog) for the 
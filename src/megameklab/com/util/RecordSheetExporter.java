@@ -0,0 +1,380 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.awt.print.PageFormat;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import megamek.common.Entity;
+import megameklab.com.MegaMekLab;
+import megameklab.com.printing.PrintRecordSheet;
+import megameklab.com.printing.RecordSheetOptions;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+
+/**
+ * Exports the record sheet for each unit to a file of its own, named for the unit, either in a directory
+ * or in a ZIP archive. Sheets can be written as PDF, as the SVG document the record sheet is built as,
+ * or as a PNG image at a chosen resolution. An SVG or PNG sheet with more than one page is written as
+ * one file per page. Each unit is printed on its own sheet, so vehicles that would share a
+ * {@link megameklab.com.printing.PrintCompositeTankSheet} and the battle armor, infantry and protomechs that
+ * would share a {@link megameklab.com.printing.PrintSmallUnitSheet} are exported the same way as when
+ * printing one unit per record sheet.
+ *
+ * Units are rendered on several threads and each file is written by the thread that rendered it as soon
+ * as it is done. Only a few more units than there are threads are accepted at a time, so the memory used
+ * does not depend on the number of units.
+ */
+public class RecordSheetExporter {
+
+    public enum Format {
+        PDF("pdf"), SVG("svg"), PNG("png");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    public interface ProgressListener {
+        /**
+         * Called from one of the export threads after each unit is written or fails.
+         *
+         * @param completed The number of units finished
+         * @param total     The number of units in the export
+         * @param unit      The unit that was just finished
+         */
+        void progress(int completed, int total, Entity unit);
+    }
+
+    /** The number of units that can be waiting to be rendered for each thread */
+    private static final int QUEUE_PER_THREAD = 2;
+    public static final float DEFAULT_DPI = 96f;
+
+    private final Format format;
+    private final RecordSheetOptions options;
+    private final int threads;
+    private final PageFormat pageFormat;
+    private float dpi = DEFAULT_DPI;
+    private volatile boolean cancelled = false;
+
+    /**
+     * @param format  The type of file to write
+     * @param options The record sheet options
+     * @param threads The number of units to render at once, or zero to use one per processor
+     */
+    public RecordSheetExporter(Format format, RecordSheetOptions options, int threads) {
+        this.format = format;
+        this.options = options;
+        this.threads = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+        pageFormat = new PageFormat();
+        pageFormat.setPaper(options.getPaperSize().createPaper());
+    }
+
+    /**
+     * @param dpi The resolution of PNG images, in pixels per inch
+     */
+    public void setDpi(float dpi) {
+        this.dpi = dpi;
+    }
+
+    /**
+     * Stops the export after the units that are being rendered are written.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Exports each unit to its own file. The file names are made from {@link Entity#getShortNameRaw()}
+     * with a number added when more than one unit has the same name.
+     *
+     * @param units    The units to export
+     * @param output   The directory to write the files to, or the ZIP file to write them to if {@code zip}
+     * @param zip      Whether to write the files to a ZIP archive
+     * @param listener Notified of progress; may be null
+     * @return         A summary of the export
+     * @throws IOException If the directory or archive cannot be created
+     */
+    public Summary export(List<Entity> units, File output, boolean zip, ProgressListener listener)
+            throws IOException {
+        final long start = System.nanoTime();
+        final Summary summary = new Summary(units.size());
+        final AtomicInteger completed = new AtomicInteger();
+        final Semaphore queue = new Semaphore(threads * QUEUE_PER_THREAD);
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Record Sheet Export " + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        final Map<String, Integer> names = new HashMap<>();
+        try (Target target = zip ? new ZipTarget(output) : new DirectoryTarget(output)) {
+            try {
+                for (Entity unit : units) {
+                    if (cancelled) {
+                        break;
+                    }
+                    final String name = getFileName(unit, names);
+                    queue.acquire();
+                    executor.execute(() -> {
+                        try {
+                            if (!cancelled) {
+                                exportUnit(unit, name, target, summary);
+                            }
+                        } finally {
+                            queue.release();
+                            if (null != listener) {
+                                listener.progress(completed.incrementAndGet(), units.size(), unit);
+                            }
+                        }
+                    });
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+            } finally {
+                // The target cannot be closed until every file has been written to it
+                awaitTermination(executor);
+            }
+        }
+        summary.finish(start, cancelled);
+        return summary;
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        executor.shutdown();
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Renders one unit and writes its file.
+     */
+    private void exportUnit(Entity unit, String name, Target target, Summary summary) {
+        try {
+            final List<Entity> unprintable = new ArrayList<>();
+            final List<PrintRecordSheet> sheets = UnitPrintManager.createSheets(Collections.singletonList(unit),
+                    true, options, unprintable);
+            if (!unprintable.isEmpty() || sheets.isEmpty()) {
+                summary.addError(name, "Record sheet not supported");
+                return;
+            }
+            final PrintRecordSheet sheet = sheets.get(0);
+            if (format == Format.PDF) {
+                final String fileName = name + "." + format.getExtension();
+                target.write(fileName, renderPDF(sheet));
+                summary.addWritten(fileName);
+            } else {
+                for (int page = 0; page < sheet.getPageCount(); page++) {
+                    final String fileName = ((sheet.getPageCount() > 1) ? name + "_" + (page + 1) : name)
+                            + "." + format.getExtension();
+                    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    if (format == Format.SVG) {
+                        sheet.exportSVG(page, pageFormat, out);
+                    } else {
+                        sheet.exportPNG(page, pageFormat, dpi, out);
+                    }
+                    target.write(fileName, out.toByteArray());
+                    summary.addWritten(fileName);
+                }
+            }
+        } catch (Exception ex) {
+            MegaMekLab.getLogger().error(RecordSheetExporter.class, "exportUnit(Entity, String, Target, Summary)", ex);
+            summary.addError(name, (null == ex.getMessage()) ? ex.toString() : ex.getMessage());
+        }
+    }
+
+    private byte[] renderPDF(PrintRecordSheet sheet) throws Exception {
+        if (sheet.getPageCount() == 1) {
+            try (InputStream in = sheet.exportPDF(0, pageFormat)) {
+                return readAll(in);
+            }
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final PDFMergerUtility merger = new PDFMergerUtility();
+        merger.setDestinationStream(out);
+        for (int i = 0; i < sheet.getPageCount(); i++) {
+            merger.addSource(sheet.exportPDF(i, pageFormat));
+        }
+        merger.mergeDocuments(MemoryUsageSetting.setupMainMemoryOnly());
+        return out.toByteArray();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int len;
+        while ((len = in.read(buffer)) > 0) {
+            out.write(buffer, 0, len);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Makes a file name from the unit name that is safe to use on any file system and has not already
+     * been used in this export.
+     */
+    static String getFileName(Entity unit, Map<String, Integer> names) {
+        String name = unit.getShortNameRaw().replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        if (name.isEmpty()) {
+            name = "unit";
+        }
+        final int count = names.merge(name.toLowerCase(), 1, Integer::sum);
+        return (count == 1) ? name : name + " (" + count + ")";
+    }
+
+    /**
+     * Where the exported files are written. Implementations must allow files to be written from more than
+     * one thread.
+     */
+    private interface Target extends Closeable {
+        void write(String fileName, byte[] data) throws IOException;
+    }
+
+    private static class DirectoryTarget implements Target {
+        private final File dir;
+
+        DirectoryTarget(File dir) throws IOException {
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Unable to create " + dir);
+            }
+            this.dir = dir;
+        }
+
+        @Override
+        public void write(String fileName, byte[] data) throws IOException {
+            Files.write(new File(dir, fileName).toPath(), data);
+        }
+
+        @Override
+        public void close() {
+            // Each file is closed when it is written
+        }
+    }
+
+    private static class ZipTarget implements Target {
+        private final ZipOutputStream zip;
+
+        ZipTarget(File file) throws IOException {
+            zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        }
+
+        @Override
+        public synchronized void write(String fileName, byte[] data) throws IOException {
+            zip.putNextEntry(new ZipEntry(fileName));
+            zip.write(data);
+            zip.closeEntry();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            zip.close();
+        }
+    }
+
+    /**
+     * The outcome of an export.
+     */
+    public static class Summary {
+        private final int total;
+        private final List<String> written = new ArrayList<>();
+        private final Map<String, String> errors = new LinkedHashMap<>();
+        private long nanos = 0;
+        private boolean cancelled = false;
+
+        Summary(int total) {
+            this.total = total;
+        }
+
+        synchronized void addWritten(String fileName) {
+            written.add(fileName);
+        }
+
+        synchronized void addError(String name, String error) {
+            errors.put(name, error);
+        }
+
+        void finish(long start, boolean cancelled) {
+            nanos = System.nanoTime() - start;
+            this.cancelled = cancelled;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * @return The names of the files written, in the order they were finished
+         */
+        public synchronized List<String> getWritten() {
+            return new ArrayList<>(written);
+        }
+
+        /**
+         * @return The error message for each unit that could not be exported, by unit name
+         */
+        public synchronized Map<String, String> getErrors() {
+            return new LinkedHashMap<>(errors);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public double getSeconds() {
+            return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%d units: %d files written, %d errors in %.1f s%s",
+                    total, written.size(), errors.size(), getSeconds(), cancelled ? " (cancelled)" : "");
+        }
+    }
+}
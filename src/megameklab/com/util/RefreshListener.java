@@ -33,4 +33,19 @@ public interface RefreshListener extends EventListener{
     // Refreshers for just one thing on a tab
     void refreshSummary();
     void refreshEquipmentTable();
+
+    /**
+     * Defers refreshes requested through this listener until the matching call to {@link #endBatch()}.
+     * Listeners that do not support batching perform each refresh immediately.
+     *
+     * @see BatchingRefreshListener
+     */
+    default void beginBatch() {
+    }
+
+    /**
+     * Ends a batch started by {@link #beginBatch()}, performing the refreshes that were requested during it.
+     */
+    default void endBatch() {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import megamek.common.EquipmentType;
+import megamek.common.ITechManager;
+import megamek.common.ITechnology;
+import megamek.common.SimpleTechLevel;
+import megamek.common.TechAdvancement;
+
+/**
+ * Remembers which technologies are legal for the tech manager's current settings. Changing the year,
+ * faction, tech base, or rules level causes every equipment table and tech combo box to check the
+ * legality of all of its items, most of which were already checked for the same settings before.
+ *
+ * Each technology that lasts for the life of the program (equipment types, the static tech advancement
+ * values, and enum constants) is given a number, and the results for a combination of settings are kept
+ * in a pair of bitsets: whether the technology has been checked, and whether it is legal. The results
+ * for the last several combinations are kept so that moving the year back and forth does not repeat the
+ * work. Anything else, such as the engines that are created by the chassis views, is checked directly.
+ * Some of the tech advancement values are created for a unit rather than being static, so the numbers
+ * are released by {@link #releaseIds()} when the editor changes to a different unit, which discards the
+ * results kept by every index.
+ *
+ * The owner must call {@link #invalidate()} whenever any of the values it reports as a tech manager may
+ * have changed. Changes to the configuration are detected by the version of {@link CConfig}.
+ */
+public class TechAvailabilityIndex {
+
+    /** The number of combinations of settings to keep the results for */
+    private static final int MAX_SETTINGS = 16;
+    /** A limit on the number of technologies that will be indexed, in case some are created as needed */
+    private static final int MAX_IDS = 1 << 16;
+
+    private static final Map<ITechnology, Integer> ids =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+    /** Incremented each time the numbers are released; guarded by {@link #ids} */
+    private static int idGeneration = 0;
+
+    private final ITechManager techManager;
+    private final Predicate<ITechnology> rule;
+    private final Map<Settings, Results> results = new LinkedHashMap<Settings, Results>(MAX_SETTINGS, 0.75f, true) {
+        private static final long serialVersionUID = 7130254393520387446L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Settings, Results> eldest) {
+            return size() > MAX_SETTINGS;
+        }
+    };
+    private Results current = null;
+    private int configVersion = -1;
+    private int resultsGeneration = -1;
+
+    /**
+     * @param techManager The source of the settings
+     * @param rule        The check to apply to any technology that does not have a result for the current
+     *                    settings, normally {@link ITechManager#isLegal(ITechnology)}
+     */
+    public TechAvailabilityIndex(ITechManager techManager, Predicate<ITechnology> rule) {
+        this.techManager = techManager;
+        this.rule = rule;
+    }
+
+    /**
+     * @return Whether the technology is legal for the current settings
+     */
+    public boolean isLegal(ITechnology tech) {
+        final Results r = getResults();
+        final Integer id = getId(tech, resultsGeneration);
+        if (null == id) {
+            return rule.test(tech);
+        }
+        if (r.checked.get(id)) {
+            return r.legal.get(id);
+        }
+        final boolean legal = rule.test(tech);
+        r.checked.set(id);
+        r.legal.set(id, legal);
+        return legal;
+    }
+
+    /**
+     * Notes that the settings may have changed. They are read again the next time legality is checked.
+     */
+    public void invalidate() {
+        current = null;
+    }
+
+    /**
+     * Releases the numbers given to technologies so that those created for the previous unit can be
+     * collected. Called when the editor changes to a different unit.
+     */
+    public static void releaseIds() {
+        synchronized (ids) {
+            ids.clear();
+            idGeneration++;
+        }
+    }
+
+    private Results getResults() {
+        final int generation;
+        synchronized (ids) {
+            generation = idGeneration;
+        }
+        if (generation != resultsGeneration) {
+            // The results are stored by number, which may now belong to a different technology
+            results.clear();
+            current = null;
+            resultsGeneration = generation;
+        }
+        if ((null == current) || (configVersion != CConfig.getVersion())) {
+            configVersion = CConfig.getVersion();
+            current = results.computeIfAbsent(new Settings(techManager), s -> new Results());
+        }
+        return current;
+    }
+
+    /**
+     * @return The number given to the technology, or null if it is not indexed or the numbers have been
+     *         released since the results were read
+     */
+    private static Integer getId(ITechnology tech, int generation) {
+        if (!(tech instanceof EquipmentType) && !(tech instanceof TechAdvancement) && !(tech instanceof Enum)) {
+            return null;
+        }
+        synchronized (ids) {
+            if (generation != idGeneration) {
+                return null;
+            }
+            Integer id = ids.get(tech);
+            if ((null == id) && (ids.size() < MAX_IDS)) {
+                id = ids.size();
+                ids.put(tech, id);
+            }
+            return id;
+        }
+    }
+
+    private static class Results {
+        final BitSet checked = new BitSet();
+        final BitSet legal = new BitSet();
+    }
+
+    /**
+     * The values read from the tech manager by {@link ITechManager#isLegal(ITechnology)}.
+     */
+    private static class Settings {
+        final int introYear;
+        final int gameYear;
+        final int faction;
+        final boolean clan;
+        final boolean mixed;
+        final SimpleTechLevel techLevel;
+        final boolean unofficialNoYear;
+        final boolean variableTechLevel;
+        final boolean showExtinct;
+
+        Settings(ITechManager techManager) {
+            introYear = techManager.getTechIntroYear();
+            gameYear = techManager.getGameYear();
+            faction = techManager.getTechFaction();
+            clan = techManager.useClanTechBase();
+            mixed = techManager.useMixedTech();
+            techLevel = techManager.getTechLevel();
+            unofficialNoYear = techManager.unofficialNoYear();
+            variableTechLevel = techManager.useVariableTechLevel();
+            showExtinct = techManager.showExtinct();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Settings)) {
+                return false;
+            }
+            Settings other = (Settings) o;
+            return (introYear == other.introYear) && (gameYear == other.gameYear)
+                    && (faction == other.faction) && (clan == other.clan) && (mixed == other.mixed)
+                    && (techLevel == other.techLevel) && (unofficialNoYear == other.unofficialNoYear)
+                    && (variableTechLevel == other.variableTechLevel) && (showExtinct == other.showExtinct);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(introYear, gameYear, faction, clan, mixed, techLevel, unofficialNoYear,
+                    variableTechLevel, showExtinct);
+        }
+    }
+}
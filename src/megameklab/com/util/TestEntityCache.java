@@ -0,0 +1,89 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import megamek.common.Engine;
+import megamek.common.Entity;
+import megamek.common.EntityMovementMode;
+import megamek.common.verifier.TestEntity;
+
+/**
+ * Holds the {@link TestEntity} for the unit in an editor so the status bar, summary views, and
+ * validation can share a single instance rather than each constructing their own on every refresh.
+ *
+ * The {@link TestEntity} reads most values from the unit as it is needed, but copies the engine,
+ * structure, and armor when constructed. The instance is reused as long as the unit and those
+ * components are unchanged, and replaced when any of them changes.
+ */
+public class TestEntityCache {
+
+    private TestEntity testEntity = null;
+    private Entity entity = null;
+    private Engine engine = null;
+    private int structureType;
+    private boolean superHeavy;
+    private EntityMovementMode movementMode;
+    private int[] armorTypes = new int[0];
+    private int[] armorTechLevels = new int[0];
+
+    /**
+     * Provides the {@link TestEntity} for the unit, reusing the previous one if it still applies.
+     *
+     * @param unit The unit being edited
+     * @return     The verifier for the unit, or {@code null} if there is none for the unit type
+     */
+    public TestEntity get(Entity unit) {
+        if ((null == testEntity) || !matches(unit)) {
+            testEntity = UnitUtil.getEntityVerifier(unit);
+            entity = unit;
+            engine = unit.getEngine();
+            structureType = unit.getStructureType();
+            superHeavy = unit.isSuperHeavy();
+            movementMode = unit.getMovementMode();
+            armorTypes = new int[unit.locations()];
+            armorTechLevels = new int[unit.locations()];
+            for (int loc = 0; loc < unit.locations(); loc++) {
+                armorTypes[loc] = unit.getArmorType(loc);
+                armorTechLevels[loc] = unit.getArmorTechLevel(loc);
+            }
+        }
+        return testEntity;
+    }
+
+    /**
+     * Drops the current verifier so the next call to {@link #get(Entity)} constructs a new one.
+     */
+    public void invalidate() {
+        testEntity = null;
+        entity = null;
+        engine = null;
+    }
+
+    private boolean matches(Entity unit) {
+        if ((unit != entity) || (unit.getEngine() != engine)
+                || (unit.getStructureType() != structureType)
+                || (unit.isSuperHeavy() != superHeavy)
+                || (unit.getMovementMode() != movementMode)
+                || (unit.locations() != armorTypes.length)) {
+            return false;
+        }
+        for (int loc = 0; loc < unit.locations(); loc++) {
+            if ((unit.getArmorType(loc) != armorTypes[loc])
+                    || (unit.getArmorTechLevel(loc) != armorTechLevels[loc])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import megamek.common.Entity;
+import megamek.common.EquipmentType;
+import megamek.common.Mounted;
+
+/**
+ * Holds the equipment tooltips built by {@link UnitUtil#getToolTipInfo(Entity, Mounted)} for a renderer.
+ * The renderers only note which equipment is in a cell when it is painted and ask for the tooltip from
+ * {@code getToolTipText(MouseEvent)} when the mouse rests on it, which is called repeatedly while the
+ * mouse moves within the cell.
+ *
+ * Each tooltip is stored with a revision made from the values it shows that can change while editing:
+ * the location, mounting options, size, and linked equipment of the mount and the weight, tech base, and
+ * engine of the unit. The slots, weight, and cost of some equipment, such as MASC and superchargers,
+ * depend on the engine.
+ * If the revision no longer matches, the tooltip is built again.
+ */
+public class ToolTipCache {
+
+    private final Map<Mounted, Entry> mountTips = new WeakHashMap<>();
+    private final Map<EquipmentType, Entry> typeTips = new HashMap<>();
+
+    /**
+     * @return The tooltip for a piece of equipment mounted on the unit
+     */
+    public String get(Entity unit, Mounted mount) {
+        final long revision = getRevision(unit, mount);
+        Entry entry = mountTips.get(mount);
+        if ((null == entry) || (entry.revision != revision)) {
+            entry = new Entry(revision, UnitUtil.getToolTipInfo(unit, mount));
+            mountTips.put(mount, entry);
+        }
+        return entry.text;
+    }
+
+    /**
+     * @return The tooltip for a type of equipment that has not been added to the unit
+     */
+    public String get(Entity unit, EquipmentType type) {
+        final long revision = getRevision(unit);
+        Entry entry = typeTips.get(type);
+        if ((null == entry) || (entry.revision != revision)) {
+            entry = new Entry(revision, UnitUtil.getToolTipInfo(unit, new Mounted(unit, type)));
+            typeTips.put(type, entry);
+        }
+        return entry.text;
+    }
+
+    /**
+     * Discards all the tooltips.
+     */
+    public void clear() {
+        mountTips.clear();
+        typeTips.clear();
+    }
+
+    private static long getRevision(Entity unit) {
+        long h = System.identityHashCode(unit);
+        h = 31 * h + Double.doubleToLongBits(unit.getWeight());
+        h = 31 * h + (unit.isClan() ? 1 : 0);
+        h = 31 * h + (unit.isMixedTech() ? 1 : 0);
+        if (unit.hasEngine()) {
+            h = 31 * h + unit.getEngine().getEngineType();
+            h = 31 * h + unit.getEngine().getRating();
+        }
+        return h;
+    }
+
+    private static long getRevision(Entity unit, Mounted mount) {
+        long h = getRevision(unit);
+        h = 31 * h + mount.getLocation();
+        h = 31 * h + mount.getSecondLocation();
+        h = 31 * h + Double.doubleToLongBits(mount.getSize());
+        h = 31 * h + System.identityHashCode(mount.getLinked());
+        h = 31 * h + (mount.isRearMounted() ? 1 : 0);
+        h = 31 * h + (mount.isMechTurretMounted() ? 1 : 0);
+        h = 31 * h + (mount.isArmored() ? 1 : 0);
+        h = 31 * h + (mount.isSquadSupportWeapon() ? 1 : 0);
+        return h;
+    }
+
+    private static class Entry {
+        final long revision;
+        final String text;
+
+        Entry(long revision, String text) {
+            this.revision = revision;
+            this.text = text;
+        }
+    }
+}
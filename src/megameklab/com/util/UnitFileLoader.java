@@ -0,0 +1,208 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingWorker;
+
+import megamek.common.Entity;
+import megamek.common.MechFileParser;
+import megameklab.com.MegaMekLab;
+
+/**
+ * Parses a list of unit files in the background, several at a time. Each file is reported to the
+ * {@link Listener} on the event dispatch thread as soon as it is loaded, and when all have finished the
+ * listener receives the units in the same order as the files. A file that cannot be parsed is reported
+ * with its error and left out of the list; it does not stop the others from loading.
+ */
+public class UnitFileLoader extends SwingWorker<List<Entity>, UnitFileLoader.Result> {
+
+    public interface Listener {
+        /**
+         * Called when a file has been parsed or has failed to parse.
+         *
+         * @param result The outcome for the file
+         */
+        void fileLoaded(Result result);
+
+        /**
+         * Called when all files have been processed, or the loader was cancelled.
+         *
+         * @param units  The units that were loaded, in the order of the files
+         * @param errors The error message for each file that could not be loaded
+         */
+        void loadingComplete(List<Entity> units, Map<File, String> errors);
+    }
+
+    private final List<File> files;
+    private final Listener listener;
+    private final Entity[] units;
+    private final String[] errors;
+
+    /**
+     * @param files    The files to load
+     * @param listener Notified of progress and completion on the event dispatch thread
+     */
+    public UnitFileLoader(List<File> files, Listener listener) {
+        this.files = new ArrayList<>(files);
+        this.listener = listener;
+        units = new Entity[files.size()];
+        errors = new String[files.size()];
+    }
+
+    /**
+     * @return The files being loaded, in order
+     */
+    public List<File> getFiles() {
+        return files;
+    }
+
+    @Override
+    protected List<Entity> doInBackground() throws Exception {
+        final int threads = Math.max(1, Math.min(files.size(), Runtime.getRuntime().availableProcessors()));
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Unit File Loader " + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            final CompletionService<Result> completion = new ExecutorCompletionService<>(executor);
+            for (int i = 0; i < files.size(); i++) {
+                final int index = i;
+                completion.submit(() -> load(index));
+            }
+            for (int i = 0; (i < files.size()) && !isCancelled(); i++) {
+                Result result = completion.take().get();
+                units[result.index] = result.entity;
+                errors[result.index] = result.error;
+                publish(result);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return collectUnits();
+    }
+
+    private Result load(int index) {
+        final File file = files.get(index);
+        try {
+            return new Result(index, file, new MechFileParser(file).getEntity(), null);
+        } catch (Exception ex) {
+            MegaMekLab.getLogger().error(UnitFileLoader.class, "load(int)", ex); //$NON-NLS-1$
+            return new Result(index, file, null,
+                    (null == ex.getMessage()) ? ex.toString() : ex.getMessage());
+        }
+    }
+
+    private List<Entity> collectUnits() {
+        List<Entity> list = new ArrayList<>();
+        Arrays.stream(units).filter(u -> null != u).forEach(list::add);
+        return list;
+    }
+
+    @Override
+    protected void process(List<Result> chunks) {
+        // Results still queued when the loader is cancelled arrive after loadingComplete
+        for (Result result : chunks) {
+            if (isCancelled()) {
+                return;
+            }
+            listener.fileLoaded(result);
+        }
+    }
+
+    @Override
+    protected void done() {
+        Map<File, String> errorMap = new LinkedHashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            if (null != errors[i]) {
+                errorMap.put(files.get(i), errors[i]);
+            }
+        }
+        List<Entity> loaded;
+        try {
+            loaded = isCancelled() ? collectUnits() : get();
+        } catch (Exception ex) {
+            MegaMekLab.getLogger().error(UnitFileLoader.class, "done()", ex); //$NON-NLS-1$
+            loaded = collectUnits();
+        }
+        listener.loadingComplete(loaded, errorMap);
+    }
+
+    /**
+     * The outcome of loading a single file.
+     */
+    public static class Result {
+        private final int index;
+        private final File file;
+        private final Entity entity;
+        private final String error;
+
+        Result(int index, File file, Entity entity, String error) {
+            this.index = index;
+            this.file = file;
+            this.entity = entity;
+            this.error = error;
+        }
+
+        /**
+         * @return The position of the file in the list
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * @return The unit, or null if the file could not be loaded
+         */
+        public Entity getEntity() {
+            return entity;
+        }
+
+        /**
+         * @return The error message, or null if the file was loaded
+         */
+        public String getError() {
+            return error;
+        }
+    }
+
+    /**
+     * Formats the errors reported by a loader for display.
+     *
+     * @param errors The errors passed to {@link Listener#loadingComplete(List, Map)}
+     * @return       A message with one line per file
+     */
+    public static String formatErrors(Map<File, String> errors) {
+        StringBuilder sb = new StringBuilder();
+        errors.forEach((file, error) -> sb.append(file.getName()).append(": ").append(error).append("\n")); //$NON-NLS-1$ //$NON-NLS-2$
+        return sb.toString();
+    }
+}
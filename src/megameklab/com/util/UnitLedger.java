@@ -0,0 +1,401 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import megamek.common.Aero;
+import megamek.common.AmmoType;
+import megamek.common.Bay;
+import megamek.common.Engine;
+import megamek.common.Entity;
+import megamek.common.EquipmentType;
+import megamek.common.Jumpship;
+import megamek.common.Mech;
+import megamek.common.MiscType;
+import megamek.common.Mounted;
+import megamek.common.Tank;
+import megamek.common.WeaponType;
+import megamek.common.annotations.Nullable;
+import megamek.common.verifier.TestEntity;
+import megameklab.com.MegaMekLab;
+
+/**
+ * Keeps running totals of the weight and cost of the unit being edited so the status bar and summary
+ * views do not need to walk all the equipment on every refresh.
+ *
+ * The ledger is attached to the editor's unit. {@link UnitUtil} reports each mount that is added,
+ * removed, or moved, and the totals are adjusted by that mount's contribution. Changes that affect the
+ * weight of other components (heat sinks, targeting computers, armored components, power amplifiers,
+ * weapon bays, vehicle turrets) cannot be applied as a simple delta and cause the next read to
+ * recalculate the whole unit. Changes to the chassis, engine, structure, or armor made through the
+ * build listeners are detected by comparing a fingerprint of those values, which costs no more than
+ * one pass over the unit's locations.
+ *
+ * The cost is cached rather than adjusted, since the multipliers are applied inside
+ * {@link Entity#getCost(boolean)}; it is recalculated at most once per edit.
+ *
+ * Setting the system property {@code megameklab.ledger.crosscheck} to true compares every
+ * incremental result against a full recalculation and logs any difference.
+ */
+public class UnitLedger {
+
+    /** The equipment groupings used by the weight summary */
+    public enum Category {
+        JUMP, ENHANCEMENT, EQUIPMENT, NONE
+    }
+
+    private static final Map<Entity, UnitLedger> ledgers =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static boolean crossCheck = Boolean.getBoolean("megameklab.ledger.crosscheck");
+
+    private final Entity entity;
+    private final TestEntityCache testEntityCache;
+
+    private boolean valid = false;
+    private boolean linear = false;
+    private long fingerprint;
+    private int equipmentCount;
+    private double weight;
+    private final double[] categoryTonnage = new double[Category.values().length];
+    private final int[] categoryCrits = new int[Category.values().length];
+
+    private boolean costValid = false;
+    private double cost;
+
+    private UnitLedger(Entity entity, TestEntityCache testEntityCache) {
+        this.entity = entity;
+        this.testEntityCache = testEntityCache;
+    }
+
+    /**
+     * Creates a ledger for the unit and attaches it so that changes made through {@link UnitUtil}
+     * are recorded.
+     *
+     * @param entity          The unit being edited
+     * @param testEntityCache The editor's verifier, used when the totals need to be recalculated
+     * @return                The new ledger
+     */
+    public static UnitLedger attach(Entity entity, TestEntityCache testEntityCache) {
+        UnitLedger ledger = new UnitLedger(entity, testEntityCache);
+        ledgers.put(entity, ledger);
+        return ledger;
+    }
+
+    /**
+     * Stops tracking changes to the unit.
+     */
+    public static void detach(@Nullable Entity entity) {
+        if (null != entity) {
+            ledgers.remove(entity);
+        }
+    }
+
+    /**
+     * @return The ledger attached to the unit, or null if the unit is not being edited
+     */
+    public static @Nullable UnitLedger of(Entity entity) {
+        return ledgers.get(entity);
+    }
+
+    /**
+     * Records a mount that has been added to the unit. Does nothing if the unit has no ledger.
+     */
+    public static void recordAdded(Entity entity, Mounted mount) {
+        UnitLedger ledger = of(entity);
+        if (null != ledger) {
+            ledger.apply(mount, 1);
+        }
+    }
+
+    /**
+     * Records a mount that is about to be removed from the unit. Does nothing if the unit has no ledger.
+     */
+    public static void recordRemoved(Entity entity, Mounted mount) {
+        UnitLedger ledger = of(entity);
+        if (null != ledger) {
+            ledger.apply(mount, -1);
+        }
+    }
+
+    /**
+     * Forces the next read to recalculate the totals. This is needed for changes to a mount that
+     * do not go through adding, removing, or moving it, such as making it armored.
+     */
+    public static void invalidate(Entity entity) {
+        UnitLedger ledger = of(entity);
+        if (null != ledger) {
+            ledger.invalidate();
+        }
+    }
+
+    public static boolean isCrossCheck() {
+        return crossCheck;
+    }
+
+    public static void setCrossCheck(boolean check) {
+        crossCheck = check;
+    }
+
+    public void invalidate() {
+        valid = false;
+        costValid = false;
+    }
+
+    /**
+     * @return The current weight of the unit, including unallocated ammo
+     */
+    public double getWeight() {
+        if (!checkValid()) {
+            recalculate();
+        } else if (crossCheck) {
+            double expected = calculateWeight();
+            if (Math.abs(expected - weight) > 0.0001) {
+                MegaMekLab.getLogger().warning(getClass(), "getWeight()",
+                        entity.getShortNameRaw() + ": ledger weight " + weight
+                        + " does not match calculated weight " + expected);
+                recalculate();
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * @return The current cost of the unit, without ammo
+     */
+    public double getCost() {
+        if (!checkValid()) {
+            recalculate();
+        }
+        if (!costValid) {
+            cost = entity.getCost(false);
+            costValid = true;
+        }
+        return cost;
+    }
+
+    /**
+     * @return The total weight of the equipment in the category
+     */
+    public double getTonnage(Category category) {
+        if (!checkValid()) {
+            recalculate();
+        }
+        return categoryTonnage[category.ordinal()];
+    }
+
+    /**
+     * @return The total number of critical slots used by the equipment in the category
+     */
+    public int getCriticals(Category category) {
+        if (!checkValid()) {
+            recalculate();
+        }
+        return categoryCrits[category.ordinal()];
+    }
+
+    /**
+     * Adds or subtracts the mount's contribution to the totals.
+     *
+     * @param mount The mount that was added or is about to be removed
+     * @param sign  1 to add, -1 to subtract
+     */
+    private void apply(Mounted mount, int sign) {
+        costValid = false;
+        if (!valid) {
+            return;
+        }
+        equipmentCount += sign;
+        if (!isLinear(mount)) {
+            valid = false;
+            return;
+        }
+        weight += sign * contribution(mount);
+        Category category = getCategory(mount.getType());
+        categoryTonnage[category.ordinal()] += sign * mount.getTonnage();
+        categoryCrits[category.ordinal()] += sign * getCriticals(category, mount.getType());
+    }
+
+    private boolean checkValid() {
+        if (valid && ((fingerprint != computeFingerprint())
+                || (equipmentCount != entity.getEquipment().size()))) {
+            valid = false;
+            costValid = false;
+        }
+        return valid;
+    }
+
+    private void recalculate() {
+        weight = calculateWeight();
+        for (int i = 0; i < categoryTonnage.length; i++) {
+            categoryTonnage[i] = 0;
+            categoryCrits[i] = 0;
+        }
+        for (Mounted m : entity.getEquipment()) {
+            Category category = getCategory(m.getType());
+            categoryTonnage[category.ordinal()] += m.getTonnage();
+            categoryCrits[category.ordinal()] += getCriticals(category, m.getType());
+        }
+        linear = isLinearUnit();
+        equipmentCount = entity.getEquipment().size();
+        fingerprint = computeFingerprint();
+        valid = true;
+    }
+
+    private double calculateWeight() {
+        TestEntity testEntity = testEntityCache.get(entity);
+        if (null == testEntity) {
+            return 0;
+        }
+        return testEntity.calculateWeight() + UnitUtil.getUnallocatedAmmoTonnage(entity);
+    }
+
+    /**
+     * Meks and fighters with fusion engines have no components whose weight depends on the weapons,
+     * unless there is a targeting computer. For other units every change is recalculated.
+     */
+    private boolean isLinearUnit() {
+        if (!(entity instanceof Mech) && !(entity.isFighter() && (entity instanceof Aero))) {
+            return false;
+        }
+        if (entity.usesWeaponBays() || entity.isSupportVehicle()
+                || (null == entity.getEngine()) || !entity.getEngine().isFusion()) {
+            return false;
+        }
+        return entity.getMisc().stream().noneMatch(UnitUtil::isTargettingComputer);
+    }
+
+    private boolean isLinear(Mounted mount) {
+        if (!linear || mount.isArmored()) {
+            return false;
+        }
+        EquipmentType type = mount.getType();
+        if (type instanceof MiscType) {
+            return !UnitUtil.isHeatSink(mount) && !UnitUtil.isArmorOrStructure(type)
+                    && !type.hasFlag(MiscType.F_TARGCOMP);
+        }
+        return (type instanceof WeaponType) || (type instanceof AmmoType);
+    }
+
+    /**
+     * The amount the mount adds to the total weight. The verifier ignores ammo that has not been
+     * allocated, which is counted separately unless it is one-shot ammo.
+     */
+    private double contribution(Mounted mount) {
+        if ((mount.getType() instanceof AmmoType) && (mount.getLocation() == Entity.LOC_NONE)
+                && mount.isOneShotAmmo()) {
+            return 0;
+        }
+        return mount.getTonnage();
+    }
+
+    private static Category getCategory(EquipmentType type) {
+        if (type instanceof MiscType) {
+            if (UnitUtil.isArmorOrStructure(type) || type.hasFlag(MiscType.F_HEAT_SINK)
+                    || type.hasFlag(MiscType.F_DOUBLE_HEAT_SINK)) {
+                return Category.NONE;
+            } else if (type.hasFlag(MiscType.F_TSM) || type.hasFlag(MiscType.F_INDUSTRIAL_TSM)
+                    || type.hasFlag(MiscType.F_MASC)) {
+                return Category.ENHANCEMENT;
+            } else if (type.hasFlag(MiscType.F_JUMP_JET) || type.hasFlag(MiscType.F_JUMP_BOOSTER)) {
+                return Category.JUMP;
+            }
+        }
+        return Category.EQUIPMENT;
+    }
+
+    private int getCriticals(Category category, EquipmentType type) {
+        if (category == Category.ENHANCEMENT) {
+            return UnitUtil.getCritsUsed(entity, type);
+        }
+        return type.getCriticals(entity);
+    }
+
+    /**
+     * Combines the values set through the structure, engine, cockpit, actuator, fuel, armor, and crew controls. A change in any
+     * of them can change the weight of the fixed components or of equipment sized by the unit's tonnage.
+     * Changes to individual mounts that are not made through {@link UnitUtil}, such as turret mounting,
+     * are not covered and must call {@link #invalidate(Entity)}.
+     */
+    private long computeFingerprint() {
+        long h = Double.doubleToLongBits(entity.getWeight());
+        final Engine engine = entity.getEngine();
+        h = 31 * h + System.identityHashCode(engine);
+        if (null != engine) {
+            h = 31 * h + engine.getRating();
+            h = 31 * h + engine.getEngineType();
+        }
+        h = 31 * h + entity.getStructureType();
+        h = 31 * h + (entity.isSuperHeavy() ? 1 : 0);
+        h = 31 * h + (entity.isOmni() ? 1 : 0);
+        h = 31 * h + entity.getMovementMode().ordinal();
+        h = 31 * h + entity.getOriginalWalkMP();
+        h = 31 * h + entity.getOriginalJumpMP();
+        h = 31 * h + Double.doubleToLongBits(entity.getLabArmorTonnage());
+        if (entity.isSupportVehicle()) {
+            h = 31 * h + entity.getStructuralTechRating();
+            h = 31 * h + entity.getEngineTechRating();
+        }
+        for (Bay bay : entity.getTransportBays()) {
+            h = 31 * h + Double.doubleToLongBits(bay.getCapacity());
+        }
+        h = 31 * h + entity.locations();
+        for (int loc = 0; loc < entity.locations(); loc++) {
+            h = 31 * h + entity.getArmorType(loc);
+            h = 31 * h + entity.getOArmor(loc);
+            if (entity.hasRearArmor(loc)) {
+                h = 31 * h + entity.getOArmor(loc, true);
+            }
+            h = 31 * h + entity.getOInternal(loc);
+        }
+        if (entity instanceof Mech) {
+            h = 31 * h + ((Mech) entity).getCockpitType();
+            h = 31 * h + ((Mech) entity).getGyroType();
+            h = 31 * h + (((Mech) entity).hasFullHeadEject() ? 1 : 0);
+            // Hand and lower arm actuators affect the weight and cost of the arms and what can be mounted there
+            for (int loc : new int[] { Mech.LOC_RARM, Mech.LOC_LARM }) {
+                h = 31 * h + (((Mech) entity).hasSystem(Mech.ACTUATOR_LOWER_ARM, loc) ? 1 : 0);
+                h = 31 * h + (((Mech) entity).hasSystem(Mech.ACTUATOR_HAND, loc) ? 1 : 0);
+            }
+        } else if (entity instanceof Tank) {
+            h = 31 * h + Double.doubleToLongBits(((Tank) entity).getFuelTonnage());
+        } else if (entity instanceof Aero) {
+            h = 31 * h + ((Aero) entity).getCockpitType();
+            h = 31 * h + ((Aero) entity).getFuel();
+            h = 31 * h + Double.doubleToLongBits(((Aero) entity).getFuelTonnage());
+            h = 31 * h + ((Aero) entity).getHeatSinks();
+            h = 31 * h + ((Aero) entity).getHeatType();
+            h = 31 * h + ((Aero) entity).get0SI();
+            if (entity.isLargeCraft()) {
+                // Crew and passengers determine the weight of quarters and life support
+                h = 31 * h + entity.getNCrew();
+                h = 31 * h + entity.getNOfficers();
+                h = 31 * h + entity.getNGunners();
+                h = 31 * h + entity.getNPassenger();
+                h = 31 * h + entity.getNMarines();
+                h = 31 * h + entity.getNBattleArmor();
+                h = 31 * h + ((Aero) entity).getLifeBoats();
+                h = 31 * h + ((Aero) entity).getEscapePods();
+            }
+            if (entity instanceof Jumpship) {
+                h = 31 * h + ((Jumpship) entity).getDriveCoreType();
+                h = 31 * h + (((Jumpship) entity).hasLF() ? 1 : 0);
+            }
+        }
+        return h;
+    }
+}
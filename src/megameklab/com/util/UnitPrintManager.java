@@ -26,6 +26,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.print.attribute.HashPrintRequestAttributeSet;
@@ -36,6 +38,8 @@ import javax.swing.JMenu;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.KeyStroke;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
 import megamek.client.ui.swing.UnitLoadingDialog;
@@ -49,7 +53,6 @@ import megamek.common.EntityMovementMode;
 import megamek.common.Infantry;
 import megamek.common.Jumpship;
 import megamek.common.Mech;
-import megamek.common.MechFileParser;
 import megamek.common.Protomech;
 import megamek.common.Tank;
 import megamek.common.util.EncodeControl;
@@ -107,6 +110,123 @@ public class UnitPrintManager {
         printAllUnits(loadedUnits, singlePrint);
     }
 
+    /**
+     * Exports the record sheet for each unit in a MUL file to a separate file.
+     *
+     * @param parent The frame to center the dialogs on
+     */
+    public static void exportMULSeparately(Frame parent) {
+        JFileChooser f = new JFileChooser(System.getProperty("user.dir"));
+        f.setLocation(parent.getLocation().x + 150, parent.getLocation().y + 100);
+        f.setDialogTitle("Export from MUL");
+        f.setMultiSelectionEnabled(false);
+        f.setFileFilter(new FileNameExtensionFilter("Mul Files", "mul"));
+
+        int returnVal = f.showOpenDialog(parent);
+        if ((returnVal != JFileChooser.APPROVE_OPTION) || (f.getSelectedFile() == null)) {
+            return;
+        }
+        Vector<Entity> loadedUnits;
+        try {
+            loadedUnits = EntityListFile.loadFrom(f.getSelectedFile());
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return;
+        }
+        exportSeparately(parent, loadedUnits);
+    }
+
+    /**
+     * Asks for a file format and a directory or ZIP file and exports the record sheet for each unit to
+     * a separate file in it, named for the unit.
+     *
+     * @param parent The frame to center the dialogs on
+     * @param units  The units to export
+     */
+    public static void exportSeparately(Frame parent, List<Entity> units) {
+        final RecordSheetExporter.Format format = (RecordSheetExporter.Format) JOptionPane.showInputDialog(parent,
+                "File format:", "Export Separate Files", JOptionPane.QUESTION_MESSAGE, null,
+                RecordSheetExporter.Format.values(), RecordSheetExporter.Format.PDF);
+        if (null == format) {
+            return;
+        }
+        float dpi = RecordSheetExporter.DEFAULT_DPI;
+        if (format == RecordSheetExporter.Format.PNG) {
+            String input = JOptionPane.showInputDialog(parent, "Image resolution (dots per inch):",
+                    String.valueOf((int) dpi));
+            if (null == input) {
+                return;
+            }
+            try {
+                dpi = Float.parseFloat(input.trim());
+            } catch (NumberFormatException ex) {
+                dpi = 0;
+            }
+            if (dpi <= 0) {
+                JOptionPane.showMessageDialog(parent, "Invalid resolution: " + input, "Export Separate Files",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+        }
+
+        JFileChooser f = new JFileChooser(System.getProperty("user.dir"));
+        f.setLocation(parent.getLocation().x + 150, parent.getLocation().y + 100);
+        f.setDialogTitle("Choose a directory or a .zip file");
+        f.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
+        f.setMultiSelectionEnabled(false);
+        f.setFileFilter(new FileNameExtensionFilter("ZIP archives", "zip"));
+
+        int returnVal = f.showSaveDialog(parent);
+        if ((returnVal != JFileChooser.APPROVE_OPTION) || (f.getSelectedFile() == null)) {
+            return;
+        }
+        final File output = f.getSelectedFile();
+        final boolean zip = output.getName().toLowerCase().endsWith(".zip");
+
+        final RecordSheetExporter exporter = new RecordSheetExporter(format, new RecordSheetOptions(), 0);
+        exporter.setDpi(dpi);
+        final ProgressMonitor monitor = new ProgressMonitor(parent, "Exporting to " + output.getName(),
+                null, 0, units.size());
+        new SwingWorker<RecordSheetExporter.Summary, Object[]>() {
+            @Override
+            protected RecordSheetExporter.Summary doInBackground() throws Exception {
+                return exporter.export(units, output, zip,
+                        (completed, total, unit) -> publish(new Object[] { completed, unit.getShortNameRaw() }));
+            }
+
+            @Override
+            protected void process(List<Object[]> chunks) {
+                Object[] last = chunks.get(chunks.size() - 1);
+                monitor.setProgress((Integer) last[0]);
+                monitor.setNote((String) last[1]);
+                if (monitor.isCanceled()) {
+                    exporter.cancel();
+                }
+            }
+
+            @Override
+            protected void done() {
+                monitor.close();
+                try {
+                    RecordSheetExporter.Summary summary = get();
+                    StringBuilder message = new StringBuilder(summary.toString());
+                    summary.getErrors().forEach((name, error) -> message.append("\n").append(name)
+                            .append(": ").append(error));
+                    JOptionPane.showMessageDialog(parent, message.toString(), "Export Separate Files",
+                            summary.getErrors().isEmpty() ? JOptionPane.INFORMATION_MESSAGE
+                                    : JOptionPane.WARNING_MESSAGE);
+                } catch (InterruptedException e) {
+                    // Not possible once the worker is done
+                } catch (ExecutionException e) {
+                    MegaMekLab.getLogger().error(UnitPrintManager.class, "exportSeparately(Frame, List<Entity>)",
+                            e.getCause());
+                    JOptionPane.showMessageDialog(parent, "Export failed: " + e.getCause().getMessage(),
+                            "Export Separate Files", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     public static void exportMUL(Frame parent, boolean singlePrint) {
         JFileChooser f = new JFileChooser(System.getProperty("user.dir"));
         f.setLocation(parent.getLocation().x + 150, parent.getLocation().y + 100);
@@ -168,11 +288,31 @@ public class UnitPrintManager {
 
     private static List<PrintRecordSheet> createSheets(List<Entity> entities, boolean singlePrint,
                                                        RecordSheetOptions options) {
+        List<Entity> unprintable = new ArrayList<>();
+        List<PrintRecordSheet> sheets = createSheets(entities, singlePrint, options, unprintable);
+        if (unprintable.size() > 0) {
+            JOptionPane.showMessageDialog(null, "Exporting is not currently supported for the following units:\n"
+                    + unprintable.stream().map(en -> en.getChassis() + " " + en.getModel())
+                    .collect(Collectors.joining("\n")));
+        }
+        return sheets;
+    }
+
+    /**
+     * Groups the units into record sheets.
+     *
+     * @param entities    The units to print
+     * @param singlePrint Whether to limit each record sheet to a single unit
+     * @param options     The record sheet options
+     * @param unprintable The units that cannot be printed are added to this list
+     * @return            The record sheets
+     */
+    static List<PrintRecordSheet> createSheets(List<Entity> entities, boolean singlePrint,
+                                               RecordSheetOptions options, List<Entity> unprintable) {
         List<PrintRecordSheet> sheets = new ArrayList<>();
         List<Infantry> infList = new ArrayList<>();
         List<BattleArmor> baList = new ArrayList<>();
         List<Protomech> protoList = new ArrayList<>();
-        List<Entity> unprintable = new ArrayList<>();
         Tank tank1 = null;
 
         int pageCount = 0;
@@ -234,12 +374,6 @@ public class UnitPrintManager {
             }
         }
 
-        if (unprintable.size() > 0) {
-            JOptionPane.showMessageDialog(null, "Exporting is not currently supported for the following units:\n"
-                    + unprintable.stream().map(en -> en.getChassis() + " " + en.getModel())
-                    .collect(Collectors.joining("\n")));
-        }
-
         if (null != tank1) {
             sheets.add(new PrintCompositeTankSheet(tank1, null, pageCount++));
         }
@@ -325,6 +459,19 @@ public class UnitPrintManager {
         task.execute();
     }
 
+    /**
+     * Creating the record sheet changes the unit's equipment, so the unit in the editor is printed from
+     * a copy.
+     */
+    private static Entity copyCurrentUnit(MegaMekLabMainUI parent) {
+        try {
+            return parent.getSnapshot().restore();
+        } catch (IOException ex) {
+            MegaMekLab.getLogger().error(UnitPrintManager.class, "copyCurrentUnit(MegaMekLabMainUI)", ex); //$NON-NLS-1$
+            return parent.getEntity();
+        }
+    }
+
     public static JMenu printMenu(final MegaMekLabMainUI parent) {
         JMenu printMenu = new JMenu(menuResources.getString("menu.file.print"));
         printMenu.setMnemonic(KeyEvent.VK_P);
@@ -333,7 +480,7 @@ public class UnitPrintManager {
         item.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_P,
                 Toolkit.getDefaultToolkit().getMenuShortcutKeyMask()));
         item.setMnemonic(KeyEvent.VK_C);
-        item.addActionListener(e -> printEntity(parent.getEntity()));
+        item.addActionListener(e -> printEntity(copyCurrentUnit(parent)));
         printMenu.add(item);
 
         printMenu.addSeparator();
@@ -381,7 +528,7 @@ public class UnitPrintManager {
         exportMenu.setMnemonic(KeyEvent.VK_E);
 
         JMenuItem item = new JMenuItem(menuResources.getString("menu.file.print.currentUnit"));
-        item.addActionListener(e -> exportEntity(parent.getEntity(), parent));
+        item.addActionListener(e -> exportEntity(copyCurrentUnit(parent), parent));
         exportMenu.add(item);
 
         exportMenu.addSeparator();
@@ -411,9 +558,129 @@ public class UnitPrintManager {
         item.addActionListener(e -> UnitPrintManager.exportMUL(parent, true));
         exportMenu.add(item);
 
+        exportMenu.addSeparator();
+        item = new JMenuItem(menuResources.getString("menu.file.print.fromDirectory"));
+        item.addActionListener(e -> UnitPrintManager.exportDirectory(parent, false));
+        exportMenu.add(item);
+
+        item = new JMenuItem(menuResources.getString("menu.file.print.fromDirectorySingle"));
+        item.addActionListener(e -> UnitPrintManager.exportDirectory(parent, true));
+        exportMenu.add(item);
+
+        exportMenu.addSeparator();
+        item = new JMenuItem(menuResources.getString("menu.file.print.fromFileSeparate"));
+        item.addActionListener(e -> UnitPrintManager.exportUnitFilesSeparately(parent));
+        exportMenu.add(item);
+
+        item = new JMenuItem(menuResources.getString("menu.file.print.fromMULSeparate"));
+        item.addActionListener(e -> UnitPrintManager.exportMULSeparately(parent));
+        exportMenu.add(item);
+
         return exportMenu;
     }
 
+    /**
+     * Exports all the unit files in a directory and its subdirectories to a single PDF. Record sheets are
+     * kept in a cache next to the export file and only those for units that have changed since the last
+     * export to the same file are rendered again.
+     *
+     * @param parent      The frame to center the dialogs on
+     * @param singlePrint Whether to limit each record sheet to a single unit
+     */
+    public static void exportDirectory(Frame parent, boolean singlePrint) {
+        JFileChooser f = new JFileChooser(System.getProperty("user.dir"));
+        f.setLocation(parent.getLocation().x + 150, parent.getLocation().y + 100);
+        f.setDialogTitle("Export Unit Directory");
+        f.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        f.setMultiSelectionEnabled(false);
+
+        int returnVal = f.showOpenDialog(parent);
+        if ((returnVal != JFileChooser.APPROVE_OPTION) || (f.getSelectedFile() == null)) {
+            return;
+        }
+        final List<File> unitFiles = new ArrayList<>();
+        addUnitFiles(f.getSelectedFile(), unitFiles);
+        if (unitFiles.isEmpty()) {
+            JOptionPane.showMessageDialog(parent, "No unit files were found in " + f.getSelectedFile(),
+                    "Export Unit Directory", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        final File exportFile = getExportFile(parent, f.getSelectedFile().getName() + ".pdf");
+        if (null == exportFile) {
+            return;
+        }
+
+        final IncrementalExporter exporter = new IncrementalExporter(IncrementalExporter.getDefaultCacheDir(exportFile));
+        final RecordSheetOptions options = new RecordSheetOptions();
+        final ProgressMonitor monitor = new ProgressMonitor(parent, "Exporting " + exportFile.getName(),
+                null, 0, 100);
+        new SwingWorker<IncrementalExporter.Summary, Object[]>() {
+            @Override
+            protected IncrementalExporter.Summary doInBackground() throws Exception {
+                return exporter.export(unitFiles, exportFile, singlePrint, options,
+                        (stage, completed, total) -> publish(new Object[] { stage, completed, total }));
+            }
+
+            @Override
+            protected void process(List<Object[]> chunks) {
+                Object[] last = chunks.get(chunks.size() - 1);
+                monitor.setNote((String) last[0]);
+                monitor.setMaximum((Integer) last[2]);
+                monitor.setProgress((Integer) last[1]);
+                if (monitor.isCanceled()) {
+                    exporter.cancel();
+                }
+            }
+
+            @Override
+            protected void done() {
+                monitor.close();
+                try {
+                    IncrementalExporter.Summary summary = get();
+                    StringBuilder message = new StringBuilder(summary.toString());
+                    if (!summary.getErrors().isEmpty()) {
+                        message.append("\n\n").append(UnitFileLoader.formatErrors(summary.getErrors()));
+                    }
+                    JOptionPane.showMessageDialog(parent, message.toString(), "Export Unit Directory",
+                            summary.getErrors().isEmpty() ? JOptionPane.INFORMATION_MESSAGE
+                                    : JOptionPane.WARNING_MESSAGE);
+                } catch (InterruptedException e) {
+                    // Not possible once the worker is done
+                } catch (ExecutionException e) {
+                    MegaMekLab.getLogger().error(UnitPrintManager.class, "exportDirectory(Frame, boolean)",
+                            e.getCause());
+                    JOptionPane.showMessageDialog(parent, "Export failed: " + e.getCause().getMessage(),
+                            "Export Unit Directory", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Adds every unit file in a directory and its subdirectories to a list, in name order. Hidden
+     * directories are skipped.
+     *
+     * @param dir       The directory to search
+     * @param unitFiles The list to add to
+     */
+    public static void addUnitFiles(File dir, List<File> unitFiles) {
+        File[] files = dir.listFiles();
+        if (null == files) {
+            return;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            String name = file.getName().toLowerCase();
+            if (file.isDirectory()) {
+                if (!name.startsWith(".")) {
+                    addUnitFiles(file, unitFiles);
+                }
+            } else if (name.endsWith(".mtf") || name.endsWith(".blk")) {
+                unitFiles.add(file);
+            }
+        }
+    }
+
     public static void printSelectedUnit(JFrame parent, boolean pdf) {
         UnitLoadingDialog unitLoadingDialog = new UnitLoadingDialog(parent);
         unitLoadingDialog.setVisible(true);
@@ -433,11 +700,41 @@ public class UnitPrintManager {
     }
 
     public static void printUnitFile(JFrame parent, boolean singleUnit, boolean pdf) {
+        loadUnitFiles(parent, "Print Unit File", unitList -> {
+            if (pdf) {
+                File exportFile = getExportFile(parent);
+                if (exportFile != null) {
+                    exportUnits(unitList, exportFile, singleUnit);
+                }
+            } else {
+                printAllUnits(unitList, singleUnit);
+            }
+        });
+    }
+
+    /**
+     * Exports the record sheet for each of the selected unit files to a separate file.
+     *
+     * @param parent The frame to center the dialogs on
+     */
+    public static void exportUnitFilesSeparately(JFrame parent) {
+        loadUnitFiles(parent, "Export Unit Files", unitList -> exportSeparately(parent, unitList));
+    }
+
+    /**
+     * Asks for unit files and parses them in the background, then passes whatever loaded to the action
+     * on the event dispatch thread.
+     *
+     * @param parent The frame to center the dialogs on
+     * @param title  The title of the file chooser and error dialog
+     * @param action What to do with the units
+     */
+    private static void loadUnitFiles(JFrame parent, String title, Consumer<List<Entity>> action) {
         String filePathName = System.getProperty("user.dir") + "/data/mechfiles/";
 
         JFileChooser f = new JFileChooser(filePathName);
         f.setLocation(parent.getLocation().x + 150, parent.getLocation().y + 100);
-        f.setDialogTitle("Print Unit File");
+        f.setDialogTitle(title);
         f.setMultiSelectionEnabled(true);
 
         FileNameExtensionFilter filter = new FileNameExtensionFilter("Unit Files", "blk", "mtf");
@@ -451,23 +748,42 @@ public class UnitPrintManager {
             return;
         }
 
-        try {
-            List<Entity> unitList = new ArrayList<>();
-
-            for (File entityFile : f.getSelectedFiles()) {
-                Entity tempEntity = new MechFileParser(entityFile).getEntity();
-                unitList.add(tempEntity);
+        // Parse the files in the background, then pass on whatever loaded
+        final List<File> files = Arrays.asList(f.getSelectedFiles());
+        final ProgressMonitor monitor = new ProgressMonitor(parent, "Loading unit files", null, 0, files.size());
+        final UnitFileLoader[] loader = new UnitFileLoader[1];
+        loader[0] = new UnitFileLoader(files, new UnitFileLoader.Listener() {
+            private int count = 0;
+
+            @Override
+            public void fileLoaded(UnitFileLoader.Result result) {
+                if (loader[0].isCancelled()) {
+                    return;
+                }
+                monitor.setProgress(++count);
+                monitor.setNote(result.getFile().getName());
+                if (monitor.isCanceled()) {
+                    loader[0].cancel(true);
+                }
             }
-            if (pdf) {
-                File exportFile = getExportFile(parent);
-                if (exportFile != null) {
-                    exportUnits(unitList, exportFile, singleUnit);
+
+            @Override
+            public void loadingComplete(List<Entity> unitList, Map<File, String> errors) {
+                final boolean cancelled = monitor.isCanceled() || loader[0].isCancelled();
+                monitor.close();
+                if (cancelled) {
+                    return;
+                }
+                if (!errors.isEmpty()) {
+                    JOptionPane.showMessageDialog(parent,
+                            "The following files could not be loaded:\n" + UnitFileLoader.formatErrors(errors),
+                            title, JOptionPane.WARNING_MESSAGE);
+                }
+                if (!unitList.isEmpty()) {
+                    action.accept(unitList);
                 }
-            } else {
-                printAllUnits(unitList, singleUnit);
             }
-        } catch (Exception ex) {
-            ex.printStackTrace();
-        }
+        });
+        loader[0].execute();
     }
 }
\ No newline at end of file
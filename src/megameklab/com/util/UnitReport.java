@@ -0,0 +1,442 @@
+/*
+ * MegaMekLab - Copyright (C) 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import megamek.common.Entity;
+import megamek.common.MechFileParser;
+import megamek.common.MechSummary;
+import megamek.common.MechSummaryCache;
+import megamek.common.TechConstants;
+import megamek.common.UnitType;
+import megamek.common.verifier.TestEntity;
+import megameklab.com.MegaMekLab;
+
+/**
+ * Validates a large number of units and writes their BV, cost, and weight to a CSV or JSON file. The
+ * units are loaded and checked on a pool of worker threads and each result is written as soon as it
+ * is ready, so the report does not need to hold all the units in memory. A unit that cannot be loaded
+ * is written with the error in place of the validation messages and does not stop the report.
+ *
+ * The units can be taken from the unit cache and from any number of directories of unit files.
+ */
+public class UnitReport {
+
+    public enum Format {
+        CSV, JSON;
+
+        /**
+         * @return The format for the file's extension. Anything not ending in .json is CSV.
+         */
+        public static Format forFile(File file) {
+            return file.getName().toLowerCase().endsWith(".json") ? JSON : CSV;
+        }
+    }
+
+    public interface ProgressListener {
+        /**
+         * Called from the thread running the report after each unit is written.
+         *
+         * @param completed      The number of units written
+         * @param total          The number of units in the report
+         * @param unitsPerSecond The rate units have been processed since the report started
+         */
+        void progress(int completed, int total, double unitsPerSecond);
+    }
+
+    private static final String[] COLUMNS = {
+            "file", "entry", "chassis", "model", "unitType", "techLevel", "year", "tonnage",
+            "calculatedWeight", "bv", "cost", "valid", "messages"
+    };
+    private static final String[] BREAKDOWN_COLUMNS = { "costBreakdown", "weightBreakdown" };
+    /** The message for a unit that loads but has no validation rules */
+    private static final String UNSUPPORTED = "Unsupported unit type";
+
+    private static final long POLL_INTERVAL = 200;
+
+    private final List<UnitSource> sources;
+    private final Format format;
+    private final boolean breakdowns;
+    private final int threads;
+    private volatile boolean cancelled = false;
+
+    /**
+     * @param sources    The units to include in the report
+     * @param format     The format of the report
+     * @param breakdowns Whether to include the full cost and weight breakdown text for each unit
+     * @param threads    The number of worker threads; zero to use one for each processor
+     */
+    public UnitReport(List<UnitSource> sources, Format format, boolean breakdowns, int threads) {
+        this.sources = new ArrayList<>(sources);
+        this.format = format;
+        this.breakdowns = breakdowns;
+        this.threads = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Adds every unit in the unit cache to a list of sources, waiting for the cache to finish loading
+     * if necessary.
+     *
+     * @param sources The list to add to
+     * @throws InterruptedException If the thread is interrupted while waiting for the cache
+     */
+    public static void addCacheUnits(List<UnitSource> sources) throws InterruptedException {
+        final MechSummaryCache cache = MechSummaryCache.getInstance();
+        while (!cache.isInitialized()) {
+            Thread.sleep(POLL_INTERVAL);
+        }
+        for (MechSummary ms : cache.getAllMechs()) {
+            sources.add(new UnitSource(ms.getSourceFile(), ms.getEntryName()));
+        }
+    }
+
+    /**
+     * Adds every unit file in a directory and its subdirectories to a list of sources.
+     *
+     * @param dir     The directory to search
+     * @param sources The list to add to
+     */
+    public static void addUnitFiles(File dir, List<UnitSource> sources) {
+        List<File> files = new ArrayList<>();
+        UnitPrintManager.addUnitFiles(dir, files);
+        for (File f : files) {
+            sources.add(new UnitSource(f, null));
+        }
+    }
+
+    /**
+     * Stops the report after the unit currently being written. Units already being processed by the
+     * worker threads are abandoned.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Runs the report and writes it. This blocks until the report is complete or cancelled.
+     *
+     * @param out      Where to write the report. It is not closed.
+     * @param listener Notified of progress; may be null
+     * @return         A summary of the report
+     * @throws IOException If there is an error writing the report
+     */
+    public Summary run(Writer out, ProgressListener listener) throws IOException {
+        final long start = System.nanoTime();
+        final Summary summary = new Summary(sources.size());
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Unit Report " + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            final CompletionService<Object[]> completion = new ExecutorCompletionService<>(executor);
+            for (UnitSource source : sources) {
+                completion.submit(new UnitTask(source));
+            }
+            writeHeader(out);
+            while ((summary.completed < summary.total) && !cancelled) {
+                Future<Object[]> future = completion.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                if (null == future) {
+                    continue;
+                }
+                final Object[] row;
+                try {
+                    row = future.get();
+                } catch (ExecutionException e) {
+                    // UnitTask reports exceptions in the row, so this is an error from which the worker
+                    // could not recover, and we do not know which unit caused it.
+                    MegaMekLab.getLogger().error(UnitReport.class, "run(Writer, ProgressListener)", e.getCause());
+                    summary.completed++;
+                    summary.failed++;
+                    continue;
+                }
+                writeRow(out, row, summary.written == 0);
+                summary.written++;
+                summary.completed++;
+                if (UNSUPPORTED.equals(row[COLUMNS.length - 1])) {
+                    summary.unsupported++;
+                } else if (null == row[COLUMNS.length - 2]) {
+                    summary.failed++;
+                } else if (!(Boolean) row[COLUMNS.length - 2]) {
+                    summary.invalid++;
+                }
+                summary.nanos = System.nanoTime() - start;
+                if (null != listener) {
+                    listener.progress(summary.completed, summary.total, summary.getUnitsPerSecond());
+                }
+            }
+            writeFooter(out);
+            out.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled = true;
+        } finally {
+            executor.shutdownNow();
+        }
+        summary.cancelled = cancelled;
+        summary.nanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    private void writeHeader(Writer out) throws IOException {
+        if (format == Format.JSON) {
+            out.write("[");
+        } else {
+            StringBuilder sb = new StringBuilder(String.join(",", COLUMNS));
+            if (breakdowns) {
+                sb.append(",").append(String.join(",", BREAKDOWN_COLUMNS));
+            }
+            out.write(sb.append(System.lineSeparator()).toString());
+        }
+    }
+
+    private void writeRow(Writer out, Object[] row, boolean first) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        if (format == Format.JSON) {
+            sb.append(first ? "" : ",").append(System.lineSeparator()).append("  {");
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append('"').append(getColumnName(i)).append("\": ");
+                if ((row[i] instanceof Double) && (((Double) row[i]).isNaN() || ((Double) row[i]).isInfinite())) {
+                    // JSON has no representation for these
+                    sb.append("null");
+                } else if ((null == row[i]) || (row[i] instanceof Number) || (row[i] instanceof Boolean)) {
+                    sb.append(row[i]);
+                } else {
+                    appendJsonString(sb, row[i].toString());
+                }
+            }
+            sb.append("}");
+        } else {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                if (null != row[i]) {
+                    appendCsvValue(sb, row[i].toString());
+                }
+            }
+            sb.append(System.lineSeparator());
+        }
+        out.write(sb.toString());
+    }
+
+    private void writeFooter(Writer out) throws IOException {
+        if (format == Format.JSON) {
+            out.write(System.lineSeparator() + "]" + System.lineSeparator());
+        }
+    }
+
+    private static String getColumnName(int index) {
+        return (index < COLUMNS.length) ? COLUMNS[index] : BREAKDOWN_COLUMNS[index - COLUMNS.length];
+    }
+
+    private static void appendCsvValue(StringBuilder sb, String value) {
+        if ((value.indexOf(',') < 0) && (value.indexOf('"') < 0)
+                && (value.indexOf('\n') < 0) && (value.indexOf('\r') < 0)) {
+            sb.append(value);
+        } else {
+            sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private static void appendJsonString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * Loads and checks a single unit, producing a row of the report.
+     */
+    private class UnitTask implements Callable<Object[]> {
+        private final UnitSource source;
+
+        UnitTask(UnitSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public Object[] call() {
+            final Object[] row = new Object[COLUMNS.length + (breakdowns ? BREAKDOWN_COLUMNS.length : 0)];
+            row[0] = source.file.getPath();
+            row[1] = source.entryName;
+            if (cancelled) {
+                return row;
+            }
+            try {
+                final Entity entity = new MechFileParser(source.file, source.entryName).getEntity();
+                final TestEntity testEntity = UnitUtil.getEntityVerifier(entity);
+                row[2] = entity.getChassis();
+                row[3] = entity.getModel();
+                row[4] = UnitType.getTypeName(entity.getUnitType());
+                row[5] = TechConstants.getLevelDisplayableName(entity.getTechLevel());
+                row[6] = entity.getYear();
+                row[7] = entity.getWeight();
+                row[8] = (null == testEntity) ? null : testEntity.calculateWeight();
+                row[9] = entity.calculateBattleValue();
+                if (null == testEntity) {
+                    // Loaded, but there are no construction rules to check it against
+                    row[11] = null;
+                    row[12] = UNSUPPORTED;
+                } else {
+                    final String messages = UnitUtil.validateUnit(testEntity).trim();
+                    row[11] = messages.isEmpty();
+                    row[12] = messages;
+                }
+                if (breakdowns) {
+                    // As in UnitUtil.showUnitCostBreakDown, the cost breakdown replaces the BV text
+                    entity.calculateBattleValue(true, true);
+                    row[10] = entity.getCost(true);
+                    row[COLUMNS.length] = entity.getBVText();
+                    row[COLUMNS.length + 1] = (null == testEntity) ? null : testEntity.printEntity().toString();
+                } else {
+                    row[10] = entity.getCost(false);
+                }
+            } catch (Exception ex) {
+                row[11] = null;
+                row[12] = ex.toString();
+            }
+            return row;
+        }
+    }
+
+    /**
+     * A unit file, or an entry in a zip file of units.
+     */
+    public static class UnitSource {
+        private final File file;
+        private final String entryName;
+
+        /**
+         * @param file      The unit file or zip file
+         * @param entryName The name of the entry in the zip file, or null if the file is a unit file
+         */
+        public UnitSource(File file, String entryName) {
+            this.file = file;
+            this.entryName = entryName;
+        }
+    }
+
+    /**
+     * The counts and timing of a completed report.
+     */
+    public static class Summary {
+        private final int total;
+        private int completed = 0;
+        private int written = 0;
+        private int failed = 0;
+        private int invalid = 0;
+        private int unsupported = 0;
+        private long nanos = 0;
+        private boolean cancelled = false;
+
+        Summary(int total) {
+            this.total = total;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * @return The number of units processed, including any that could not be written to the report
+         */
+        public int getCompleted() {
+            return completed;
+        }
+
+        /**
+         * @return The number of units that could not be loaded
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return The number of units that loaded but did not pass validation
+         */
+        public int getInvalid() {
+            return invalid;
+        }
+
+        /**
+         * @return The number of units that loaded but are of a type that cannot be validated
+         */
+        public int getUnsupported() {
+            return unsupported;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public double getSeconds() {
+            return nanos / 1.0e9;
+        }
+
+        public double getUnitsPerSecond() {
+            return (nanos > 0) ? completed / getSeconds() : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d of %d units (%d invalid, %d unsupported, %d failed to load) in %.1f s, %.1f units/sec%s",
+                    completed, total, invalid, unsupported, failed, getSeconds(), getUnitsPerSecond(),
+                    cancelled ? " (cancelled)" : "");
+        }
+    }
+}
@@ -108,6 +108,7 @@ public class UnitUtil {
     public static int TECH_UNOFFICAL = 4;
     
     private static Font rsFont = null;
+    private static EntityVerifier entityVerifier = null;
     private static Font rsBoldFont = null;
 
     /**
@@ -240,156 +241,274 @@ public class UnitUtil {
      * @param mount The equipment
      */
     public static void removeMounted(Entity unit, Mounted mount) {
-        UnitUtil.removeCriticals(unit, mount);
-
-        // Some special checks for BA
-        if (unit instanceof BattleArmor){
-            // If we're removing a DWP and it has an attached weapon, we need
-            //  to detach the weapon
-            if (mount.getType().hasFlag(MiscType.F_DETACHABLE_WEAPON_PACK)
-                    && (mount.getLinked() != null)){
-                Mounted link = mount.getLinked();
-                link.setDWPMounted(false);
-                link.setLinked(null);
-                link.setLinkedBy(null);
-            }
-            // If we are removing a weapon that is mounted in an DWP, we need
-            //  to clear the mounted status of the DWP
-            if ((mount.getLinkedBy() != null)
-                    && mount.getLinkedBy().getType().hasFlag(
-                            MiscType.F_DETACHABLE_WEAPON_PACK)){
-                Mounted dwp = mount.getLinkedBy();
-                dwp.setLinked(null);
-                dwp.setLinkedBy(null);
-            }
-            // If we're removing an APM and it has an attached weapon, we need
-            //  to detach the weapon
-            if (mount.getType().hasFlag(MiscType.F_AP_MOUNT)
-                    && (mount.getLinked() != null)){
-                Mounted link = mount.getLinked();
-                link.setAPMMounted(false);
-                link.setLinked(null);
-                link.setLinkedBy(null);
-            }
-            // If we are removing a weapon that is mounted in an APM, we need
-            //  to clear the mounted status of the AP Mount
-            if ((mount.getLinkedBy() != null)
-                    && mount.getLinkedBy().getType().hasFlag(
-                            MiscType.F_AP_MOUNT)){
-                Mounted apm = mount.getLinkedBy();
-                apm.setLinked(null);
-                apm.setLinkedBy(null);
+        removeMounteds(unit, Collections.singletonList(mount));
+    }
+
+    /**
+     * Removes a group of equipment from the Entity. The result is the same as calling
+     * {@link #removeMounted(Entity, Mounted)} for each one, but the critical slots and equipment lists
+     * are each scanned once and the weapon bays are renumbered once for the whole group, instead of once
+     * for each piece of equipment.
+     *
+     * @param unit   The Entity
+     * @param mounts The equipment to remove
+     */
+    public static void removeMounteds(Entity unit, Collection<Mounted> mounts) {
+        if (mounts.isEmpty()) {
+            return;
+        }
+        final Set<Mounted> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<Mounted> toRemove = new ArrayList<>(mounts.size());
+        for (Mounted mount : mounts) {
+            if (removed.add(mount)) {
+                toRemove.add(mount);
             }
         }
         // We will need to reset the equipment numbers of the bay ammo and weapons
-        Map<Mounted,List<Mounted>> bayWeapons = new HashMap<>();
-        Map<Mounted,List<Mounted>> bayAmmo = new HashMap<>();
+        final Map<Mounted, List<Mounted>> bayWeapons = new IdentityHashMap<>();
+        final Map<Mounted, List<Mounted>> bayAmmo = new IdentityHashMap<>();
         for (Mounted bay : unit.getWeaponBayList()) {
-            List<Mounted> list = bay.getBayWeapons().stream()
-                    .map(n -> unit.getEquipment(n)).collect(Collectors.toList());
-            bayWeapons.put(bay, list);
-            list = bay.getBayAmmo().stream()
-                    .map(n -> unit.getEquipment(n)).collect(Collectors.toList());
-            bayAmmo.put(bay, list);
-        }
-        // Some special checks for Aeros
-        if (unit instanceof Aero) {
-            if (mount.getType() instanceof WeaponType) {
-                // Aeros have additional weapon lists that need to be cleared
-                ((Aero)unit).getTotalWeaponList().remove(mount);
-                ((Aero)unit).getWeaponBayList().remove(mount);
-                ((Aero)unit).getWeaponGroupList().remove(mount);
-            }
-        }
-        unit.getEquipment().remove(mount);
-        if (mount.getType() instanceof MiscType) {
-            unit.getMisc().remove(mount);
-        } else if (mount.getType() instanceof AmmoType) {
-            unit.getAmmo().remove(mount);
-        } else {
-            unit.getWeaponList().remove(mount);
-            unit.getTotalWeaponList().remove(mount);
-        }
-        if (bayWeapons.containsKey(mount)) {
-            bayWeapons.get(mount).forEach(w -> {
-                removeCriticals(unit, w);
-                changeMountStatus(unit, w, Entity.LOC_NONE, Entity.LOC_NONE, false);
-            });
-            bayAmmo.get(mount).forEach(a -> {
-                removeCriticals(unit, a);
-                Mounted moveTo = UnitUtil.findUnallocatedAmmo(unit, a.getType());
-                if (null != moveTo) {
-                    moveTo.setShotsLeft(moveTo.getBaseShotsLeft() + a.getBaseShotsLeft());
-                    UnitUtil.removeMounted(unit, a);
+            bayWeapons.put(bay, bay.getBayWeapons().stream()
+                    .map(unit::getEquipment).collect(Collectors.toList()));
+            bayAmmo.put(bay, bay.getBayAmmo().stream()
+                    .map(unit::getEquipment).collect(Collectors.toList()));
+            if (!removed.contains(bay) && (bayWeapons.get(bay).stream().anyMatch(removed::contains)
+                    || bayAmmo.get(bay).stream().anyMatch(removed::contains))) {
+                EditJournal.recordChanging(unit, bay);
+            }
+        }
+
+        // Equipment that is not being removed but has to have its critical slots cleared
+        final Set<Mounted> unallocated = Collections.newSetFromMap(new IdentityHashMap<>());
+        // Ammo for one-shot launchers, which is only taken out of the equipment lists
+        final Set<Mounted> oneShotAmmo = Collections.newSetFromMap(new IdentityHashMap<>());
+        // Bay ammo that was added to an unallocated ammo mount of the same type
+        final List<Mounted> merged = new ArrayList<>();
+        final Set<Integer> mechTurretLocations = new HashSet<>();
+        final Set<Integer> pintleTurretLocations = new HashSet<>();
+        boolean sponsonTurret = false;
+
+        for (Mounted mount : toRemove) {
+            UnitLedger.recordRemoved(unit, mount);
+            EditJournal.recordChanging(unit, mount);
+            EditJournal.recordChanging(unit, mount.getLinked());
+            EditJournal.recordChanging(unit, mount.getLinkedBy());
+            if (unit instanceof BattleArmor) {
+                detachBattleArmorMounts(mount);
+            }
+            // Anything in a bay that is being removed goes back to the unallocated list
+            if (bayWeapons.containsKey(mount)) {
+                for (Mounted w : bayWeapons.get(mount)) {
+                    if (!removed.contains(w)) {
+                        unallocated.add(w);
+                        changeMountStatus(unit, w, Entity.LOC_NONE, Entity.LOC_NONE, false);
+                    }
                 }
-                changeMountStatus(unit, a, Entity.LOC_NONE, Entity.LOC_NONE, false);
-            });
-            bayWeapons.remove(mount);
-            bayAmmo.remove(mount);
-        }
-        for (Mounted bay : bayWeapons.keySet()) {
-            bay.getBayWeapons().clear();
-            for (Mounted w : bayWeapons.get(bay)) {
-                if (mount != w) {
-                    bay.getBayWeapons().add(unit.getEquipmentNum(w));
+                for (Mounted a : bayAmmo.get(mount)) {
+                    if (!removed.contains(a)) {
+                        unallocated.add(a);
+                        Mounted moveTo = findUnallocatedAmmo(unit, a.getType(), removed);
+                        if (null != moveTo) {
+                            EditJournal.recordChanging(unit, moveTo);
+                            EditJournal.recordChanging(unit, a);
+                            moveTo.setShotsLeft(moveTo.getBaseShotsLeft() + a.getBaseShotsLeft());
+                            merged.add(a);
+                        } else {
+                            changeMountStatus(unit, a, Entity.LOC_NONE, Entity.LOC_NONE, false);
+                        }
+                    }
                 }
             }
-        }
-        for (Mounted bay : bayAmmo.keySet()) {
-            bay.getBayAmmo().clear();
-            for (Mounted a : bayAmmo.get(bay)) {
-                if (mount != a) {
-                    bay.getBayAmmo().add(unit.getEquipmentNum(a));
+            // Remove ammo added for a one-shot launcher
+            if ((mount.getType() instanceof WeaponType) && mount.isOneShot()) {
+                for (Mounted ammo = mount.getLinked(); ammo != null; ammo = ammo.getLinked()) {
+                    EditJournal.recordChanging(unit, ammo);
+                    oneShotAmmo.add(ammo);
+                }
+            }
+            if (mount.getType() instanceof MiscType) {
+                if (mount.getType().hasFlag(MiscType.F_HEAD_TURRET)
+                        || mount.getType().hasFlag(MiscType.F_SHOULDER_TURRET)
+                        || mount.getType().hasFlag(MiscType.F_QUAD_TURRET)) {
+                    mechTurretLocations.add(mount.getLocation());
+                }
+                if (mount.getType().hasFlag(MiscType.F_SPONSON_TURRET)) {
+                    sponsonTurret = true;
+                }
+                if (mount.getType().hasFlag(MiscType.F_PINTLE_TURRET)) {
+                    pintleTurretLocations.add(mount.getLocation());
                 }
             }
         }
-        // Remove ammo added for a one-shot launcher
-        if ((mount.getType() instanceof WeaponType) && mount.isOneShot()) {
-            List<Mounted> osAmmo = new ArrayList<>();
-            for (Mounted ammo = mount.getLinked(); ammo != null; ammo = ammo.getLinked()) {
-                osAmmo.add(ammo);
+        for (Mounted a : merged) {
+            UnitLedger.recordRemoved(unit, a);
+            removed.add(a);
+        }
+        unallocated.removeAll(removed);
+
+        removeCriticals(unit, removed, unallocated);
+
+        final Set<Mounted> dropped = Collections.newSetFromMap(new IdentityHashMap<>());
+        dropped.addAll(removed);
+        dropped.addAll(oneShotAmmo);
+        removeFromEquipmentLists(unit, dropped);
+
+        // Renumber the contents of the remaining bays
+        final Map<Mounted, Integer> equipmentNums = new IdentityHashMap<>();
+        for (int i = 0; i < unit.getEquipment().size(); i++) {
+            equipmentNums.put(unit.getEquipment().get(i), i);
+        }
+        for (Map.Entry<Mounted, List<Mounted>> entry : bayWeapons.entrySet()) {
+            if (!removed.contains(entry.getKey())) {
+                renumberBay(entry.getKey().getBayWeapons(), entry.getValue(), equipmentNums);
+                renumberBay(entry.getKey().getBayAmmo(), bayAmmo.get(entry.getKey()), equipmentNums);
             }
-            osAmmo.forEach(m -> {
-                unit.getEquipment().remove(m);
-                unit.getAmmo().remove(m);
-            });
         }
+
         // It's possible that the equipment we are removing was linked to
         // something else, and so the linkedBy state may be set.  We should
         // remove it.  Using getLinked could be unreliable, so we'll brute force
         // it
         // An example of this would be removing a linked Artemis IV FCS
         for (Mounted m : unit.getEquipment()) {
-            if (mount.equals(m.getLinkedBy())) {
+            if (((null != m.getLinkedBy()) && dropped.contains(m.getLinkedBy()))
+                    || mechTurretLocations.contains(m.getLocation()) || sponsonTurret
+                    || pintleTurretLocations.contains(m.getLocation())) {
+                EditJournal.recordChanging(unit, m);
+            }
+            if ((null != m.getLinkedBy()) && dropped.contains(m.getLinkedBy())) {
                 m.setLinkedBy(null);
             }
-        }
-        if ((mount.getType() instanceof MiscType)
-            && (mount.getType().hasFlag(MiscType.F_HEAD_TURRET)
-                || mount.getType().hasFlag(MiscType.F_SHOULDER_TURRET)
-                || mount.getType().hasFlag(MiscType.F_QUAD_TURRET))) {
-            for (Mounted m : unit.getEquipment()) {
-                if (m.getLocation() == mount.getLocation()) {
-                    m.setMechTurretMounted(false);
-                }
+            if (mechTurretLocations.contains(m.getLocation())) {
+                m.setMechTurretMounted(false);
             }
-        }
-        if ((mount.getType() instanceof MiscType)
-                && mount.getType().hasFlag(MiscType.F_SPONSON_TURRET)) {
-            for (Mounted m : unit.getEquipment()) {
+            if (sponsonTurret) {
                 m.setSponsonTurretMounted(false);
             }
+            if (pintleTurretLocations.contains(m.getLocation())) {
+                m.setPintleTurretMounted(false);
+            }
         }
-        if ((mount.getType() instanceof MiscType)
-                && mount.getType().hasFlag(MiscType.F_PINTLE_TURRET)) {
-            for (Mounted m : unit.getEquipment()) {
-                if (m.getLocation() == mount.getLocation()) {
-                    m.setPintleTurretMounted(false);
+    }
+
+    /**
+     * Takes mounts out of all the unit's equipment lists without changing critical slots, links,
+     * or bay contents.
+     *
+     * @param unit   The Entity
+     * @param mounts The mounts to take out of the lists
+     */
+    static void removeFromEquipmentLists(Entity unit, Set<Mounted> mounts) {
+        unit.getEquipment().removeIf(mounts::contains);
+        EquipmentIndex.invalidate(unit);
+        unit.getMisc().removeIf(mounts::contains);
+        unit.getAmmo().removeIf(mounts::contains);
+        unit.getWeaponList().removeIf(mounts::contains);
+        unit.getTotalWeaponList().removeIf(mounts::contains);
+        if (unit instanceof Aero) {
+            // Aeros have additional weapon lists that need to be cleared
+            ((Aero) unit).getWeaponBayList().removeIf(mounts::contains);
+            ((Aero) unit).getWeaponGroupList().removeIf(mounts::contains);
+        }
+    }
+
+    /**
+     * Some special checks for BA when removing equipment that can hold or be held by another mount.
+     */
+    private static void detachBattleArmorMounts(Mounted mount) {
+        // If we're removing a DWP and it has an attached weapon, we need
+        //  to detach the weapon
+        if (mount.getType().hasFlag(MiscType.F_DETACHABLE_WEAPON_PACK)
+                && (mount.getLinked() != null)){
+            Mounted link = mount.getLinked();
+            link.setDWPMounted(false);
+            link.setLinked(null);
+            link.setLinkedBy(null);
+        }
+        // If we are removing a weapon that is mounted in an DWP, we need
+        //  to clear the mounted status of the DWP
+        if ((mount.getLinkedBy() != null)
+                && mount.getLinkedBy().getType().hasFlag(
+                        MiscType.F_DETACHABLE_WEAPON_PACK)){
+            Mounted dwp = mount.getLinkedBy();
+            dwp.setLinked(null);
+            dwp.setLinkedBy(null);
+        }
+        // If we're removing an APM and it has an attached weapon, we need
+        //  to detach the weapon
+        if (mount.getType().hasFlag(MiscType.F_AP_MOUNT)
+                && (mount.getLinked() != null)){
+            Mounted link = mount.getLinked();
+            link.setAPMMounted(false);
+            link.setLinked(null);
+            link.setLinkedBy(null);
+        }
+        // If we are removing a weapon that is mounted in an APM, we need
+        //  to clear the mounted status of the AP Mount
+        if ((mount.getLinkedBy() != null)
+                && mount.getLinkedBy().getType().hasFlag(
+                        MiscType.F_AP_MOUNT)){
+            Mounted apm = mount.getLinkedBy();
+            apm.setLinked(null);
+            apm.setLinkedBy(null);
+        }
+    }
+
+    /**
+     * Replaces a bay's list of equipment numbers with the new numbers of the mounts that are still on the unit.
+     */
+    private static void renumberBay(List<Integer> bayList, List<Mounted> contents,
+                                    Map<Mounted, Integer> equipmentNums) {
+        bayList.clear();
+        for (Mounted m : contents) {
+            Integer num = equipmentNums.get(m);
+            if (null != num) {
+                bayList.add(num);
+            }
+        }
+    }
+
+    /**
+     * Clears the critical slots of a group of equipment in a single pass over the unit's locations.
+     *
+     * @param unit   The Entity
+     * @param groups The equipment to clear from the slots
+     */
+    @SafeVarargs
+    private static void removeCriticals(Entity unit, Set<Mounted>... groups) {
+        for (int loc = 0; loc < unit.locations(); loc++) {
+            for (int slot = 0; slot < unit.getNumberOfCriticals(loc); slot++) {
+                CriticalSlot cs = unit.getCritical(loc, slot);
+                if ((cs == null) || (cs.getType() != CriticalSlot.TYPE_EQUIPMENT)) {
+                    continue;
+                }
+                if ((cs.getMount2() != null) && containsAny(groups, cs.getMount2())) {
+                    cs.setMount2(null);
+                }
+                if (containsAny(groups, cs.getMount())) {
+                    // If there are two pieces of equipment in this slot,
+                    // remove first one, and replace it with the second
+                    if (cs.getMount2() != null) {
+                        cs.setMount(cs.getMount2());
+                        cs.setMount2(null);
+                    } else { // If it's the only Mounted, clear the slot
+                        unit.setCritical(loc, slot, null);
+                        UnitUtil.markSlotsChanged(unit, loc);
+                    }
                 }
             }
         }
     }
 
+    private static boolean containsAny(Set<Mounted>[] groups, Mounted mount) {
+        for (Set<Mounted> group : groups) {
+            if (group.contains(mount)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Sets the corresponding critical slots to null for the Mounted object.
      *
@@ -415,6 +534,7 @@ public class UnitUtil {
                         } else { // If it's the only Mounted, clear the slot
                             cs = null;
                             unit.setCritical(loc, slot, cs);
+                            UnitUtil.markSlotsChanged(unit, loc);
                         }
                     } else if ((cs.getMount2() != null)
                             && cs.getMount2().equals(eq)) {
@@ -425,10 +545,26 @@ public class UnitUtil {
         }
     }
     
+    /**
+     * Notes that the critical slots of a location have been changed, so that the open
+     * {@link CriticalSlotIndex} reads them again and the {@link EditJournal} compares them when
+     * the current step ends.
+     *
+     * @param unit     The unit
+     * @param location The location whose slots changed
+     */
+    public static void markSlotsChanged(Entity unit, int location) {
+        CriticalSlotIndex.markDirty(unit, location);
+        EditJournal.markSlotsChanged(unit, location);
+    }
+
     public static void addMounted(Entity unit, Mounted mounted, int loc,
             boolean rearMounted) throws LocationFullException {
+        EditJournal.recordAdding(unit, mounted);
         unit.addEquipment(mounted, loc, rearMounted);
+        UnitUtil.markSlotsChanged(unit, loc);
         mounted.setOmniPodMounted(canPodMount(unit, mounted));
+        UnitLedger.recordAdded(unit, mounted);
     }
 
     /**
@@ -463,6 +599,7 @@ public class UnitUtil {
                     unit.setCritical(location, slot, cs);
                 }
             }
+            UnitUtil.markSlotsChanged(unit, location);
         }
 
         for (Mounted mount : unit.getEquipment()) {
@@ -706,10 +843,7 @@ public class UnitUtil {
             number = numberDouble + numberSingle;
         }
         number = Math.min(number, toRemove.size());
-        for (int i = 0; i < number; i++) {
-            Mounted eq = toRemove.get(i);
-            UnitUtil.removeMounted(unit, eq);
-        }
+        UnitUtil.removeMounteds(unit, toRemove.subList(0, number));
         if (splitCompact) {
             Mounted eq = toRemove.get(number);
             int loc = eq.getLocation();
@@ -982,9 +1116,7 @@ public class UnitUtil {
                 }
             }
         }
-        for (Mounted eq : toRemove) {
-            UnitUtil.removeMounted(unit, eq);
-        }
+        UnitUtil.removeMounteds(unit, toRemove);
     }
 
     /**
@@ -1071,6 +1203,7 @@ public class UnitUtil {
                     || ((eq.getType() instanceof MiscType) && eq.getType().hasFlag(MiscType.F_SCM))) {
                 unit.getMisc().remove(eq);
                 unit.getEquipment().remove(eq);
+                EquipmentIndex.invalidate(unit);
             }
         }
     }
@@ -1215,9 +1348,12 @@ public class UnitUtil {
      */
     public static void changeMountStatus(Entity unit, Mounted eq, int location,
             int secondaryLocation, boolean rear) {
+        EditJournal.recordChanging(unit, eq);
+        UnitLedger.recordRemoved(unit, eq);
         eq.setLocation(location, rear);
         eq.setSecondLocation(secondaryLocation, rear);
         eq.setSplit(secondaryLocation > -1);
+        UnitLedger.recordAdded(unit, eq);
     }
     
     /**
@@ -1229,8 +1365,21 @@ public class UnitUtil {
      * @return     An unallocated non-oneshot ammo mount of the same type, or null if there is not one.
      */
     public static Mounted findUnallocatedAmmo(Entity unit, EquipmentType at) {
+        return findUnallocatedAmmo(unit, at, Collections.emptySet());
+    }
+
+    /**
+     * Find unallocated ammo of the same type, ignoring any that is about to be removed.
+     *
+     * @param unit    The Entity
+     * @param at      The type of ammo to match
+     * @param exclude Ammo mounts that should not be returned
+     * @return        An unallocated non-oneshot ammo mount of the same type, or null if there is not one.
+     */
+    private static Mounted findUnallocatedAmmo(Entity unit, EquipmentType at, Set<Mounted> exclude) {
         for (Mounted m : unit.getAmmo()) {
             if ((m.getLocation() == Entity.LOC_NONE)
+                    && !exclude.contains(m)
                     && (m.getType() == at)
                     && ((m.getLinkedBy() == null)
                             || !m.getLinkedBy().getType().hasFlag(WeaponType.F_ONESHOT))) {
@@ -1286,8 +1435,8 @@ public class UnitUtil {
         List<Mounted> pods = unit.getEquipment().stream()
                 .filter(Mounted::isOmniPodMounted)
                 .collect(Collectors.toList());
+        UnitUtil.removeMounteds(unit, pods);
         for (Mounted m : pods) {
-            UnitUtil.removeMounted(unit, m);
             if (m.getType() instanceof MiscType
                     && m.getType().hasFlag(MiscType.F_JUMP_JET)) {
                 unit.setOriginalJumpMP(unit.getOriginalJumpMP() - 1);
@@ -1343,6 +1492,10 @@ public class UnitUtil {
     public static int getContiguousNumberOfCrits(Entity unit, int location,
             int startingSlot){
 
+        CriticalSlotIndex index = CriticalSlotIndex.of(unit);
+        if (null != index) {
+            return index.getFreeRun(location, startingSlot);
+        }
         int numCritSlots = unit.getNumberOfCriticals(location);
         int contiguousCrits = 0;
 
@@ -1368,6 +1521,11 @@ public class UnitUtil {
             return 0;
         }
 
+        CriticalSlotIndex index = CriticalSlotIndex.of(unit);
+        if (null != index) {
+            return index.getLongestFreeRun(location);
+        }
+
         for (int slot = 0; slot < unit.getNumberOfCriticals(location); slot++) {
             if (unit.getCritical(location, slot) == null) {
                 currentCritCount++;
@@ -1656,6 +1814,7 @@ public class UnitUtil {
     }
 
     public static void compactCriticals(Entity unit, int loc) {
+        UnitUtil.markSlotsChanged(unit, loc);
         int firstEmpty = -1;
         for (int slot = 0; slot < unit.getNumberOfCriticals(loc); slot++) {
             CriticalSlot cs = unit.getCritical(loc, slot);
@@ -1687,6 +1846,7 @@ public class UnitUtil {
             // which will mess up parsing if compacted.
             return;
         }
+        UnitUtil.markSlotsChanged(mech, loc);
         int firstEmpty = -1;
         for (int slot = 0; slot < mech.getNumberOfCriticals(loc); slot++) {
             CriticalSlot cs = mech.getCritical(loc, slot);
@@ -1807,6 +1967,7 @@ public class UnitUtil {
                     unit.getEquipment().remove(mount);
                     unit.getMisc().remove(mount);
                     unit.getEquipment().add(newMount);
+                    EquipmentIndex.invalidate(unit);
                     unit.getMisc().add(newMount);
                 }
             }
@@ -1937,6 +2098,7 @@ public class UnitUtil {
                         }
                     } else {
                         CriticalSlot cs = new CriticalSlot(mount);
+                        UnitUtil.markSlotsChanged(unit, locations.get(0));
                         if (!unit.addCritical(locations.get(0), cs)) {
                             UnitUtil.removeCriticals(unit, mount);
                             JOptionPane.showMessageDialog(
@@ -2008,22 +2170,36 @@ public class UnitUtil {
             }
         }
 
-        for (Mounted mount : ammoList) {
-            int index = unit.getEquipment().indexOf(mount);
-            unit.getEquipment().remove(mount);
-            unit.getAmmo().remove(mount);
-
-            for (int location = 0; location <= Mech.LOC_LLEG; location++) {
-                for (int slot = 0; slot < unit.getNumberOfCriticals(location); slot++) {
-                    CriticalSlot cs = unit.getCritical(location, slot);
-                    if ((cs == null)
-                            || (cs.getType() == CriticalSlot.TYPE_SYSTEM)) {
-                        continue;
-                    }
+        if (ammoList.isEmpty()) {
+            return;
+        }
+        // Note the equipment numbers that are going away so the critical slots can be renumbered
+        // in one pass.
+        final Set<Mounted> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(ammoList);
+        final int[] removedIndices = new int[removed.size()];
+        int count = 0;
+        for (int i = 0; i < unit.getEquipment().size(); i++) {
+            if (removed.contains(unit.getEquipment().get(i))) {
+                removedIndices[count++] = i;
+            }
+        }
+        unit.getEquipment().removeIf(removed::contains);
+        unit.getAmmo().removeIf(removed::contains);
+        EquipmentIndex.invalidate(unit);
 
-                    if (cs.getIndex() >= index) {
-                        cs.setIndex(cs.getIndex() - 1);
-                    }
+        for (int location = 0; location <= Mech.LOC_LLEG; location++) {
+            for (int slot = 0; slot < unit.getNumberOfCriticals(location); slot++) {
+                CriticalSlot cs = unit.getCritical(location, slot);
+                if ((cs == null)
+                        || (cs.getType() == CriticalSlot.TYPE_SYSTEM)) {
+                    continue;
+                }
+                // Shift the index down by the number of removed equipment at or before it
+                int shift = Arrays.binarySearch(removedIndices, 0, count, cs.getIndex());
+                shift = (shift >= 0) ? shift + 1 : -shift - 1;
+                if (shift > 0) {
+                    cs.setIndex(cs.getIndex() - shift);
                 }
             }
         }
@@ -2042,6 +2218,7 @@ public class UnitUtil {
             int index = unit.getEquipment().indexOf(mount);
             unit.getEquipment().remove(mount);
             unit.getMisc().remove(mount);
+            EquipmentIndex.invalidate(unit);
 
             for (int location = 0; location <= Mech.LOC_LLEG; location++) {
                 for (int slot = 0; slot < unit.getNumberOfCriticals(location); slot++) {
@@ -2227,6 +2404,10 @@ public class UnitUtil {
             return false;
         }
         if (unit instanceof Mech) {
+            CriticalSlotIndex index = CriticalSlotIndex.of(unit);
+            if (null != index) {
+                return !index.isOccupied(location, slot - 1);
+            }
             if ((slot > 0) && (unit.getCritical(location, slot - 1) != null)) {
                 return false;
             }
@@ -2275,6 +2456,10 @@ public class UnitUtil {
             }
 
         } else {
+            CriticalSlotIndex index = CriticalSlotIndex.of(unit);
+            if ((null != index) && !index.isOccupied(location, slot + 1)) {
+                return true;
+            }
             CriticalSlot nextCrit = unit.getCritical(location, slot + 1);
             if (nextCrit == null) {
                 return true;
@@ -2326,6 +2511,7 @@ public class UnitUtil {
      * @param location The location to check
      */
     public static void updateCritsArmoredStatus(Entity unit, Mounted mount, int location) {
+        EditJournal.markSlotsChanged(unit, location);
         for (int position = 0; position < unit.getNumberOfCriticals(location); position++) {
             CriticalSlot cs = unit.getCritical(location, position);
             if ((cs == null) || (cs.getType() == CriticalSlot.TYPE_SYSTEM)) {
@@ -2352,6 +2538,7 @@ public class UnitUtil {
          * and mech tracks (all legs). Rather than dealing with each piece of equipment
          * individually and risking missing one, just check everywhere.
          */
+        UnitLedger.invalidate(unit);
         if (isFixedLocationSpreadEquipment(mount.getType())) {
             for (int loc = 0; loc < unit.locations(); loc++) {
                 updateCritsArmoredStatus(unit, mount, loc);
@@ -2372,6 +2559,8 @@ public class UnitUtil {
         if ((cs == null) || (cs.getType() == CriticalSlot.TYPE_EQUIPMENT)) {
             return;
         }
+        UnitLedger.invalidate(unit);
+        EditJournal.markAllSlotsChanged(unit);
 
         if (cs.getIndex() <= Mech.SYSTEM_GYRO) {
             for (int loc = Mech.LOC_HEAD; loc <= Mech.LOC_LT; loc++) {
@@ -3221,6 +3410,7 @@ public class UnitUtil {
                                     .getInternalName())) {
                         crit = null;
                         unit.setCritical(location, slot, crit);
+                        UnitUtil.markSlotsChanged(unit, location);
                     }
                 }
             }
@@ -3259,6 +3449,7 @@ public class UnitUtil {
             Mounted mount = unit.getEquipment().get(pos);
             if (mountList.contains(mount.getType().getInternalName())) {
                 unit.getEquipment().remove(pos);
+                EquipmentIndex.invalidate(unit);
             } else {
                 pos++;
             }
@@ -3299,6 +3490,7 @@ public class UnitUtil {
                         && (null != crit.getMount()) && crit.getMount().getType().equals(eq)) {
                     unit.getMisc().remove(crit.getMount());
                     unit.setCritical(loc, slot, null);
+                    UnitUtil.markSlotsChanged(unit, loc);
                 }
             }
         }
@@ -3422,14 +3614,29 @@ public class UnitUtil {
     }
 
     /**
-     * Returns a TestEntity instance for the supplied Entity.
+     * Provides the verifier options, which are parsed from the options file the first time this
+     * is called and shared by all later callers.
+     *
+     * @return The process-wide {@link EntityVerifier}
+     */
+    public static synchronized EntityVerifier getVerifierOptions() {
+        if (null == entityVerifier) {
+            entityVerifier = EntityVerifier.getInstance(new File(
+                    "data/mechfiles/UnitVerifierOptions.xml"));
+        }
+        return entityVerifier;
+    }
+
+    /**
+     * Returns a new TestEntity instance for the supplied Entity. Editors should use
+     * {@link megameklab.com.ui.EntitySource#getTestEntity()}, which reuses the instance
+     * between refreshes.
      *
      * @param unit
      * @return
      */
     public static TestEntity getEntityVerifier(Entity unit) {
-        EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
-                "data/mechfiles/UnitVerifierOptions.xml"));
+        EntityVerifier entityVerifier = getVerifierOptions();
         TestEntity testEntity = null;
 
         if (unit.hasETypeFlag(Entity.ETYPE_MECH)) {
@@ -3471,44 +3678,39 @@ public class UnitUtil {
      * @return
      */
     public static String validateUnit(Entity unit) {
+        return validateUnit(getEntityVerifier(unit));
+    }
+
+    /**
+     * check that the unit is valid using an existing verifier
+     *
+     * @param testEntity The verifier for the unit; may be null
+     * @return           The validation errors, or an empty String if the unit is valid
+     */
+    public static String validateUnit(@Nullable TestEntity testEntity) {
         StringBuffer sb = new StringBuffer();
-        TestEntity testEntity =  getEntityVerifier(unit);
 
         if (testEntity != null){
-            testEntity.correctEntity(sb, unit.getTechLevel());
+            testEntity.correctEntity(sb, testEntity.getEntity().getTechLevel());
         }
 
         return sb.toString();
     }
 
     public static void removeAllMiscMounteds(Entity unit, BigInteger flag) {
-        for (int pos = unit.getEquipment().size() - 1; pos >= 0; pos--) {
-            Mounted mount = unit.getEquipment().get(pos);
-            if ((mount.getType() instanceof MiscType)
-                    && ((MiscType) mount.getType()).hasFlag(flag)) {
-                UnitUtil.removeMounted(unit, mount);
-            }
-        }
+        UnitUtil.removeMounteds(unit, unit.getEquipment().stream()
+                .filter(m -> (m.getType() instanceof MiscType) && m.getType().hasFlag(flag))
+                .collect(Collectors.toList()));
     }
 
     public static void removeAllMounteds(Entity unit, EquipmentType et) {
-        for (int pos = unit.getEquipment().size() - 1; pos >= 0; pos--) {
-            Mounted mount = unit.getEquipment().get(pos);
-            if (mount.getType().equals(et)) {
-                UnitUtil.removeMounted(unit, mount);
-            }
-        }
+        UnitUtil.removeMounteds(unit, unit.getEquipment().stream()
+                .filter(m -> m.getType().equals(et))
+                .collect(Collectors.toList()));
     }
 
     public static void removeTC(Entity unit) {
-        for (int pos = unit.getEquipment().size() - 1; pos >= 0; pos--) {
-            Mounted mount = unit.getEquipment().get(pos);
-            if ((mount.getType() instanceof MiscType)
-                    && ((MiscType) mount.getType())
-                            .hasFlag(MiscType.F_TARGCOMP)) {
-                UnitUtil.removeMounted(unit, mount);
-            }
-        }
+        removeAllMiscMounteds(unit, MiscType.F_TARGCOMP);
     }
 
     /**
@@ -3593,11 +3795,11 @@ public class UnitUtil {
                     entity.addEquipment(newBay, toLoc, bay.isRearMounted());
                     for (Integer eqNum : bay.getBayWeapons()) {
                         Mounted toAdd = copyEquipment(entity, toLoc, entity.getEquipment(eqNum), removed);
-                        newBay.addWeaponToBay(entity.getEquipmentNum(toAdd));
+                        newBay.addWeaponToBay(EquipmentIndex.getEquipmentNum(entity, toAdd));
                     }
                     for (Integer eqNum : bay.getBayAmmo()) {
                         Mounted toAdd = copyEquipment(entity, toLoc, entity.getEquipment(eqNum), removed);
-                        newBay.addAmmoToBay(entity.getEquipmentNum(toAdd));
+                        newBay.addAmmoToBay(EquipmentIndex.getEquipmentNum(entity, toAdd));
                     }
                 }
             }
@@ -3687,7 +3889,11 @@ public class UnitUtil {
     }
 
     public static void showValidation(Entity entity, JFrame frame) {
-        String sb = UnitUtil.validateUnit(entity);
+        showValidation(getEntityVerifier(entity), frame);
+    }
+
+    public static void showValidation(TestEntity testEntity, JFrame frame) {
+        String sb = UnitUtil.validateUnit(testEntity);
 
         if (sb.length() > 0) {
             JOptionPane.showMessageDialog(frame, sb, "Unit Validation",
@@ -3807,8 +4013,10 @@ public class UnitUtil {
     }
 
     public static void showUnitWeightBreakDown(Entity unit, JFrame frame) {
-        TestEntity testEntity = getEntityVerifier(unit);
+        showUnitWeightBreakDown(getEntityVerifier(unit), frame);
+    }
 
+    public static void showUnitWeightBreakDown(TestEntity testEntity, JFrame frame) {
         JTextPane textPane = new JTextPane();
         JScrollPane scroll = new JScrollPane();
 
@@ -3993,6 +4201,10 @@ public class UnitUtil {
     }
 
     public static int countUsedCriticals(Mech unit) {
+        CriticalSlotIndex index = CriticalSlotIndex.of(unit);
+        if (null != index) {
+            return index.getUsedCriticals() + countUnallocatedCriticals(unit);
+        }
         int nCrits = 0;
         for (int i = 0; i < unit.locations(); i++) {
             for (int j = 0; j < unit.getNumberOfCriticals(i); j++) {
@@ -4077,9 +4289,7 @@ public class UnitUtil {
                 toRemove.add(m);
             }
         }
-        for (Mounted m : toRemove) {
-            UnitUtil.removeMounted(unit, m);
-        }
+        UnitUtil.removeMounteds(unit, toRemove);
         if (unit instanceof Infantry) {
             Infantry pbi = (Infantry) unit;
             if ((null != pbi.getPrimaryWeapon())
@@ -4108,6 +4318,7 @@ public class UnitUtil {
         boolean dirty = false;
         for (Mounted m : unit.getEquipment()) {
             if (m.isArmored() && !techManager.isLegal(acTA)) {
+                EditJournal.recordChanging(unit, m);
                 m.setArmored(false);
                 updateCritsArmoredStatus(unit, m);
                 dirty = true;
@@ -4130,9 +4341,7 @@ public class UnitUtil {
             }
         }
         dirty |= toRemove.size() > 0;
-        for (Mounted m : toRemove) {
-            UnitUtil.removeMounted(unit, m);
-        }
+        UnitUtil.removeMounteds(unit, toRemove);
         if (unit instanceof Infantry) {
             Infantry pbi = (Infantry) unit;
             if ((null != pbi.getPrimaryWeapon())
@@ -4203,6 +4412,7 @@ public class UnitUtil {
                 .filter(m -> m.getLocation() == Infantry.LOC_FIELD_GUNS)
                 .collect(Collectors.toList());
         unit.getEquipment().removeAll(toRemove);
+        EquipmentIndex.invalidate(unit);
         unit.getWeaponList().removeAll(toRemove);
         unit.getAmmo().removeAll(toRemove);
         final long munition;
@@ -4287,12 +4497,14 @@ public class UnitUtil {
     public static void removeHand(Mech mech, int location) {
         if (mech.hasSystem(Mech.ACTUATOR_HAND, location)) {
             mech.setCritical(location, 3, null);
+            UnitUtil.markSlotsChanged(mech, location);
         }
     }
 
     public static void removeArm(Mech mech, int location) {
         if (mech.hasSystem(Mech.ACTUATOR_LOWER_ARM, location)) {
             mech.setCritical(location, 2, null);
+            UnitUtil.markSlotsChanged(mech, location);
             // Only remove the next slot of it actually is a hand
             if (mech.hasSystem(Mech.ACTUATOR_HAND, location)) {
                 removeHand(mech, location);
@@ -17,6 +17,7 @@
 package megameklab.com.util;
 
 import java.awt.Component;
+import java.awt.event.MouseEvent;
 
 import javax.swing.DefaultListCellRenderer;
 import javax.swing.JLabel;
@@ -24,11 +25,12 @@ import javax.swing.JList;
 
 import megamek.common.Entity;
 import megamek.common.EquipmentType;
-import megamek.common.Mounted;
 
 public class WeaponListCellRenderer extends DefaultListCellRenderer {
 
     private Entity unit = null;
+    private final ToolTipCache toolTips = new ToolTipCache();
+    private EquipmentType toolTipType = null;
 
     /**
      *
@@ -42,6 +44,7 @@ public class WeaponListCellRenderer extends DefaultListCellRenderer {
     @Override
     public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean hasFocus) {
         JLabel label = (JLabel)super.getListCellRendererComponent(list, value, index, isSelected, hasFocus);
+        toolTipType = null;
 
         EquipmentType eq = EquipmentType.get(value.toString());
 
@@ -53,8 +56,19 @@ public class WeaponListCellRenderer extends DefaultListCellRenderer {
         label.setText(UnitUtil.getCritName(unit, eq));
         label.setName(value.toString());
 
-        label.setToolTipText(UnitUtil.getToolTipInfo(unit, new Mounted(unit, eq)));
+        toolTipType = eq;
         return label;
     }
 
+    /**
+     * The tooltip is built for the equipment in the cell under the mouse when it is about to be shown.
+     */
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        if (null == toolTipType) {
+            return null;
+        }
+        return toolTips.get(unit, toolTipType);
+    }
+
 }
\ No newline at end of file